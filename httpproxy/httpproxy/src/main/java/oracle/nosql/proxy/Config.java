@@ -133,6 +133,63 @@ public class Config {
         new ParamDef("kvThreadPoolSize", "0",
                      ParamType.INT, ParamContext.ALL);
 
+    /*
+     * Set to non-zero to coalesce concurrent get requests for the same table
+     * and partition that arrive within this many microseconds of each other
+     * into a single batched read from KV. This parameter is only used if
+     * ASYNC is true
+     */
+    public static ParamDef GET_BATCH_WINDOW_MICROS =
+        new ParamDef("getBatchWindowMicros", "0",
+                     ParamType.INT, ParamContext.ALL);
+    /* The maximum number of get requests in a batch */
+    public static ParamDef GET_BATCH_MAX_SIZE =
+        new ParamDef("getBatchMaxSize", "32",
+                     ParamType.INT, ParamContext.ALL);
+
+    /*
+     * Set to true to execute write multiple requests whose operations span
+     * more than one shard key as non-atomic batches, one transaction per
+     * partition, rather than as a single transaction
+     */
+    public static ParamDef WRITE_MULTIPLE_ACROSS_SHARDS =
+        new ParamDef("writeMultipleAcrossShards", "false",
+                     ParamType.BOOL, ParamContext.ALL);
+
+    /*
+     * Set to non-zero to keep up to this many query cursors live between
+     * batches of prepared queries, so that continuation requests can reuse
+     * the deserialized query rather than rebuilding it. A cursor hit only
+     * skips checking the hash of the prepared query and deserializing it:
+     * the query's iterator state, including that of the ReceiveIter, is not
+     * kept, and each batch is still executed from its continuation key
+     */
+    public static ParamDef QUERY_CURSOR_CACHE_SIZE =
+        new ParamDef("queryCursorCacheSize", "0",
+                     ParamType.INT, ParamContext.ALL);
+    /* The time after which an unused query cursor is discarded */
+    public static ParamDef QUERY_CURSOR_LIFETIME_MS =
+        new ParamDef("queryCursorLifetimeMs", "60000",
+                     ParamType.INT, ParamContext.ALL);
+
+    /*
+     * Set to non-zero to serve the proxy's metrics in the OpenMetrics text
+     * format on this port at the path "/metrics". The endpoint listens on
+     * the hostname of the proxy, or on the loopback address if no hostname
+     * is set.
+     */
+    public static ParamDef METRICS_PORT =
+        new ParamDef("metricsPort", "0",
+                     ParamType.INT, ParamContext.ALL);
+
+    /*
+     * Set to true to serve the metrics endpoint, which uses plain http with
+     * no authentication, when the proxy uses SSL or a secure store
+     */
+    public static ParamDef METRICS_ALLOW_INSECURE =
+        new ParamDef("metricsAllowInsecure", "false",
+                     ParamType.BOOL, ParamContext.ALL);
+
     /**  Wallet file that holds the salt value for the query cache */
     public static ParamDef SALT_WALLET =
         new ParamDef("saltWallet", ParamType.FILE, ParamContext.CLOUD);
@@ -252,6 +309,24 @@ public class Config {
     public static ParamDef HELPER_HOSTS =
         new ParamDef("helperHosts", ParamContext.ON_PREM);
 
+    /*
+     * parameters for configuring the kv client cache of table rows read by
+     * primary key gets
+     * NEAR_CACHE_TABLES - the tables to cache, in the format
+     *   table[,table]*, where a table name may be qualified with a namespace
+     *   as namespace:table
+     * NEAR_CACHE_MAX_ROWS - the maximum number of rows cached for each table
+     * NEAR_CACHE_LIFETIME_MS - how long a row may remain in the cache
+     */
+    public static ParamDef NEAR_CACHE_TABLES =
+        new ParamDef("nearCacheTables", ParamContext.ON_PREM);
+    public static ParamDef NEAR_CACHE_MAX_ROWS =
+        new ParamDef("nearCacheMaxRows", "10000",
+                     ParamType.INT, ParamContext.ON_PREM);
+    public static ParamDef NEAR_CACHE_LIFETIME_MS =
+        new ParamDef("nearCacheLifetimeMs", "1000",
+                     ParamType.INT, ParamContext.ON_PREM);
+
     /*
      * Cloud only parameters
      */
@@ -871,6 +946,59 @@ public class Config {
                               Integer.toString(size));
     }
 
+    public int getGetBatchWindowMicros() {
+        return getInt(GET_BATCH_WINDOW_MICROS);
+    }
+
+    public void setGetBatchWindowMicros(int micros) {
+        paramVals.setProperty(GET_BATCH_WINDOW_MICROS.paramName,
+                              Integer.toString(micros));
+    }
+
+    public int getGetBatchMaxSize() {
+        return getInt(GET_BATCH_MAX_SIZE);
+    }
+
+    public boolean getWriteMultipleAcrossShards() {
+        return getBool(WRITE_MULTIPLE_ACROSS_SHARDS);
+    }
+
+    public void setWriteMultipleAcrossShards(boolean value) {
+        paramVals.setProperty(WRITE_MULTIPLE_ACROSS_SHARDS.paramName,
+                              Boolean.toString(value));
+    }
+
+    public int getQueryCursorCacheSize() {
+        return getInt(QUERY_CURSOR_CACHE_SIZE);
+    }
+
+    public void setQueryCursorCacheSize(int size) {
+        paramVals.setProperty(QUERY_CURSOR_CACHE_SIZE.paramName,
+                              Integer.toString(size));
+    }
+
+    public int getQueryCursorLifetimeMs() {
+        return getInt(QUERY_CURSOR_LIFETIME_MS);
+    }
+
+    public int getMetricsPort() {
+        return getInt(METRICS_PORT);
+    }
+
+    public void setMetricsPort(int port) {
+        paramVals.setProperty(METRICS_PORT.paramName,
+                              Integer.toString(port));
+    }
+
+    public boolean getMetricsAllowInsecure() {
+        return getBool(METRICS_ALLOW_INSECURE);
+    }
+
+    public void setMetricsAllowInsecure(boolean value) {
+        paramVals.setProperty(METRICS_ALLOW_INSECURE.paramName,
+                              Boolean.toString(value));
+    }
+
     public String getHostname() {
         return paramVals.getProperty(HOSTNAME.paramName);
     }
@@ -928,6 +1056,27 @@ public class Config {
         return helperString.replaceAll("\\s", "").split(",");
     }
 
+    public List<String> getNearCacheTables() {
+        /*
+         * Near cache tables is of the format:
+         *  table[,table]*
+         * Remove white space, then split
+         */
+        String tables = paramVals.getProperty(NEAR_CACHE_TABLES.paramName);
+        if (tables == null || tables.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(tables.replaceAll("\\s", "").split(","));
+    }
+
+    public int getNearCacheMaxRows() {
+        return getInt(NEAR_CACHE_MAX_ROWS);
+    }
+
+    public int getNearCacheLifetimeMs() {
+        return getInt(NEAR_CACHE_LIFETIME_MS);
+    }
+
     public File getSSLCertificate() {
         return getFile(SSL_CERTIFICATE);
     }
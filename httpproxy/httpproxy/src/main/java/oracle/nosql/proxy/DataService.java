@@ -247,6 +247,18 @@ public abstract class DataService extends DataServiceHandler implements Service
      */
     private final ProxyThreadPoolExecutor executor;
 
+    /*
+     * If true, write multiple requests whose operations span more than one
+     * shard key are executed as non-atomic batches
+     */
+    private final boolean writeMultipleAcrossShards;
+
+    /*
+     * If non-null, the query cursors that are live between batches of
+     * prepared queries
+     */
+    private final QueryCursorCache queryCursors;
+
     /* create a default RC */
     private RequestContextFactory rcFactory = new
         RequestContextFactory() {
@@ -396,6 +408,14 @@ public abstract class DataService extends DataServiceHandler implements Service
         } else {
             executor = null;
         }
+        writeMultipleAcrossShards = config.getWriteMultipleAcrossShards();
+        if (config.getQueryCursorCacheSize() > 0) {
+            queryCursors = new QueryCursorCache(
+                config.getQueryCursorCacheSize(),
+                config.getQueryCursorLifetimeMs());
+        } else {
+            queryCursors = null;
+        }
 
         initOperations();
     }
@@ -1129,6 +1149,17 @@ public abstract class DataService extends DataServiceHandler implements Service
         if (executor != null) {
             executor.shutdown(true);
         }
+        if (queryCursors != null) {
+            queryCursors.stop();
+        }
+    }
+
+    /**
+     * Returns the live query cursors, or null if they are not kept. For
+     * testing.
+     */
+    QueryCursorCache getQueryCursors() {
+        return queryCursors;
     }
 
     /**
@@ -2323,6 +2354,11 @@ public abstract class DataService extends DataServiceHandler implements Service
         int totReadKB = prepCost + getReadKB(readUnits, isAbsolute);
         int writeKB = (qres == null ? 0 : qres.getWriteKB());
 
+        if (qinfo.preparedQuery != null && qinfo.psw != null) {
+            queryCursors.update(qinfo.contKey, retContdKey,
+                                qinfo.preparedQuery, qinfo.psw);
+        }
+
         if (qinfo.traceLevel >= 4) {
             trace("readUnits = " + readUnits + " prepCost = " + prepCost +
                   " totReadKB = " + totReadKB + " writeKB = " + writeKB, rc.lc);
@@ -2674,7 +2710,12 @@ public abstract class DataService extends DataServiceHandler implements Service
          * how to share error handling
          */
         TableAPIImpl tableApi = firstInfo.entry.getTableAPI();
-        future = tableApi.executeAsyncInternal(info.tableOps, options);
+        if (writeMultipleAcrossShards && spansShardKeys(info.tableOps)) {
+            future = tableApi.executeBatchAsyncInternal(info.tableOps,
+                                                        options);
+        } else {
+            future = tableApi.executeAsyncInternal(info.tableOps, options);
+        }
 
         future.whenComplete((result, e) -> {
                 if (executor != null) {
@@ -2692,6 +2733,23 @@ public abstract class DataService extends DataServiceHandler implements Service
         return true;
     }
 
+    /**
+     * Returns true if the operations do not all share the same shard key.
+     */
+    private static boolean spansShardKeys(List<TableOperation> ops) {
+        String shardKey = null;
+        for (TableOperation op : ops) {
+            final String key =
+                ((PrimaryKeyImpl) op.getPrimaryKey()).toShardKey();
+            if (shardKey == null) {
+                shardKey = key;
+            } else if (!shardKey.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void handleWriteMultipleResponse(final Result result,
                                              Throwable e,
                                              final RequestContext rc,
@@ -3756,6 +3814,7 @@ public abstract class DataService extends DataServiceHandler implements Service
         boolean isPrepared;
         String statement; /* valid if !isPrepared */
         PreparedStatementWrapper psw; /* valid if isPrepared */
+        byte[] preparedQuery; /* valid if isPrepared and queryCursors */
         Map<String, FieldValue> bindVars;
         String queryName;
         String batchName;
@@ -4289,8 +4348,13 @@ public abstract class DataService extends DataServiceHandler implements Service
             } else if (name.equals(MAX_WRITE_KB)) {
                 info.maxWriteKB = Nson.readNsonInt(bis);
             } else if (name.equals(PREPARED_QUERY)) {
-                info.psw = deserializeNsonPreparedQuery(
-                               Nson.readNsonBinary(bis));
+                if (queryCursors != null) {
+                    /* deserialized below, unless a cursor has it */
+                    info.preparedQuery = Nson.readNsonBinary(bis);
+                } else {
+                    info.psw = deserializeNsonPreparedQuery(
+                                   Nson.readNsonBinary(bis));
+                }
             } else if (name.equals(BIND_VARIABLES)) {
                 getV4BindVariables(info, bis);
             } else if (name.equals(MATH_CONTEXT_CODE)) {
@@ -4325,6 +4389,13 @@ public abstract class DataService extends DataServiceHandler implements Service
             }
         }
 
+        if (info.preparedQuery != null) {
+            info.psw = getCursorPreparedQuery(info);
+            if (info.psw == null) {
+                info.psw = deserializeNsonPreparedQuery(info.preparedQuery);
+            }
+        }
+
         info.mathContext = codeToMathContext(mcCode, mcPrecision,
                                              mcRoundingMode);
 
@@ -4465,6 +4536,18 @@ public abstract class DataService extends DataServiceHandler implements Service
             info.statement = readNonNullEmptyString(rc.bbis, "statement");
         } else {
             int offset = rc.bbis.getOffset();
+            if (queryCursors != null) {
+                int length = rc.bbis.readInt();
+                if (length > 0 && length <= rc.bbis.available()) {
+                    info.preparedQuery = new byte[length];
+                    rc.bbis.readFully(info.preparedQuery);
+                    info.psw = getCursorPreparedQuery(info);
+                    if (info.psw != null) {
+                        return;
+                    }
+                }
+                rc.bbis.setOffset(offset);
+            }
             try {
                 info.psw = deserializePreparedQuery(rc.bbis, false);
             } catch (Exception e) {
@@ -4475,6 +4558,17 @@ public abstract class DataService extends DataServiceHandler implements Service
         }
     }
 
+    /**
+     * Returns the deserialized prepared query of the live cursor for a
+     * continuation request, or null if the request has no live cursor.
+     */
+    private PreparedStatementWrapper getCursorPreparedQuery(QueryOpInfo info) {
+        if (info.contKey == null) {
+            return null;
+        }
+        return queryCursors.get(info.contKey, info.preparedQuery);
+    }
+
     private void getV4BindVariables(QueryOpInfo info, ByteInputStream bis)
         throws IOException {
         int t = bis.readByte();
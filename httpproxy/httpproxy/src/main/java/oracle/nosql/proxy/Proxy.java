@@ -29,6 +29,7 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 import io.netty.util.internal.logging.JdkLoggerFactory;
 import oracle.kv.KVVersion;
 import oracle.kv.impl.api.KVStoreImpl;
+import oracle.kv.impl.measurement.OpenMetricsServer;
 import oracle.kv.impl.security.PasswordManager;
 import oracle.kv.impl.security.PasswordStore;
 import oracle.nosql.common.contextlogger.LogContext;
@@ -115,6 +116,9 @@ public final class Proxy {
 
     private ProxyHealthSource healthSource;
 
+    /* The OpenMetrics endpoint, or null if not enabled */
+    private OpenMetricsServer metricsServer;
+
     /*
      * Static values used for KVProxy security
      */
@@ -278,6 +282,9 @@ public final class Proxy {
             limiterManager.shutDown();
         }
         server.shutdown();
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
         /*
          * executor is owned by the proxy, do clean shutdown
          */
@@ -492,6 +499,20 @@ public final class Proxy {
         if (healthAgent != null) {
             healthAgent.start();
         }
+        if (config.getMetricsPort() > 0 &&
+            OpenMetricsServer.isAllowed(
+                config.useSSL() || config.getStoreSecurityFile() != null,
+                config.getMetricsAllowInsecure(), logger.getLogger())) {
+            metricsServer = new OpenMetricsServer(config.getHostname(),
+                                                  config.getMetricsPort(),
+                                                  logger.getLogger());
+            metricsServer.addCollector(
+                OpenMetricsServer.getJVMCollector("proxy"));
+            metricsServer.addCollector(
+                OpenMetricsServer.getRegistryCollector(
+                    MetricRegistry.defaultRegistry, "proxy"));
+            metricsServer.start();
+        }
     }
 
     /**
@@ -0,0 +1,141 @@
+/*-
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.nosql.proxy;
+
+import java.util.Arrays;
+
+import oracle.nosql.common.cache.Cache;
+import oracle.nosql.common.cache.CacheBuilder;
+import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
+import oracle.nosql.proxy.DataServiceHandler.PreparedStatementWrapper;
+
+/**
+ * A bounded cache of the query cursors that are live between batches of a
+ * query. A cursor is keyed by the continuation key returned to the driver
+ * with a batch of results, and holds the prepared query that the driver
+ * sends back with the next batch, in both serialized and deserialized form.
+ *
+ * When a continuation request finds its cursor, and the serialized prepared
+ * query it carries is identical to the one that was verified and
+ * deserialized for the previous batch, the deserialized query is reused
+ * rather than checking its hash and deserializing its plan again. Only
+ * that work is saved: the batch is still executed from the continuation
+ * key, as for any other request. Any other request, including one routed
+ * to a different proxy, misses the cache and takes the stateless path.
+ *
+ * Each batch moves the cursor to the new continuation key, so the entry for
+ * a query is removed once the query completes. Abandoned cursors are
+ * evicted when the cache is full or when they expire.
+ */
+class QueryCursorCache {
+
+    private final Cache<CursorKey, QueryCursor> cursors;
+
+    QueryCursorCache(int capacity, long lifetimeMs) {
+        cursors = CacheBuilder.build(
+            new CacheConfig().setCapacity(capacity)
+                             .setLifetime(lifetimeMs)
+                             .setName("QueryCursorCache"));
+    }
+
+    /**
+     * Returns the deserialized prepared query for the cursor with the
+     * specified continuation key, or null if there is no such cursor or the
+     * cursor belongs to a different prepared query.
+     */
+    PreparedStatementWrapper get(byte[] contKey, byte[] preparedQuery) {
+        final QueryCursor cursor = cursors.get(new CursorKey(contKey));
+        if (cursor == null ||
+            !Arrays.equals(cursor.preparedQuery, preparedQuery)) {
+            return null;
+        }
+        return cursor.psw;
+    }
+
+    /**
+     * Moves the cursor for a query that has returned a batch of results.
+     *
+     * @param contKey the continuation key the batch was requested with, or
+     * null for the first batch
+     * @param nextContKey the continuation key returned with the batch, or
+     * null if the query is done
+     * @param preparedQuery the serialized prepared query
+     * @param psw the deserialized prepared query
+     */
+    void update(byte[] contKey,
+                byte[] nextContKey,
+                byte[] preparedQuery,
+                PreparedStatementWrapper psw) {
+        if (contKey != null) {
+            cursors.remove(new CursorKey(contKey));
+        }
+        if (nextContKey != null) {
+            cursors.put(new CursorKey(nextContKey),
+                        new QueryCursor(preparedQuery, psw));
+        }
+    }
+
+    /* For testing */
+    int size() {
+        return cursors.getSize();
+    }
+
+    /* For testing */
+    void clear() {
+        cursors.clear();
+    }
+
+    void stop() {
+        cursors.stop(false);
+    }
+
+    private static class QueryCursor {
+        final byte[] preparedQuery;
+        final PreparedStatementWrapper psw;
+
+        QueryCursor(byte[] preparedQuery, PreparedStatementWrapper psw) {
+            this.preparedQuery = preparedQuery;
+            this.psw = psw;
+        }
+    }
+
+    /**
+     * Compares continuation keys by value.
+     */
+    private static class CursorKey {
+        private final byte[] contKey;
+        private final int hashCode;
+
+        CursorKey(byte[] contKey) {
+            this.contKey = contKey;
+            hashCode = Arrays.hashCode(contKey);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CursorKey)) {
+                return false;
+            }
+            return Arrays.equals(contKey, ((CursorKey) obj).contKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -60,7 +60,9 @@ public class KVTenantManager extends LocalTenantManager {
         storeConfig.setStoreName(config.getStoreName());
         storeConfig.setHelperHosts(config.getHelperHosts());
         try {
-            return new KVTenantManager(connectKVStore(storeConfig),
+            final KVStore store = connectKVStore(storeConfig);
+            configureGetBatching(store, config);
+            return new KVTenantManager(store,
                                        config.getStoreName(),
                                        config.getHelperHosts());
         } catch (KVSecurityException kse) {
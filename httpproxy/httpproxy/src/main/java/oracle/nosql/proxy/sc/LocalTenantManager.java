@@ -160,7 +160,9 @@ public class LocalTenantManager implements TenantManager {
         storeConfig.setStoreName(config.getStoreName());
         storeConfig.setHelperHosts(config.getHelperHosts());
 
-        return new LocalTenantManager(connectKVStore(storeConfig),
+        final KVStore store = connectKVStore(storeConfig);
+        configureGetBatching(store, config);
+        return new LocalTenantManager(store,
                                       config.getStoreName(),
                                       config.getNoLimits(),
                                       config.getHelperHosts());
@@ -237,6 +239,19 @@ public class LocalTenantManager implements TenantManager {
         return store;
     }
 
+    /**
+     * Enables the coalescing of concurrent gets into batched reads if it is
+     * configured.
+     */
+    protected static void configureGetBatching(KVStore store, Config config) {
+        final int windowMicros = config.getGetBatchWindowMicros();
+        if (windowMicros > 0 && config.getAsync()) {
+            ((TableAPIImpl) store.getTableAPI()).enableGetBatching(
+                windowMicros, TimeUnit.MICROSECONDS,
+                config.getGetBatchMaxSize());
+        }
+    }
+
     @Override
     public void setLogger(final SkLogger logger) {
         this.logger = logger;
@@ -1335,7 +1350,7 @@ public class LocalTenantManager implements TenantManager {
     public void createTableCache(Config config,
                                  MonitorStats stats,
                                  SkLogger logger) {
-        this.tableCache = new PassThroughTableCache(this, logger);
+        this.tableCache = new PassThroughTableCache(this, config, logger);
     }
 
     @Override
@@ -13,13 +13,19 @@
 
 package oracle.nosql.proxy.util;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 import oracle.kv.impl.api.KVStoreImpl;
 import oracle.kv.impl.api.RequestDispatcher;
 import oracle.kv.impl.api.RequestDispatcherImpl;
 import oracle.kv.impl.api.table.TableAPIImpl;
+import oracle.kv.impl.api.table.TableImpl;
 import oracle.kv.table.Table;
 import oracle.nosql.common.contextlogger.LogContext;
 import oracle.nosql.common.sklogger.SkLogger;
+import oracle.nosql.proxy.Config;
 import oracle.nosql.proxy.RequestLimits;
 import oracle.nosql.proxy.sc.LocalTenantManager;
 
@@ -33,8 +39,32 @@ public class PassThroughTableCache extends TableCache {
     private final RequestLimits requestLimits;
     private final boolean useCache;
 
+    /*
+     * Upper case full namespace names of the tables whose rows are cached
+     * by the kv client, and the cache settings.
+     */
+    private final Set<String> nearCacheTables = new HashSet<>();
+    private final int nearCacheMaxRows;
+    private final int nearCacheLifetimeMs;
+
     public PassThroughTableCache(LocalTenantManager ltm, SkLogger logger) {
+        this(ltm, null, logger);
+    }
+
+    public PassThroughTableCache(LocalTenantManager ltm,
+                                 Config config,
+                                 SkLogger logger) {
         super(logger);
+        if (config != null) {
+            for (String name : config.getNearCacheTables()) {
+                nearCacheTables.add(name.toUpperCase());
+            }
+            nearCacheMaxRows = config.getNearCacheMaxRows();
+            nearCacheLifetimeMs = config.getNearCacheLifetimeMs();
+        } else {
+            nearCacheMaxRows = 0;
+            nearCacheLifetimeMs = 0;
+        }
         this.store = ltm.getStore();
         this.requestLimits = ltm.getRequestLimits();
         /* allow tests to use the cache */
@@ -74,9 +104,26 @@ public class PassThroughTableCache extends TableCache {
         if (table == null) {
             tableNotFound(namespace, tableName, null, lc);
         }
+        enableNearCache(tableApi, table);
         return new PassThroughTableEntry(table, tableApi, store);
     }
 
+    /**
+     * Enables the kv client row cache for the table if it is configured and
+     * not already enabled. Gets done through TableAPIImpl.getInternal will
+     * then be served from the cache when possible.
+     */
+    private void enableNearCache(TableAPIImpl tableApi, Table table) {
+        if (nearCacheTables.isEmpty() ||
+            !nearCacheTables.contains(
+                table.getFullNamespaceName().toUpperCase()) ||
+            tableApi.getNearCache().isEnabled(((TableImpl) table).getId())) {
+            return;
+        }
+        tableApi.enableNearCache(table, nearCacheMaxRows, nearCacheLifetimeMs,
+                                 TimeUnit.MILLISECONDS);
+    }
+
     @Override
     public KVStoreImpl getStoreByName(String storeName) {
         return this.store;
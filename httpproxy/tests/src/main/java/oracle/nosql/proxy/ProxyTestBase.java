@@ -150,6 +150,8 @@ public class ProxyTestBase extends KVLiteBase {
                                 "test.drlusedistributed";
     protected static String PROXY_DRL_TABLENAME_PROP = "test.drltablename";
     protected static String PROXY_DRL_RATE_FACTOR_PROP = "test.drlratefactor";
+    protected static String PROXY_QUERY_CURSOR_CACHE_SIZE_PROP =
+        "test.querycursorcachesize";
     protected static String KVLITE_USETHREADS_PROP = "test.usethreads";
     protected static String KVLITE_MULTISHARD_PROP = "test.multishard";
     protected static String KVLITE_MEMORYMB_PROP = "test.memorymb";
@@ -690,6 +692,12 @@ public class ProxyTestBase extends KVLiteBase {
             commandLine.setProperty(Config.DRL_RATE_FACTOR.paramName, prop);
         }
 
+        prop = System.getProperty(PROXY_QUERY_CURSOR_CACHE_SIZE_PROP);
+        if (prop != null && prop.compareTo("") != 0) {
+            commandLine.setProperty(Config.QUERY_CURSOR_CACHE_SIZE.paramName,
+                                    prop);
+        }
+
         int retryDelayMs = Integer.getInteger(PROXY_RETRY_DELAY_MS_PROP,
                                               PROXY_RETRY_DELAY_MS_DEFAULT);
         commandLine.setProperty(Config.RETRY_DELAY_MS.paramName,
@@ -0,0 +1,110 @@
+/*-
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * See the file LICENSE for redistribution information.
+ *
+ */
+
+package oracle.nosql.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import oracle.nosql.proxy.DataServiceHandler.PreparedStatementWrapper;
+import oracle.nosql.proxy.util.TestBase;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the QueryCursorCache class. See QueryCursorTest for tests of the
+ * query paths of the proxy that use it.
+ */
+public class QueryCursorCacheTest extends TestBase {
+
+    private static final byte[] PREPARED = { 1, 2, 3, 4 };
+
+    private QueryCursorCache cache;
+
+    @After
+    public void tearDown() {
+        if (cache != null) {
+            cache.stop();
+        }
+    }
+
+    /**
+     * A continuation request with the same prepared query bytes finds the
+     * cursor, and each batch moves the cursor to the next continuation key.
+     */
+    @Test
+    public void testContinuationHit() {
+        cache = new QueryCursorCache(10, 60000);
+        final PreparedStatementWrapper psw = new PreparedStatementWrapper();
+
+        /* The first batch has no continuation key */
+        cache.update(null, contKey(1), PREPARED, psw);
+        assertEquals(1, cache.size());
+
+        /* The bytes sent by the driver are a copy of the cached ones */
+        assertSame(psw, cache.get(contKey(1), PREPARED.clone()));
+
+        cache.update(contKey(1), contKey(2), PREPARED, psw);
+        assertEquals(1, cache.size());
+        assertNull(cache.get(contKey(1), PREPARED));
+        assertSame(psw, cache.get(contKey(2), PREPARED));
+
+        /* The last batch removes the cursor */
+        cache.update(contKey(2), null, PREPARED, psw);
+        assertEquals(0, cache.size());
+        assertNull(cache.get(contKey(2), PREPARED));
+    }
+
+    /**
+     * A continuation request whose prepared query bytes differ from the
+     * cached ones misses, so the query it carries is verified and
+     * deserialized on the stateless path.
+     */
+    @Test
+    public void testPreparedQueryMismatch() {
+        cache = new QueryCursorCache(10, 60000);
+        final PreparedStatementWrapper psw = new PreparedStatementWrapper();
+        cache.update(null, contKey(1), PREPARED, psw);
+
+        final byte[] other = PREPARED.clone();
+        other[other.length - 1]++;
+        assertNull(cache.get(contKey(1), other));
+        assertNull(cache.get(contKey(1), new byte[] { 1, 2, 3 }));
+        assertNull(cache.get(contKey(1), null));
+
+        /* A miss does not remove the cursor */
+        assertSame(psw, cache.get(contKey(1), PREPARED));
+    }
+
+    /**
+     * Abandoned cursors are evicted when the cache is full and when they
+     * expire.
+     */
+    @Test
+    public void testEviction() throws Exception {
+        cache = new QueryCursorCache(2, 60000);
+        final PreparedStatementWrapper psw = new PreparedStatementWrapper();
+        for (int i = 1; i <= 3; i++) {
+            cache.update(null, contKey(i), PREPARED, psw);
+        }
+        assertEquals(2, cache.size());
+        assertNull(cache.get(contKey(1), PREPARED));
+        assertSame(psw, cache.get(contKey(3), PREPARED));
+        cache.stop();
+
+        cache = new QueryCursorCache(10, 100);
+        cache.update(null, contKey(1), PREPARED, psw);
+        Thread.sleep(200);
+        assertNull(cache.get(contKey(1), PREPARED));
+    }
+
+    private static byte[] contKey(int i) {
+        return new byte[] { 9, (byte) i };
+    }
+}
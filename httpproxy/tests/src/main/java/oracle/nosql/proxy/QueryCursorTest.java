@@ -0,0 +1,184 @@
+/*-
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * See the file LICENSE for redistribution information.
+ *
+ */
+
+package oracle.nosql.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import oracle.nosql.driver.NoSQLHandle;
+import oracle.nosql.driver.http.NoSQLHandleImpl;
+import oracle.nosql.driver.ops.PrepareRequest;
+import oracle.nosql.driver.ops.PreparedStatement;
+import oracle.nosql.driver.ops.PutRequest;
+import oracle.nosql.driver.ops.QueryRequest;
+import oracle.nosql.driver.ops.QueryResult;
+import oracle.nosql.driver.ops.TableLimits;
+import oracle.nosql.driver.values.MapValue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the query paths of the proxy with live query cursors, see
+ * Config.QUERY_CURSOR_CACHE_SIZE. Each query returns its rows in several
+ * batches, and must return the same rows whether the continuation requests
+ * find their cursors or fall back to the stateless path, for both the V3
+ * and the V4 (NSON) protocols.
+ */
+public class QueryCursorTest extends ProxyTestBase {
+
+    private static final String TABLE = "cursors";
+    private static final int NROWS = 20;
+    private static final int LIMIT = 3;
+
+    /* this overrides the BeforeClass method in ProxyTestBase */
+    @BeforeClass
+    public static void staticSetUp()
+        throws Exception {
+
+        assumeTrue("Skipping QueryCursorTest in minicloud or cloud test",
+                   !Boolean.getBoolean(USEMC_PROP) &&
+                   !Boolean.getBoolean(USECLOUD_PROP));
+
+        System.setProperty(PROXY_QUERY_CURSOR_CACHE_SIZE_PROP, "100");
+        try {
+            staticSetUp(tenantLimits);
+        } finally {
+            System.clearProperty(PROXY_QUERY_CURSOR_CACHE_SIZE_PROP);
+        }
+    }
+
+    /**
+     * Continuation requests find their cursors, which move with each batch
+     * and are removed when the query is done.
+     */
+    @Test
+    public void testContinuationHit() {
+        final QueryCursorCache cursors = getQueryCursors();
+        createTable();
+
+        final NoSQLHandle v4Handle = configHandle(getProxyEndpoint());
+        try {
+            final List<Integer> ids = runQuery(v4Handle, cursors, false);
+            assertEquals(expectedIds(), ids);
+        } finally {
+            v4Handle.close();
+        }
+        assertEquals(0, cursors.size());
+    }
+
+    /**
+     * With the V4 protocol, a continuation request that misses its cursor
+     * deserializes the prepared query it carries.
+     */
+    @Test
+    public void testMissV4() {
+        final QueryCursorCache cursors = getQueryCursors();
+        createTable();
+
+        final NoSQLHandle v4Handle = configHandle(getProxyEndpoint());
+        try {
+            assertEquals(expectedIds(), runQuery(v4Handle, cursors, true));
+        } finally {
+            v4Handle.close();
+        }
+    }
+
+    /**
+     * With the V3 protocol, a continuation request that misses its cursor
+     * rewinds the input to the prepared query, and deserializes it as the
+     * stateless path does.
+     */
+    @Test
+    public void testMissV3() {
+        final QueryCursorCache cursors = getQueryCursors();
+        createTable();
+
+        final NoSQLHandle v3Handle = configHandle(getProxyEndpoint());
+        try {
+            forceV3((NoSQLHandleImpl) v3Handle);
+            assertEquals(expectedIds(), runQuery(v3Handle, cursors, true));
+
+            /* Cursors are kept for V3 requests too */
+            assertEquals(expectedIds(), runQuery(v3Handle, cursors, false));
+        } finally {
+            v3Handle.close();
+        }
+    }
+
+    /**
+     * Runs the query in batches of LIMIT rows, returning the IDs of the
+     * rows. If clearCursors is true, the cursors are removed after each
+     * batch, so that all continuation requests miss.
+     */
+    private static List<Integer> runQuery(NoSQLHandle qhandle,
+                                          QueryCursorCache cursors,
+                                          boolean clearCursors) {
+        final PreparedStatement prepStmt = qhandle.prepare(
+            new PrepareRequest().setStatement(
+                "select id from " + TABLE + " where sid = 0"))
+            .getPreparedStatement();
+        final QueryRequest qreq = new QueryRequest()
+            .setPreparedStatement(prepStmt)
+            .setLimit(LIMIT);
+        final List<Integer> ids = new ArrayList<>();
+        int numBatches = 0;
+        do {
+            final QueryResult qres = qhandle.query(qreq);
+            for (MapValue row : qres.getResults()) {
+                ids.add(row.getInt("id"));
+            }
+            numBatches++;
+            if (!qreq.isDone()) {
+                assertEquals(1, cursors.size());
+                if (clearCursors) {
+                    cursors.clear();
+                }
+            }
+        } while (!qreq.isDone());
+        assertTrue("batches: " + numBatches, numBatches > 1);
+        return ids;
+    }
+
+    private void createTable() {
+        tableOperation(handle,
+                       "create table if not exists " + TABLE +
+                       "(sid integer, id integer, name string, " +
+                       "primary key(shard(sid), id))",
+                       new TableLimits(1000, 1000, 50),
+                       20000);
+        for (int i = 0; i < NROWS; i++) {
+            handle.put(new PutRequest()
+                       .setTableName(TABLE)
+                       .setValue(new MapValue()
+                                 .put("sid", 0)
+                                 .put("id", i)
+                                 .put("name", "name" + i)));
+        }
+    }
+
+    private static List<Integer> expectedIds() {
+        final List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < NROWS; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    private static QueryCursorCache getQueryCursors() {
+        final QueryCursorCache cursors =
+            proxy.getService("ProxyData").getQueryCursors();
+        assertNotNull(cursors);
+        return cursors;
+    }
+}
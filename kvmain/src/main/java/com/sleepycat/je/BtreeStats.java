@@ -23,6 +23,11 @@ import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_LNS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_MAINTREE_MAXDEPTH;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_GROUP_DESC;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_GROUP_NAME;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_KEY_FILTER_BYTES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_KEY_FILTER_FALSE_POSITIVES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_KEY_FILTER_FALSE_POSITIVE_RATE;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_KEY_FILTER_KEYS;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_KEY_FILTER_NEGATIVES;
 
 import com.sleepycat.je.utilint.StatGroup;
 
@@ -125,6 +130,60 @@ public class BtreeStats extends DatabaseStats {
         return stats.getLongArray(BT_COUNT_BIN_ENTRIES_HISTOGRAM);
     }
 
+    /**
+     * @hidden
+     * Internal use only.
+     */
+    public StatGroup getStatGroup() {
+        return stats;
+    }
+
+    /**
+     * @hidden
+     * Returns the size in bytes of the bloom filter over the keys in the
+     * database btree, or zero if there is no filter.
+     */
+    public long getKeyFilterBytes() {
+        return stats.getLong(BT_KEY_FILTER_BYTES);
+    }
+
+    /**
+     * @hidden
+     * Returns the number of keys added to the key filter since it was last
+     * built.
+     */
+    public long getKeyFilterKeys() {
+        return stats.getLong(BT_KEY_FILTER_KEYS);
+    }
+
+    /**
+     * @hidden
+     * Returns the number of exact searches and insertions for which the key
+     * filter showed that the key was not in the btree, so the btree was not
+     * searched.
+     */
+    public long getKeyFilterNegatives() {
+        return stats.getLong(BT_KEY_FILTER_NEGATIVES);
+    }
+
+    /**
+     * @hidden
+     * Returns the number of exact searches and insertions for which the key
+     * filter did not exclude the key, but the key was not in the btree.
+     */
+    public long getKeyFilterFalsePositives() {
+        return stats.getLong(BT_KEY_FILTER_FALSE_POSITIVES);
+    }
+
+    /**
+     * @hidden
+     * Returns the fraction of the searches for keys that were not in the
+     * btree for which the key filter did not exclude the key.
+     */
+    public float getKeyFilterFalsePositiveRate() {
+        return stats.getFloat(BT_KEY_FILTER_FALSE_POSITIVE_RATE);
+    }
+
     /**
      * Returns a String representation of the stats in the form of
      * &lt;stat&gt;=&lt;value&gt;
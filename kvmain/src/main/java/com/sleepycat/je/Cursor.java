@@ -1316,6 +1316,8 @@ public class Cursor implements ForwardCursor {
         final SearchMode searchMode = getType.getSearchMode();
         final boolean excludeTombstones = options.getExcludeTombstones();
 
+        cursorImpl.setElideReadLock(options.getElideReadLock());
+
         if (searchMode != null) {
             checkState(false /*mustBeInitialized*/);
 
@@ -4821,6 +4823,23 @@ public class Cursor implements ForwardCursor {
                         priCursor.releaseLockForOptimisticRead(
                             priLockStanding, priLockType);
                     }
+
+                    /*
+                     * A deferred secondary may refer to a primary record
+                     * that no longer contains the secondary key, until the
+                     * update has been applied to the secondary. Skip the
+                     * record, as is done for a dirty-read above.
+                     */
+                    if (secDb instanceof SecondaryDatabase &&
+                        ((SecondaryDatabase) secDb).isDeferred() &&
+                        !data.getPartial() &&
+                        checkForPrimaryUpdate(key, pKey, data,
+                                              result.getCreationTime(),
+                                              result.getModificationTime(),
+                                              result.getExpirationTime(),
+                                              priCursor.getStorageSize())) {
+                        return null;
+                    }
                 }
             }
 
@@ -4876,6 +4895,15 @@ public class Cursor implements ForwardCursor {
             return;
         }
 
+        /*
+         * A deferred secondary may refer to a deleted primary record until
+         * the deletion has been applied to the secondary.
+         */
+        if (secDb instanceof SecondaryDatabase &&
+            ((SecondaryDatabase) secDb).isDeferred()) {
+            return;
+        }
+
         /*
          * TODO: whether we need to do the following check for all
          *       usage scenarios of readPrimaryAfterGet. If true, we
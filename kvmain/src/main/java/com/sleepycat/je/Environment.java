@@ -161,6 +161,14 @@ public class Environment implements Closeable {
      */
     public static final String CHECKPOINTER_NAME = "Checkpointer";
 
+    /**
+     * @hidden
+     * The name of the daemon thread that builds the key filters of
+     * databases for which they are enabled.
+     */
+    public static final String KEY_FILTER_REBUILDER_NAME =
+        "KeyFilterRebuilder";
+
     /**
      * @hidden
      * The name of the StatCapture daemon thread.  This constant is passed to
@@ -55,6 +55,8 @@ import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_DELETES;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_GETS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_INSERTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_UPDATES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCHES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCH_FAILURES;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_RELATCHES_REQUIRED;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_ROOT_SPLITS;
 import static com.sleepycat.je.dbi.DbiStatDefinition.BACKUP_COPY_FILES_COUNT;
@@ -140,6 +142,10 @@ import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITEQUEUE_OVERFLOW
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITES_FROM_WRITEQUEUE;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_FSYNCS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_FSYNC_REQUESTS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_JOINS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_MAX_SIZE;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_WAITS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_WAIT_NS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_N_GROUP_COMMIT_REQUESTS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_TIMEOUTS;
 import static com.sleepycat.je.log.LogStatDefinition.LBFP_BUFFER_BYTES;
@@ -163,6 +169,7 @@ import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_START;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_OWNERS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_READ_LOCKS;
+import static com.sleepycat.je.txn.LockStatDefinition.LOCK_READ_LOCKS_ELIDED;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_REQUESTS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_TOTAL;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_WAITERS;
@@ -2105,6 +2112,32 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * <p>Note that {@link #getNFSyncs()} is a subset of the
  * {@link #getNLogFSyncs()} total that is described further above.</p>
  *
+ * <p>When fsync requests arrive frequently, a leader may wait for a short
+ * time before performing the group commit, so that more threads can join
+ * its group. The wait is adapted to the recent fsync time and request rate.
+ * The following stats indicate how often leaders waited, for how long, and
+ * the resulting group sizes:</p>
+ *
+ * <table style="margin-left: 2em" border="1">
+ *  <caption style='display:none'>Accessors and definitions</caption>
+ *  <tr><td>{@link #getNGroupCommitWaits()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_WAITS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getGroupCommitWaitNs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_WAIT_NS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNGroupCommitJoins()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_JOINS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getMaxGroupCommitSize()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_MAX_SIZE_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <h2><a id="incomp">Node Compression Statistics</a></h2>
  *
  * <p style="margin-left: 2em">Group Name: {@value
@@ -2221,6 +2254,11 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.txn.LockStatDefinition#LOCK_REQUESTS_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getNReadLocksElided()}</td>
+ *   <td>
+ *    {@value
+ *    com.sleepycat.je.txn.LockStatDefinition#LOCK_READ_LOCKS_ELIDED_DESC}
+ *   </td></tr>
  *  <tr><td>{@link #getNTotalLocks()}</td>
  *   <td>
  *    {@value com.sleepycat.je.txn.LockStatDefinition#LOCK_TOTAL_DESC}
@@ -2341,6 +2379,14 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_BIN_DELTA_DELETES_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getNOptimisticSearches()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCHES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNOptimisticSearchFailures()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCH_FAILURES_DESC}
+ *   </td></tr>
  * </table>
  *
  * <h2><a id="env">Miscellaneous Environment-Wide Statistics</a></h2>
@@ -3760,6 +3806,66 @@ public class EnvironmentStats implements Serializable {
         return logStats.getLong(FSYNCMGR_TIMEOUTS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_WAITS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_WAITS_NAME}</p>
+     *
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     */
+    public long getNGroupCommitWaits() {
+        return logStats.getLong(FSYNCMGR_GROUP_COMMIT_WAITS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_WAIT_NS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_WAIT_NS_NAME}</p>
+     *
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     */
+    public long getGroupCommitWaitNs() {
+        return logStats.getLong(FSYNCMGR_GROUP_COMMIT_WAIT_NS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_JOINS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_JOINS_NAME}</p>
+     *
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     */
+    public long getNGroupCommitJoins() {
+        return logStats.getLong(FSYNCMGR_GROUP_COMMIT_JOINS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_MAX_SIZE_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_GROUP_COMMIT_MAX_SIZE_NAME}</p>
+     *
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     */
+    public long getMaxGroupCommitSize() {
+        return logStats.getLong(FSYNCMGR_GROUP_COMMIT_MAX_SIZE);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FSYNC_AVG_MS_DESC}</p>
@@ -5149,6 +5255,36 @@ public class EnvironmentStats implements Serializable {
         return btreeOpStats.getAtomicLong(BT_OP_BIN_DELTA_DELETES);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCHES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCHES_NAME}</p>
+     *
+     * @see <a href="#btreeop">Btree Operation Statistics</a>
+     */
+    public long getNOptimisticSearches() {
+        return btreeOpStats.getLong(BT_OP_OPTIMISTIC_SEARCHES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCH_FAILURES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCH_FAILURES_NAME}</p>
+     *
+     * @see <a href="#btreeop">Btree Operation Statistics</a>
+     */
+    public long getNOptimisticSearchFailures() {
+        return btreeOpStats.getLong(BT_OP_OPTIMISTIC_SEARCH_FAILURES);
+    }
+
     /* Lock stats. */
 
     /**
@@ -5266,6 +5402,22 @@ public class EnvironmentStats implements Serializable {
         return lockStats.getLong(LOCK_WAITS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.txn.LockStatDefinition#LOCK_READ_LOCKS_ELIDED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.txn.LockStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.txn.LockStatDefinition#LOCK_READ_LOCKS_ELIDED_NAME}</p>
+     *
+     * @see <a href="#lock">Lock Statistics</a>
+     * @see ReadOptions#setElideReadLock
+     */
+    public long getNReadLocksElided() {
+        return lockStats.getLong(LOCK_READ_LOCKS_ELIDED);
+    }
+
     /* Throughput stats. */
 
     /**
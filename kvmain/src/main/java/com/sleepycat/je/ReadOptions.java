@@ -27,6 +27,7 @@ public class ReadOptions implements Cloneable {
     private CacheMode cacheMode = null;
     private LockMode lockMode = LockMode.DEFAULT;
     private boolean excludeTombstones = false;
+    private boolean elideReadLock = false;
 
     /**
      * Constructs a ReadOptions object with default values for all properties.
@@ -122,5 +123,45 @@ public class ReadOptions implements Cloneable {
     public boolean getExcludeTombstones() {
         return excludeTombstones;
     }
-    
+
+    /**
+     * Sets whether a read lock may be skipped when the record is not locked
+     * by any other locker.
+     *
+     * <p>By default this property is false. If true, and the operation uses
+     * {@link TransactionConfig#setReadCommitted read-committed} isolation or
+     * a non-transactional cursor, then a record that is not write-locked (and has no waiters)
+     * when it is found in the Btree is returned without acquiring a read
+     * lock. The record is committed in this case, so read-committed
+     * semantics are preserved. However, the cursor does not hold a lock
+     * after the operation, so cursor stability is not provided: another
+     * transaction may modify the record before the cursor is moved or
+     * closed. This option is intended for single-record reads where the
+     * cursor is closed immediately after the read.</p>
+     *
+     * <p>The number of skipped locks is reported by {@link
+     * EnvironmentStats#getNReadLocksElided}.</p>
+     *
+     * @param elideReadLock the option to use.
+     *
+     * @return 'this'
+     *
+     * @hidden For internal use by NoSQL DB.
+     */
+    public ReadOptions setElideReadLock(final boolean elideReadLock) {
+        this.elideReadLock = elideReadLock;
+        return this;
+    }
+
+    /**
+     * Returns whether a read lock may be skipped when the record is not
+     * locked by any other locker.
+     *
+     * @see #setElideReadLock
+     *
+     * @hidden For internal use by NoSQL DB.
+     */
+    public boolean getElideReadLock() {
+        return elideReadLock;
+    }
 }
@@ -0,0 +1,265 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sleepycat.je.dbi.DupKeyData;
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.dbi.PutMode;
+import com.sleepycat.je.dbi.WriteParams;
+import com.sleepycat.je.txn.Locker;
+
+/**
+ * @hidden
+ * For internal use only.
+ *
+ * A log of the pending changes to secondary databases whose maintenance is
+ * deferred. When a change log is set on a secondary with {@link
+ * SecondaryDatabase#setChangeLog}, a write to the primary records the
+ * secondary keys to be inserted or deleted in the log, in the same
+ * transaction, rather than updating the secondary. The changes are applied
+ * to the secondary later, in batches, by calling {@link
+ * #apply}.
+ * <p>
+ * Changes are appended to the log in write order: a log record is keyed by
+ * the secondary database name, the end of the log when the change was made
+ * (see {@link EnvironmentImpl#getEndOfLog}) and a counter, and its data is
+ * the operation, the expiration of the secondary record, the secondary key
+ * and the primary key. Logging a change is therefore an append to the end
+ * of the log database, rather than an insert at a random position. Changes
+ * to the same primary record are made by transactions that are serialized
+ * by the record lock, so the later change always has the higher log key.
+ * <p>
+ * Changes are read from the log in write order and sorted by secondary
+ * record key when they are applied. When a batch contains several changes
+ * to the same secondary record, only the last one is applied. Applying a
+ * change is idempotent: an insert replaces the secondary record if it is
+ * present, and a delete of a missing record is ignored.
+ * <p>
+ * Until its changes have been applied, a deferred secondary may contain
+ * records that are not present in the primary, or lack records that are.
+ * Reads through a deferred secondary skip records whose primary record is
+ * missing rather than reporting a corrupt secondary. Foreign key
+ * constraints are not checked for deferred secondaries.
+ */
+public class SecondaryChangeLog {
+
+    private static final byte DELETE = 0;
+    private static final byte INSERT = 1;
+
+    /*
+     * Size of the log record data before the secondary record key: op,
+     * expiration, expirationInHours
+     */
+    private static final int HEADER_SIZE = 6;
+
+    /* Size of the log record key after the prefix: end of log, counter */
+    private static final int SEQUENCE_SIZE = 16;
+
+    /* Orders the changes logged with the same end of log */
+    private static final AtomicLong counter = new AtomicLong();
+
+    private final Database logDb;
+
+    /**
+     * Creates a change log stored in the specified database. The database
+     * must be transactional, and must not have sorted duplicates.
+     */
+    public SecondaryChangeLog(Database logDb) {
+        this.logDb = logDb;
+    }
+
+    public Database getDatabase() {
+        return logDb;
+    }
+
+    /**
+     * Records a change to the secondary, using the locker of the primary
+     * write.
+     */
+    void log(Locker locker,
+             SecondaryDatabase secDb,
+             boolean insert,
+             DatabaseEntry secKey,
+             DatabaseEntry priKey,
+             int expiration,
+             boolean expirationInHours) {
+
+        final byte[] prefix = makePrefix(secDb.getDatabaseName());
+        final byte[] key = Arrays.copyOf(prefix,
+                                         prefix.length + SEQUENCE_SIZE);
+        putLong(key, prefix.length,
+                DbInternal.getEnvironmentImpl(logDb.getEnvironment()).
+                getEndOfLog());
+        putLong(key, prefix.length + 8, counter.incrementAndGet());
+
+        final DatabaseEntry combined = DupKeyData.combine(secKey, priKey);
+        final byte[] data = new byte[HEADER_SIZE + combined.getSize()];
+        data[0] = insert ? INSERT : DELETE;
+        data[1] = (byte) (expiration >>> 24);
+        data[2] = (byte) (expiration >>> 16);
+        data[3] = (byte) (expiration >>> 8);
+        data[4] = (byte) expiration;
+        data[5] = (byte) (expirationInHours ? 1 : 0);
+        System.arraycopy(combined.getData(), combined.getOffset(),
+                         data, HEADER_SIZE, combined.getSize());
+
+        try (final Cursor cursor = new Cursor(logDb, locker, null)) {
+            cursor.putInternal(new DatabaseEntry(key), new DatabaseEntry(data),
+                               new WriteParams(logDb.getDbImpl().
+                                               getRepContext()),
+                               PutMode.OVERWRITE);
+        }
+    }
+
+    /**
+     * Returns true if there are changes in the log that have not been
+     * applied to the specified secondary. Uncommitted changes are included.
+     */
+    public boolean hasChanges(SecondaryDatabase secDb) {
+        final byte[] prefix = makePrefix(secDb.getDatabaseName());
+        final DatabaseEntry key = new DatabaseEntry(prefix);
+        final DatabaseEntry data = new DatabaseEntry();
+        data.setPartial(0, 0, true);
+        try (final Cursor cursor =
+                 logDb.openCursor(null, CursorConfig.READ_UNCOMMITTED)) {
+            return cursor.get(key, data, Get.SEARCH_GTE, null) != null &&
+                   startsWith(key, prefix);
+        }
+    }
+
+    /**
+     * Applies up to maxChanges changes to the specified secondary, in write
+     * order, and removes them from the log, in the specified transaction.
+     * Returns the number of changes applied. If the number returned is less
+     * than maxChanges, all changes committed before the call were applied.
+     */
+    public int apply(Transaction txn, SecondaryDatabase secDb, int maxChanges) {
+        return process(txn, secDb.getDatabaseName(), secDb, maxChanges);
+    }
+
+    /**
+     * Removes up to maxChanges changes for the specified secondary without
+     * applying them, in the specified transaction. This is used when the
+     * secondary database is removed. Returns the number of changes removed.
+     */
+    public int discard(Transaction txn, String secDbName, int maxChanges) {
+        return process(txn, secDbName, null, maxChanges);
+    }
+
+    private int process(Transaction txn,
+                        String secDbName,
+                        SecondaryDatabase secDb,
+                        int maxChanges) {
+        final byte[] prefix = makePrefix(secDbName);
+        final DatabaseEntry key = new DatabaseEntry(prefix);
+        final DatabaseEntry data = new DatabaseEntry();
+        final ReadOptions rmw = new ReadOptions().setLockMode(LockMode.RMW);
+        final List<byte[]> changes = new ArrayList<>();
+        int count = 0;
+
+        try (final Cursor logCursor = new Cursor(logDb, txn, null)) {
+            if (secDb == null) {
+                data.setPartial(0, 0, true);
+            }
+            OperationResult result =
+                logCursor.get(key, data, Get.SEARCH_GTE, rmw);
+
+            while (result != null && count < maxChanges &&
+                   startsWith(key, prefix)) {
+                if (secDb != null) {
+                    changes.add(data.getData());
+                }
+                logCursor.delete();
+                count++;
+                result = logCursor.get(key, data, Get.NEXT, rmw);
+            }
+        }
+        if (changes.isEmpty()) {
+            return count;
+        }
+
+        /*
+         * Sort the changes by secondary record key. The sort is stable, so
+         * the last change to each secondary record is the last one of its
+         * run in the sorted list, and is the only one applied.
+         */
+        changes.sort(SecondaryChangeLog::compareRecordKeys);
+
+        final DatabaseEntry secKey = new DatabaseEntry();
+        final DatabaseEntry priKey = new DatabaseEntry();
+        try (final Cursor secCursor = new Cursor(secDb, txn, null)) {
+            for (int i = 0; i < changes.size(); i++) {
+                final byte[] bytes = changes.get(i);
+                if (i + 1 < changes.size() &&
+                    compareRecordKeys(bytes, changes.get(i + 1)) == 0) {
+                    continue;
+                }
+                DupKeyData.split(Arrays.copyOfRange(bytes, HEADER_SIZE,
+                                                    bytes.length),
+                                 bytes.length - HEADER_SIZE, secKey, priKey);
+                if (bytes[0] == INSERT) {
+                    final int expiration =
+                        ((bytes[1] & 0xff) << 24) |
+                        ((bytes[2] & 0xff) << 16) |
+                        ((bytes[3] & 0xff) << 8) |
+                        (bytes[4] & 0xff);
+                    secDb.applyInsert(secCursor, secKey, priKey,
+                                      expiration, bytes[5] != 0);
+                } else {
+                    secDb.applyDelete(secCursor, secKey, priKey);
+                }
+            }
+        }
+        return count;
+    }
+
+    /* Compares the secondary record keys in the data of two log records. */
+    private static int compareRecordKeys(byte[] data1, byte[] data2) {
+        return Arrays.compareUnsigned(data1, HEADER_SIZE, data1.length,
+                                      data2, HEADER_SIZE, data2.length);
+    }
+
+    private static void putLong(byte[] bytes, int off, long val) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[off + i] = (byte) val;
+            val >>>= 8;
+        }
+    }
+
+    private static byte[] makePrefix(String secDbName) {
+        final byte[] name = secDbName.getBytes(StandardCharsets.UTF_8);
+        /* The zero byte separates the name from the secondary record key */
+        return Arrays.copyOf(name, name.length + 1);
+    }
+
+    private static boolean startsWith(DatabaseEntry key, byte[] prefix) {
+        if (key.getSize() < prefix.length) {
+            return false;
+        }
+        final byte[] bytes = key.getData();
+        final int off = key.getOffset();
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[off + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
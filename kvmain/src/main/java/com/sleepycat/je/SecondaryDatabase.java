@@ -142,6 +142,7 @@ public class SecondaryDatabase extends Database {
     private final Database primaryDatabase; // May be null.
     private SecondaryConfig secondaryConfig;
     private volatile boolean isFullyPopulated = true;
+    private volatile SecondaryChangeLog changeLog = null;
 
     /**
      * Creates a secondary database but does not open or fully initialize it.
@@ -461,6 +462,46 @@ public class SecondaryDatabase extends Database {
         return !isFullyPopulated;
     }
 
+    /**
+     * @hidden
+     * For internal use only.
+     *
+     * Defers the maintenance of this secondary database. After calling this
+     * method, writes to the primary record the changes to this secondary in
+     * the specified log rather than applying them, and the changes must be
+     * applied by calling {@link SecondaryChangeLog#apply}. Must be called
+     * before the secondary is used, and the secondary must be configured
+     * for sorted duplicates.
+     */
+    public void setChangeLog(SecondaryChangeLog changeLog) {
+        if (changeLog != null && !configuration.getSortedDuplicates()) {
+            throw new IllegalArgumentException(
+                "A deferred secondary must have sorted duplicates");
+        }
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * @hidden
+     * For internal use only.
+     *
+     * Returns the change log set by {@link #setChangeLog}, or null if the
+     * maintenance of this secondary is not deferred.
+     */
+    public SecondaryChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    /**
+     * @hidden
+     * For internal use only.
+     *
+     * @return true if the maintenance of this secondary is deferred.
+     */
+    public boolean isDeferred() {
+        return changeLog != null;
+    }
+
     /**
      * @hidden
      * For internal use only.
@@ -1257,6 +1298,9 @@ public class SecondaryDatabase extends Database {
 
         final boolean localCursor = (secCursor == null);
 
+        /* If maintenance is deferred, log the changes instead */
+        final SecondaryChangeLog log = changeLog;
+
         /*
          * Tombstones should always result in the secondary database entries
          * being deleted.  If we are replacing an old tombstone with a new
@@ -1355,7 +1399,20 @@ public class SecondaryDatabase extends Database {
                 oldSecKey = newSecKey;
             }
 
-            if (doDelete || doInsert || doUpdate) {
+            if ((doDelete || doInsert || doUpdate) && log != null) {
+                if (doDelete) {
+                    log.log(locker, this, false /*insert*/, oldSecKey,
+                            priKey, 0, false);
+                }
+                if (doInsert) {
+                    log.log(locker, this, true /*insert*/, newSecKey,
+                            priKey, expiration, expirationInHours);
+                }
+                if (doUpdate) {
+                    log.log(locker, this, true /*insert*/, oldSecKey,
+                            priKey, expiration, expirationInHours);
+                }
+            } else if (doDelete || doInsert || doUpdate) {
                 if (localCursor) {
                     secCursor = new Cursor(this, locker, null);
                 }
@@ -1468,9 +1525,22 @@ public class SecondaryDatabase extends Database {
 
             }
 
-            if (!toDelete.isEmpty() ||
-                !toInsert.isEmpty() ||
-                !toUpdate.isEmpty()) {
+            if (log != null) {
+                for (DatabaseEntry secKey : toDelete) {
+                    log.log(locker, this, false /*insert*/, secKey, priKey,
+                            0, false);
+                }
+                for (DatabaseEntry secKey : toInsert) {
+                    log.log(locker, this, true /*insert*/, secKey, priKey,
+                            expiration, expirationInHours);
+                }
+                for (DatabaseEntry secKey : toUpdate) {
+                    log.log(locker, this, true /*insert*/, secKey, priKey,
+                            expiration, expirationInHours);
+                }
+            } else if (!toDelete.isEmpty() ||
+                       !toInsert.isEmpty() ||
+                       !toUpdate.isEmpty()) {
 
                 if (localCursor) {
                     secCursor = new Cursor(this, locker, null);
@@ -1509,6 +1579,39 @@ public class SecondaryDatabase extends Database {
         }
     }
 
+    /**
+     * Applies a deferred insertion of a secondary key, replacing the record
+     * if it is already present.
+     */
+    void applyInsert(final Cursor secCursor,
+                     final DatabaseEntry secKey,
+                     final DatabaseEntry priKey,
+                     final int expiration,
+                     final boolean expirationInHours) {
+
+        final WriteParams writeParams = new WriteParams(
+            null /*cacheMode*/, getDbImpl().getRepContext(),
+            expiration, expirationInHours,
+            true /*updateExpiration*/, false /*tombstone*/);
+
+        secCursor.putInternal(secKey, priKey, writeParams, PutMode.OVERWRITE);
+    }
+
+    /**
+     * Applies a deferred deletion of a secondary key. The key may already
+     * have been removed.
+     */
+    void applyDelete(final Cursor secCursor,
+                     final DatabaseEntry secKey,
+                     final DatabaseEntry priKey) {
+
+        secCursor.searchAndDelete(
+            DupKeyData.combine(secKey, priKey), null /*preprocessor*/,
+            0L /*modificationTime*/, 0L /*oldExpirationTime*/,
+            getDbImpl().getRepContext(), null /*cacheMode*/,
+            false /*allowBlindDelete*/);
+    }
+
     /**
      * Deletes an old secondary key.
      */
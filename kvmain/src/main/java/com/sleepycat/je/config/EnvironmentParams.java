@@ -769,6 +769,34 @@ public class EnvironmentParams {
                                 false,             // mutable
                                 false);            // forReplication
 
+    /*
+     * The maximum time that a group commit leader waits for other fsync
+     * requests to join its group before issuing the fsync, or zero to never
+     * wait. The leader only waits when fsync requests have recently arrived
+     * at intervals shorter than the wait, which is also limited to half the
+     * recent fsync time. Not exposed in the API because the wait is adapted
+     * to the workload. Intended only for tuning and testing.
+     */
+    public static final DurationConfigParam LOG_GROUP_COMMIT_MAX_WAIT =
+        new DurationConfigParam("je.log.groupCommitMaxWait",
+                                "0",               // min
+                                "1 s",             // max
+                                "2 ms",            // default
+                                false,             // mutable
+                                false);            // forReplication
+
+    /*
+     * The number of fsync requests in a group at which a waiting group
+     * commit leader stops waiting and issues the fsync.
+     */
+    public static final IntConfigParam LOG_GROUP_COMMIT_MAX_SIZE =
+        new IntConfigParam("je.log.groupCommitMaxSize",
+                           Integer.valueOf(2),     // min
+                           null,                   // max
+                           Integer.valueOf(64),    // default
+                           false,                  // mutable
+                           false);                 // forReplication
+
     public static final DurationConfigParam LOG_FSYNC_TIME_LIMIT =
         new DurationConfigParam(EnvironmentConfig.LOG_FSYNC_TIME_LIMIT,
                                 "0",               // min
@@ -1031,6 +1059,46 @@ public class EnvironmentParams {
                            false,  // mutable
                            false); // forReplication
 
+    /*
+     * Not exposed in the API because we expect that optimistic searches will
+     * always be beneficial. Intended only for debugging and testing.
+     */
+    public static final BooleanConfigParam TREE_OPTIMISTIC_SEARCH =
+        new BooleanConfigParam("je.tree.optimisticSearch",
+                               true,         // default
+                               false,        // mutable
+                               false);       // forReplication
+
+    /*
+     * Limits for the key filters enabled with Tree.enableKeyFilter, which
+     * are used only by NoSQL DB. The max memory is a percentage of the
+     * cache size, for all filters. The batch size is the number of BINs
+     * scanned by KeyFilterRebuilder between pauses.
+     */
+    public static final IntConfigParam TREE_KEY_FILTER_MAX_MEMORY_PERCENTAGE =
+        new IntConfigParam("je.tree.keyFilterMaxMemoryPercentage",
+                           1,      // min
+                           50,     // max
+                           5,      // default
+                           false,  // mutable
+                           false); // forReplication
+
+    public static final IntConfigParam TREE_KEY_FILTER_BATCH_SIZE =
+        new IntConfigParam("je.tree.keyFilterBatchSize",
+                           1,      // min
+                           10000,  // max
+                           100,    // default
+                           false,  // mutable
+                           false); // forReplication
+
+    public static final DurationConfigParam TREE_KEY_FILTER_BATCH_DELAY =
+        new DurationConfigParam("je.tree.keyFilterBatchDelay",
+                                "0 ms",  // min
+                                "10 s",  // max
+                                "10 ms", // default
+                                false,   // mutable
+                                false);  // forReplication
+
     public static final BooleanConfigParam TREE_SECONDARY_INTEGRITY_FATAL =
         new BooleanConfigParam(EnvironmentConfig.TREE_SECONDARY_INTEGRITY_FATAL,
                                true,         // default
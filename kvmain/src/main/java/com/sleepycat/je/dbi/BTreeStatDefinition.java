@@ -74,6 +74,40 @@ public class BTreeStatDefinition {
                                "10-19% full, ..., 90-100% full].",
                            StatType.CUMULATIVE);
 
+    public static final StatDefinition BT_KEY_FILTER_BYTES =
+        new StatDefinition("keyFilterBytes",
+                           "Size in bytes of the bloom filter over the keys " +
+                               "in the database btree, or zero if there is " +
+                               "no filter.",
+                           StatType.CUMULATIVE);
+
+    public static final StatDefinition BT_KEY_FILTER_KEYS =
+        new StatDefinition("keyFilterKeys",
+                           "Number of keys added to the key filter since " +
+                               "it was last built.",
+                           StatType.CUMULATIVE);
+
+    public static final StatDefinition BT_KEY_FILTER_NEGATIVES =
+        new StatDefinition("keyFilterNegatives",
+                           "Number of exact searches and insertions for " +
+                               "which the key filter showed that the key " +
+                               "was not in the btree.",
+                           StatType.CUMULATIVE);
+
+    public static final StatDefinition BT_KEY_FILTER_FALSE_POSITIVES =
+        new StatDefinition("keyFilterFalsePositives",
+                           "Number of exact searches and insertions for " +
+                               "which the key filter did not exclude the " +
+                               "key, but the key was not in the btree.",
+                           StatType.CUMULATIVE);
+
+    public static final StatDefinition BT_KEY_FILTER_FALSE_POSITIVE_RATE =
+        new StatDefinition("keyFilterFalsePositiveRate",
+                           "Fraction of the searches for keys that were " +
+                               "not in the btree for which the key filter " +
+                               "did not exclude the key.",
+                           StatType.CUMULATIVE);
+
     /*
      * The BT_OP group is used for EnvironmentStats.
      */
@@ -135,4 +169,26 @@ public class BTreeStatDefinition {
         new StatDefinition(
             BT_OP_BIN_DELTA_DELETES_NAME,
             BT_OP_BIN_DELTA_DELETES_DESC);
+
+    public static final String BT_OP_OPTIMISTIC_SEARCHES_NAME =
+        "nOptimisticSearches";
+    public static final String BT_OP_OPTIMISTIC_SEARCHES_DESC =
+        "Number of btree searches that descended the upper INs without " +
+            "latching them, by validating their latch versions.";
+    public static final StatDefinition BT_OP_OPTIMISTIC_SEARCHES =
+        new StatDefinition(
+            BT_OP_OPTIMISTIC_SEARCHES_NAME,
+            BT_OP_OPTIMISTIC_SEARCHES_DESC);
+
+    public static final String BT_OP_OPTIMISTIC_SEARCH_FAILURES_NAME =
+        "nOptimisticSearchFailures";
+    public static final String BT_OP_OPTIMISTIC_SEARCH_FAILURES_DESC =
+        "Number of optimistic btree searches that were repeated with " +
+            "shared latching, because an upper IN was latched exclusively " +
+            "or changed during the search, or a child IN was not cached. " +
+            "A measurement of contention.";
+    public static final StatDefinition BT_OP_OPTIMISTIC_SEARCH_FAILURES =
+        new StatDefinition(
+            BT_OP_OPTIMISTIC_SEARCH_FAILURES_NAME,
+            BT_OP_OPTIMISTIC_SEARCH_FAILURES_DESC);
 }
@@ -137,6 +137,19 @@ public class CursorImpl implements Cloneable {
 
     private CacheMode cacheMode;
     private boolean allowEviction;
+
+    /*
+     * Whether a READ lock may be skipped for an uncontended record, for the
+     * next operation. See ReadOptions.setElideReadLock and lockLN.
+     */
+    private boolean elideReadLock;
+
+    /*
+     * Whether the READ lock was skipped by the last call to lockLN. If so,
+     * the record may change as soon as the BIN is unlatched, so the version
+     * cached by getCurrent is the only one that matches the data returned.
+     */
+    private boolean readLockElided;
     private BIN priorBIN;
 
     /*
@@ -315,6 +328,34 @@ public class CursorImpl implements Cloneable {
         cacheMode = mode;
     }
 
+    /**
+     * Sets whether a READ lock may be skipped by lockLN for the next
+     * operation, when the record is uncontended.
+     *
+     * @see com.sleepycat.je.ReadOptions#setElideReadLock
+     */
+    public void setElideReadLock(final boolean elideReadLock) {
+        this.elideReadLock = elideReadLock;
+    }
+
+    /**
+     * Returns whether a READ lock may be skipped for this cursor's locker.
+     * Only read-committed and non-transactional lockers that release their
+     * read locks when the cursor is moved or closed qualify, since for these
+     * lockers the lock provides only cursor stability. Lockers that retain
+     * non-transactional locks (internal BasicLockers, readPrimaryAfterGet)
+     * and optimistic-read and repeatable-read txns always lock.
+     */
+    private boolean canElideReadLock() {
+        if (!elideReadLock) {
+            return false;
+        }
+        if (locker.isTransactional()) {
+            return locker.isReadCommittedIsolation();
+        }
+        return !retainNonTxnLocks;
+    }
+
     public void setTreeStatsAccumulator(TreeWalkerStatsAccumulator tSA) {
         maybeInitTreeStatsAccumulator();
         treeStatsAccumulatorTL.set(tSA);
@@ -1759,6 +1800,15 @@ public class CursorImpl implements Cloneable {
             bin = tree.findBinForInsert(key, getCacheMode());
         }
 
+        /*
+         * If the key filter shows the key is not in the tree, a BIN-delta
+         * need not be mutated to a full BIN to check for the key. Add the
+         * key to the filter while the BIN is latched, before inserting it.
+         */
+        final boolean keyFiltered = tree.hasKeyFilter();
+        final boolean keyAbsent = keyFiltered && !tree.mayContainKey(key);
+        tree.addKeyToFilter(key);
+
         /*
          * In the case where logging occurs before locking, allow lockers to
          * reject the operation (e.g., if writing on a replica) and also
@@ -1798,7 +1848,12 @@ public class CursorImpl implements Cloneable {
          */
         int insertIndex = bin.insertEntry1(
             shouldCache ? treeLn : null, key, embeddedData, DbLsn.NULL_LSN,
-            blindInsertion);
+            blindInsertion || keyAbsent);
+
+        if (keyFiltered && !keyAbsent &&
+            (insertIndex & IN.INSERT_SUCCESS) != 0) {
+            tree.countKeyFilterFalsePositive();
+        }
 
         if ((insertIndex & IN.INSERT_SUCCESS) == 0) {
             /*
@@ -2543,12 +2598,23 @@ public class CursorImpl implements Cloneable {
 
         try {
             byte[] key = Key.makeSharedKey(searchKey);
+            final Tree tree = dbImpl.getTree();
+
+            /*
+             * If the key filter shows the key is not in the tree, return as
+             * for an empty tree, without searching the tree.
+             */
+            final boolean keyFiltered = tree.hasKeyFilter();
+            if (keyFiltered && !tree.mayContainKey(key)) {
+                setInitialized();
+                return null;
+            }
 
             bin = (preprocessor != null) ?
                 preprocessor.getPinnedBIN(key, false) : null;
 
             if (bin == null){
-                bin = dbImpl.getTree().search(key, cacheMode);
+                bin = tree.search(key, cacheMode);
             }
 
             if (bin != null) {
@@ -2563,6 +2629,10 @@ public class CursorImpl implements Cloneable {
                     }
                 }
 
+                if (keyFiltered && index < 0) {
+                    tree.countKeyFilterFalsePositive();
+                }
+
                 addCursor(bin);
 
                 if (index >= 0) {
@@ -3095,10 +3165,15 @@ public class CursorImpl implements Cloneable {
             LN.setEntry(foundKey, bin.getKey(index));
         }
 
-        /* Cache record version/size for fetch operation. */
+        /*
+         * Cache record version/size for fetch operation. If the read lock was
+         * skipped, the VLSN must be fetched now, while the BIN is latched, or
+         * getCurrentVersion could later return the version of another write.
+         */
         final long vlsn = (ln != null ?
                            ln.getVLSNSequence() :
-                           bin.getVLSN(index, false /*allowFetch*/, cacheMode));
+                           bin.getVLSN(index, readLockElided /*allowFetch*/,
+                                       cacheMode));
 
         if (!shouldCache) {
             bin.evictLN(index);
@@ -3217,12 +3292,15 @@ public class CursorImpl implements Cloneable {
         /*
          * Use cached version if available.  Do not use cached version if it
          * does not contain a VLSN and and fetching is allowed; instead, try
-         * to fetch it below.
+         * to fetch it below. When the read lock was skipped, the slot may
+         * have been updated since the record was read, so the cached version
+         * is always used.
          */
         if (currentRecordVersion != null) {
             if ((currentRecordVersion.getVLSN() !=
                  NULL_VLSN) ||
-                !allowFetch) {
+                !allowFetch ||
+                readLockElided) {
 
                 return currentRecordVersion;
             }
@@ -4136,6 +4214,7 @@ public class CursorImpl implements Cloneable {
 
         final LockStanding standing = new LockStanding();
         standing.lsn = bin.getLsn(index);
+        readLockElided = false;
 
         /* Check for a known-deleted null LSN. */
         if (standing.lsn == DbLsn.NULL_LSN) {
@@ -4164,6 +4243,23 @@ public class CursorImpl implements Cloneable {
             return standing;
         }
 
+        /*
+         * A READ lock may also be skipped if uncontended, when the caller
+         * does not need cursor stability. The LSN is checked while the BIN
+         * is latched, and a writer always locks the LSN it logs before
+         * releasing the BIN latch, so an uncontended LSN is committed.
+         * preLogWithoutLock is not needed since nothing is logged.
+         */
+        if (lockType == LockType.READ &&
+            canElideReadLock() &&
+            lockManager.isLockUncontended(standing.lsn)) {
+
+            lockManager.incReadLocksElided();
+            readLockElided = true;
+            standing.defunct = bin.isDefunct(index, excludeTombstones);
+            return standing;
+        }
+
         /*
          * If wasLockedAndExpiresSoon is true, we will treat the record as not
          * expired. If false, we will check for expiration after locking.
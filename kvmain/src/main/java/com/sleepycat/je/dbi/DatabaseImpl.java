@@ -1271,10 +1271,16 @@ public class DatabaseImpl implements Loggable, Cloneable {
 
     public BtreeStats stat(StatsConfig config) {
 
-        if (config.getFast() || tree == null) {
+        if (tree == null) {
             return new BtreeStats();
         }
 
+        if (config.getFast()) {
+            final BtreeStats stats = new BtreeStats();
+            tree.addKeyFilterStats(stats.getStatGroup());
+            return stats;
+        }
+
         final VerifyConfig verifyConfig = new VerifyConfig();
 
         verifyConfig.setShowProgressInterval(
@@ -1286,7 +1292,9 @@ public class DatabaseImpl implements Loggable, Cloneable {
         final BtreeVerifier verifier = new BtreeVerifier(envImpl);
         verifier.setBtreeVerifyConfig(verifyConfig);
 
-        return verifier.getDatabaseStats(getId());
+        final BtreeStats stats = verifier.getDatabaseStats(getId());
+        tree.addKeyFilterStats(stats.getStatGroup());
+        return stats;
     }
 
     public VerifySummary verify(VerifyConfig config)
@@ -18,6 +18,8 @@ import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_INSERTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_UPDATES;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_GROUP_DESC;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_GROUP_NAME;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCHES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCH_FAILURES;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_RELATCHES_REQUIRED;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_ROOT_SPLITS;
 import static com.sleepycat.je.dbi.DbiStatDefinition.BACKUP_COPY_FILES_COUNT;
@@ -140,6 +142,7 @@ import com.sleepycat.je.statcap.StatManager;
 import com.sleepycat.je.tree.BIN;
 import com.sleepycat.je.tree.BINReference;
 import com.sleepycat.je.tree.IN;
+import com.sleepycat.je.tree.KeyFilterRebuilder;
 import com.sleepycat.je.txn.LockType;
 import com.sleepycat.je.txn.LockUpgrade;
 import com.sleepycat.je.txn.ThreadLocker;
@@ -157,6 +160,7 @@ import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.IntStat;
 import com.sleepycat.je.utilint.JETaskCoordinator;
 import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongAdderStat;
 import com.sleepycat.je.utilint.LongStat;
 import com.sleepycat.je.utilint.RateLimitingLogger;
 import com.sleepycat.je.utilint.StatDefinition;
@@ -257,6 +261,8 @@ public class EnvironmentImpl implements EnvConfigObserver {
     private final BackupManager backupManager;
     private final StatCapture statCapture;
 
+    private final KeyFilterRebuilder keyFilterRebuilder;
+
     /* Stats, debug information */
     protected final StartupTracker startupTracker;
 
@@ -432,6 +438,8 @@ public class EnvironmentImpl implements EnvConfigObserver {
     private final AtomicLongStat binDeltaInserts;
     private final AtomicLongStat binDeltaUpdates;
     private final AtomicLongStat binDeltaDeletes;
+    private final LongAdderStat optimisticSearches;
+    private final AtomicLongStat optimisticSearchFailures;
     private final StatGroup thrputStats;
     private final AtomicLongStat priSearchOps;
     private final AtomicLongStat priSearchFailOps;
@@ -466,6 +474,9 @@ public class EnvironmentImpl implements EnvConfigObserver {
     /* EnvironmentParams.ENV_LATCH_TIMEOUT. */
     private int latchTimeoutMs;
 
+    /* EnvironmentParams.TREE_OPTIMISTIC_SEARCH. */
+    private boolean optimisticSearch;
+
     /** {@link EnvironmentParams#ENV_TTL_CLOCK_TOLERANCE}. */
     private int ttlClockTolerance;
 
@@ -544,6 +555,10 @@ public class EnvironmentImpl implements EnvConfigObserver {
                 new AtomicLongStat(btreeOpStats, BT_OP_BIN_DELTA_UPDATES);
             binDeltaDeletes =
                 new AtomicLongStat(btreeOpStats, BT_OP_BIN_DELTA_DELETES);
+            optimisticSearches =
+                new LongAdderStat(btreeOpStats, BT_OP_OPTIMISTIC_SEARCHES);
+            optimisticSearchFailures = new AtomicLongStat(
+                btreeOpStats, BT_OP_OPTIMISTIC_SEARCH_FAILURES);
 
             thrputStats = new StatGroup(
                 THROUGHPUT_GROUP_NAME, THROUGHPUT_GROUP_DESC);
@@ -681,6 +696,9 @@ public class EnvironmentImpl implements EnvConfigObserver {
             extinctionScanner = new ExtinctionScanner(this);
             dataEraser = new DataEraser(this);
 
+            keyFilterRebuilder = new KeyFilterRebuilder(
+                this, Environment.KEY_FILTER_REBUILDER_NAME);
+
             backupManager = new BackupManager(this);
 
             statCapture = new StatCapture(
@@ -809,6 +827,9 @@ public class EnvironmentImpl implements EnvConfigObserver {
         latchTimeoutMs = configManager.getDuration(
             EnvironmentParams.ENV_LATCH_TIMEOUT);
 
+        optimisticSearch = configManager.getBoolean(
+            EnvironmentParams.TREE_OPTIMISTIC_SEARCH);
+
         ttlClockTolerance = configManager.getDuration(
             EnvironmentParams.ENV_TTL_CLOCK_TOLERANCE);
 
@@ -1243,6 +1264,13 @@ public class EnvironmentImpl implements EnvConfigObserver {
         return latchTimeoutMs;
     }
 
+    /**
+     * Returns EnvironmentParams.TREE_OPTIMISTIC_SEARCH.
+     */
+    public boolean useOptimisticSearch() {
+        return optimisticSearch;
+    }
+
     /**
      * Returns {@link EnvironmentParams#ENV_TTL_CLOCK_TOLERANCE}.
      */
@@ -2291,6 +2319,7 @@ public class EnvironmentImpl implements EnvConfigObserver {
         checkpointer.requestShutdown();
         cleaner.requestShutdown();
         extinctionScanner.requestShutdown();
+        keyFilterRebuilder.requestShutdown();
         dataEraser.initiateSoftShutdown();
         backupManager.initiateSoftShutdown();
         statCapture.requestShutdown();
@@ -2318,6 +2347,7 @@ public class EnvironmentImpl implements EnvConfigObserver {
              */
             cleaner.shutdown();
             extinctionScanner.shutdown();
+            keyFilterRebuilder.shutdown();
             dataEraser.shutdownThread(dataEraser.getLogger());
             backupManager.shutdownThreads();
             checkpointer.shutdown();
@@ -2585,6 +2615,18 @@ public class EnvironmentImpl implements EnvConfigObserver {
         return dataEraser;
     }
 
+    /**
+     * Registers a database whose key filter is enabled, so that the filter
+     * is built by the KeyFilterRebuilder.
+     */
+    public void addKeyFilterDb(DatabaseImpl db) {
+        keyFilterRebuilder.addDb(db);
+    }
+
+    public KeyFilterRebuilder getKeyFilterRebuilder() {
+        return keyFilterRebuilder;
+    }
+
     public BackupManager getBackupManager() {
         return backupManager;
     }
@@ -2838,6 +2880,14 @@ public class EnvironmentImpl implements EnvConfigObserver {
         binDeltaDeletes.increment();
     }
 
+    public void incOptimisticSearches() {
+        optimisticSearches.increment();
+    }
+
+    public void incOptimisticSearchFailures() {
+        optimisticSearchFailures.increment();
+    }
+
     /**
      * For replicated environments only; just return true for a standalone
      * environment.
@@ -179,8 +179,8 @@ public class MemoryBudget implements EnvConfigObserver {
     private final static int SPARSE_LONG_REP_OVERHEAD_OOPS = 24;
 
     // 13
-    private final static int IN_FIXED_OVERHEAD_64 = 408;
-    private final static int IN_FIXED_OVERHEAD_OOPS = 264;
+    private final static int IN_FIXED_OVERHEAD_64 = 416;
+    private final static int IN_FIXED_OVERHEAD_OOPS = 272;
 
     // 24
     private final static int LOCKIMPL_OVERHEAD_64 = 48;
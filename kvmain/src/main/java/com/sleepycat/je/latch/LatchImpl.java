@@ -109,6 +109,16 @@ public class LatchImpl extends ReentrantLock
         acquireExclusive();
     }
 
+    @Override
+    public long getOptimisticVersion() {
+        return NO_OPTIMISTIC_VERSION;
+    }
+
+    @Override
+    public boolean validateOptimisticVersion(final long version) {
+        return false;
+    }
+
     @Override
     public void release() {
         if (!isHeldByCurrentThread()) {
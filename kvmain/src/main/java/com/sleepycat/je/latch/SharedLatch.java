@@ -22,9 +22,21 @@ package com.sleepycat.je.latch;
  * latch.  This is done so that a single interface can be used for for all INs,
  * even though BIN latches are exclusive-only.  See method javadoc for their
  * behavior in exclusive-only mode.
+ *
+ * A shared latch also supports optimistic reads, in the style of a seqlock or
+ * StampedLock: a version is bumped when the latch is acquired exclusively and
+ * again when it is released, so a reader can check that no exclusive owner
+ * intervened without writing to the latch.  See {@link
+ * #getOptimisticVersion}.
  */
 public interface SharedLatch extends Latch {
 
+    /**
+     * Returned by {@link #getOptimisticVersion} when an optimistic read is
+     * not possible.
+     */
+    long NO_OPTIMISTIC_VERSION = -1;
+
     /** Returns whether this latch is exclusive-only. */
     boolean isExclusiveOnly();
 
@@ -35,4 +47,23 @@ public interface SharedLatch extends Latch {
      * {@link #acquireExclusive()}.
      */
     void acquireShared();
+
+    /**
+     * Returns a version for an optimistic read of the data protected by this
+     * latch, without acquiring it.  The version must be passed to {@link
+     * #validateOptimisticVersion} after the data has been read; if it does
+     * not validate, the data read may be inconsistent and must be discarded.
+     *
+     * Returns {@link #NO_OPTIMISTIC_VERSION} if the latch is currently held
+     * exclusively, or in exclusive-only mode, where optimistic reads are not
+     * supported.
+     */
+    long getOptimisticVersion();
+
+    /**
+     * Returns whether the latch has not been acquired exclusively since the
+     * given version was returned by {@link #getOptimisticVersion}.  Always
+     * returns false for {@link #NO_OPTIMISTIC_VERSION}.
+     */
+    boolean validateOptimisticVersion(long version);
 }
@@ -15,6 +15,7 @@ package com.sleepycat.je.latch;
 
 import static com.sleepycat.je.EnvironmentFailureException.unexpectedState;
 
+import java.lang.invoke.VarHandle;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -30,6 +31,14 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
     private final LatchContext context;
     private OwnerInfo lastOwnerInfo;
 
+    /*
+     * Supports optimistic reads. Incremented when the latch is acquired
+     * exclusively and again before it is released, so it is odd while an
+     * exclusive owner may be changing the protected data. It is only written
+     * by the exclusive owner.
+     */
+    private volatile long version;
+
     SharedLatchImpl(final boolean fair, final LatchContext context) {
         super(fair);
         this.context = context;
@@ -75,6 +84,13 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
             writeLock().lock();
         }
 
+        /*
+         * The fence prevents the owner's subsequent writes from becoming
+         * visible before the odd version.
+         */
+        version = version + 1;
+        VarHandle.storeStoreFence();
+
         if (LatchSupport.TRACK_LATCHES) {
             LatchSupport.trackAcquire(this, context);
         }
@@ -118,6 +134,23 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
         assert EnvironmentImpl.maybeForceYield();
     }
 
+    @Override
+    public long getOptimisticVersion() {
+        final long v = version;
+        return ((v & 1) == 0) ? v : NO_OPTIMISTIC_VERSION;
+    }
+
+    @Override
+    public boolean validateOptimisticVersion(final long v) {
+
+        /*
+         * The fence prevents the caller's preceding reads of the protected
+         * data from being reordered after the read of the version.
+         */
+        VarHandle.acquireFence();
+        return v != NO_OPTIMISTIC_VERSION && v == version;
+    }
+
     @Override
     public void release() {
         doRelease(false /*ifOwner*/);
@@ -143,6 +176,7 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
             if (LatchSupport.TRACK_LATCHES) {
                 LatchSupport.trackRelease(this, context);
             }
+            version = version + 1;
             writeLock().unlock();
             return;
         }
@@ -15,9 +15,15 @@ package com.sleepycat.je.log;
 
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_FSYNCS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_FSYNC_REQUESTS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_JOINS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_MAX_SIZE;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_WAITS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_GROUP_COMMIT_WAIT_NS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_TIMEOUTS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_N_GROUP_COMMIT_REQUESTS;
 
+import java.util.concurrent.locks.LockSupport;
+
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.StatsConfig;
 import com.sleepycat.je.ThreadInterruptedException;
@@ -25,7 +31,10 @@ import com.sleepycat.je.config.EnvironmentParams;
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.util.TimeSupplier;
 import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.LongMaxStat;
 import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.PhaseTimer;
+import com.sleepycat.je.utilint.PhaseTimer.Phase;
 import com.sleepycat.je.utilint.StatGroup;
 import com.sleepycat.je.utilint.TestHook;
 import com.sleepycat.je.utilint.TestHookExecute;
@@ -92,6 +101,25 @@ import com.sleepycat.je.utilint.TestHookExecute;
  *
  * Note that the FileManager keeps a file descriptor that corresponds to the
  * current end of file, and that is what we commit.
+ *
+ * Leader wait
+ * -----------
+ * With the scheme above, a group only forms from the threads that arrive
+ * while an fsync is in progress, so at moderate concurrency most groups are
+ * small. To form larger groups, a leader that is about to fsync may first
+ * wait for other fsync requests to join its group. The wait ends when the
+ * group reaches LOG_GROUP_COMMIT_MAX_SIZE requests or after a wait time that
+ * is adapted to the recent fsync time and arrival rate of fsync requests:
+ * it is at most half the average fsync time, bounded by
+ * LOG_GROUP_COMMIT_MAX_WAIT, and the leader does not wait at all unless
+ * fsync requests have recently arrived at shorter intervals than the wait.
+ * A single thread doing sync commits therefore never waits, since its
+ * requests arrive one fsync apart.
+ *
+ * While the leader waits, no fsync is in progress, so arriving threads join
+ * the leader's group (the collectingGroup) rather than nextFSyncWaiters.
+ * Their log entries are buffered before they join, so the flush and fsync
+ * done by the leader after the wait covers them.
  */
 class FSyncManager {
     private final EnvironmentImpl envImpl;
@@ -103,12 +131,36 @@ class FSyncManager {
     private volatile boolean workInProgress;
     private FSyncGroup nextFSyncWaiters;
 
+    /*
+     * The group of a leader that is waiting for more fsync requests, and the
+     * leader thread, or null if no leader is waiting. Protected by mgrMutex.
+     */
+    private FSyncGroup collectingGroup;
+    private Thread collectingLeader;
+
+    /* Limits for the leader wait, see the class comment. */
+    private final long groupCommitMaxWaitNs;
+    private final int groupCommitMaxSize;
+
+    /*
+     * Moving averages of the fsync time and of the interval between fsync
+     * requests, and the time of the last fsync request, all in nanoseconds.
+     * Protected by mgrMutex.
+     */
+    private long avgFSyncNs;
+    private long avgArrivalIntervalNs;
+    private long lastArrivalNs;
+
     /* stats */
     private final StatGroup stats;
     private final LongStat nFSyncRequests;
     private final AtomicLongStat nFSyncs;
     private final LongStat nTimeouts;
     private final LongStat nRequests;
+    private final LongStat nGroupCommitWaits;
+    private final LongStat groupCommitWaitNs;
+    private final LongStat nGroupCommitJoins;
+    private final LongMaxStat maxGroupCommitSize;
 
     /* For unit tests. */
     private TestHook<Object> flushHook;
@@ -117,6 +169,10 @@ class FSyncManager {
 
         timeout = envImpl.getConfigManager().getDuration(
             EnvironmentParams.LOG_FSYNC_TIMEOUT);
+        groupCommitMaxWaitNs = envImpl.getConfigManager().getDurationNS(
+            EnvironmentParams.LOG_GROUP_COMMIT_MAX_WAIT);
+        groupCommitMaxSize = envImpl.getConfigManager().getInt(
+            EnvironmentParams.LOG_GROUP_COMMIT_MAX_SIZE);
 
         this.envImpl = envImpl;
 
@@ -130,6 +186,11 @@ class FSyncManager {
         nFSyncs = new AtomicLongStat(stats, FSYNCMGR_FSYNCS);
         nTimeouts = new LongStat(stats, FSYNCMGR_TIMEOUTS);
         nRequests = new LongStat(stats, FSYNCMGR_N_GROUP_COMMIT_REQUESTS);
+        nGroupCommitWaits = new LongStat(stats, FSYNCMGR_GROUP_COMMIT_WAITS);
+        groupCommitWaitNs = new LongStat(stats, FSYNCMGR_GROUP_COMMIT_WAIT_NS);
+        nGroupCommitJoins = new LongStat(stats, FSYNCMGR_GROUP_COMMIT_JOINS);
+        maxGroupCommitSize =
+            new LongMaxStat(stats, FSYNCMGR_GROUP_COMMIT_MAX_SIZE);
     }
 
     /**
@@ -144,7 +205,9 @@ class FSyncManager {
      * 1. There is no work going on right now. This thread should go
      *    ahead and become the group leader. The leader may wait and
      *    executes the flush/fsync.
-     * 2. There is work going on, wait on the next group commit.
+     * 2. A leader is waiting for more requests before its flush/fsync.
+     *    Join the leader's group and wait for its flush/fsync.
+     * 3. There is work going on, wait on the next group commit.
      *
      * When a work is going on, all those threads that come along are grouped
      * together as the nextFsyncWaiters. When the current work is finished,
@@ -166,6 +229,17 @@ class FSyncManager {
     void flushAndSync(boolean fsyncRequired)
         throws DatabaseException {
 
+        final long syncStart = PhaseTimer.start();
+        try {
+            flushAndSyncInternal(fsyncRequired);
+        } finally {
+            PhaseTimer.end(Phase.FSYNC, syncStart);
+        }
+    }
+
+    private void flushAndSyncInternal(boolean fsyncRequired)
+        throws DatabaseException {
+
         boolean doWork = false;
         boolean isLeader = false;
         boolean needToWait = false;
@@ -176,9 +250,21 @@ class FSyncManager {
             nRequests.increment();
             if (fsyncRequired) {
                 nFSyncRequests.increment();
+                noteFSyncRequest();
+            }
+
+            if (collectingGroup != null) {
+                /* Join the group of the waiting leader. */
+                myGroup = collectingGroup;
+                myGroup.addMember(fsyncRequired);
+                nGroupCommitJoins.increment();
+                if (myGroup.getSize() >= groupCommitMaxSize) {
+                    LockSupport.unpark(collectingLeader);
+                }
+            } else {
+                myGroup = nextFSyncWaiters;
+                myGroup.addMember(fsyncRequired);
             }
-            myGroup = nextFSyncWaiters;
-            myGroup.setDoFsync(fsyncRequired);
 
             /* Figure out if we're calling fsync or waiting. */
             if (workInProgress) {
@@ -256,6 +342,10 @@ class FSyncManager {
              * just go and do their own sync for themselves.
              */
 
+            if (isLeader && myGroup.getDoFsync()) {
+                waitForMoreRequests(myGroup);
+            }
+
             /* flush the log buffer */
             if (myGroup.getDoFsync()) {
                 envImpl.getLogManager().flushBeforeSync();
@@ -266,13 +356,21 @@ class FSyncManager {
             TestHookExecute.doHookIfSet(flushHook);
 
             /* execute fsync */
-            if (myGroup.getDoFsync()) {
+            final boolean didFsync = myGroup.getDoFsync();
+            final long fsyncStart = didFsync ? System.nanoTime() : 0;
+            if (didFsync) {
                 executeFSync();
                 nFSyncs.increment();
             }
 
             synchronized (mgrMutex) {
                 if (isLeader) {
+                    if (didFsync) {
+                        avgFSyncNs = updateAverage(
+                            avgFSyncNs, System.nanoTime() - fsyncStart);
+                        maxGroupCommitSize.setMax(myGroup.getSize());
+                    }
+
 
                     /*
                      * Wake up the group that requested the fsync before you
@@ -291,6 +389,99 @@ class FSyncManager {
         }
     }
 
+    /**
+     * Updates the moving average of the interval between fsync requests.
+     * Intervals are capped at the maximum wait, since any longer interval
+     * means that no request is expected to join a waiting leader. Called
+     * with mgrMutex held.
+     */
+    private void noteFSyncRequest() {
+        if (groupCommitMaxWaitNs == 0) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (lastArrivalNs != 0) {
+            avgArrivalIntervalNs = updateAverage(
+                avgArrivalIntervalNs,
+                Math.min(now - lastArrivalNs, groupCommitMaxWaitNs));
+        }
+        lastArrivalNs = now;
+    }
+
+    /**
+     * Returns the average updated with a new sample, with a weight of 1/8
+     * for the sample. The first sample is used as the initial average.
+     */
+    private static long updateAverage(long avg, long sample) {
+        return (avg == 0) ? sample : avg + ((sample - avg) >> 3);
+    }
+
+    /**
+     * Returns the time a leader should wait for more fsync requests to join
+     * its group, or zero if it should not wait. Called with mgrMutex held.
+     */
+    private long getGroupCommitWaitNs() {
+        if ((groupCommitMaxWaitNs == 0) || (avgFSyncNs == 0)) {
+            return 0;
+        }
+        final long waitNs = Math.min(groupCommitMaxWaitNs, avgFSyncNs / 2);
+        if (avgArrivalIntervalNs >= waitNs) {
+            return 0;
+        }
+        /* Don't wait longer than needed to fill the group */
+        return Math.min(waitNs,
+                        avgArrivalIntervalNs * (groupCommitMaxSize - 1));
+    }
+
+    /**
+     * Called by a leader before it flushes and fsyncs, to wait for more fsync
+     * requests to join its group, if the recent fsync time and request rate
+     * make this worthwhile.
+     */
+    private void waitForMoreRequests(FSyncGroup group) {
+        final long waitNs;
+        synchronized (mgrMutex) {
+            waitNs = getGroupCommitWaitNs();
+            if ((waitNs == 0) || (group.getSize() >= groupCommitMaxSize)) {
+                return;
+            }
+
+            /*
+             * Make sure that members that join the group wait for this
+             * leader, rather than becoming leaders themselves.
+             */
+            group.getLeader();
+            collectingGroup = group;
+            collectingLeader = Thread.currentThread();
+        }
+
+        final long start = System.nanoTime();
+        long remainingNs = waitNs;
+        try {
+            while (remainingNs > 0) {
+                LockSupport.parkNanos(this, remainingNs);
+                if (Thread.interrupted()) {
+                    throw new ThreadInterruptedException(envImpl,
+                        "Unexpected interrupt while waiting for more " +
+                        "group commit requests");
+                }
+                synchronized (mgrMutex) {
+                    if (group.getSize() >= groupCommitMaxSize) {
+                        break;
+                    }
+                }
+                remainingNs = waitNs - (System.nanoTime() - start);
+            }
+        } finally {
+            synchronized (mgrMutex) {
+                collectingGroup = null;
+                collectingLeader = null;
+                nGroupCommitWaits.increment();
+                groupCommitWaitNs.add(System.nanoTime() - start);
+            }
+        }
+    }
+
     /*
      * Stats.
      */
@@ -337,6 +528,7 @@ class FSyncManager {
 
         private volatile boolean doFsync = false;
         private volatile boolean workDone;
+        private int size;
         private final long fsyncTimeout;
         private boolean leaderExists;
         private final EnvironmentImpl envImpl;
@@ -422,8 +614,19 @@ class FSyncManager {
             return status;
         }
 
-        synchronized void setDoFsync(boolean doSync) {
+        /**
+         * Adds a request to the group, noting whether it requires an fsync.
+         */
+        synchronized void addMember(boolean doSync) {
             this.doFsync |= doSync;
+            size++;
+        }
+
+        /**
+         * Returns the number of requests that joined the group.
+         */
+        synchronized int getSize() {
+            return size;
         }
 
         synchronized boolean getDoFsync() {
@@ -80,6 +80,8 @@ import com.sleepycat.je.utilint.LoggerUtils;
 import com.sleepycat.je.utilint.LongAvgStat;
 import com.sleepycat.je.utilint.LongMaxZeroStat;
 import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.PhaseTimer;
+import com.sleepycat.je.utilint.PhaseTimer.Phase;
 import com.sleepycat.je.utilint.RelatchRequiredException;
 import com.sleepycat.je.utilint.StatDefinition;
 import com.sleepycat.je.utilint.StatGroup;
@@ -1825,7 +1827,12 @@ public class FileManager {
             }
 
             if (readThisFile) {
-                readFromFileInternal(file, readBuffer, offset, fileNo);
+                final long readStart = PhaseTimer.start();
+                try {
+                    readFromFileInternal(file, readBuffer, offset, fileNo);
+                } finally {
+                    PhaseTimer.end(Phase.LOG_READ, readStart);
+                }
                 return true;
             }
 
@@ -277,6 +277,47 @@ public class LogStatDefinition {
             FSYNCMGR_FSYNC_REQUESTS_NAME,
             FSYNCMGR_FSYNC_REQUESTS_DESC);
 
+    public static final String FSYNCMGR_GROUP_COMMIT_WAITS_NAME =
+        "nGroupCommitWaits";
+    public static final String FSYNCMGR_GROUP_COMMIT_WAITS_DESC =
+        "Number of group commit fsyncs that were delayed by the leader " +
+            "to let more fsync requests join the group.";
+    public static final StatDefinition FSYNCMGR_GROUP_COMMIT_WAITS =
+        new StatDefinition(
+            FSYNCMGR_GROUP_COMMIT_WAITS_NAME,
+            FSYNCMGR_GROUP_COMMIT_WAITS_DESC);
+
+    public static final String FSYNCMGR_GROUP_COMMIT_WAIT_NS_NAME =
+        "groupCommitWaitNs";
+    public static final String FSYNCMGR_GROUP_COMMIT_WAIT_NS_DESC =
+        "Total time in nanoseconds that group commit leaders waited for " +
+            "more fsync requests to join their group.";
+    public static final StatDefinition FSYNCMGR_GROUP_COMMIT_WAIT_NS =
+        new StatDefinition(
+            FSYNCMGR_GROUP_COMMIT_WAIT_NS_NAME,
+            FSYNCMGR_GROUP_COMMIT_WAIT_NS_DESC);
+
+    public static final String FSYNCMGR_GROUP_COMMIT_JOINS_NAME =
+        "nGroupCommitJoins";
+    public static final String FSYNCMGR_GROUP_COMMIT_JOINS_DESC =
+        "Number of group commit requests that joined the group of a " +
+            "leader while it was waiting, rather than waiting for the " +
+            "next fsync.";
+    public static final StatDefinition FSYNCMGR_GROUP_COMMIT_JOINS =
+        new StatDefinition(
+            FSYNCMGR_GROUP_COMMIT_JOINS_NAME,
+            FSYNCMGR_GROUP_COMMIT_JOINS_DESC);
+
+    public static final String FSYNCMGR_GROUP_COMMIT_MAX_SIZE_NAME =
+        "maxGroupCommitSize";
+    public static final String FSYNCMGR_GROUP_COMMIT_MAX_SIZE_DESC =
+        "Maximum number of group commit requests covered by a single " +
+            "group commit fsync.";
+    public static final StatDefinition FSYNCMGR_GROUP_COMMIT_MAX_SIZE =
+        new StatDefinition(
+            FSYNCMGR_GROUP_COMMIT_MAX_SIZE_NAME,
+            FSYNCMGR_GROUP_COMMIT_MAX_SIZE_DESC);
+
     /* The following stat definitions are used in LogManager. */
     public static final String LOGMGR_REPEAT_FAULT_READS_NAME =
         "nRepeatFaultReads";
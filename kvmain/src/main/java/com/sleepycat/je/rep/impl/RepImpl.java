@@ -140,6 +140,7 @@ import com.sleepycat.je.utilint.BooleanStat;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LoggerUtils;
 import com.sleepycat.je.utilint.LongAvgStat;
+import com.sleepycat.je.utilint.PhaseTimer;
 import com.sleepycat.je.utilint.RateLimitingLogger;
 import com.sleepycat.je.utilint.StatGroup;
 import com.sleepycat.je.utilint.StringStat;
@@ -1495,9 +1496,11 @@ public class RepImpl
         }
 
         /* Don't do master check, the transaction has already been committed */
+        final long ackStart = PhaseTimer.start();
         try {
             feederTxns.awaitReplicaAcks(txn, ackTimeout);
         } catch (InsufficientAcksException e) {
+            PhaseTimer.end(PhaseTimer.Phase.REPLICA_ACK, ackStart);
             if (txn.getArbiterAck() == false && useArbiter(txn)) {
                 txn.setArbiterAck(true);
                 assert !queuedCommit;
@@ -1507,6 +1510,7 @@ public class RepImpl
             LoggerUtils.info(envLogger, this, e.getMessage());
             throw e;
         }
+        PhaseTimer.end(PhaseTimer.Phase.REPLICA_ACK, ackStart);
 
         return queuedCommit;
     }
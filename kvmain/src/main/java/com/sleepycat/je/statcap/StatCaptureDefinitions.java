@@ -109,6 +109,8 @@ public class StatCaptureDefinitions {
         BTreeStatDefinition.BT_OP_BIN_DELTA_INSERTS,
         BTreeStatDefinition.BT_OP_BIN_DELTA_UPDATES,
         BTreeStatDefinition.BT_OP_BIN_DELTA_DELETES,
+        BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCHES,
+        BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCH_FAILURES,
     };
 
     private static StatDefinition[] evictorStats = {
@@ -196,6 +198,10 @@ public class StatCaptureDefinitions {
         LogStatDefinition.FSYNCMGR_FSYNCS,
         LogStatDefinition.FSYNCMGR_FSYNC_REQUESTS,
         LogStatDefinition.FSYNCMGR_TIMEOUTS,
+        LogStatDefinition.FSYNCMGR_GROUP_COMMIT_WAITS,
+        LogStatDefinition.FSYNCMGR_GROUP_COMMIT_WAIT_NS,
+        LogStatDefinition.FSYNCMGR_GROUP_COMMIT_JOINS,
+        LogStatDefinition.FSYNCMGR_GROUP_COMMIT_MAX_SIZE,
         LogStatDefinition.FILEMGR_LOG_FSYNCS,
         LogStatDefinition.FILEMGR_FSYNC_AVG_MS,
         LogStatDefinition.FILEMGR_FSYNC_95_MS,
@@ -293,6 +299,7 @@ public class StatCaptureDefinitions {
     private static StatDefinition[] lockStats = {
         LockStatDefinition.LOCK_REQUESTS,
         LockStatDefinition.LOCK_WAITS,
+        LockStatDefinition.LOCK_READ_LOCKS_ELIDED,
     };
     
     private static StatDefinition[] bImgStats = {
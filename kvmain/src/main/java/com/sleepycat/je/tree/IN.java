@@ -618,6 +618,26 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         return latch.isExclusiveOwner();
     }
 
+    /**
+     * Returns a version for reading this node optimistically, without
+     * latching it, or SharedLatch.NO_OPTIMISTIC_VERSION if the node is
+     * latched exclusively or is a BIN.
+     *
+     * @see SharedLatch#getOptimisticVersion
+     */
+    public final long getOptimisticLatchVersion() {
+        return latch.getOptimisticVersion();
+    }
+
+    /**
+     * Returns whether this node has not been latched exclusively since the
+     * given version was returned by {@link #getOptimisticLatchVersion}, i.e.,
+     * whether the values read from it in the meantime are consistent.
+     */
+    public final boolean validateOptimisticLatchVersion(long version) {
+        return latch.validateOptimisticVersion(version);
+    }
+
     /* For unit testing. */
     public final int getLatchNWaiters() {
         return latch.getNWaiters();
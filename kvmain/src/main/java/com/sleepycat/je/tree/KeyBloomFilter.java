@@ -0,0 +1,164 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.tree;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Bloom filter over all the keys in a btree, used to answer exact key
+ * searches for keys that are definitely not in the tree without searching
+ * the tree. Unlike {@link BINDeltaBloomFilter}, which is rebuilt for each
+ * BIN-delta, this filter is long lived, is updated concurrently as keys are
+ * inserted, and is sized for the number of keys in the whole tree.
+ *
+ * Keys are never removed from the filter, so the false positive rate grows
+ * as keys are inserted beyond the capacity of the filter. The filter is
+ * replaced with a new one, built by scanning the tree, when this happens. See
+ * {@link KeyFilterRebuilder}.
+ *
+ * Each key is hashed once to a 64-bit value, and the K bit positions are
+ * derived from the two halves of that value by double hashing.
+ */
+public class KeyBloomFilter {
+
+    /* The m/n ratio, bits per key at capacity, for a ~1% FP rate. */
+    private static final int BITS_PER_KEY = 10;
+
+    /* The number of bits set per key, optimal for BITS_PER_KEY. */
+    private static final int K = 7;
+
+    /* The minimum capacity, to avoid rebuilds while a tree is small. */
+    static final long MIN_CAPACITY = 1024;
+
+    /* Params for the 64-bit Fowler-Noll-Vo (FNV-1a) hash function */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+
+    private final long numBits;
+
+    private final long capacity;
+
+    /* Number of keys added that set at least one bit. */
+    private final LongAdder nAdded = new LongAdder();
+
+    /**
+     * Creates an empty filter with the specified capacity.
+     */
+    KeyBloomFilter(long capacity) {
+        this.capacity = Math.max(capacity, MIN_CAPACITY);
+        final long nLongs = getNumLongs(this.capacity);
+        if (nLongs > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "Key filter capacity too large: " + capacity);
+        }
+        bits = new AtomicLongArray((int) nLongs);
+        numBits = nLongs * 64;
+    }
+
+    private static long getNumLongs(long capacity) {
+        return (Math.max(capacity, MIN_CAPACITY) * BITS_PER_KEY + 63) / 64;
+    }
+
+    /**
+     * Returns the approximate memory size of a filter with the given
+     * capacity, without creating it.
+     */
+    static long getMemorySize(long capacity) {
+        return getNumLongs(capacity) * 8;
+    }
+
+    /**
+     * Returns the hash of the given key, to be passed to {@link #add} and
+     * {@link #mayContain}.
+     */
+    static long hash(byte[] key) {
+        long h = FNV_OFFSET_BASIS;
+        for (final byte b : key) {
+            h ^= (b & 0xff);
+            h *= FNV_PRIME;
+        }
+        /* Finalize with the murmur3 mix to spread the bits of short keys. */
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Adds the key with the given hash. The key is only counted if it sets
+     * a bit, so adding a key again, as is done for each update of a
+     * record, does not count against the capacity of the filter.
+     */
+    void add(long hash) {
+        final long h1 = hash & 0xffffffffL;
+        final long h2 = hash >>> 32;
+        boolean changed = false;
+        for (int i = 0; i < K; i++) {
+            final long bit = (h1 + i * h2) % numBits;
+            final int index = (int) (bit >>> 6);
+            final long mask = 1L << (bit & 63);
+            long word = bits.get(index);
+            while ((word & mask) == 0) {
+                if (bits.compareAndSet(index, word, word | mask)) {
+                    changed = true;
+                    break;
+                }
+                word = bits.get(index);
+            }
+        }
+        if (changed) {
+            nAdded.increment();
+        }
+    }
+
+    /**
+     * Returns false if the key with the given hash was definitely never
+     * added to the filter.
+     */
+    boolean mayContain(long hash) {
+        final long h1 = hash & 0xffffffffL;
+        final long h2 = hash >>> 32;
+        for (int i = 0; i < K; i++) {
+            final long bit = (h1 + i * h2) % numBits;
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getNumAdded() {
+        return nAdded.sum();
+    }
+
+    /**
+     * Returns true if more keys were added than the filter was sized for,
+     * so its false positive rate exceeds the target rate.
+     */
+    boolean isSaturated() {
+        return nAdded.sum() > capacity;
+    }
+
+    /**
+     * Returns the approximate memory size of the filter.
+     */
+    long getMemorySize() {
+        return numBits / 8;
+    }
+}
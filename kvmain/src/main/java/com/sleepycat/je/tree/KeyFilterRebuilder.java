@@ -0,0 +1,135 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.tree;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import com.sleepycat.je.config.EnvironmentParams;
+import com.sleepycat.je.dbi.DatabaseImpl;
+import com.sleepycat.je.dbi.DbConfigManager;
+import com.sleepycat.je.dbi.DbTree;
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.utilint.DaemonThread;
+import com.sleepycat.je.utilint.LoggerUtils;
+
+/**
+ * Daemon that builds the key filters of the databases for which {@link
+ * Tree#enableKeyFilter} was called, and rebuilds them when they have more
+ * keys than they were sized for.
+ *
+ * A rebuild scans all BINs of the database, so it is throttled by pausing
+ * every {@link EnvironmentParams#TREE_KEY_FILTER_BATCH_SIZE} BINs. The total
+ * memory of all filters is limited to {@link
+ * EnvironmentParams#TREE_KEY_FILTER_MAX_MEMORY_PERCENTAGE} of the cache. A
+ * filter that would exceed the limit is disabled instead of being built.
+ *
+ * The thread is only started when the first filter is enabled.
+ */
+public class KeyFilterRebuilder extends DaemonThread {
+
+    /* How often to check whether a filter needs to be rebuilt. */
+    private static final long WAKEUP_INTERVAL_MS = 30 * 1000;
+
+    private final Set<DatabaseImpl> dbs = ConcurrentHashMap.newKeySet();
+
+    private final long maxMemory;
+    private final int batchSize;
+    private final long batchDelayMs;
+
+    public KeyFilterRebuilder(EnvironmentImpl envImpl, String name) {
+        super(WAKEUP_INTERVAL_MS, name, envImpl);
+        final DbConfigManager configManager = envImpl.getConfigManager();
+        maxMemory = envImpl.getMemoryBudget().getMaxMemory() *
+            configManager.getInt(
+                EnvironmentParams.TREE_KEY_FILTER_MAX_MEMORY_PERCENTAGE) /
+            100;
+        batchSize = configManager.getInt(
+            EnvironmentParams.TREE_KEY_FILTER_BATCH_SIZE);
+        batchDelayMs = configManager.getDuration(
+            EnvironmentParams.TREE_KEY_FILTER_BATCH_DELAY);
+    }
+
+    /**
+     * Registers a database whose key filter is enabled, and starts the
+     * thread if needed so that the filter is built.
+     */
+    public void addDb(DatabaseImpl db) {
+        dbs.add(db);
+        runOrPause(true,
+                   envImpl.getFileManager().getMiscStatsCollector());
+    }
+
+    @Override
+    protected void onWakeup() {
+        rebuildKeyFilters();
+    }
+
+    /**
+     * Rebuilds the key filters of open databases that are not built yet or
+     * have more keys than they were sized for.
+     */
+    public synchronized void rebuildKeyFilters() {
+        final DbTree dbTree = envImpl.getDbTree();
+        for (final DatabaseImpl db : dbs) {
+            if (envImpl.isClosing() || isShutdownRequested()) {
+                return;
+            }
+            if (db.isDeleting()) {
+                dbs.remove(db);
+                db.getTree().disableKeyFilter();
+                continue;
+            }
+            final Tree tree = db.getTree();
+            if (!db.hasOpenHandles() || !tree.keyFilterNeedsRebuild()) {
+                continue;
+            }
+
+            final long capacity = tree.getKeyFilterCapacity();
+            final long memory = Tree.getKeyFilterMemorySize(capacity);
+            final long otherMemory =
+                getTotalMemory() - tree.getKeyFilterMemorySize();
+            if (otherMemory + memory > maxMemory) {
+                LoggerUtils.logMsg(
+                    logger, envImpl, Level.WARNING,
+                    "Key filter disabled for database " + db.getName() +
+                    ": a filter for " + capacity + " keys needs " + memory +
+                    " bytes, which would exceed the limit of " + maxMemory +
+                    " bytes for all key filters");
+                dbs.remove(db);
+                tree.disableKeyFilter();
+                continue;
+            }
+
+            /* Prevent deletion of the database during the scan. */
+            final DatabaseImpl dbInUse = dbTree.getDb(db.getId());
+            try {
+                if (dbInUse == db) {
+                    tree.rebuildKeyFilter(capacity, batchSize, batchDelayMs);
+                }
+            } finally {
+                dbTree.releaseDb(dbInUse);
+            }
+        }
+    }
+
+    private long getTotalMemory() {
+        long total = 0;
+        for (final DatabaseImpl db : dbs) {
+            total += db.getTree().getKeyFilterMemorySize();
+        }
+        return total;
+    }
+}
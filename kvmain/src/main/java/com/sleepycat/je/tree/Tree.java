@@ -18,16 +18,19 @@ import static com.sleepycat.je.utilint.VLSN.NULL_VLSN;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sleepycat.je.CacheMode;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.EnvironmentFailureException;
+import com.sleepycat.je.dbi.BTreeStatDefinition;
 import com.sleepycat.je.dbi.DatabaseImpl;
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.dbi.INList;
 import com.sleepycat.je.dbi.InternalComparator;
+import com.sleepycat.je.dbi.MemoryBudget;
 import com.sleepycat.je.latch.LatchContext;
 import com.sleepycat.je.latch.LatchFactory;
 import com.sleepycat.je.latch.LatchSupport;
@@ -36,7 +39,10 @@ import com.sleepycat.je.latch.SharedLatch;
 import com.sleepycat.je.log.LogItem;
 import com.sleepycat.je.log.Loggable;
 import com.sleepycat.je.utilint.DbLsn;
+import com.sleepycat.je.utilint.FloatStat;
 import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
 import com.sleepycat.je.utilint.TestHook;
 import com.sleepycat.je.utilint.TestHookExecute;
 
@@ -156,6 +162,19 @@ public final class Tree implements Loggable {
     private final ThreadLocal<TreeWalkerStatsAccumulator> treeStatsAccumulatorTL =
         new ThreadLocal<TreeWalkerStatsAccumulator>();
 
+    /*
+     * Bloom filter over the keys in the tree, or null if the filter is not
+     * enabled or has not been built yet. See enableKeyFilter.
+     */
+    private volatile boolean keyFilterEnabled;
+    private volatile KeyBloomFilter keyFilter;
+
+    /* The filter being built, non-null while the key filter is rebuilt. */
+    private volatile KeyBloomFilter newKeyFilter;
+
+    private final LongAdder nKeyFilterNegatives = new LongAdder();
+    private final LongAdder nKeyFilterFalsePositives = new LongAdder();
+
     /* For unit tests */
     private TestHook waitHook; // used for generating race conditions
     private TestHook searchHook; // [#12736]
@@ -529,6 +548,272 @@ public final class Tree implements Loggable {
                        Math.pow(database.getNodeMaxTreeEntries(), levels - 1));
     }
 
+    /**
+     * Enables a bloom filter over the keys in the tree, used to avoid
+     * searching the tree for keys that are not present. Exact searches for
+     * such keys return without fetching a BIN, and insertions of such keys
+     * do not fetch the full BIN when the BIN is a delta.
+     *
+     * The filter is built by the KeyFilterRebuilder daemon, which also
+     * rebuilds filters that have more keys than they were sized for. Until
+     * it is built, the filter has no effect. The memory used by the filter,
+     * about 10 bits per key, is counted as admin memory in the cache budget.
+     *
+     * @throws IllegalStateException if the database has duplicates or a
+     * comparator for which equal keys may not be byte-wise equal.
+     */
+    public void enableKeyFilter() {
+        if (database.getSortedDuplicates() ||
+            !database.hasBtreeBinaryEqualityComparator()) {
+            throw new IllegalStateException(
+                "Key filter is not supported for database " +
+                database.getName() + ", which has duplicates or a " +
+                "comparator without binary equality");
+        }
+        if (!keyFilterEnabled) {
+            keyFilterEnabled = true;
+            database.getEnv().addKeyFilterDb(database);
+        }
+    }
+
+    /**
+     * Disables the key filter and releases its memory. Called when the
+     * filter would exceed its memory limit, or the database is deleted.
+     */
+    public synchronized void disableKeyFilter() {
+        keyFilterEnabled = false;
+        final KeyBloomFilter filter = keyFilter;
+        keyFilter = null;
+        if (filter != null) {
+            database.getEnv().getMemoryBudget().updateAdminMemoryUsage(
+                -filter.getMemorySize());
+        }
+    }
+
+    public boolean isKeyFilterEnabled() {
+        return keyFilterEnabled;
+    }
+
+    /**
+     * Returns true if the key filter is built and is used by searches.
+     */
+    public boolean hasKeyFilter() {
+        return keyFilter != null;
+    }
+
+    /**
+     * Returns the memory size of the current key filter, or zero if there is
+     * no filter.
+     */
+    public long getKeyFilterMemorySize() {
+        final KeyBloomFilter filter = keyFilter;
+        return (filter == null) ? 0 : filter.getMemorySize();
+    }
+
+    /**
+     * Returns false if the key is definitely not in the tree. Returns true
+     * if the key may be in the tree, or if there is no key filter.
+     */
+    public boolean mayContainKey(byte[] key) {
+        final KeyBloomFilter filter = keyFilter;
+        if (filter == null || filter.mayContain(KeyBloomFilter.hash(key))) {
+            return true;
+        }
+        nKeyFilterNegatives.increment();
+        return false;
+    }
+
+    /**
+     * Counts a search or insertion for which mayContainKey returned true,
+     * but the key was not in the tree.
+     */
+    public void countKeyFilterFalsePositive() {
+        nKeyFilterFalsePositives.increment();
+    }
+
+    /**
+     * Adds a key to the key filter, if enabled. Must be called with the BIN
+     * that will hold the key latched, before inserting the key, so that a
+     * concurrent rebuild either sees the key in the BIN or gets the key
+     * from this method.
+     */
+    public void addKeyToFilter(byte[] key) {
+        if (!keyFilterEnabled) {
+            return;
+        }
+        final long hash = KeyBloomFilter.hash(key);
+
+        /*
+         * Get the new filter first: rebuildKeyFilter sets keyFilter before
+         * clearing newKeyFilter, so the key is always added to the filter
+         * that is current after the rebuild.
+         */
+        final KeyBloomFilter newFilter = newKeyFilter;
+        final KeyBloomFilter filter = keyFilter;
+        if (filter != null) {
+            filter.add(hash);
+        }
+        if (newFilter != null) {
+            newFilter.add(hash);
+        }
+    }
+
+    /**
+     * Returns true if the key filter is enabled and is not built yet, or
+     * has more keys than it was sized for.
+     */
+    public boolean keyFilterNeedsRebuild() {
+        if (!keyFilterEnabled) {
+            return false;
+        }
+        final KeyBloomFilter filter = keyFilter;
+        return filter == null || filter.isSaturated();
+    }
+
+    /**
+     * Returns the number of keys a new key filter should be sized for.
+     *
+     * The number of keys is estimated as the number of BIN slots in the
+     * resident level 2 INs, times the maximum BIN size. Since BINs are
+     * seldom full, this leaves room for growth. If the current filter holds
+     * more keys than that, because the level 2 INs are not all resident, the
+     * new filter is sized for twice the keys in the current one.
+     */
+    public long getKeyFilterCapacity() {
+        final EnvironmentImpl envImpl = database.getEnv();
+        long nBINs = 0;
+        for (final IN in : envImpl.getInMemoryINs()) {
+            if (in.getDatabase() == database &&
+                in.getNormalizedLevel() == 2) {
+                nBINs += in.getNEntries();
+            }
+        }
+        long capacity = nBINs * database.getNodeMaxTreeEntries();
+        final KeyBloomFilter filter = keyFilter;
+        if (filter != null) {
+            capacity = Math.max(capacity, filter.getNumAdded() * 2);
+        }
+        return Math.max(capacity, KeyBloomFilter.MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the memory size of a key filter with the given capacity.
+     */
+    public static long getKeyFilterMemorySize(long capacity) {
+        return KeyBloomFilter.getMemorySize(capacity);
+    }
+
+    /**
+     * Builds a new key filter with the given capacity by scanning the keys in
+     * all BINs, and replaces the current filter with it. Keys inserted
+     * during the scan are added to both the current filter and the new one.
+     *
+     * All slots are included, including slots for deleted and expired
+     * records, since these may be reinstated by an abort.
+     *
+     * To limit the impact on other operations, the BIN latch is released
+     * and the scan pauses for batchDelayMs after every batchSize BINs. The
+     * scan is abandoned if the environment is closing or the database is
+     * being deleted.
+     *
+     * @return whether the filter was rebuilt.
+     */
+    public synchronized boolean rebuildKeyFilter(long capacity,
+                                                 int batchSize,
+                                                 long batchDelayMs) {
+        if (!keyFilterEnabled) {
+            return false;
+        }
+        final EnvironmentImpl envImpl = database.getEnv();
+        final MemoryBudget memoryBudget = envImpl.getMemoryBudget();
+        final KeyBloomFilter newFilter = new KeyBloomFilter(capacity);
+        memoryBudget.updateAdminMemoryUsage(newFilter.getMemorySize());
+        newKeyFilter = newFilter;
+        boolean success = false;
+        try {
+            BIN bin = getFirstNode(CacheMode.UNCHANGED);
+            try {
+                int nBINs = 0;
+                while (bin != null) {
+                    if (bin.isBINDelta()) {
+                        bin.mutateToFullBIN(false /*leaveFreeSlot*/,
+                                            CacheMode.UNCHANGED);
+                    }
+                    final int nEntries = bin.getNEntries();
+                    for (int i = 0; i < nEntries; i++) {
+                        newFilter.add(KeyBloomFilter.hash(bin.getKey(i)));
+                    }
+                    if (++nBINs % batchSize != 0 || nEntries == 0) {
+                        bin = getNextBin(bin, CacheMode.UNCHANGED);
+                        continue;
+                    }
+
+                    /*
+                     * Pause with no latch held, and then resume with the BIN
+                     * containing the last key seen. Its keys are added
+                     * again, which is harmless.
+                     */
+                    final byte[] lastKey = bin.getKey(nEntries - 1);
+                    bin.releaseLatch();
+                    bin = null;
+                    if (batchDelayMs > 0) {
+                        Thread.sleep(batchDelayMs);
+                    }
+                    if (envImpl.isClosing() || database.isDeleting()) {
+                        return false;
+                    }
+                    bin = search(lastKey, CacheMode.UNCHANGED);
+                    if (bin != null) {
+                        bin = getNextBin(bin, CacheMode.UNCHANGED);
+                    }
+                }
+            } catch (Throwable e) {
+                if (bin != null && bin.isLatchOwner()) {
+                    bin.releaseLatch();
+                }
+                throw e;
+            }
+            final KeyBloomFilter oldFilter = keyFilter;
+            keyFilter = newFilter;
+            if (oldFilter != null) {
+                memoryBudget.updateAdminMemoryUsage(
+                    -oldFilter.getMemorySize());
+            }
+            success = true;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            newKeyFilter = null;
+            if (!success) {
+                memoryBudget.updateAdminMemoryUsage(
+                    -newFilter.getMemorySize());
+            }
+        }
+    }
+
+    /**
+     * Adds the key filter stats to the given BtreeStats group.
+     */
+    public void addKeyFilterStats(StatGroup stats) {
+        final KeyBloomFilter filter = keyFilter;
+        final long negatives = nKeyFilterNegatives.sum();
+        final long falsePositives = nKeyFilterFalsePositives.sum();
+        new LongStat(stats, BTreeStatDefinition.BT_KEY_FILTER_BYTES,
+                     (filter == null) ? 0 : filter.getMemorySize());
+        new LongStat(stats, BTreeStatDefinition.BT_KEY_FILTER_KEYS,
+                     (filter == null) ? 0 : filter.getNumAdded());
+        new LongStat(stats, BTreeStatDefinition.BT_KEY_FILTER_NEGATIVES,
+                     negatives);
+        new LongStat(stats, BTreeStatDefinition.BT_KEY_FILTER_FALSE_POSITIVES,
+                     falsePositives);
+        new FloatStat(stats,
+                      BTreeStatDefinition.BT_KEY_FILTER_FALSE_POSITIVE_RATE,
+                      (negatives + falsePositives == 0) ? 0 :
+                      ((float) falsePositives) / (negatives + falsePositives));
+    }
+
     /**
      * Deletes a BIN specified by key from the tree. If the BIN resides in a
      * subtree that can be pruned away, prune as much as possible, so we
@@ -2384,15 +2669,30 @@ public final class Tree implements Loggable {
         CacheMode cacheMode,
         InternalComparator comparator) {
 
+        assert ((searchType != SearchType.LEFT &&
+                 searchType != SearchType.RIGHT) || key == null);
+
+        final EnvironmentImpl envImpl = database.getEnv();
+
+        if (envImpl.useOptimisticSearch() &&
+            getTreeStatsAccumulator() == null) {
+
+            final BIN bin = searchOptimistic(
+                key, searchType, binBoundary, cacheMode, comparator);
+
+            if (bin != null) {
+                envImpl.incOptimisticSearches();
+                return bin;
+            }
+            envImpl.incOptimisticSearchFailures();
+        }
+
         IN rootIN = getRootIN(cacheMode);
 
         if (rootIN == null) {
             return null;
         }
 
-        assert ((searchType != SearchType.LEFT &&
-                 searchType != SearchType.RIGHT) || key == null);
-
         if (binBoundary != null) {
             binBoundary.isLastBin = true;
             binBoundary.isFirstBin = true;
@@ -2495,6 +2795,140 @@ public final class Tree implements Loggable {
         }
     }
 
+    /**
+     * Performs the same search as {@link #search(byte[], SearchType,
+     * BINBoundary, CacheMode, InternalComparator)}, but without latching the
+     * rootLatch or the upper INs, so that concurrent readers do not write to
+     * the latches of the root and the other hot upper INs.
+     *
+     * Uses optimistic lock coupling: the latch version of each upper IN is
+     * read before the IN is examined, and is validated after the version of
+     * the child has been read (or, for the BIN, after the BIN is latched). If
+     * the version is unchanged, the IN was not latched exclusively, and so not
+     * modified, in the meantime and the child pointer that was read is still
+     * correct. Because an IN may be modified while it is read, exceptions
+     * thrown while reading are ignored if the version does not validate.
+     *
+     * Only the BIN is latched, and the LRU is updated only for the BIN. Upper
+     * INs that were fetched cold are left for a latched search to update, so
+     * that the optimistic search does not write to them either.
+     *
+     * @return the latched BIN, or null if the search could not be completed
+     * optimistically, in which case the caller must do a latched search.
+     * Null is returned if the root or an upper IN on the path is latched
+     * exclusively or changes during the search, a child is not resident, or
+     * the tree is empty.
+     */
+    private BIN searchOptimistic(
+        byte[] key,
+        SearchType searchType,
+        BINBoundary binBoundary,
+        CacheMode cacheMode,
+        InternalComparator comparator) {
+
+        final long rootVersion = rootLatch.getOptimisticVersion();
+        if (rootVersion == SharedLatch.NO_OPTIMISTIC_VERSION) {
+            return null;
+        }
+
+        final ChildReference rootRef = root;
+        if (rootRef == null) {
+            return null;
+        }
+
+        IN parent = (IN) rootRef.getTarget();
+        if (parent == null) {
+            return null;
+        }
+
+        /* A BIN root is exclusive-only, and NO_OPTIMISTIC_VERSION is used. */
+        long parentVersion = parent.getOptimisticLatchVersion();
+
+        if (!rootLatch.validateOptimisticVersion(rootVersion) ||
+            parentVersion == SharedLatch.NO_OPTIMISTIC_VERSION) {
+            return null;
+        }
+
+        final boolean checkFetchedCold = (cacheMode != CacheMode.UNCHANGED);
+        boolean isFirstBin = true;
+        boolean isLastBin = true;
+
+        try {
+            while (true) {
+                final int nEntries = parent.getNEntries();
+
+                if (nEntries == 0 ||
+                    (checkFetchedCold && parent.getFetchedCold())) {
+                    return null;
+                }
+
+                final int index;
+
+                if (searchType == SearchType.NORMAL) {
+                    index = parent.findEntry(key, false, false, comparator);
+                } else if (searchType == SearchType.LEFT) {
+                    index = 0;
+                } else if (searchType == SearchType.RIGHT) {
+                    index = nEntries - 1;
+                } else {
+                    return null;
+                }
+
+                if (index != nEntries - 1) {
+                    isLastBin = false;
+                }
+                if (index != 0) {
+                    isFirstBin = false;
+                }
+
+                final IN child = (IN) parent.getTarget(index);
+
+                if (child == null) {
+                    return null;
+                }
+
+                if (child.isBIN()) {
+
+                    /* Note: BINs are always latched exclusive. */
+                    child.latchShared(cacheMode);
+
+                    if (!parent.validateOptimisticLatchVersion(
+                            parentVersion)) {
+                        child.releaseLatch();
+                        return null;
+                    }
+
+                    if (binBoundary != null) {
+                        binBoundary.isFirstBin = isFirstBin;
+                        binBoundary.isLastBin = isLastBin;
+                    }
+                    return (BIN) child;
+                }
+
+                final long childVersion = child.getOptimisticLatchVersion();
+
+                if (!parent.validateOptimisticLatchVersion(parentVersion) ||
+                    childVersion == SharedLatch.NO_OPTIMISTIC_VERSION) {
+                    return null;
+                }
+
+                parent = child;
+                parentVersion = childVersion;
+            }
+        } catch (RuntimeException e) {
+
+            /*
+             * An inconsistent read of an IN that is being modified may cause
+             * any runtime exception. The exception is only real if the IN was
+             * not modified.
+             */
+            if (parent.validateOptimisticLatchVersion(parentVersion)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
     /*
      * Search for the given key in the subtree rooted at the given parent IN.
      * The search descends until the given target level, and the IN that
@@ -17,6 +17,7 @@ import static com.sleepycat.je.txn.LockStatDefinition.GROUP_DESC;
 import static com.sleepycat.je.txn.LockStatDefinition.GROUP_NAME;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_OWNERS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_READ_LOCKS;
+import static com.sleepycat.je.txn.LockStatDefinition.LOCK_READ_LOCKS_ELIDED;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_REQUESTS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_TOTAL;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_WAITERS;
@@ -55,8 +56,11 @@ import com.sleepycat.je.latch.LatchSupport;
 import com.sleepycat.je.util.TimeSupplier;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.IntStat;
+import com.sleepycat.je.utilint.LongAdderStat;
 import com.sleepycat.je.utilint.LongStat;
 import com.sleepycat.je.utilint.Pair;
+import com.sleepycat.je.utilint.PhaseTimer;
+import com.sleepycat.je.utilint.PhaseTimer.Phase;
 import com.sleepycat.je.utilint.StatGroup;
 import com.sleepycat.je.utilint.TestHook;
 import com.sleepycat.je.utilint.TinyHashSet;
@@ -120,6 +124,8 @@ public abstract class LockManager implements EnvConfigObserver {
     private final StatGroup stats;
     private final LongStat nRequests; /* number of time a request was made. */
     private final LongStat nWaits;    /* number of time a request blocked. */
+    /* Number of read locks skipped, see CursorImpl.lockLN. */
+    private final LongAdderStat nReadLocksElided;
 
     private static boolean lockTableDump = false;
 
@@ -162,6 +168,7 @@ public abstract class LockManager implements EnvConfigObserver {
         stats = new StatGroup(GROUP_NAME, GROUP_DESC);
         nRequests = new LongStat(stats, LOCK_REQUESTS);
         nWaits = new LongStat(stats, LOCK_WAITS);
+        nReadLocksElided = new LongAdderStat(stats, LOCK_READ_LOCKS_ELIDED);
 
         /* Initialize mutable properties and register for notifications. */
         envConfigUpdate(configMgr, null);
@@ -346,10 +353,15 @@ public abstract class LockManager implements EnvConfigObserver {
             while (true) {
                 final WaitForLockResult waitResult;
 
-                synchronized (locker) {
-                    waitResult = waitForLock(
-                        result, lsn, locker, type, lastDC, timeout, startTime,
-                        database);
+                final long waitStart = PhaseTimer.start();
+                try {
+                    synchronized (locker) {
+                        waitResult = waitForLock(
+                            result, lsn, locker, type, lastDC, timeout,
+                            startTime, database);
+                    }
+                } finally {
+                    PhaseTimer.end(Phase.LOCK_WAIT, waitStart);
                 }
 
                 result = waitResult.getResult();
@@ -719,6 +731,15 @@ public abstract class LockManager implements EnvConfigObserver {
                useLock.nOwners() == 0;
     }
 
+    /**
+     * Called when a read lock is not requested because the record was
+     * uncontended.  Is not called under a lock table mutex, so a LongAdder
+     * is used to avoid contention among concurrent readers.
+     */
+    public void incReadLocksElided() {
+        nReadLocksElided.increment();
+    }
+
     public abstract boolean ownsOrSharesLock(Locker locker, Long lsn);
 
     boolean ownsOrSharesLockInternal(final Locker locker,
@@ -83,6 +83,16 @@ public class LockStatDefinition {
             LOCK_WAITS_NAME,
             LOCK_WAITS_DESC);
 
+    public static final String LOCK_READ_LOCKS_ELIDED_NAME =
+        "nReadLocksElided";
+    public static final String LOCK_READ_LOCKS_ELIDED_DESC =
+        "Number of times a read lock request was skipped because the " +
+            "record was not locked by any other locker.";
+    public static final StatDefinition LOCK_READ_LOCKS_ELIDED =
+        new StatDefinition(
+            LOCK_READ_LOCKS_ELIDED_NAME,
+            LOCK_READ_LOCKS_ELIDED_DESC);
+
     public static final String LOCK_WAITERS_NAME =
         "nWaiters";
     public static final String LOCK_WAITERS_DESC =
@@ -0,0 +1,107 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.utilint;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sleepycat.je.utilint.StatDefinition.StatType;
+import com.sleepycat.utilint.FormatUtil;
+
+/**
+ * A long JE stat that uses {@link LongAdder} to be thread safe. Unlike {@link
+ * AtomicLongStat}, concurrent increments do not contend on a single memory
+ * location, so this class should be used for counters that are incremented
+ * by many threads on hot paths. Reading the value is more expensive, and
+ * copies are returned as an AtomicLongStat.
+ */
+public class LongAdderStat extends StatWithValueType<Long> {
+    private static final long serialVersionUID = 1L;
+
+    private final LongAdder counter;
+
+    public LongAdderStat(StatGroup group, StatDefinition definition) {
+        super(group, definition);
+        counter = new LongAdder();
+    }
+
+    @Override
+    public Class<Long> getValueType() {
+        return Long.class;
+    }
+
+    @Override
+    public Long get() {
+        return counter.sum();
+    }
+
+    @Override
+    public void set(Long newValue) {
+        counter.reset();
+        counter.add(newValue);
+    }
+
+    public void increment() {
+        counter.increment();
+    }
+
+    public void add(long count) {
+        counter.add(count);
+    }
+
+    @Override
+    public void add(Stat<Long> other) {
+        counter.add(other.get());
+    }
+
+    @Override
+    public void clear() {
+        counter.reset();
+    }
+
+    @Override
+    public Stat<Long> computeInterval(Stat<Long> base) {
+        AtomicLongStat ret = copy();
+        if (definition.getType() == StatType.INCREMENTAL) {
+            ret.set(ret.get() - base.get());
+        }
+        return ret;
+    }
+
+    @Override
+    public void negate() {
+        if (definition.getType() == StatType.INCREMENTAL) {
+            counter.add(-2 * counter.sum());
+        }
+    }
+
+    @Override
+    public AtomicLongStat copy() {
+        return new AtomicLongStat(definition, counter.sum());
+    }
+
+    @Override
+    public AtomicLongStat copyAndClear() {
+        return new AtomicLongStat(definition, counter.sumThenReset());
+    }
+
+    @Override
+    protected String getFormattedValue() {
+        return FormatUtil.decimalScale0().format(counter.sum());
+    }
+
+    @Override
+    public boolean isNotSet() {
+        return (counter.sum() == 0);
+    }
+}
@@ -0,0 +1,105 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.utilint;
+
+/**
+ * Accumulates the time the current thread spends in phases of an operation
+ * that may block: waiting for locks, reading the log, fsyncing and waiting
+ * for replica acknowledgments. Used to trace where the time of a sampled
+ * request goes.
+ *
+ * <p>Timing is enabled for a thread by calling {@link #enable}, and disabled
+ * by calling {@link #disable}, which returns the accumulated times. Code that
+ * may block brackets the blocking call with {@link #start} and {@link #end}.
+ * When timing is not enabled for the current thread, start returns 0 without
+ * reading the clock, and end does nothing, so the overhead for untraced
+ * operations is a thread local lookup in paths that already block.
+ */
+public class PhaseTimer {
+
+    /** The phases that are timed. */
+    public enum Phase {
+
+        /** Waiting for a lock held by another locker. */
+        LOCK_WAIT,
+
+        /** Reading from a log file, typically for a cache miss. */
+        LOG_READ,
+
+        /** Flushing and fsyncing the log, including group commit waits. */
+        FSYNC,
+
+        /** Waiting for replicas to acknowledge a commit. */
+        REPLICA_ACK;
+
+        private static final Phase[] VALUES = values();
+    }
+
+    private static final ThreadLocal<long[]> threadTimes = new ThreadLocal<>();
+
+    private PhaseTimer() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Enables timing for the current thread, clearing any times accumulated
+     * previously.
+     */
+    public static void enable() {
+        threadTimes.set(new long[Phase.VALUES.length]);
+    }
+
+    /**
+     * Disables timing for the current thread, returning the nanoseconds
+     * accumulated for each phase, indexed by the phase ordinal, or null if
+     * timing was not enabled.
+     */
+    public static long[] disable() {
+        final long[] times = threadTimes.get();
+        threadTimes.remove();
+        return times;
+    }
+
+    /**
+     * Returns whether timing is enabled for the current thread.
+     */
+    public static boolean isEnabled() {
+        return threadTimes.get() != null;
+    }
+
+    /**
+     * Returns the start time to pass to {@link #end}, or 0 if timing is not
+     * enabled for the current thread.
+     */
+    public static long start() {
+        return (threadTimes.get() == null) ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Adds the time since the specified start time to the phase, if timing
+     * is enabled.
+     *
+     * @param phase the phase
+     * @param startNanos the value returned by {@link #start}
+     */
+    public static void end(Phase phase, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        final long[] times = threadTimes.get();
+        if (times != null) {
+            times[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+}
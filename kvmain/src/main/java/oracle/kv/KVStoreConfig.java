@@ -296,6 +296,15 @@ public class KVStoreConfig implements Serializable, Cloneable,
      */
     private String[] readZones = null;
 
+    /*
+     * Whether reads are routed by adaptive read routing, which prefers RNs
+     * in the local zone with few outstanding requests and little lag.
+     */
+    private boolean adaptiveReadRouting;
+
+    /* The zone the client is in, or null if not known */
+    private String localZone = null;
+
     /* Async ddl related timeouts */
     private int maxCheckRetries;
     private int checkIntervalMillis;
@@ -1116,6 +1125,74 @@ public class KVStoreConfig implements Serializable, Cloneable,
         return this;
     }
 
+    /**
+     * @hidden
+     * Returns the number of chunks that a LOB input stream fetches ahead of
+     * the chunk being read by the application.
+     *
+     * @see KVLargeObject
+     *
+     * @since 25.4
+     */
+    public int getLOBReadAheadChunks() {
+        return lobConfig.getReadAheadChunks();
+    }
+
+    /**
+     * @hidden
+     * Configures the number of chunks that a LOB input stream fetches ahead
+     * of the chunk being read by the application. The chunks are fetched
+     * asynchronously, so a larger value overlaps more network round trips
+     * at the cost of buffering more chunks in memory. A value of zero
+     * disables read-ahead.
+     *
+     * @see KVLargeObject
+     *
+     * @since 25.4
+     */
+    public KVStoreConfig setLOBReadAheadChunks(int readAheadChunks) {
+
+        if (readAheadChunks < 0) {
+            throw new IllegalArgumentException("readAheadChunks: " +
+                                               readAheadChunks);
+        }
+        lobConfig.setReadAheadChunks(readAheadChunks);
+        return this;
+    }
+
+    /**
+     * @hidden
+     * Returns the maximum number of chunk puts that a LOB write operation
+     * may have in flight at the same time.
+     *
+     * @see KVLargeObject
+     *
+     * @since 25.4
+     */
+    public int getLOBChunkWritesInFlight() {
+        return lobConfig.getChunkWritesInFlight();
+    }
+
+    /**
+     * @hidden
+     * Configures the maximum number of chunk puts that a LOB write operation
+     * may have in flight at the same time. A value of one writes the chunks
+     * one after another.
+     *
+     * @see KVLargeObject
+     *
+     * @since 25.4
+     */
+    public KVStoreConfig setLOBChunkWritesInFlight(int chunkWritesInFlight) {
+
+        if (chunkWritesInFlight <= 0) {
+            throw new IllegalArgumentException("chunkWritesInFlight: " +
+                                               chunkWritesInFlight);
+        }
+        lobConfig.setChunkWritesInFlight(chunkWritesInFlight);
+        return this;
+    }
+
     /**
      * Returns the zones in which nodes must be located to be used for read
      * operations, or {@code null} if read operations can be performed on nodes
@@ -1180,6 +1257,63 @@ public class KVStoreConfig implements Serializable, Cloneable,
         return this;
     }
 
+    /**
+     * @hidden
+     * Sets whether read operations that can be served by replicas are routed
+     * using adaptive read routing. When enabled, each read picks the less
+     * loaded of two randomly sampled eligible nodes, where the load of a node
+     * is its number of outstanding requests from this client, increased for
+     * nodes outside the local zone and, for reads with time consistency, for
+     * replicas that lag the master. By default, reads go to the eligible node
+     * with the fewest outstanding requests.
+     *
+     * @param adaptiveReadRouting whether to use adaptive read routing
+     * @return this
+     * @see #setLocalZone
+     */
+    public KVStoreConfig setAdaptiveReadRouting(boolean adaptiveReadRouting) {
+        this.adaptiveReadRouting = adaptiveReadRouting;
+        return this;
+    }
+
+    /**
+     * @hidden
+     * Returns whether read operations are routed using adaptive read routing.
+     *
+     * @return whether adaptive read routing is enabled
+     */
+    public boolean getAdaptiveReadRouting() {
+        return adaptiveReadRouting;
+    }
+
+    /**
+     * @hidden
+     * Sets the name of the zone the client is located in, which adaptive read
+     * routing prefers for read operations. If {@code null}, the default, no
+     * zone is preferred. The zone must exist at the time that this
+     * configuration object is used to create a store, or else {@link
+     * KVStoreFactory#getStore} will throw an {@link
+     * IllegalArgumentException}.
+     *
+     * @param zone the zone name or {@code null}
+     * @return this
+     */
+    public KVStoreConfig setLocalZone(String zone) {
+        localZone = zone;
+        return this;
+    }
+
+    /**
+     * @hidden
+     * Returns the name of the zone the client is located in, or {@code null}
+     * if not set.
+     *
+     * @return the zone name or {@code null}
+     */
+    public String getLocalZone() {
+        return localZone;
+    }
+
     /**
      * @hidden
      * Configures the default interval for checking on data definition
@@ -1375,6 +1509,12 @@ public class KVStoreConfig implements Serializable, Cloneable,
                ((readZones != null) ?
                 " readZones=" + Arrays.toString(readZones) :
                 "") +
+               (adaptiveReadRouting ?
+                " adaptiveReadRouting=true" :
+                "") +
+               ((localZone != null) ?
+                " localZone=" + localZone :
+                "") +
                " useAsync=" + useAsync +
                ((useRmi != DEFAULT_USE_RMI) ?
                 " useRmi=" + useRmi :
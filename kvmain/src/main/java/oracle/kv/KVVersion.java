@@ -215,6 +215,9 @@ public class KVVersion implements Comparable<KVVersion>, Serializable {
     /** @hidden */
     public static final KVVersion R25_3 =
         new KVVersion(25, 3, 21, null);   /* R25.3 8/2025 */
+    /** @hidden */
+    public static final KVVersion R25_4 =
+        new KVVersion(25, 4, 0, null);   /* R25.4 */
 
     /**
      * The current software version.
@@ -224,7 +227,7 @@ public class KVVersion implements Comparable<KVVersion>, Serializable {
          * WHEN YOU BUMP THIS VERSION, BE SURE TO BUMP THE VERSIONS IN
          * misc/rpm/*.spec.
          */
-        R25_3;
+        R25_4;
 
    /**
     * The current prerequisite version.  Nodes can only join the cluster if
@@ -48,6 +48,8 @@ public class TableInputFormat extends TableInputFormatBase<PrimaryKey, Row> {
     public TableInputFormat() {
         this.topologyLocator =
             new TableInputFormatBase.TopologyLocatorWrapper();
+        this.partitionSizeReader =
+            new TableInputFormatBase.PartitionSizeReader();
     }
 
     /**
@@ -59,6 +61,17 @@ public class TableInputFormat extends TableInputFormatBase<PrimaryKey, Row> {
         this.topologyLocator = topologyLocator;
     }
 
+    /**
+     * Used for testing only.
+     * @hidden
+     */
+    public TableInputFormat(
+        final TableInputFormatBase.TopologyLocatorWrapper topologyLocator,
+        final TableInputFormatBase.PartitionSizeReader partitionSizeReader) {
+        this.topologyLocator = topologyLocator;
+        this.partitionSizeReader = partitionSizeReader;
+    }
+
     /**
      * Returns the RecordReader for the given InputSplit.
      */
@@ -20,9 +20,11 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -30,13 +32,17 @@ import java.util.concurrent.TimeUnit;
 import oracle.kv.Consistency;
 import oracle.kv.Direction;
 import oracle.kv.KVSecurityConstants;
+import oracle.kv.KVStore;
+import oracle.kv.KVStoreConfig;
 import oracle.kv.KVStoreException;
+import oracle.kv.KVStoreFactory;
 import oracle.kv.ParamConstant;
 import oracle.kv.PasswordCredentials;
 import oracle.kv.impl.security.PasswordManager;
 import oracle.kv.impl.security.PasswordStore;
 import oracle.kv.impl.security.login.LoginManager;
 import oracle.kv.impl.security.util.KVStoreLogin;
+import oracle.kv.impl.systables.TableStatsPartitionDesc;
 import oracle.kv.impl.topo.PartitionId;
 import oracle.kv.impl.topo.RepGroupId;
 import oracle.kv.impl.topo.Topology;
@@ -46,6 +52,11 @@ import oracle.kv.impl.util.ExternalDataSourceUtils;
 import oracle.kv.impl.util.TopologyLocator;
 import oracle.kv.impl.util.registry.ClientSocketFactory;
 import oracle.kv.impl.util.registry.RegistryUtils;
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+import oracle.kv.table.TableAPI;
+import oracle.kv.table.TableIterator;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.mapreduce.InputFormat;
@@ -275,6 +286,12 @@ public abstract class TableInputFormatBase<K, V> extends InputFormat<K, V> {
 
     protected TopologyLocatorWrapper topologyLocator; /* For unit tests */
 
+    /*
+     * Reads the table's per-partition sizes used to balance the splits. If
+     * null, the splits are not balanced by size.
+     */
+    protected PartitionSizeReader partitionSizeReader;
+
     /**
      * @hidden
      */
@@ -412,9 +429,23 @@ public abstract class TableInputFormatBase<K, V> extends InputFormat<K, V> {
             }
         }
 
+        /*
+         * For table scans, try to balance the splits by the sizes of the
+         * table's partitions, as recorded by the store's table statistics.
+         */
+        Map<Integer, Long> partitionSizes = null;
+        if (partitionSizeReader != null &&
+            (queryBy == TableInputSplit.QUERY_BY_PRIMARY_ALL_PARTITIONS ||
+             queryBy == TableInputSplit.QUERY_BY_ONQL_ALL_PARTITIONS)) {
+            partitionSizes = partitionSizeReader.get(
+                kvStoreName, kvHelperHosts, localLoginFile,
+                passwordCredentials, tableName);
+        }
+
         /* Create splits based on the store's partitions or its shards. */
         final List<TopoSplitWrapper> splits =
-            getSplitInfo(topology, consistency, queryBy, shardKeyPartitionId);
+            getSplitInfo(topology, consistency, queryBy, shardKeyPartitionId,
+                         partitionSizes);
 
         final List<InputSplit> ret = new ArrayList<InputSplit>(splits.size());
         for (TopoSplitWrapper ts : splits) {
@@ -444,6 +475,7 @@ public abstract class TableInputFormatBase<K, V> extends InputFormat<K, V> {
             split.setPartitionSets(ts.getPartitionSets());
             split.setQueryInfo(queryBy, whereClause);
             split.setShardSet(ts.getShardSet());
+            split.setEstimatedSize(ts.getSize());
 
             ret.add(split);
         }
@@ -1116,13 +1148,15 @@ public abstract class TableInputFormatBase<K, V> extends InputFormat<K, V> {
      * Convenience method that returns a list whose elements encapsulate
      * the information needed to create the necessary splits; based on
      * whether a TableScan (partition based) or an IndexScan (shard based)
-     * will be used to satisfy the read request (query).
+     * will be used to satisfy the read request (query). If pSizes is
+     * non-null, partition based splits are balanced by size.
      */
     private List<TopoSplitWrapper> getSplitInfo(
                                        final Topology topology,
                                        final Consistency readConsistency,
                                        final int whereQueryBy,
-                                       final Integer singlePartitionId) {
+                                       final Integer singlePartitionId,
+                                       final Map<Integer, Long> pSizes) {
 
         final List<TopoSplitWrapper> retList =
             new ArrayList<TopoSplitWrapper>();
@@ -1172,8 +1206,9 @@ public abstract class TableInputFormatBase<K, V> extends InputFormat<K, V> {
         if (buildSplits) {
 
             final SplitBuilder sb = new SplitBuilder(topology);
-            final List<TopoSplit> topoSplits =
-                sb.createShardSplits(readConsistency);
+            final List<TopoSplit> topoSplits = (pSizes == null) ?
+                sb.createShardSplits(readConsistency) :
+                sb.createSizedSplits(pSizes, readConsistency);
 
             for (TopoSplit topoSplit : topoSplits) {
                 final Set<RepGroupId> shardSet = new HashSet<RepGroupId>();
@@ -1252,6 +1287,10 @@ public abstract class TableInputFormatBase<K, V> extends InputFormat<K, V> {
             /* Avoid NPE in write method during split serialization. */
             return Collections.emptySet();
         }
+
+        long getSize() {
+            return (topoSplit != null) ? topoSplit.getSize() : -1;
+        }
     }
 
     /**
@@ -1286,4 +1325,75 @@ public abstract class TableInputFormatBase<K, V> extends InputFormat<K, V> {
                                        expectedStoreName, clientId);
         }
     }
+
+    /**
+     * Reads the sizes of a table's partitions from the store's table
+     * statistics system table. Like TopologyLocatorWrapper, this is a
+     * separate class so that tests can mock it.
+     */
+    public static class PartitionSizeReader {
+
+        public PartitionSizeReader() { }
+
+        /**
+         * Returns a map of partition id to the estimated number of bytes of
+         * the table in that partition, or null if the statistics are not
+         * available; for example, if statistics gathering is disabled, has
+         * not yet run, or the store cannot be reached.
+         */
+        public Map<Integer, Long> get(final String storeName,
+                                      final String[] helperHosts,
+                                      final String loginFile,
+                                      final PasswordCredentials credentials,
+                                      final String table) {
+
+            final KVStoreConfig config =
+                new KVStoreConfig(storeName, helperHosts);
+            config.setSecurityProperties(
+                KVStoreLogin.createSecurityProperties(loginFile));
+
+            KVStore store = null;
+            try {
+                store = KVStoreFactory.getStore(config, credentials, null);
+                final TableAPI tableAPI = store.getTableAPI();
+                final Table statsTable =
+                    tableAPI.getTable(TableStatsPartitionDesc.TABLE_NAME);
+                final Table userTable = tableAPI.getTable(table);
+                if (statsTable == null || userTable == null) {
+                    return null;
+                }
+
+                final PrimaryKey key = statsTable.createPrimaryKey();
+                key.put(TableStatsPartitionDesc.COL_NAME_TABLE_NAME,
+                        userTable.getFullNamespaceName());
+
+                final Map<Integer, Long> sizes = new HashMap<>();
+                final TableIterator<Row> iter =
+                    tableAPI.tableIterator(key, null, null);
+                try {
+                    while (iter.hasNext()) {
+                        final Row row = iter.next();
+                        sizes.put(row.get(
+                            TableStatsPartitionDesc.COL_NAME_PARTITION_ID)
+                                  .asInteger().get(),
+                                  TableStatsPartitionDesc.getSizeValue(row));
+                    }
+                } finally {
+                    iter.close();
+                }
+                return sizes.isEmpty() ? null : sizes;
+            } catch (RuntimeException e) {
+                if (LOG2.isDebugEnabled()) {
+                    LOG2.debug("Unable to read partition sizes for table " +
+                               table + ", splits are not balanced by size: " +
+                               e);
+                }
+                return null;
+            } finally {
+                if (store != null) {
+                    store.close();
+                }
+            }
+        }
+    }
 }
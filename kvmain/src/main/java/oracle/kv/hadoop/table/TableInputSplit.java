@@ -86,6 +86,9 @@ public class TableInputSplit extends InputSplit implements Writable {
     private List<Set<Integer>> partitionSets;
     private Set<RepGroupId> shardSet;
 
+    /* Estimated bytes in the split's partitions, or -1 if not known. */
+    private long estimatedSize = -1;
+
     /**
      * No-arg constructor required by Hadoop semantics.
      */
@@ -96,11 +99,16 @@ public class TableInputSplit extends InputSplit implements Writable {
      * Get the size of the split, so that the input splits can be sorted by
      * size.
      *
-     * @return the number of bytes in the split
+     * @return the estimated number of bytes in the split if the split was
+     * built from the store's table statistics, otherwise the number of
+     * partition sets in the split
      */
     @Override
     public long getLength() {
 
+        if (estimatedSize >= 0) {
+            return estimatedSize;
+        }
         if (partitionSets == null) {
             return 0L;
         }
@@ -282,6 +290,19 @@ public class TableInputSplit extends InputSplit implements Writable {
         return shardSet;
     }
 
+    TableInputSplit setEstimatedSize(long newEstimatedSize) {
+        this.estimatedSize = newEstimatedSize;
+        return this;
+    }
+
+    /**
+     * Returns the estimated number of bytes in the partitions of this split,
+     * or -1 if the size is not known.
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
     TableInputSplit setKVStoreSecurity(
                         final String loginFile,
                         final PasswordCredentials passwordCredentials,
@@ -354,6 +375,7 @@ public class TableInputSplit extends InputSplit implements Writable {
                 out.writeInt(p);
             }
         }
+        out.writeLong(estimatedSize);
 
         out.writeInt(queryBy);
 
@@ -476,6 +498,7 @@ public class TableInputSplit extends InputSplit implements Writable {
             }
             nSets--;
         }
+        estimatedSize = in.readLong();
 
         queryBy = in.readInt();
 
@@ -783,6 +806,11 @@ public class TableInputSplit extends InputSplit implements Writable {
             buf.append(shardSet);
         }
 
+        if (estimatedSize >= 0) {
+            buf.append(", estimatedSize=");
+            buf.append(estimatedSize);
+        }
+
         if (partitionSets == null) {
             buf.append(", partitionSets=null");
         } else {
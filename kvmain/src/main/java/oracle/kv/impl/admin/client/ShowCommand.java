@@ -29,6 +29,7 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.Formatter;
@@ -65,6 +66,8 @@ import oracle.kv.impl.api.table.NameUtils;
 import oracle.kv.impl.api.table.RegionMapper;
 import oracle.kv.impl.api.table.TableImpl;
 import oracle.kv.impl.api.table.TableMetadata;
+import oracle.kv.impl.measurement.HotKeyStats;
+import oracle.kv.impl.measurement.HotKeyStats.HotKey;
 import oracle.kv.impl.metadata.Metadata.MetadataType;
 import oracle.kv.impl.monitor.views.PerfEvent;
 import oracle.kv.impl.monitor.views.ServiceChange;
@@ -87,6 +90,7 @@ import oracle.kv.impl.topo.StorageNode;
 import oracle.kv.impl.topo.StorageNodeId;
 import oracle.kv.impl.topo.Topology;
 import oracle.kv.impl.util.CommandParser;
+import oracle.kv.impl.util.FormatUtils;
 import oracle.kv.impl.util.TopologyPrinter;
 import oracle.kv.impl.util.TopologyPrinter.Filter;
 import oracle.kv.impl.util.registry.RegistryUtils;
@@ -126,6 +130,7 @@ public class ShowCommand extends ShowCommandBase {
                       new ShowDatacenters(),
                       new ShowEvents(),
                       new ShowFaults(),
+                      new ShowHotKeys(),
                       new ShowIndexes(),
                       new ShowMRTableAgentStat(),
                       new ShowParameters(),
@@ -1586,6 +1591,131 @@ public class ShowCommand extends ShowCommandBase {
         }
     }
 
+    /*
+     * Shows the hottest shard keys, tables and partitions reported by each
+     * RepNode for its most recent collection interval. The information is
+     * carried in the PerfEvents retained by the admin's monitor.
+     */
+    @POST
+    private static final class ShowHotKeys extends SubCommand {
+
+        private ShowHotKeys() {
+            super("hot-keys", 3);
+        }
+
+        @Override
+        public String execute(String[] args, Shell shell)
+            throws ShellException {
+
+            return new ShowHotKeysExecutor<String>() {
+                @Override
+                public String
+                    multiHotKeysResult(Map<ResourceId, HotKeyStats> map) {
+                    if (map.isEmpty()) {
+                        return "No hot key information is available.";
+                    }
+                    final StringBuilder sb = new StringBuilder();
+                    for (Map.Entry<ResourceId, HotKeyStats> entry :
+                             map.entrySet()) {
+                        final HotKeyStats stats = entry.getValue();
+                        sb.append(entry.getKey()).append(" (")
+                          .append(FormatUtils.formatTimeMillis(
+                                      stats.getStart()))
+                          .append(" -> ")
+                          .append(FormatUtils.formatTimeMillis(
+                                      stats.getEnd()))
+                          .append(")").append(eol);
+                        appendHotKeys(sb, "Shard keys", stats.getShardKeys());
+                        appendHotKeys(sb, "Tables", stats.getTables());
+                        appendHotKeys(sb, "Partitions",
+                                      stats.getPartitions());
+                    }
+                    return sb.toString();
+                }
+            }.commonExecute(args, shell);
+        }
+
+        private static void appendHotKeys(StringBuilder sb,
+                                          String label,
+                                          List<HotKey> hotKeys) {
+            if (hotKeys.isEmpty()) {
+                return;
+            }
+            sb.append("  ").append(label).append(":").append(eol);
+            for (HotKey hk : hotKeys) {
+                sb.append("    ").append(hk.getFormatted()).append(eol);
+            }
+        }
+
+        private abstract class ShowHotKeysExecutor<T> implements Executor<T> {
+            @Override
+            public T commonExecute(String[] args, Shell shell)
+                throws ShellException {
+                Shell.checkHelp(args, ShowHotKeys.this);
+                if (args.length > 1) {
+                    shell.unknownArgument(args[1], ShowHotKeys.this);
+                }
+                final CommandShell cmd = (CommandShell) shell;
+                final CommandServiceAPI cs = cmd.getAdmin();
+                try {
+                    final Map<ResourceId, HotKeyStats> map = new TreeMap<>(
+                        Comparator.comparing(ResourceId::toString));
+                    for (PerfEvent pe : cs.getPerfMap().values()) {
+                        if (pe.getHotKeyStats() != null) {
+                            map.put(pe.getResourceId(), pe.getHotKeyStats());
+                        }
+                    }
+                    return multiHotKeysResult(map);
+                } catch (RemoteException re) {
+                    cmd.noAdmin(re);
+                }
+                return null;
+            }
+            public abstract T multiHotKeysResult(
+                Map<ResourceId, HotKeyStats> map);
+        }
+
+        @Override
+        public ShellCommandResult
+            executeJsonOutput(String[] args, Shell shell)
+            throws ShellException {
+            final ShellCommandResult scr =
+                ShellCommandResult.getDefault("show hot-keys");
+            final ObjectNode top = JsonUtils.createObjectNode();
+            final ArrayNode hotKeysArray = top.putArray("hotKeys");
+            return new ShowHotKeysExecutor<ShellCommandResult>() {
+                @Override
+                public ShellCommandResult
+                    multiHotKeysResult(Map<ResourceId, HotKeyStats> map) {
+                    for (Map.Entry<ResourceId, HotKeyStats> entry :
+                             map.entrySet()) {
+                        final ObjectNode node = JsonUtils.parseJsonObject(
+                            entry.getValue().toJson().toString());
+                        node.put("resource", entry.getKey().toString());
+                        hotKeysArray.add(node);
+                    }
+                    scr.setReturnValue(top);
+                    return scr;
+                }
+            }.commonExecute(args, shell);
+        }
+
+        @Override
+        protected String getCommandSyntax() {
+            return "show hot-keys " +
+                    CommandParser.getJsonUsage();
+        }
+
+        @Override
+        protected String getCommandDescription() {
+            return
+                "Displays the shard keys, tables and partitions with the " +
+                "most read and" + eolt + "write throughput on each " +
+                "Replication Node during its most recent" + eolt +
+                "statistics collection interval.";
+        }
+    }
+
     @POST
     private static final class ShowSnapshots extends SubCommand {
 
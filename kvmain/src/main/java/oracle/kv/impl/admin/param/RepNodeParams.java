@@ -42,7 +42,9 @@ import static oracle.kv.impl.param.ParameterState.RN_RH_ASYNC_MAX_CONCURRENT_REQ
 import static oracle.kv.impl.param.ParameterState.RN_RH_SO_BACKLOG;
 import static oracle.kv.impl.param.ParameterState.RN_RH_SO_CONNECT_TIMEOUT;
 import static oracle.kv.impl.param.ParameterState.RN_RH_SO_READ_TIMEOUT;
+import static oracle.kv.impl.param.ParameterState.RN_RH_TRACE_SAMPLE_INTERVAL;
 import static oracle.kv.impl.param.ParameterState.RP_RN_ID;
+import static oracle.kv.impl.param.ParameterState.SP_RN_METRICS_PORT;
 import static oracle.kv.impl.util.registry.RegistryUtils.InterfaceType.MAIN;
 
 import java.io.File;
@@ -472,6 +474,17 @@ public class RepNodeParams extends GroupNodeParams {
                                          ParameterState.RN_PM_WAIT_AFTER_ERROR);
     }
 
+    /**
+     * Gets whether a partition migration target requests a compressed
+     * migration stream from the source.
+     *
+     * @return true if the migration stream should be compressed
+     */
+    public boolean getMigrationCompressStream() {
+        return map.getOrDefault(
+                ParameterState.RN_PM_COMPRESS_STREAM).asBoolean();
+    }
+
     /**
      * Gets the time interval (in milliseconds) between updates of table
      * level statistics.
@@ -675,6 +688,24 @@ public class RepNodeParams extends GroupNodeParams {
                          Integer.toString(max));
     }
 
+    public String getDeferredIndexes() {
+        return map.getOrDefault(ParameterState.RN_DEFERRED_INDEXES).asString();
+    }
+
+    public void setDeferredIndexes(String indexes) {
+        map.setParameter(ParameterState.RN_DEFERRED_INDEXES, indexes);
+    }
+
+    public boolean getPartitionKeyFilter() {
+        return map.getOrDefault(ParameterState.RN_PARTITION_KEY_FILTER)
+            .asBoolean();
+    }
+
+    public void setPartitionKeyFilter(boolean enable) {
+        map.setParameter(ParameterState.RN_PARTITION_KEY_FILTER,
+                         Boolean.toString(enable));
+    }
+
     /**
      * Get the node's JE HA node type.
      *
@@ -779,6 +810,25 @@ public class RepNodeParams extends GroupNodeParams {
         map.setParameter(RN_RH_ASYNC_EXEC_MAX_THREADS, stringValue);
     }
 
+    /**
+     * Returns the interval at which the request handler samples requests to
+     * record their latency breakdown, or 0 if sampling is disabled.
+     */
+    public int getTraceSampleInterval() {
+        return map.getOrDefault(RN_RH_TRACE_SAMPLE_INTERVAL).asInt();
+    }
+
+    /**
+     * Returns the port of the OpenMetrics endpoint, or 0 if it is disabled.
+     */
+    public int getMetricsPort() {
+        return map.getOrDefault(SP_RN_METRICS_PORT).asInt();
+    }
+
+    public void setMetricsPort(int port) {
+        map.setParameter(SP_RN_METRICS_PORT, Integer.toString(port));
+    }
+
     /**
      * Returns the amount of time in milliseconds that a thread in the thread
      * pool the async request handler uses to execute incoming requests will
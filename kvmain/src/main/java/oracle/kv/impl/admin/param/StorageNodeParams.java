@@ -72,6 +72,8 @@ import static oracle.kv.impl.param.ParameterState.SN_ROOT_DIR_SIZE;
 import static oracle.kv.impl.param.ParameterState.SN_SERVICE_STOP_WAIT;
 import static oracle.kv.impl.param.ParameterState.SN_SOFTWARE_VERSION;
 import static oracle.kv.impl.param.ParameterState.SN_STORAGE_TYPE;
+import static oracle.kv.impl.param.ParameterState.SP_METRICS_ALLOW_INSECURE;
+import static oracle.kv.impl.param.ParameterState.SP_SN_METRICS_PORT;
 import static oracle.kv.impl.util.registry.RegistryUtils.InterfaceType.LOGIN;
 import static oracle.kv.impl.util.registry.RegistryUtils.InterfaceType.MAIN;
 import static oracle.kv.impl.util.registry.RegistryUtils.InterfaceType.TRUSTED_LOGIN;
@@ -1059,6 +1061,29 @@ public class StorageNodeParams implements ParamsWithMap, Serializable {
                          (hostArbiters ? "true" : "false"));
     }
 
+    /**
+     * Returns the port of the OpenMetrics endpoint, or 0 if it is disabled.
+     */
+    public int getMetricsPort() {
+        return map.getOrDefault(SP_SN_METRICS_PORT).asInt();
+    }
+
+    public void setMetricsPort(int port) {
+        map.setParameter(SP_SN_METRICS_PORT, Integer.toString(port));
+    }
+
+    /**
+     * Returns whether the OpenMetrics endpoints of the SN and its RNs may be
+     * started on a secure store.
+     */
+    public boolean getMetricsAllowInsecure() {
+        return map.getOrDefault(SP_METRICS_ALLOW_INSECURE).asBoolean();
+    }
+
+    public void setMetricsAllowInsecure(boolean allow) {
+        map.setParameter(SP_METRICS_ALLOW_INSECURE, Boolean.toString(allow));
+    }
+
     public boolean getMasterBalance() {
         return map.getOrDefault(COMMON_MASTER_BALANCE).asBoolean();
     }
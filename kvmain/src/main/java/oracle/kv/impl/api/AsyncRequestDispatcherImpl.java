@@ -580,6 +580,7 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
                                loginMgr)
                     .thenCompose(lh -> {
                             loginHandle = lh;
+                            request.markTraceSend();
                             return requestHandler.execute(
                                 request,
                                 getAsyncTimeout(request.getTimeout()));
@@ -0,0 +1,233 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.api;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import oracle.kv.impl.api.ops.InternalOperation.OpCode;
+
+/**
+ * The queue of async requests waiting for a free thread in the request
+ * handler's thread pool. Rather than executing requests in arrival order,
+ * the queue groups them into {@link RequestClass request classes} and
+ * dequeues from the classes in weighted round-robin order, so that cheap
+ * point operations do not wait behind a backlog of scans and queries, while
+ * every class with queued requests still makes progress.
+ *
+ * The queue is bounded by a total capacity shared by all classes. Items that
+ * are not {@link ClassifiedTask}s are placed in the {@link
+ * RequestClass#BACKGROUND} class.
+ *
+ * All methods are synchronized; the queue is only accessed when all threads
+ * in the pool are busy, and the operations are short.
+ */
+public class AsyncRequestQueue extends AbstractQueue<Runnable> {
+
+    /**
+     * The classes of requests that are scheduled separately.
+     */
+    public enum RequestClass {
+
+        /** Single row reads. */
+        POINT_READ(8),
+
+        /** Writes, including multi-row and query based updates. */
+        WRITE(4),
+
+        /** Multi-row reads: iterations, multi-gets and queries. */
+        SCAN(2),
+
+        /** Internal operations and bulk loads. */
+        BACKGROUND(1);
+
+        private static final RequestClass[] VALUES = values();
+
+        /**
+         * The number of requests dequeued from this class in each round when
+         * other classes also have requests waiting.
+         */
+        private final int weight;
+
+        RequestClass(int weight) {
+            this.weight = weight;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Returns the class of the specified request.
+         */
+        public static RequestClass getRequestClass(Request request) {
+            final OpCode opCode = request.getOperation().getOpCode();
+            switch (opCode) {
+            case NOP:
+            case GET_IDENTITY:
+            case PUT_RESOLVE:
+            case TABLE_CHARGE:
+            case PUT_BATCH:
+                return BACKGROUND;
+            case GET:
+                return POINT_READ;
+            default:
+                return request.isWrite() ? WRITE : SCAN;
+            }
+        }
+    }
+
+    /**
+     * A task that identifies the class of the request it executes.
+     */
+    public interface ClassifiedTask extends Runnable {
+        RequestClass getRequestClass();
+    }
+
+    private final int capacity;
+
+    /** The queued tasks of each class, indexed by ordinal. */
+    private final ArrayDeque<Runnable>[] queues;
+
+    /** The total number of queued tasks. */
+    private int size;
+
+    /** The class currently being dequeued. */
+    private int current;
+
+    /** The number of tasks the current class may still dequeue this round. */
+    private int credits;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param capacity the maximum number of queued tasks
+     * @throws IllegalArgumentException if {@code capacity < 1}
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncRequestQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                "capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        queues = new ArrayDeque[RequestClass.VALUES.length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+        credits = RequestClass.VALUES[0].weight;
+    }
+
+    private static RequestClass getRequestClass(Runnable r) {
+        return (r instanceof ClassifiedTask) ?
+            ((ClassifiedTask) r).getRequestClass() :
+            RequestClass.BACKGROUND;
+    }
+
+    @Override
+    public synchronized boolean offer(Runnable r) {
+        if (r == null) {
+            throw new NullPointerException();
+        }
+        if (size >= capacity) {
+            return false;
+        }
+        queues[getRequestClass(r).ordinal()].addLast(r);
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the next task, taking tasks from the current class until it
+     * runs out of tasks or uses up its weight, and then moving on to the next
+     * class that has queued tasks.
+     */
+    @Override
+    public synchronized Runnable poll() {
+        if (size == 0) {
+            return null;
+        }
+        while (true) {
+            if (credits > 0) {
+                final Runnable r = queues[current].pollFirst();
+                if (r != null) {
+                    credits--;
+                    size--;
+                    return r;
+                }
+            }
+            current = (current + 1) % queues.length;
+            credits = RequestClass.VALUES[current].weight;
+        }
+    }
+
+    @Override
+    public synchronized Runnable peek() {
+        for (int i = 0; i < queues.length; i++) {
+            final Runnable r =
+                queues[(current + i) % queues.length].peekFirst();
+            if (r != null) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of queued tasks of the specified class.
+     */
+    public synchronized int size(RequestClass requestClass) {
+        return queues[requestClass.ordinal()].size();
+    }
+
+    /**
+     * Returns the capacity of the queue.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the queued tasks, in class
+     * order.
+     */
+    @Override
+    public synchronized Iterator<Runnable> iterator() {
+        final List<Runnable> snapshot = new ArrayList<>(size);
+        for (ArrayDeque<Runnable> queue : queues) {
+            snapshot.addAll(queue);
+        }
+        return snapshot.iterator();
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder sb = new StringBuilder("AsyncRequestQueue[");
+        for (RequestClass rc : RequestClass.VALUES) {
+            if (rc.ordinal() > 0) {
+                sb.append(" ");
+            }
+            sb.append(rc).append("=").append(queues[rc.ordinal()].size());
+        }
+        return sb.append("]").toString();
+    }
+}
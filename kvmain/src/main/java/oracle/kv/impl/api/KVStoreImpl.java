@@ -15,6 +15,8 @@ package oracle.kv.impl.api;
 
 import static oracle.kv.impl.async.FutureUtils.checkedComplete;
 import static oracle.kv.impl.async.FutureUtils.checkedCompleteExceptionally;
+import static oracle.kv.impl.async.FutureUtils.failedFuture;
+import static oracle.kv.impl.async.FutureUtils.thenApply;
 import static oracle.kv.impl.async.FutureUtils.unwrapExceptionVoid;
 import static oracle.kv.impl.util.ObjectUtil.checkNull;
 
@@ -39,8 +41,11 @@ import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.net.ssl.SSLHandshakeException;
@@ -244,6 +249,12 @@ public class KVStoreImpl implements KVStore, Cloneable {
     /** @see KVStoreConfig#getLOBChunkSize() */
     private final int defaultChunkSize;
 
+    /** @see KVStoreConfig#getLOBReadAheadChunks() */
+    private final int defaultLOBReadAheadChunks;
+
+    /** @see KVStoreConfig#getLOBChunkWritesInFlight() */
+    private final int defaultLOBChunkWritesInFlight;
+
     /** @see KVStoreConfig#getCheckInterval(TimeUnit) */
     private final long checkIntervalMillis;
 
@@ -310,6 +321,9 @@ public class KVStoreImpl implements KVStore, Cloneable {
     /* The KVStats monitor or null if not enabled */
     private final KVStatsMonitor kvStatsMonitor;
 
+    /* Selects requests to trace, or null if tracing is not enabled */
+    private volatile TraceSampler traceSampler;
+
     /**
      * The KVStoreInternalFactory constructor
      */
@@ -365,6 +379,9 @@ public class KVStoreImpl implements KVStore, Cloneable {
         this.defaultLOBVerificationBytes = config.getLOBVerificationBytes();
         this.defaultChunksPerPartition = config.getLOBChunksPerPartition();
         this.defaultChunkSize = config.getLOBChunkSize();
+        this.defaultLOBReadAheadChunks = config.getLOBReadAheadChunks();
+        this.defaultLOBChunkWritesInFlight =
+            config.getLOBChunkWritesInFlight();
         this.largeObjectImpl = new KVLargeObjectImpl();
 
         this.sharedThreadPool = new SharedThreadPool(logger);
@@ -498,6 +515,9 @@ public class KVStoreImpl implements KVStore, Cloneable {
         this.defaultLOBVerificationBytes = other.defaultLOBVerificationBytes;
         this.defaultChunksPerPartition = other.defaultChunksPerPartition;
         this.defaultChunkSize = other.defaultChunkSize;
+        this.defaultLOBReadAheadChunks = other.defaultLOBReadAheadChunks;
+        this.defaultLOBChunkWritesInFlight =
+            other.defaultLOBChunkWritesInFlight;
         this.largeObjectImpl = other.largeObjectImpl;
         this.reauthHandler = other.reauthHandler;
 
@@ -603,6 +623,27 @@ public class KVStoreImpl implements KVStore, Cloneable {
         return processGetResult(result);
     }
 
+    /**
+     * Returns the result of a get asynchronously. The dispatcher must
+     * support asynchronous operations.
+     */
+    public CompletableFuture<ValueVersion> getInternalAsync(
+        Key key,
+        Consistency consistency,
+        long timeout,
+        TimeUnit timeoutUnit) {
+
+        try {
+            final Request req = makeGetRequest(key, 0, consistency, timeout,
+                                               timeoutUnit,
+                                               excludeTombstones);
+            return thenApply(executeRequestAsync(req),
+                             KVStoreImpl::processGetResult);
+        } catch (Throwable e) {
+            return failedFuture(e);
+        }
+    }
+
     public static ValueVersion processGetResult(Result result) {
         final Value value = result.getPreviousValue();
         if (value == null) {
@@ -2256,6 +2297,32 @@ public class KVStoreImpl implements KVStore, Cloneable {
                                 timeoutUnit);
     }
 
+    /**
+     * Creates a request to execute operations whose keys are all in the
+     * specified partition, but may have different major paths. Used to
+     * execute the operations of a non-atomic batch that fall in the same
+     * partition together. The caller is responsible for checking that the
+     * keys are in the partition and are unique.
+     */
+    public Request makeExecuteRequest(List<Operation> operations,
+                                      PartitionId partitionId,
+                                      long tableId,
+                                      Durability durability,
+                                      long timeout,
+                                      TimeUnit timeoutUnit) {
+        final List<OperationImpl> ops = OperationImpl.downcast(operations);
+        if (ops == null || ops.size() == 0) {
+            throw new IllegalArgumentException
+                ("operations must be non-null and non-empty");
+        }
+        for (OperationImpl op : ops) {
+            checkLOBKeySuffix(op.getInternalOp());
+        }
+        final Execute exe = new Execute(ops, tableId);
+        return makeWriteRequest(exe, partitionId, durability, timeout,
+                                timeoutUnit);
+    }
+
     public static Result processExecuteResult(Result result,
                                               List<Operation> operations)
         throws OperationExecutionException {
@@ -2661,6 +2728,7 @@ public class KVStoreImpl implements KVStore, Cloneable {
     public Result executeRequest(Request request)
         throws FaultException {
 
+        maybeStartTrace(request);
         try {
             return getExecuteResult(request, executeRequestInternal(request));
         } catch (RuntimeException e) {
@@ -2698,12 +2766,23 @@ public class KVStoreImpl implements KVStore, Cloneable {
             tableAPI.metadataNotification(mnfe.getTableMetadataSeqNum());
         } catch (RuntimeException e) {
         }
+
+        /* The write may have been applied */
+        if (request.isWrite()) {
+            tableAPI.getNearCache().invalidate(request.getOperation());
+        }
         return false;
     }
 
     private Result getExecuteResult(Request request, Response response) {
         assert TestHookExecute.doHookIfSet(beforeExecuteResultHook, response);
         final Result result = response.getResult();
+        if (request.isWrite()) {
+            tableAPI.getNearCache().invalidate(request.getOperation());
+        }
+        if (request.getTrace() != null) {
+            finishTrace(request, response);
+        }
         if (result.getMetadataSeqNum() > 0) {
             tableAPI.validateCache(request.getOperation().getTableId(),
                                    result.getMetadataSeqNum());
@@ -2713,6 +2792,78 @@ public class KVStoreImpl implements KVStore, Cloneable {
         return result;
     }
 
+    /**
+     * Enables tracing of the latency breakdown of requests. One out of every
+     * sampleInterval requests asks the RN to return the time it spent in
+     * each phase of executing the request, and the completed trace is passed
+     * to the listener. The listener is called in the thread that delivers the
+     * result of the request, so it should return quickly. Traces are only
+     * returned by RNs that support them.
+     *
+     * @param sampleInterval the interval at which requests are traced
+     * @param listener the listener for completed traces
+     * @throws IllegalArgumentException if sampleInterval is less than 1
+     */
+    public void enableRequestTracing(int sampleInterval,
+                                     Consumer<RequestTrace> listener) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException(
+                "sampleInterval must be greater than 0: " + sampleInterval);
+        }
+        traceSampler =
+            new TraceSampler(sampleInterval, checkNull("listener", listener));
+    }
+
+    /**
+     * Disables tracing of the latency breakdown of requests.
+     */
+    public void disableRequestTracing() {
+        traceSampler = null;
+    }
+
+    /** Asks for a trace of the request if it is selected by sampling. */
+    private void maybeStartTrace(Request request) {
+        final TraceSampler sampler = traceSampler;
+        if ((sampler != null) && sampler.sample()) {
+            request.startTrace();
+        }
+    }
+
+    /**
+     * Completes the trace of a request using the trace returned by the RN,
+     * if any, and delivers it to the listener.
+     */
+    private void finishTrace(Request request, Response response) {
+        final TraceSampler sampler = traceSampler;
+        final RequestTrace rnTrace = response.getTrace();
+        if ((sampler == null) || (rnTrace == null)) {
+            return;
+        }
+        final RequestTrace trace = request.getTrace();
+        trace.complete(rnTrace, response.getRespondingRN());
+        try {
+            sampler.listener.accept(trace);
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "Problem in request trace listener", e);
+        }
+    }
+
+    /** Selects one out of every sampleInterval requests for tracing. */
+    private static class TraceSampler {
+        private final int sampleInterval;
+        private final Consumer<RequestTrace> listener;
+        private final AtomicLong count = new AtomicLong();
+
+        TraceSampler(int sampleInterval, Consumer<RequestTrace> listener) {
+            this.sampleInterval = sampleInterval;
+            this.listener = listener;
+        }
+
+        boolean sample() {
+            return (count.incrementAndGet() % sampleInterval) == 0;
+        }
+    }
+
     /**
      * A hook called by executeRequestInternal() after the execution of request,
      * the returning Result object is passed into the hook.
@@ -2773,6 +2924,7 @@ public class KVStoreImpl implements KVStore, Cloneable {
          */
         final boolean isUserSuppliedAuth = request.getAuthContext() != null;
         final CompletableFuture<Result> future = new CompletableFuture<>();
+        maybeStartTrace(request);
         class ExecuteRequestHandler
             implements BiConsumer<Response, Throwable> {
 
@@ -2858,7 +3010,8 @@ public class KVStoreImpl implements KVStore, Cloneable {
 
     @Override
     public KVStats getStats(String watcherName, boolean clear) {
-        return new KVStats(watcherName, clear, dispatcher);
+        return new KVStats(watcherName, clear, dispatcher,
+                           tableAPI.getNearCache());
     }
 
     public KVStats getMonitorStats() {
@@ -3008,6 +3161,14 @@ public class KVStoreImpl implements KVStore, Cloneable {
         return defaultChunkSize;
     }
 
+    public int getDefaultLOBReadAheadChunks() {
+        return defaultLOBReadAheadChunks;
+    }
+
+    public int getDefaultLOBChunkWritesInFlight() {
+        return defaultLOBChunkWritesInFlight;
+    }
+
     @Override
     public Version putLOB(Key lobKey,
                           InputStream lobStream,
@@ -181,6 +181,21 @@ public class Request implements Externalizable, MethodCall<Response> {
      */
     private boolean noCharge = false;
 
+    /**
+     * Whether the client asked for a latency breakdown of the request to be
+     * returned in the response. Introduced with {@link
+     * SerialVersion#REQUEST_TRACE_VERSION}.
+     */
+    private boolean traceRequested = false;
+
+    /**
+     * The latency breakdown being recorded for the request, or null if the
+     * request is not being traced. On the client, it is present if the
+     * client asked for a trace. On the RN, it is present if the client asked
+     * for a trace or if the RN sampled the request.
+     */
+    private transient volatile RequestTrace trace;
+
     /**
      * Set to true if the request must be executed at the master RN.
      * This can happen during partition migration. Specifically, a query is
@@ -442,6 +457,9 @@ public class Request implements Externalizable, MethodCall<Response> {
             lc = null;
         }
         noCharge = in.readBoolean();
+        if (serialVersion >= SerialVersion.REQUEST_TRACE_VERSION) {
+            traceRequested = in.readBoolean();
+        }
     }
 
     @Override
@@ -482,6 +500,9 @@ public class Request implements Externalizable, MethodCall<Response> {
      * <li> ({@link SerializationUtil#writeFastExternalOrNull LogContext or null})
      *      {@link #getLogContext lc}
      * <li> ({@link DataOutput#writeBoolean boolean}) {@link #isWrite noCharge}
+     * <li> ({@link DataOutput#writeBoolean boolean}) {@link #isTraceRequested
+     *      traceRequested} // for {@code serialVersion} {@link
+     *      SerialVersion#REQUEST_TRACE_VERSION} or greater
      * </ol>
      */
     @Override
@@ -552,6 +573,9 @@ public class Request implements Externalizable, MethodCall<Response> {
         writeFastExternalOrNull(out, serialVersion, authCtx);
         writeFastExternalOrNull(out, serialVersion, lc);
         out.writeBoolean(noCharge);
+        if (serialVersion >= SerialVersion.REQUEST_TRACE_VERSION) {
+            out.writeBoolean(traceRequested);
+        }
     }
 
     @Override
@@ -739,6 +763,50 @@ public class Request implements Externalizable, MethodCall<Response> {
         noCharge = flag;
     }
 
+    /**
+     * Returns whether the client asked for a latency breakdown of the request
+     * to be returned in the response.
+     */
+    public boolean isTraceRequested() {
+        return traceRequested;
+    }
+
+    /**
+     * Asks for a latency breakdown of the request to be returned in the
+     * response, and starts recording the client phases.
+     */
+    void startTrace() {
+        traceRequested = true;
+        final RequestTrace t = new RequestTrace();
+        t.markStart();
+        trace = t;
+    }
+
+    /**
+     * Returns the latency breakdown being recorded for the request, or null
+     * if the request is not being traced.
+     */
+    public RequestTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Sets the latency breakdown to record for the request on the RN.
+     */
+    public void setTrace(RequestTrace trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Notes that the request is being sent to an RN, if it is being traced.
+     */
+    void markTraceSend() {
+        final RequestTrace t = trace;
+        if (t != null) {
+            t.markSend();
+        }
+    }
+
     @Override
     public String toString() {
         return op.toString();
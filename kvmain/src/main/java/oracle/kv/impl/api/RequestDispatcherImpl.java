@@ -96,6 +96,7 @@ import oracle.kv.impl.test.ExceptionTestHookExecute;
 import oracle.kv.impl.test.TestHook;
 import oracle.kv.impl.test.TestHookExecute;
 import oracle.kv.impl.topo.Datacenter;
+import oracle.kv.impl.topo.DatacenterId;
 import oracle.kv.impl.topo.PartitionId;
 import oracle.kv.impl.topo.RepGroup;
 import oracle.kv.impl.topo.RepGroupId;
@@ -264,6 +265,18 @@ public class RequestDispatcherImpl implements RequestDispatcher {
      */
     private volatile int[] readZoneIds = null;
 
+    /**
+     * Whether reads are dispatched using adaptive read routing. Set for
+     * client dispatchers from the associated KVStoreConfig.
+     */
+    private volatile boolean adaptiveReadRouting;
+
+    /**
+     * The ID of the zone preferred by adaptive read routing, or null if no
+     * zone is preferred.
+     */
+    private volatile DatacenterId localZoneId;
+
     /** The protocols to use when making calls to the store. */
     private final Protocols protocols;
 
@@ -604,6 +617,21 @@ public class RequestDispatcherImpl implements RequestDispatcher {
              logger,
              config.getReadZones(),
              (int) config.getRequestTimeout(TimeUnit.MILLISECONDS));
+
+        adaptiveReadRouting = config.getAdaptiveReadRouting();
+        final String localZone = config.getLocalZone();
+        if (localZone != null) {
+            for (final Datacenter zone :
+                     topology.getDatacenterMap().getAll()) {
+                if (localZone.equals(zone.getName())) {
+                    localZoneId = zone.getResourceId();
+                }
+            }
+            if (localZoneId == null) {
+                throw new IllegalArgumentException(
+                    "Local zone not found: " + localZone);
+            }
+        }
     }
 
     /**
@@ -929,6 +957,7 @@ public class RequestDispatcherImpl implements RequestDispatcher {
                 } catch (Throwable t) {
                     throw handleFutureGetException(t);
                 }
+                request.markTraceSend();
                 response = requestHandler.execute(request);
                 exception = null;
                 events = addExecuteRequestEvent(
@@ -2361,7 +2390,8 @@ public class RequestDispatcherImpl implements RequestDispatcher {
             excludeRNs = excludeRN(excludeRNs, rgState.getMaster());
         }
 
-        final RepNodeState rnState =
+        final RepNodeState rnState = adaptiveReadRouting ?
+            rgState.getAdaptiveRN(request, excludeRNs, localZoneId) :
             rgState.getLoadBalancedRN(request, excludeRNs);
 
         if (rnState != null) {
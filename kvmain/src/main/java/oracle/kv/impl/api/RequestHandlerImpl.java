@@ -30,7 +30,9 @@ import static oracle.nosql.common.contextlogger.ContextUtils.finestWithCtx;
 import static oracle.nosql.common.contextlogger.ContextUtils.isLoggableWithCtx;
 
 import java.rmi.RemoteException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +70,8 @@ import oracle.kv.Version;
 import oracle.kv.impl.admin.param.GlobalParams;
 import oracle.kv.impl.admin.param.RepNodeParams;
 import oracle.kv.impl.admin.param.StorageNodeParams;
+import oracle.kv.impl.api.AsyncRequestQueue.ClassifiedTask;
+import oracle.kv.impl.api.AsyncRequestQueue.RequestClass;
 import oracle.kv.impl.api.ops.InternalOperation;
 import oracle.kv.impl.api.ops.InternalOperation.OpCode;
 import oracle.kv.impl.api.ops.OperationHandler;
@@ -85,6 +89,8 @@ import oracle.kv.impl.async.EndpointGroup.ListenHandle;
 import oracle.kv.impl.fault.ProcessFaultHandler;
 import oracle.kv.impl.fault.RNUnavailableException;
 import oracle.kv.impl.fault.WrappedClientException;
+import oracle.kv.impl.measurement.RequestQueueStats;
+import oracle.kv.impl.measurement.RequestQueueStats.ClassStats;
 import oracle.kv.impl.metadata.Metadata.MetadataType;
 import oracle.kv.impl.query.QueryRuntimeException;
 import oracle.kv.impl.rep.EnvironmentFailureRetryException;
@@ -168,6 +174,7 @@ import com.sleepycat.je.rep.txn.MasterTxn;
 import com.sleepycat.je.txn.Txn;
 import com.sleepycat.je.utilint.DoubleExpMovingAvg;
 import com.sleepycat.je.utilint.FIOStatsCollectingThread;
+import com.sleepycat.je.utilint.PhaseTimer;
 
 /**
  * @see RequestHandler
@@ -280,6 +287,20 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
     private final LatencyElement asyncRequestQueueTimeNanos =
         new LatencyElement();
 
+    /**
+     * Tracks the amount of time in nanoseconds that requests of each request
+     * class remain in the async request queue.
+     */
+    private final Map<RequestClass, LatencyElement>
+        asyncRequestClassQueueTimeNanos = new EnumMap<>(RequestClass.class);
+
+    /**
+     * Counts the async requests of each request class that were dropped
+     * because their timeout expired while they were in the queue.
+     */
+    private final Map<RequestClass, AtomicLong> expiredAsyncRequests =
+        new EnumMap<>(RequestClass.class);
+
     /**
      * Table operation counters. These counters keep track of active table
      * operations associated with a specific version of table metadata.
@@ -422,6 +443,16 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
      */
     private volatile ReusingThreadPoolExecutor asyncThreadPool;
 
+    /**
+     * The interval at which requests are sampled for tracing, or 0 if
+     * sampling is disabled. Requests for which the client asks for a trace
+     * are always traced.
+     */
+    private volatile int traceSampleInterval;
+
+    /** Counts requests to determine which ones to sample for tracing. */
+    private final AtomicLong traceSampleCount = new AtomicLong();
+
     /*
      * Encapsulates the above logger to limit the rate of log messages
      * associated with a specific fault.
@@ -460,6 +491,10 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
         for (int i = 0; i < N_COUNTERS; i++) {
             tableOpCounters[i] = new WaitableCounter();
         }
+        for (RequestClass rc : RequestClass.values()) {
+            asyncRequestClassQueueTimeNanos.put(rc, new LatencyElement());
+            expiredAsyncRequests.put(rc, new AtomicLong());
+        }
     }
 
     @SuppressWarnings("hiding")
@@ -564,6 +599,28 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
         return asyncRequestQueueTimeNanos.obtain(watcherName);
     }
 
+    /**
+     * Returns statistics about the amount of time requests of each request
+     * class have remained in the async request queue, and the number that
+     * were dropped because they timed out while queued, resetting the
+     * dropped counts.
+     */
+    public RequestQueueStats getAsyncRequestQueueStats(long start,
+                                                       long end,
+                                                       String watcherName) {
+        final List<ClassStats> classStats = new ArrayList<>();
+        for (RequestClass rc : RequestClass.values()) {
+            final LatencyElement.Result result =
+                asyncRequestClassQueueTimeNanos.get(rc).obtain(watcherName);
+            classStats.add(
+                new ClassStats(rc.name(), result.getRequestCount(),
+                               result.getAverage(), result.getPercent95(),
+                               result.getPercent99(),
+                               expiredAsyncRequests.get(rc).getAndSet(0)));
+        }
+        return new RequestQueueStats(start, end, classStats);
+    }
+
     /**
      * Returns the exception count map at this node and reset counts to 0.  The
      * returned exception count map will no longer be modified, and can be used
@@ -641,6 +698,7 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
                 (int) timeoutMs, request + " timed out", null /* cause */,
                 true /* isRemote */);
         }
+        maybeStartTrace(request);
         return getWithTimeout(executeFuture(request), "execute", timeoutMs);
     }
 
@@ -674,21 +732,56 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
             final DialogContext context =
                 AsyncVersionedRemoteDialogResponder.getThreadDialogContext();
             final long startTimeNanos = System.nanoTime();
+            final RequestClass requestClass =
+                RequestClass.getRequestClass(request);
             asyncQueueDelta(1);
             final CompletableFuture<Response> future =
                 new CompletableFuture<>();
             try {
-                threadPool.execute(() -> {
+                threadPool.execute(new ClassifiedTask() {
+                    @Override
+                    public RequestClass getRequestClass() {
+                        return requestClass;
+                    }
+                    @Override
+                    public void run() {
                         asyncQueueDelta(-1);
-                        asyncRequestQueueTimeNanos.observe(
-                            System.nanoTime() - startTimeNanos);
+                        final long queueTimeNanos =
+                            System.nanoTime() - startTimeNanos;
+                        asyncRequestQueueTimeNanos.observe(queueTimeNanos);
+                        asyncRequestClassQueueTimeNanos.get(requestClass)
+                            .observe(queueTimeNanos);
+
+                        /*
+                         * Drop the request without executing it if the
+                         * caller has already given up on it
+                         */
+                        if ((timeoutMillis > 0) &&
+                            (queueTimeNanos >=
+                             MILLISECONDS.toNanos(timeoutMillis))) {
+                            expiredAsyncRequests.get(requestClass)
+                                .incrementAndGet();
+                            future.completeExceptionally(
+                                new RequestTimeoutException(
+                                    (int) timeoutMillis,
+                                    request + " timed out while waiting" +
+                                    " in the request queue",
+                                    null /* cause */, true /* isRemote */));
+                            return;
+                        }
+                        final RequestTrace trace = maybeStartTrace(request);
+                        if (trace != null) {
+                            trace.setNanos(RequestTrace.Phase.RN_QUEUE,
+                                           queueTimeNanos);
+                        }
                         executeAsyncRequest(context, request)
                             .whenComplete(
                                 unwrapExceptionVoid(
                                     (response, exception) -> {
                                         complete(future, response, exception);
                                     }));
-                    });
+                    }
+                });
                 return future;
             } catch (RejectedExecutionException e) {
                 asyncQueueDelta(-1);
@@ -716,6 +809,22 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
         }
     }
 
+    /**
+     * Starts tracing the request if the client asked for a trace or if the
+     * request is selected by sampling, returning the trace or null.
+     */
+    private RequestTrace maybeStartTrace(Request request) {
+        final int interval = traceSampleInterval;
+        if (!request.isTraceRequested() &&
+            ((interval <= 0) ||
+             ((traceSampleCount.incrementAndGet() % interval) != 0))) {
+            return null;
+        }
+        final RequestTrace trace = new RequestTrace();
+        request.setTrace(trace);
+        return trace;
+    }
+
     /** Update stats for a change in the number of queued async requests. */
     private void asyncQueueDelta(int delta) {
         final int current = queuedAsyncRequestsCount.addAndGet(delta);
@@ -911,6 +1020,15 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
         private volatile Result result;
         private volatile Response response;
 
+        /*
+         * The trace of the request, or null if it is not being traced, the
+         * time execution started, and the time that waiting for async acks
+         * started, or 0 if not waiting.
+         */
+        private final RequestTrace trace;
+        private volatile long traceStartNs;
+        private volatile long traceAckStartNs;
+
         /* Fields only accessed from the main execute thread */
         private long limitNs;
         private OperationFailureException exception;
@@ -918,6 +1036,7 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
         ExecuteRequest(Request request) {
             this.request = request;
             internalOp = request.getOperation();
+            trace = request.getTrace();
         }
 
         CompletableFuture<Response> execute() {
@@ -961,12 +1080,22 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
             limitNs = System.nanoTime() +
                 MILLISECONDS.toNanos(request.getTimeout());
 
-            do {
-                final CompletableFuture<Response> future = executeOnce();
-                if (future != null) {
-                    return future;
+            if (trace != null) {
+                traceStartNs = System.nanoTime();
+                PhaseTimer.enable();
+            }
+            try {
+                do {
+                    final CompletableFuture<Response> future = executeOnce();
+                    if (future != null) {
+                        return future;
+                    }
+                } while (true);
+            } finally {
+                if (trace != null) {
+                    PhaseTimer.disable();
                 }
-            } while (true);
+            }
         }
 
         /**
@@ -1164,6 +1293,10 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
 
                     /* Ack handler will do cleanup */
                     callCleanup = false;
+                    if (trace != null) {
+                        trace.addJETimes(PhaseTimer.disable());
+                        traceAckStartNs = System.nanoTime();
+                    }
                     return ackHandler.handle(
                         withContext(
                             checked((value, ex) -> {
@@ -1372,9 +1505,37 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
             response = createResponse(repEnv, request, result, startNs);
             opTracker.getLatencyTracker().markFinish(
                 internalOp.getOpCode(), startNs, result.getNumRecords());
+            opTracker.getHotKeyTracker().track(
+                internalOp, request.getPartitionId(),
+                result.getReadKB(), result.getWriteKB());
+            if (trace != null) {
+                finishTrace();
+            }
             return response;
         }
 
+        /**
+         * Completes the trace of the request, records it, and returns it in
+         * the response if the client asked for it. Called in the execute
+         * thread, or in the async acks handler thread after the JE times
+         * were collected in the execute thread.
+         */
+        private void finishTrace() {
+            final long now = System.nanoTime();
+            if (traceAckStartNs != 0) {
+                trace.setNanos(RequestTrace.Phase.REPLICA_ACK,
+                               trace.getNanos(RequestTrace.Phase.REPLICA_ACK) +
+                               now - traceAckStartNs);
+            } else {
+                trace.addJETimes(PhaseTimer.disable());
+            }
+            trace.setNanos(RequestTrace.Phase.RN_EXECUTE, now - traceStartNs);
+            opTracker.recordTrace(trace);
+            if (request.isTraceRequested()) {
+                response.setTrace(trace);
+            }
+        }
+
         /**
          * Returns a function that will call the specified function after
          * reestablishing the current dialog and execution contexts.
@@ -2210,15 +2371,17 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
         final GlobalParams globalParams = params.getGlobalParams();
         final RepNodeParams repNodeParams = params.getRepNodeParams();
 
+        traceSampleInterval = repNodeParams.getTraceSampleInterval();
         if (AsyncRegistryUtils.getEndpointGroupOrNull() == null) {
             asyncThreadPool = null;
         } else {
             final int maxThreads = repNodeParams.getAsyncExecMaxThreads();
+            final int queueSize = getAsyncExecQueueSize(repNodeParams);
             asyncThreadPool =
                 new ReusingThreadPoolExecutor(
                     0, maxThreads,
                     repNodeParams.getAsyncExecThreadKeepAliveMs(),
-                    MILLISECONDS, getAsyncExecQueueSize(repNodeParams),
+                    MILLISECONDS, new AsyncRequestQueue(queueSize), queueSize,
                     new KVThreadFactory("RequestHandlerImpl(Async)", logger) {
                         @Override
                         public RequestHandlerThread
@@ -0,0 +1,241 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.api;
+
+import static oracle.kv.impl.util.SerializationUtil.readPackedInt;
+import static oracle.kv.impl.util.SerializationUtil.readPackedLong;
+import static oracle.kv.impl.util.SerializationUtil.writePackedInt;
+import static oracle.kv.impl.util.SerializationUtil.writePackedLong;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+import oracle.kv.impl.topo.RepNodeId;
+import oracle.kv.impl.util.FastExternalizable;
+import oracle.kv.impl.util.SerializationUtil;
+
+import com.sleepycat.je.utilint.PhaseTimer;
+
+/**
+ * Records how the time of a sampled request was divided among the phases of
+ * its execution, from dispatch on the client through execution in JE on the
+ * rep node. The rep node fills in the server phases and returns them in the
+ * {@link Response}, and the client adds the client phases.
+ *
+ * <p>The {@link Phase#RN_EXECUTE} phase is the total time spent executing
+ * the request on the RN, and the JE phases that follow it are the portions
+ * of that time spent blocked in JE. The remaining phases do not overlap.
+ *
+ * @see #writeFastExternal FastExternalizable format
+ */
+public class RequestTrace implements FastExternalizable, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The phases of a request. */
+    public enum Phase {
+
+        /**
+         * Time on the client before the request was sent to the RN that
+         * responded, including selecting the RN and any earlier attempts.
+         */
+        DISPATCH(true),
+
+        /**
+         * Time between sending the request and receiving the response not
+         * accounted for by the RN, including network transfer and
+         * serialization.
+         */
+        NETWORK(true),
+
+        /** Time waiting in the RN's request queue. */
+        RN_QUEUE(false),
+
+        /** Time executing the request on the RN. */
+        RN_EXECUTE(false),
+
+        /** Time waiting for locks held by other transactions. */
+        LOCK_WAIT(false),
+
+        /** Time reading log files, usually for cache misses. */
+        LOG_READ(false),
+
+        /** Time flushing and fsyncing the log. */
+        FSYNC(false),
+
+        /** Time waiting for replicas to acknowledge a commit. */
+        REPLICA_ACK(false);
+
+        private static final Phase[] VALUES = values();
+
+        private final boolean client;
+
+        Phase(boolean client) {
+            this.client = client;
+        }
+
+        /** Returns whether the phase is measured on the client. */
+        public boolean isClient() {
+            return client;
+        }
+    }
+
+    /* The number of server phases, which are serialized */
+    private static final int NUM_SERVER_PHASES = 6;
+
+    /* Check that the JE phases are the last phases, in the same order */
+    static {
+        assert Phase.VALUES.length - Phase.RN_QUEUE.ordinal() ==
+            NUM_SERVER_PHASES;
+        for (PhaseTimer.Phase jePhase : PhaseTimer.Phase.values()) {
+            assert Phase.valueOf(jePhase.name()).ordinal() ==
+                Phase.LOCK_WAIT.ordinal() + jePhase.ordinal();
+        }
+    }
+
+    private final long[] phaseNanos = new long[Phase.VALUES.length];
+
+    /* Client side fields, not serialized */
+    private transient long startNanos;
+    private transient long sendNanos;
+    private transient long totalNanos;
+    private transient RepNodeId repNodeId;
+
+    public RequestTrace() {
+    }
+
+    /**
+     * Creates an instance from the input stream.
+     */
+    public RequestTrace(DataInput in, short serialVersion)
+        throws IOException {
+
+        final int count = readPackedInt(in);
+        for (int i = 0; i < count; i++) {
+            final long value = readPackedLong(in);
+
+            /* Ignore phases added by newer versions */
+            if (i < NUM_SERVER_PHASES) {
+                phaseNanos[Phase.RN_QUEUE.ordinal() + i] = value;
+            }
+        }
+    }
+
+    /**
+     * Writes this object to the output stream.  Format:
+     * <ol>
+     * <li> ({@link SerializationUtil#writePackedInt packed int}) the number
+     *      of server phases
+     * <li> ({@link SerializationUtil#writePackedLong packed long}{@code []})
+     *      the nanoseconds for each server phase, in the order of the phases
+     *      starting with {@link Phase#RN_QUEUE}
+     * </ol>
+     */
+    @Override
+    public void writeFastExternal(DataOutput out, short serialVersion)
+        throws IOException {
+
+        writePackedInt(out, NUM_SERVER_PHASES);
+        for (int i = 0; i < NUM_SERVER_PHASES; i++) {
+            writePackedLong(out, phaseNanos[Phase.RN_QUEUE.ordinal() + i]);
+        }
+    }
+
+    /** Returns the time in nanoseconds spent in the specified phase. */
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public void setNanos(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] = nanos;
+    }
+
+    /**
+     * Adds the JE phase times accumulated by {@link PhaseTimer}.
+     *
+     * @param jeTimes the times returned by {@link PhaseTimer#disable}, or
+     * null
+     */
+    void addJETimes(long[] jeTimes) {
+        if (jeTimes == null) {
+            return;
+        }
+        for (PhaseTimer.Phase jePhase : PhaseTimer.Phase.values()) {
+            phaseNanos[Phase.LOCK_WAIT.ordinal() + jePhase.ordinal()] +=
+                jeTimes[jePhase.ordinal()];
+        }
+    }
+
+    /**
+     * Returns the total time of the request as observed by the client, or 0
+     * if the trace was not completed on the client.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the RN that executed the request, or null if the trace was
+     * not completed on the client.
+     */
+    public RepNodeId getRepNodeId() {
+        return repNodeId;
+    }
+
+    /** Notes the start of the request on the client. */
+    void markStart() {
+        startNanos = System.nanoTime();
+    }
+
+    /** Notes that the request is being sent to an RN. */
+    void markSend() {
+        sendNanos = System.nanoTime();
+    }
+
+    /**
+     * Completes the trace on the client using the RN phases from the trace
+     * returned in the response.
+     */
+    void complete(RequestTrace rnTrace, RepNodeId respondingRN) {
+        final long now = System.nanoTime();
+        totalNanos = now - startNanos;
+        repNodeId = respondingRN;
+        for (int i = Phase.RN_QUEUE.ordinal(); i < phaseNanos.length; i++) {
+            phaseNanos[i] = rnTrace.phaseNanos[i];
+        }
+        final long send = (sendNanos != 0) ? sendNanos : startNanos;
+        final long rnNanos =
+            getNanos(Phase.RN_QUEUE) + getNanos(Phase.RN_EXECUTE);
+        setNanos(Phase.DISPATCH, send - startNanos);
+        setNanos(Phase.NETWORK, Math.max(0, now - send - rnNanos));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("RequestTrace[");
+        if (repNodeId != null) {
+            sb.append("rn=").append(repNodeId).append(' ');
+            sb.append("total=").append(totalNanos).append(' ');
+        }
+        for (Phase phase : Phase.VALUES) {
+            if (phase != Phase.DISPATCH) {
+                sb.append(' ');
+            }
+            sb.append(phase).append('=').append(getNanos(phase));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -29,6 +29,7 @@ import oracle.kv.impl.api.ops.Result;
 import oracle.kv.impl.topo.RepNodeId;
 import oracle.kv.impl.topo.ResourceId;
 import oracle.kv.impl.util.FastExternalizable;
+import oracle.kv.impl.util.SerialVersion;
 import oracle.kv.impl.util.SerializationUtil;
 
 /**
@@ -58,6 +59,7 @@ public class Response implements Externalizable, FastExternalizable {
     private Result result;
     private TopologyInfo topoInfo;
     private StatusChanges statusChanges;
+    private RequestTrace trace;
     private short serialVersion;
 
     public Response(RepNodeId repNodeId,
@@ -103,6 +105,10 @@ public class Response implements Externalizable, FastExternalizable {
             in.readBoolean() ? new StatusChanges(in, serialVersion) : null;
         topoInfo =
             in.readBoolean() ? new TopologyInfo(in, serialVersion) : null;
+        if (serialVersion >= SerialVersion.REQUEST_TRACE_VERSION) {
+            trace =
+                in.readBoolean() ? new RequestTrace(in, serialVersion) : null;
+        }
     }
 
     @Override
@@ -130,6 +136,9 @@ public class Response implements Externalizable, FastExternalizable {
          */
         statusChanges = (StatusChanges) in.readObject();
         topoInfo = (TopologyInfo) in.readObject();
+        if (serialVersion >= SerialVersion.REQUEST_TRACE_VERSION) {
+            trace = (RequestTrace) in.readObject();
+        }
     }
 
     @Override
@@ -142,6 +151,9 @@ public class Response implements Externalizable, FastExternalizable {
         result.writeFastExternal(out, serialVersion);
         out.writeObject(statusChanges);
         out.writeObject(topoInfo);
+        if (serialVersion >= SerialVersion.REQUEST_TRACE_VERSION) {
+            out.writeObject(trace);
+        }
     }
 
     /**
@@ -157,6 +169,9 @@ public class Response implements Externalizable, FastExternalizable {
      *      null}) {@link #getStatusChanges statusChanges}
      * <li> ({@link SerializationUtil#writeFastExternalOrNull TopologyInfo or
      *      null}) {@link #getTopoInfo topoInfo}
+     * <li> ({@link SerializationUtil#writeFastExternalOrNull RequestTrace or
+     *      null}) {@link #getTrace trace} // for {@code serialVersion}
+     *      {@link SerialVersion#REQUEST_TRACE_VERSION} or greater
      * </ol>
      */
     @Override
@@ -171,6 +186,9 @@ public class Response implements Externalizable, FastExternalizable {
         result.writeFastExternal(out, serialVersion);
         writeFastExternalOrNull(out, serialVersion, statusChanges);
         writeFastExternalOrNull(out, serialVersion, topoInfo);
+        if (serialVersion >= SerialVersion.REQUEST_TRACE_VERSION) {
+            writeFastExternalOrNull(out, serialVersion, trace);
+        }
     }
 
     /**
@@ -244,6 +262,21 @@ public class Response implements Externalizable, FastExternalizable {
         this.topoInfo = topoInfo;
     }
 
+    /**
+     * Returns the latency breakdown recorded by the RN for a request that
+     * asked for one, or null.
+     */
+    public RequestTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Sets the latency breakdown to return in the response.
+     */
+    public void setTrace(RequestTrace trace) {
+        this.trace = trace;
+    }
+
     @Override
     public String toString() {
         return "Response[result=" + result + "]";
@@ -42,13 +42,35 @@ public class ChunkConfig implements Serializable, Cloneable {
      */
     static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
 
+    /**
+     * The default number of chunks that a LOB input stream reads ahead of
+     * the chunk being consumed by the application.
+     *
+     * @since 25.4
+     */
+    static final int DEFAULT_READ_AHEAD_CHUNKS = 4;
+
+    /**
+     * The default maximum number of chunk puts that a LOB write operation
+     * may have in flight at the same time.
+     *
+     * @since 25.4
+     */
+    static final int DEFAULT_CHUNK_WRITES_IN_FLIGHT = 4;
+
     private int chunksPerPartition;
 
     private int chunkSize;
 
+    private int readAheadChunks;
+
+    private int chunkWritesInFlight;
+
     public ChunkConfig() {
         chunksPerPartition = DEFAULT_CHUNKS_PER_PARTITION;
         chunkSize = DEFAULT_CHUNK_SIZE;
+        readAheadChunks = DEFAULT_READ_AHEAD_CHUNKS;
+        chunkWritesInFlight = DEFAULT_CHUNK_WRITES_IN_FLIGHT;
     }
 
     @Override
@@ -76,4 +98,20 @@ public class ChunkConfig implements Serializable, Cloneable {
         this.chunkSize = chunkSize;
         return chunkSize;
     }
+
+    public int getReadAheadChunks() {
+        return readAheadChunks;
+    }
+
+    public void setReadAheadChunks(int readAheadChunks) {
+        this.readAheadChunks = readAheadChunks;
+    }
+
+    public int getChunkWritesInFlight() {
+        return chunkWritesInFlight;
+    }
+
+    public void setChunkWritesInFlight(int chunkWritesInFlight) {
+        this.chunkWritesInFlight = chunkWritesInFlight;
+    }
 }
\ No newline at end of file
@@ -16,7 +16,9 @@ package oracle.kv.impl.api.lob;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ConcurrentModificationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import oracle.kv.Consistency;
@@ -32,6 +34,12 @@ import oracle.kv.impl.api.KVStoreImpl;
  * The subclass of InputStream that's used by the application read a LOB
  * whose underlying representation consists of RMI retrievable fixed size
  * chunks.
+ *
+ * When the store handle supports asynchronous operations, the stream keeps a
+ * window of chunk gets in flight ahead of the chunk being read, so that a
+ * sequential read of a large LOB overlaps the round trips for the chunks
+ * instead of paying for them one at a time. A skip or reset that moves the
+ * stream outside the window simply discards it.
  */
 public class ChunkEncapsulatingInputStream extends InputStream {
 
@@ -55,6 +63,16 @@ public class ChunkEncapsulatingInputStream extends InputStream {
     private Key chunkKey = null;
     private final ChunkKeysIterator chunkKeys;
 
+    /* The number of chunks fetched ahead of the current chunk. */
+    private final int readAheadChunks;
+
+    /*
+     * The chunks being fetched, in chunk index order, starting with the
+     * chunk that will be returned next. Only used if readAheadChunks > 0.
+     */
+    private final ArrayDeque<PrefetchChunk> prefetchChunks =
+        new ArrayDeque<>();
+
     /**
      * The information resulting from a mark operation for use during a
      * subsequent reset.
@@ -83,6 +101,8 @@ public class ChunkEncapsulatingInputStream extends InputStream {
             final long numChunks = lobProps.getNumChunks();
             chunkKeys = readOp.getChunkKeysNumChunksIterator(numChunks);
             chunkSize = readOp.getChunkSize();
+            readAheadChunks = readOp.supportsAsyncChunkOps() ?
+                kvsImpl.getDefaultLOBReadAheadChunks() : 0;
 
             lobSize = lobProps.getLOBSize();
             chunkBuffer = ByteBuffer.allocate(0);
@@ -119,6 +139,9 @@ public class ChunkEncapsulatingInputStream extends InputStream {
                 writeOp.getChunkKeysByteRangeIterator(0, partialLobSize);
             chunkSize = writeOp.getChunkSize();
 
+            /* Verification only reads the trailing bytes, don't read ahead */
+            readAheadChunks = 0;
+
             lobSize = partialLobSize;
             chunkBuffer = ByteBuffer.allocate(0);
 
@@ -320,31 +343,62 @@ public class ChunkEncapsulatingInputStream extends InputStream {
     private ValueVersion getWithFallback(Key key)
         throws IOException {
 
+        ValueVersion valueVersion = null;
         try {
-            ValueVersion valueVersion = null;
+            valueVersion = kvsImpl.get(key, consistency, timeoutMs,
+                                       TimeUnit.MILLISECONDS);
+        } catch (ConsistencyException ce) {
+
+            /*
+             * May be a lagging replica, retry below with ABSOLUTE
+             * consistency.
+             */
+        } catch (FaultException fe) {
+            throw wrapIOE(fe);
+        } catch (KVSecurityException kse) {
+            throw wrapIOE(kse);
+        }
 
-            try {
-                valueVersion = kvsImpl.get(key, consistency, timeoutMs,
-                                           TimeUnit.MILLISECONDS);
-            } catch (ConsistencyException ce) {
+        return fallback(key, valueVersion);
+    }
 
-                /*
-                 * May be a lagging replica, retry below with ABSOLUTE
-                 * consistency.
-                 */
-            }
+    /**
+     * Like getWithFallback, but waits for the result of a get that was
+     * issued asynchronously by the read-ahead.
+     */
+    private ValueVersion getWithFallback(PrefetchChunk chunk)
+        throws IOException {
 
-            if (valueVersion != null) {
-                return valueVersion;
-            }
+        ValueVersion valueVersion = null;
+        try {
+            valueVersion = Operation.awaitChunkOp(chunk.future);
+        } catch (ConsistencyException ce) {
+            /* May be a lagging replica, retry below. */
+        } catch (FaultException fe) {
+            throw wrapIOE(fe);
+        } catch (KVSecurityException kse) {
+            throw wrapIOE(kse);
+        }
 
-            if (!Consistency.ABSOLUTE.equals(consistency)) {
-                /* Fallback retry. */
-                return kvsImpl.get(chunkKey, Consistency.ABSOLUTE,
-                                   timeoutMs, TimeUnit.MILLISECONDS);
-            }
+        return fallback(chunk.key, valueVersion);
+    }
+
+    /**
+     * Retries the get of a key with absolute consistency, if the get with
+     * the supplied consistency did not find it.
+     */
+    private ValueVersion fallback(Key key, ValueVersion valueVersion)
+        throws IOException {
 
+        if ((valueVersion != null) ||
+            Consistency.ABSOLUTE.equals(consistency)) {
             return valueVersion;
+        }
+
+        try {
+            /* Fallback retry. */
+            return kvsImpl.get(key, Consistency.ABSOLUTE,
+                               timeoutMs, TimeUnit.MILLISECONDS);
         } catch (FaultException fe) {
             throw wrapIOE(fe);
         } catch (KVSecurityException kse) {
@@ -364,7 +418,9 @@ public class ChunkEncapsulatingInputStream extends InputStream {
 
         chunkKey = chunkKeys.next();
 
-        final ValueVersion valueVersion = getWithFallback(chunkKey);
+        final ValueVersion valueVersion = (readAheadChunks > 0) ?
+            getWithFallback(nextPrefetchChunk()) :
+            getWithFallback(chunkKey);
 
         if (valueVersion == null) {
             throw wrapIOE(new ConcurrentModificationException
@@ -376,6 +432,50 @@ public class ChunkEncapsulatingInputStream extends InputStream {
         return ByteBuffer.wrap(valueVersion.getValue().getValue());
     }
 
+    /**
+     * Returns the read-ahead entry for the chunk at which chunkKeys is
+     * positioned, after issuing gets for the chunks that follow it, up to
+     * readAheadChunks of them.
+     */
+    private PrefetchChunk nextPrefetchChunk() {
+
+        final long chunkIndex = chunkKeys.currentChunkIndex();
+
+        /* Discard the entries left behind by a skip or reset. */
+        while (!prefetchChunks.isEmpty() &&
+               (prefetchChunks.peekFirst().chunkIndex < chunkIndex)) {
+            prefetchChunks.pollFirst();
+        }
+        if (!prefetchChunks.isEmpty() &&
+            (prefetchChunks.peekFirst().chunkIndex != chunkIndex)) {
+            prefetchChunks.clear();
+        }
+
+        if (prefetchChunks.isEmpty()) {
+            prefetchChunks.addLast(prefetch(chunkIndex, chunkKey));
+        }
+
+        /* Top up the window past the last chunk being fetched. */
+        final ChunkKeysIterator aheadKeys =
+            (ChunkKeysIterator) chunkKeys.clone();
+        aheadKeys.skip(prefetchChunks.peekLast().chunkIndex - chunkIndex);
+        while ((prefetchChunks.size() <= readAheadChunks) &&
+               aheadKeys.hasNext()) {
+            final Key key = aheadKeys.next();
+            prefetchChunks.addLast(
+                prefetch(aheadKeys.currentChunkIndex(), key));
+        }
+
+        return prefetchChunks.pollFirst();
+    }
+
+    private PrefetchChunk prefetch(long chunkIndex, Key key) {
+        return new PrefetchChunk(chunkIndex, key,
+                                 kvsImpl.getInternalAsync(
+                                     key, consistency, timeoutMs,
+                                     TimeUnit.MILLISECONDS));
+    }
+
     @Override
     public synchronized void mark(int readlimit) {
         if (isClosed()) {
@@ -424,6 +524,7 @@ public class ChunkEncapsulatingInputStream extends InputStream {
 
         /* Free up buffer space. */
         chunkBuffer = null;
+        prefetchChunks.clear();
     }
 
     private boolean atEOS() {
@@ -471,6 +572,27 @@ public class ChunkEncapsulatingInputStream extends InputStream {
         }
     }
 
+    /**
+     * A chunk get issued ahead of the chunk being read.
+     */
+    private static class PrefetchChunk {
+
+        /* The linear index of the chunk, see ChunkKeysIterator. */
+        final long chunkIndex;
+
+        final Key key;
+
+        final CompletableFuture<ValueVersion> future;
+
+        PrefetchChunk(long chunkIndex,
+                      Key key,
+                      CompletableFuture<ValueVersion> future) {
+            this.chunkIndex = chunkIndex;
+            this.key = key;
+            this.future = future;
+        }
+    }
+
     @Override
     public synchronized String toString() {
         return "<Chunk Encapsulating stream. " +
@@ -32,6 +32,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import oracle.kv.Consistency;
@@ -268,6 +270,38 @@ public abstract class Operation {
         return chunkTimeoutMs;
     }
 
+    /**
+     * Returns true if chunk operations can be issued asynchronously, so that
+     * several of them can be in flight at the same time.
+     */
+    protected boolean supportsAsyncChunkOps() {
+        return kvsImpl.getDispatcher().isAsync();
+    }
+
+    /**
+     * Waits for the result of an asynchronous chunk operation. The wait is
+     * bounded by the timeout of the request itself. A runtime exception
+     * thrown by the operation is rethrown as is.
+     */
+    static <T> T awaitChunkOp(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Unexpected interrupt while " +
+                                            "waiting for a LOB chunk", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Unexpected exception: " + cause,
+                                            cause);
+        }
+    }
+
     /**
      * Returns a key iterator that spans all the chunks covered by the byte
      * range.
@@ -13,11 +13,18 @@
 
 package oracle.kv.impl.api.lob;
 
+import static oracle.kv.impl.async.FutureUtils.failedFuture;
+import static oracle.kv.impl.async.FutureUtils.thenApply;
+
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import oracle.kv.Consistency;
@@ -34,6 +41,8 @@ import oracle.kv.Value;
 import oracle.kv.ValueVersion;
 import oracle.kv.Version;
 import oracle.kv.impl.api.KVStoreImpl;
+import oracle.kv.impl.api.Request;
+import oracle.kv.impl.api.ops.InternalOperation;
 
 /**
  * Superclass for all LOB write operations.
@@ -133,9 +142,7 @@ public abstract class WriteOperation extends Operation {
      *
      * @param chunkKey the key to be used for writing the chunk
      *
-     * @param chunk the array holding the chunk bytes
-     *
-     * @param actualSize the number of actual bytes in the chunk
+     * @param chunkValue the chunk bytes
      *
      * @param replace determines whether the put operation replaces the chunk
      * associated with the key, or creates a brand new key value pair
@@ -143,18 +150,10 @@ public abstract class WriteOperation extends Operation {
      * @param chunkDurability the durability associated with the put operation
      */
     private void putChunk(Key chunkKey,
-                             byte[] chunk,
-                             int actualSize,
-                             boolean replace,
-                             Durability chunkDurability) {
-
-        if (actualSize != chunkSize) {
-            final byte[] smallerChunk = new byte[actualSize];
-            System.arraycopy(chunk, 0, smallerChunk, 0, actualSize);
-            chunk = smallerChunk;
-        }
+                          Value chunkValue,
+                          boolean replace,
+                          Durability chunkDurability) {
 
-        final Value chunkValue =  Value.createValue(chunk);
         final Version version;
 
         /* Write out the chunk. */
@@ -162,23 +161,82 @@ public abstract class WriteOperation extends Operation {
             version = kvsImpl.putIfPresent(chunkKey, chunkValue, null,
                                            chunkDurability,
                                            chunkTimeoutMs, TimeUnit.MILLISECONDS);
-            if (version == null) {
-                throw new ConcurrentModificationException
-                ("Expected  to find chunk " + chunkKey +
-                 " but it was missing. ");
-            }
         } else {
             version = kvsImpl.putIfAbsent(chunkKey, chunkValue, null,
                                           chunkDurability,
                                           chunkTimeoutMs, TimeUnit.MILLISECONDS);
-            if (version == null) {
-                throw new ConcurrentModificationException
-                ("Chunk " + chunkKey +
-                 " was already associated with the key: " +
-                 chunkKey.toString());
+        }
+        checkChunkPut(chunkKey, replace, version);
+    }
+
+    /**
+     * Stores a single new chunk asynchronously with chunk durability.
+     *
+     * @return a future that completes when the chunk has been stored
+     */
+    private CompletableFuture<Void> putChunkAsync(Key chunkKey,
+                                                  Value chunkValue) {
+        try {
+            final Request req =
+                kvsImpl.makePutRequest(InternalOperation.OpCode.PUT_IF_ABSENT,
+                                       chunkKey, chunkValue, Choice.NONE,
+                                       0 /* tableId */,
+                                       CHUNK_DURABILITY,
+                                       chunkTimeoutMs, TimeUnit.MILLISECONDS,
+                                       null /* ttl */, false /* updateTTL */,
+                                       null /* matchVersion */);
+            return thenApply(kvsImpl.executeRequestAsync(req),
+                             result -> {
+                                 checkChunkPut(chunkKey, false,
+                                     KVStoreImpl.getPutResult(result));
+                                 return null;
+                             });
+        } catch (Throwable e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Checks the version returned by a chunk put.
+     */
+    private static void checkChunkPut(Key chunkKey,
+                                      boolean replace,
+                                      Version version) {
+        if (version != null) {
+            return;
+        }
+        if (replace) {
+            throw new ConcurrentModificationException
+                ("Expected  to find chunk " + chunkKey +
+                 " but it was missing. ");
+        }
+        throw new ConcurrentModificationException
+            ("Chunk " + chunkKey +
+             " was already associated with the key: " +
+             chunkKey.toString());
+    }
 
+    /**
+     * Waits for all the chunk puts in flight to complete. If any of them
+     * failed, the exception from the earliest one is thrown once they have
+     * all completed.
+     */
+    private static void awaitChunkPuts(
+        ArrayDeque<CompletableFuture<Void>> chunkPuts) {
+
+        RuntimeException failure = null;
+        while (!chunkPuts.isEmpty()) {
+            try {
+                awaitChunkOp(chunkPuts.pollFirst());
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
             }
         }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     /**
@@ -203,6 +261,17 @@ public abstract class WriteOperation extends Operation {
      * at LOB durability, thus effectively ensuring that all the chunks are
      * written at LOB durability without the latency of having had to wait for
      * each individual chunk 1..9.
+     * <p>
+     * When the store handle supports asynchronous operations, chunks 2..9
+     * are pipelined: up to kvsImpl.getDefaultLOBChunkWritesInFlight() of
+     * them are in flight at the same time. The first chunk of a superchunk
+     * is written synchronously so that it's stored before the metadata
+     * checkpoint that records the superchunk, and all the puts in flight are
+     * completed before the last chunk of a superchunk, or of the LOB, is
+     * written. So the pipeline never spans superchunks, which keeps the
+     * superchunk-based resume logic in computeNumChunks() valid. A failure
+     * in the middle of a superchunk may leave chunks stored after a missing
+     * one; findLastChunkInSuperChunk() discards them when resuming.
      *
      * @param startByte the byte boundary at which to start adding chunks
      *
@@ -250,42 +319,89 @@ public abstract class WriteOperation extends Operation {
         final ChunkKeysIterator chunkKeys =
             getChunkKeysByteRangeIterator(startByte, Long.MAX_VALUE);
 
-        readLoop:
-            while (true) {
-                int readBytes = -1;
-
-                /* Fill up a chunk. */
-                while (currentSize < chunkSize) {
-                    readBytes = lobStream.read(chunk, currentSize,
-                                               (chunkSize - currentSize));
-                    if (readBytes == -1) {
-                        if (currentSize > 0) {
-                            break;
+        final int maxChunkPuts = supportsAsyncChunkOps() ?
+            kvsImpl.getDefaultLOBChunkWritesInFlight() : 1;
+
+        /* The asynchronous chunk puts in flight, in chunk order. */
+        final ArrayDeque<CompletableFuture<Void>> chunkPuts =
+            new ArrayDeque<>();
+
+        try {
+            readLoop:
+                while (true) {
+                    int readBytes = -1;
+
+                    /* Fill up a chunk. */
+                    while (currentSize < chunkSize) {
+                        readBytes = lobStream.read(chunk, currentSize,
+                                                   (chunkSize - currentSize));
+                        if (readBytes == -1) {
+                            if (currentSize > 0) {
+                                break;
+                            }
+                            break readLoop;
                         }
-                        break readLoop;
+                        currentSize += readBytes;
+                    }
+
+                    final Key chunkKey = chunkKeys.next();
+                    final long chunkId = chunkKeys.getChunkId();
+
+                    final Value chunkValue;
+                    if (currentSize != chunkSize) {
+                        final byte[] smallerChunk = new byte[currentSize];
+                        System.arraycopy(chunk, 0, smallerChunk, 0,
+                                         currentSize);
+                        chunkValue = Value.createValue(smallerChunk);
+                    } else {
+                        chunkValue = Value.createValue(chunk);
                     }
-                    currentSize += readBytes;
-                }
 
-                final Key chunkKey = chunkKeys.next();
+                    /* Write it, vary the durability based upon the chunk. */
+                    final Durability chunkDurability = (readBytes == -1) ||
+                        (chunkId == chunksPerPartition) ?
+                         lobDurability : CHUNK_DURABILITY;
 
-                /* Write it, vary the durability based upon the chunk. */
-                final Durability chunkDurability = (readBytes == -1) ||
-                    (chunkKeys.getChunkId() == chunksPerPartition) ?
-                     lobDurability : CHUNK_DURABILITY;
+                    if ((maxChunkPuts > 1) &&
+                        (chunkDurability == CHUNK_DURABILITY) &&
+                        (chunkId != 1) &&
+                        !initialReplacePut) {
 
-                putChunk(chunkKey, chunk, currentSize,
-                         initialReplacePut, chunkDurability);
-                numChunks++;
-                if (chunkKeys.getChunkId() == 1) {
-                    metadataVersion =
-                        checkpointSuperChunkId(chunkKeys.getSuperChunkId(),
-                                               metadataVersion);
+                        if (chunkPuts.size() >= maxChunkPuts) {
+                            awaitChunkOp(chunkPuts.pollFirst());
+                        }
+                        chunkPuts.addLast(putChunkAsync(chunkKey, chunkValue));
+
+                        /* The put owns the chunk array until it completes */
+                        chunk = new byte[chunkSize];
+                    } else {
+                        awaitChunkPuts(chunkPuts);
+                        putChunk(chunkKey, chunkValue,
+                                 initialReplacePut, chunkDurability);
+                    }
+                    numChunks++;
+                    if (chunkId == 1) {
+                        metadataVersion =
+                            checkpointSuperChunkId(chunkKeys.getSuperChunkId(),
+                                                   metadataVersion);
+                    }
+                    lobSize += currentSize;
+                    currentSize = 0;
+                    initialReplacePut = false;
                 }
-                lobSize += currentSize;
-                currentSize = 0;
-                initialReplacePut = false;
+
+            /* Complete all the puts before the caller updates the metadata */
+            awaitChunkPuts(chunkPuts);
+        } catch (IOException | RuntimeException | Error e) {
+
+            /* Don't let chunk puts outlive the failed operation */
+            try {
+                awaitChunkPuts(chunkPuts);
+            } catch (RuntimeException e2) {
+                e.addSuppressed(e2);
             }
+            throw e;
+        }
 
         return metadataVersion;
     }
@@ -392,13 +508,23 @@ public abstract class WriteOperation extends Operation {
 
     /**
      * Find the last chunk in a super chunk, by finding the key with the
-     * largest chunkId.
+     * largest chunkId in the run of contiguous chunks starting with chunk 1.
+     *
+     * Since chunk puts are pipelined within a super chunk, a failed write may
+     * have stored chunks after one that is missing. Such chunks are not part
+     * of the LOB and are deleted here, so that the resumed write can store
+     * them again.
      */
     private long findLastChunkInSuperChunk(long superChunkId) {
         final Key lastSCKey =
             chunkKeyFactory.createSuperChunkKey(internalLOBKey, superChunkId);
 
-        long chunkId = -1;
+        /*
+         * Chunk ids are not zero padded, so the keys are not returned in
+         * chunk id order.
+         */
+        final TreeMap<Integer, Key> chunks = new TreeMap<>();
+
         /*
          * Use absolute consistency reads since it's effectively a metadata read
          * and required to ensure we are not getting fewer keys than are present
@@ -415,9 +541,22 @@ public abstract class WriteOperation extends Operation {
                                          TimeUnit.MILLISECONDS);
                 i.hasNext();) {
 
-           chunkId = Math.max(chunkId, chunkKeyFactory.getChunkId(i.next()));
+            final Key chunkKey = i.next();
+            chunks.put(chunkKeyFactory.getChunkId(chunkKey), chunkKey);
+        }
+
+        long chunkId = 0;
+        for (Map.Entry<Integer, Key> entry : chunks.entrySet()) {
+            if (entry.getKey() == chunkId + 1) {
+                chunkId++;
+                continue;
+            }
+
+            /* A chunk stored after a missing one. */
+            kvsImpl.delete(entry.getValue(), null, lobDurability,
+                           chunkTimeoutMs, TimeUnit.MILLISECONDS);
         }
-        return chunkId;
+        return (chunkId == 0) ? -1 : chunkId;
     }
 
     /**
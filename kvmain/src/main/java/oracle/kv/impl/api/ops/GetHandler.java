@@ -29,7 +29,6 @@ import oracle.kv.impl.util.TxnUtil;
 import com.sleepycat.je.Cursor;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseEntry;
-import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationResult;
 import com.sleepycat.je.ReadOptions;
 import com.sleepycat.je.Transaction;
@@ -87,9 +86,9 @@ class GetHandler extends SingleKeyOperationHandler<Get> {
                  * kvstore api for internal and administrative use, if
                  * requested.
                  */
-                options = InternalOperationHandler.DEFAULT_EXCLUDE_TOMBSTONES;
+                options = DEFAULT_EXCLUDE_TOMBSTONES_ELIDE_LOCK;
             } else {
-                options = LockMode.DEFAULT.toReadOptions();
+                options = DEFAULT_INCLUDE_TOMBSTONES_ELIDE_LOCK;
             }
             final OperationResult result =
                 cursor.get(keyEntry, dataEntry,
@@ -19,6 +19,7 @@ import static oracle.kv.impl.api.ops.InternalOperationHandler.getStorageSize;
 import oracle.kv.impl.api.table.IndexImpl;
 import oracle.kv.impl.api.table.IndexKeyImpl;
 import oracle.kv.impl.api.table.IndexRange;
+import oracle.kv.impl.rep.table.DeferredIndexApplier;
 import oracle.kv.impl.util.TxnUtil;
 
 import com.sleepycat.je.CursorConfig;
@@ -128,6 +129,14 @@ public class IndexScanner {
 
         dataEntry = (keyOnly ? null : new DatabaseEntry());
 
+        /*
+         * A read with absolute consistency must see all committed writes,
+         * so first apply any pending changes to a deferred index.
+         */
+        if (db.isDeferred() && (op != null) && op.isAbsolute()) {
+            DeferredIndexApplier.catchUp(db, op.getTimeout());
+        }
+
         cursor = db.openCursor(txn, cursorConfig);
     }
 
@@ -77,6 +77,16 @@ public abstract class InternalOperationHandler<T extends InternalOperation> {
         LockMode.DEFAULT.toReadOptions().clone().setExcludeTombstones(false);
 
 
+    /**
+     * ReadOptions for single-record reads, where the cursor is closed right
+     * after the read. The read lock is skipped if the record is uncontended.
+     */
+    final static ReadOptions DEFAULT_EXCLUDE_TOMBSTONES_ELIDE_LOCK =
+        DEFAULT_EXCLUDE_TOMBSTONES.clone().setElideReadLock(true);
+
+    final static ReadOptions DEFAULT_INCLUDE_TOMBSTONES_ELIDE_LOCK =
+        DEFAULT_INCLUDE_TOMBSTONES.clone().setElideReadLock(true);
+
     /** ReadOption that has RMW lockmode and excludes tombstones. */
     public final static ReadOptions RMW_EXCLUDE_TOMBSTONES =
         LockMode.RMW.toReadOptions().clone().setExcludeTombstones(true);
@@ -347,6 +347,83 @@ public abstract class Result
              " does not contain a ExecuteResult");
     }
 
+    /**
+     * Gets the results, in batch order, of the operations of a failed
+     * non-atomic batch, or null if the result is not for a failed non-atomic
+     * batch. See {@link #combineExecuteResults}.
+     *
+     * @throws IllegalStateException if the result is the wrong type
+     */
+    public List<Result> getBatchResults() {
+        throw new IllegalStateException
+            ("result of type: " + getClass() +
+             " does not contain an ExecuteResult");
+    }
+
+    /**
+     * Combines the results of Execute operations, each executing a group of
+     * the operations of a non-atomic batch, into the result of an Execute
+     * operation for the whole batch. The combined result has the read and
+     * write KB of all of the groups. If all groups succeeded, it contains the
+     * results of the operations in batch order. Otherwise, it is a failed
+     * result for the failed operation with the lowest batch index, and its
+     * {@link #getBatchResults batch results} hold the results of the
+     * operations of the groups that were committed, the failed result of the
+     * operation that aborted each failed group, and null for the other
+     * operations of the failed groups.
+     *
+     * @param groupResults the results of the Execute operations of the groups
+     * @param groupIndices for each group, the batch index of each of its
+     * operations, in the order they appear in the group
+     * @param batchSize the number of operations in the batch
+     * @return the combined result
+     * @throws IllegalStateException if a result is not an Execute result
+     */
+    public static Result combineExecuteResults(List<Result> groupResults,
+                                               List<int[]> groupIndices,
+                                               int batchSize) {
+        final Result[] results = new Result[batchSize];
+        int readKB = 0;
+        int writeKB = 0;
+        int metadataSeqNum = 0;
+        int failureIndex = -1;
+        Result failureResult = null;
+        for (int g = 0; g < groupResults.size(); g++) {
+            final Result result = groupResults.get(g);
+            if (!(result instanceof ExecuteResult)) {
+                throw new IllegalStateException
+                    ("result of type: " + result.getClass() +
+                     " is not an ExecuteResult");
+            }
+            final ExecuteResult exeResult = (ExecuteResult) result;
+            final int[] indices = groupIndices.get(g);
+            readKB += result.getReadKB();
+            writeKB += result.getWriteKB();
+            metadataSeqNum =
+                Math.max(metadataSeqNum, result.getMetadataSeqNum());
+            if (exeResult.success) {
+                for (int i = 0; i < indices.length; i++) {
+                    results[indices[i]] = exeResult.successResults.get(i);
+                }
+            } else {
+                final int index = indices[exeResult.failureIndex];
+                results[index] = exeResult.failureResult;
+                if ((failureIndex < 0) || (index < failureIndex)) {
+                    failureIndex = index;
+                    failureResult = exeResult.failureResult;
+                }
+            }
+        }
+        final Result combined = (failureResult != null) ?
+            new ExecuteResult(OpCode.EXECUTE, readKB, writeKB,
+                              failureIndex, failureResult,
+                              Arrays.asList(results)) :
+            new ExecuteResult(OpCode.EXECUTE, readKB, writeKB,
+                              Arrays.asList(results));
+        combined.setMetadataSeqNum(metadataSeqNum);
+        return combined;
+    }
+
     /**
      * Gets the ResultKeyValueVersion list result of an iterate operation.
      *
@@ -493,6 +570,11 @@ public abstract class Result
             super(other, serialVersion);
         }
 
+        /** Constructor to implement withoutCost */
+        private GetResult(GetResult other) {
+            super(other);
+        }
+
         /**
          * FastExternalizable constructor.  Must call superclass constructor
          * first to read common elements.
@@ -514,6 +596,14 @@ public abstract class Result
         public GetResult deserializedForm(short serialVersion) {
             return new GetResult(this, serialVersion);
         }
+
+        /**
+         * Returns a copy of this result with no read or write cost, for a
+         * result that is served without a request to an RN.
+         */
+        public GetResult withoutCost() {
+            return new GetResult(this);
+        }
     }
 
     /**
@@ -960,6 +1050,20 @@ public abstract class Result
             storageSize = other.storageSize;
         }
 
+        /**
+         * Copy the specified instance, with no read or write cost.
+         */
+        ValueVersionResult(ValueVersionResult other) {
+            super(((Result) other).opCode, 0, 0);
+            setMetadataSeqNum(other.getMetadataSeqNum());
+            resultValue = other.resultValue;
+            version = other.version;
+            expirationTime = other.expirationTime;
+            creationTime = other.creationTime;
+            modificationTime = other.modificationTime;
+            storageSize = other.storageSize;
+        }
+
         /**
          * FastExternalizable constructor.  Must call superclass constructor
          * first to read common elements.
@@ -1121,6 +1225,13 @@ public abstract class Result
         private final int failureIndex;
         private final Result failureResult;
 
+        /*
+         * The results of the operations of a failed non-atomic batch, or
+         * null. Only set on the client by combineExecuteResults, so it is not
+         * serialized.
+         */
+        private final List<Result> batchResults;
+
         ExecuteResult(OpCode opCode,
                       int readKB, int writeKB,
                       List<Result> successResults) {
@@ -1132,6 +1243,7 @@ public abstract class Result
             this.successResults = successResults;
             failureIndex = -1;
             failureResult = null;
+            batchResults = null;
             success = true;
         }
 
@@ -1139,10 +1251,19 @@ public abstract class Result
                       int readKB, int writeKB,
                       int failureIndex,
                       Result failureResult) {
+            this(opCode, readKB, writeKB, failureIndex, failureResult, null);
+        }
+
+        ExecuteResult(OpCode opCode,
+                      int readKB, int writeKB,
+                      int failureIndex,
+                      Result failureResult,
+                      List<Result> batchResults) {
             super(opCode, readKB, writeKB);
             checkNull("failureResult", failureResult);
             this.failureIndex = failureIndex;
             this.failureResult = failureResult;
+            this.batchResults = batchResults;
             successResults = null;
             success = false;
         }
@@ -1160,6 +1281,7 @@ public abstract class Result
             failureResult = !other.success ?
                 toDeserializedForm(other.failureResult, serialVersion) :
                 null;
+            batchResults = null;
         }
 
         /**
@@ -1188,6 +1310,7 @@ public abstract class Result
                 failureResult = Result.readFastExternal(in, serialVersion);
                 successResults = null;
             }
+            batchResults = null;
         }
 
         /**
@@ -1246,6 +1369,13 @@ public abstract class Result
             return (List) Collections.unmodifiableList(successResults);
         }
 
+        @Override
+        public List<Result> getBatchResults() {
+            return (batchResults == null) ?
+                null :
+                Collections.unmodifiableList(batchResults);
+        }
+
         @Override
         public int getNumRecords() {
             if (!success) {
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Logger;
@@ -33,6 +34,7 @@ import oracle.kv.Consistency.Version;
 import oracle.kv.impl.api.Request;
 import oracle.kv.impl.metadata.Metadata;
 import oracle.kv.impl.metadata.Metadata.MetadataType;
+import oracle.kv.impl.topo.DatacenterId;
 import oracle.kv.impl.topo.RepGroup;
 import oracle.kv.impl.topo.RepGroupId;
 import oracle.kv.impl.topo.RepNode;
@@ -63,6 +65,22 @@ import com.sleepycat.je.rep.ReplicatedEnvironment.State;
  */
 public class RepGroupState {
 
+    /**
+     * The load added by adaptive read routing for an RN outside the local
+     * zone, so that a remote RN is only chosen if it has at least this many
+     * fewer outstanding requests than the local one. Cross-zone requests
+     * typically cost a few milliseconds more, which is about the cost of
+     * queueing behind a couple of requests.
+     */
+    static final int REMOTE_ZONE_PENALTY = 2;
+
+    /**
+     * The load added by adaptive read routing for a replica that lags the
+     * master by the full permissible lag of a request with time consistency.
+     * Smaller lags add proportionally less.
+     */
+    static final int MAX_LAG_PENALTY = 4;
+
     private final RepGroupId repGroupId;
 
     private final ResourceId trackerId;
@@ -319,12 +337,133 @@ public class RepGroupState {
      */
     public RepNodeState getLoadBalancedRN(Request request,
                                           Set<RepNodeId> excludeRNs) {
+        final RepNodeState rn;
+        try {
+            lock.readLock().lock();
+            rn = getLeastBusyRN(request, excludeRNs);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (rn != null) {
+            rn.noteSelected();
+        }
+        return rn;
+    }
+
+    /**
+     * Returns the RepNode for a request chosen by adaptive read routing. The
+     * RNs that can serve the request are filtered as for {@link
+     * #getLoadBalancedRN}. Two of them are then sampled at random, and the
+     * one with the lower load is chosen, where the load of an RN is its
+     * number of outstanding requests plus penalties for being outside the
+     * local zone and, for requests with time consistency, for lagging
+     * behind the master.
+     * <p>
+     * Sampling two RNs, rather than comparing them all, keeps dispatchers
+     * that share the same out of date state from all picking the same RN.
+     * The first RN is sampled from the local zone when it has candidates,
+     * so that reads stay in the local zone unless the local RNs are busier
+     * than a remote RN by more than the zone penalty.
+     *
+     * @param request the request being dispatched
+     * @param excludeRNs the set of RNs that must be excluded
+     * @param localZoneId the zone of the dispatcher, or null if not known
+     *
+     * @return the chosen active (master or replica) RN or null
+     */
+    public RepNodeState getAdaptiveRN(Request request,
+                                      Set<RepNodeId> excludeRNs,
+                                      DatacenterId localZoneId) {
+        final RepNodeState rn;
         try {
             lock.readLock().lock();
-            return getLeastBusyRN(request, excludeRNs);
+            rn = selectAdaptiveRN(request, excludeRNs, localZoneId);
         } finally {
             lock.readLock().unlock();
         }
+        if (rn != null) {
+            rn.noteSelected();
+        }
+        return rn;
+    }
+
+    private RepNodeState selectAdaptiveRN(Request request,
+                                          Set<RepNodeId> excludeRNs,
+                                          DatacenterId localZoneId) {
+        final Consistency consistency = request.getConsistency();
+
+        /* The candidates, with those in the local zone first */
+        final RepNodeState[] candidates = new RepNodeState[rns.size()];
+        int nCandidates = 0;
+        int nLocal = 0;
+        for (RepNodeState rn : rns.values()) {
+            if (((excludeRNs != null) &&
+                 excludeRNs.contains(rn.getRepNodeId())) ||
+                rn.reqHandlerNeedsRepair() ||
+                !rn.getRepState().isActive() ||
+                !request.isPermittedZone(rn.getZoneId()) ||
+                !inConsistencyRange(rn, consistency)) {
+                continue;
+            }
+            if ((localZoneId != null) &&
+                localZoneId.equals(rn.getZoneId())) {
+                candidates[nCandidates++] = candidates[nLocal];
+                candidates[nLocal++] = rn;
+            } else {
+                candidates[nCandidates++] = rn;
+            }
+        }
+
+        if (nCandidates <= 1) {
+            return (nCandidates == 0) ? null : candidates[0];
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt((nLocal > 0) ? nLocal : nCandidates);
+        int second = random.nextInt(nCandidates - 1);
+        if (second >= first) {
+            second++;
+        }
+        final RepNodeState rn1 = candidates[first];
+        final RepNodeState rn2 = candidates[second];
+        final long now = System.currentTimeMillis();
+        return (getLoad(rn2, consistency, localZoneId, now) <
+                getLoad(rn1, consistency, localZoneId, now)) ? rn2 : rn1;
+    }
+
+    /**
+     * Returns the load of an RN used by adaptive read routing, in units of
+     * outstanding requests.
+     */
+    private int getLoad(RepNodeState rn,
+                        Consistency consistency,
+                        DatacenterId localZoneId,
+                        long timeMs) {
+        int load = rn.getActiveRequestCount();
+        if ((localZoneId != null) && !localZoneId.equals(rn.getZoneId())) {
+            load += REMOTE_ZONE_PENALTY;
+        }
+
+        /*
+         * A replica that lags by a good part of the permissible lag may have
+         * to wait to satisfy the consistency requirement, so prefer replicas
+         * with less lag. Other consistency requirements are either satisfied
+         * by any RN that is in consistency range, or do not depend on lag.
+         */
+        if (consistency instanceof Time) {
+            final RepNodeState master = getMaster();
+            if ((master != null) && (master != rn)) {
+                final long lagMs = rn.getLagMs(timeMs, master);
+                final long permissibleLagMs = ((Time) consistency)
+                    .getPermissibleLag(TimeUnit.MILLISECONDS);
+                if (lagMs > 0) {
+                    load += (lagMs >= permissibleLagMs) ?
+                        MAX_LAG_PENALTY :
+                        (int) ((MAX_LAG_PENALTY * lagMs) / permissibleLagMs);
+                }
+            }
+        }
+        return load;
     }
 
     /**
@@ -152,6 +152,12 @@ public class RepNodeState {
     private final ThroughputElement requestCountElement =
         new ThroughputElement();
 
+    /**
+     * The number of times the node was chosen by load balancing.
+     */
+    private final ThroughputElement selectionCountElement =
+        new ThroughputElement();
+
     /**
      * The total number of requests that resulted in exceptions.
      */
@@ -422,6 +428,13 @@ public class RepNodeState {
         return (int) count;
     }
 
+    /**
+     * Invoked when the node is chosen by load balancing to serve a request.
+     */
+    void noteSelected() {
+        selectionCountElement.observe(1);
+    }
+
     /**
      * Invoked after each remote request completes. It, along with the
      * requestStart method, is used to maintain the outstanding request count.
@@ -451,6 +464,8 @@ public class RepNodeState {
             requestCountElement.obtain(watcherName, clear).getCount();
         final long errorCount =
             errorCountElement.obtain(watcherName, clear).getCount();
+        final long selectionCount =
+            selectionCountElement.obtain(watcherName, clear).getCount();
         final long averageTrailingResponseTimeNanos =
             responseTimeElement.obtain(NO_CLEAR_WATCHER_NAME, false).
             getAverage();
@@ -460,7 +475,8 @@ public class RepNodeState {
         return new KVStats.NodeMetricsImpl(
             repNodeId, datacenterName, isActive, isMaster,
             maxActiveRequestCount, requestCount, errorCount,
-            averageTrailingResponseTimeNanos, averageResponseTimeNanos);
+            averageTrailingResponseTimeNanos, averageResponseTimeNanos,
+            selectionCount);
     }
 
     /**
@@ -1311,6 +1327,26 @@ public class RepNodeState {
         return vlsnState.vlsnAt(timeMs) >= consistencyVLSN;
     }
 
+    /**
+     * Returns the estimated time in ms that this node lags behind the master
+     * at <code>timeMs</code>, based upon their known states and the rate of
+     * progress of the master. Returns 0 if the lag cannot be estimated.
+     *
+     * @param timeMs the time at which the lag is to be estimated
+     *
+     * @param master the master of the group
+     */
+    long getLagMs(long timeMs, RepNodeState master) {
+        final long masterVLSN = master.vlsnState.vlsnAt(timeMs);
+        final long nodeVLSN = vlsnState.vlsnAt(timeMs);
+        final long vlsnsPerSec = master.vlsnState.getVLSNsPerSec();
+        if (VLSN.isNull(masterVLSN) || VLSN.isNull(nodeVLSN) ||
+            (vlsnsPerSec <= 0) || (nodeVLSN >= masterVLSN)) {
+            return 0;
+        }
+        return ((masterVLSN - nodeVLSN) * 1000) / vlsnsPerSec;
+    }
+
     /**
      * VLSNState encapsulates the handling of all VLSN state associated with
      * this node.
@@ -1371,6 +1407,13 @@ public class RepNodeState {
            return vlsn;
         }
 
+        /**
+         * Returns the rate of progress of this RN in vlsns/sec.
+         */
+        private synchronized long getVLSNsPerSec() {
+            return vlsnsPerSec;
+        }
+
         /**
          * Returns true if the state information has not been updated over an
          * interval exceeding MAX_RATE_INTERVAL_MS
@@ -0,0 +1,383 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.api.table;
+
+import static oracle.kv.impl.async.FutureUtils.complete;
+import static oracle.kv.impl.async.FutureUtils.unwrapExceptionVoid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import oracle.kv.Consistency;
+import oracle.kv.impl.api.KVStoreImpl;
+import oracle.kv.impl.api.Request;
+import oracle.kv.impl.api.ops.Get;
+import oracle.kv.impl.api.ops.InternalOperation.OpCode;
+import oracle.kv.impl.api.ops.MultiGetBatchTable;
+import oracle.kv.impl.api.ops.Result;
+import oracle.kv.impl.api.ops.ResultKeyValueVersion;
+import oracle.kv.impl.api.ops.ResultValueVersion;
+import oracle.kv.impl.api.table.RowNearCache.KeyBytes;
+import oracle.kv.impl.security.AuthContext;
+import oracle.kv.impl.util.KVThreadFactory;
+
+/**
+ * Coalesces concurrent primary key gets into batched reads. Gets of the same
+ * table and partition, made with the same consistency, timeout and security
+ * context, that arrive within a short window of each other are sent to the
+ * store as a single {@link MultiGetBatchTable} request, and the rows it
+ * returns are handed back to the individual gets. This reduces the number of
+ * requests and network round trips when many clients issue small concurrent
+ * reads, at the cost of delaying each get by up to the window.
+ *
+ * Gets are grouped by partition because a batch read request is executed
+ * against a single partition. A batch that contains a single get is sent as
+ * an ordinary get. Gets of tables with child tables are not batched, since
+ * the batch read would also scan, and charge for, the child rows.
+ *
+ * The read KB reported for a batch is divided among its gets in proportion
+ * to the size of the rows they return, with absent rows weighted as a
+ * minimum size read, so that the total charge is preserved.
+ */
+public class GetBatcher {
+
+    private final KVStoreImpl store;
+
+    /** The time to wait for more gets after the first get of a batch. */
+    private final long windowNanos;
+
+    /** The maximum number of gets in a batch. */
+    private final int maxBatchSize;
+
+    /** Schedules sending batches at the end of their windows. */
+    private final ScheduledThreadPoolExecutor timer;
+
+    /** Batches that are still accepting gets. Synchronize on this object. */
+    private final Map<BatchKey, Batch> pending = new HashMap<>();
+
+    /* Counts of batch requests sent and the gets they contained */
+    private final AtomicLong numBatches = new AtomicLong();
+    private final AtomicLong numBatchedGets = new AtomicLong();
+
+    /**
+     * Creates an instance.
+     *
+     * @param store the store
+     * @param window the time to wait for more gets after the first get of a
+     * batch
+     * @param unit the unit of the window
+     * @param maxBatchSize the maximum number of gets in a batch
+     * @param logger the logger for unexpected exceptions in the timer thread
+     * @throws IllegalArgumentException if window or maxBatchSize is not
+     * positive
+     */
+    public GetBatcher(KVStoreImpl store,
+                      long window,
+                      TimeUnit unit,
+                      int maxBatchSize,
+                      Logger logger) {
+        if (window <= 0) {
+            throw new IllegalArgumentException(
+                "window must be greater than 0: " + window);
+        }
+        if (maxBatchSize < 2) {
+            throw new IllegalArgumentException(
+                "maxBatchSize must be greater than 1: " + maxBatchSize);
+        }
+        this.store = store;
+        windowNanos = unit.toNanos(window);
+        this.maxBatchSize = maxBatchSize;
+        timer = new ScheduledThreadPoolExecutor(
+            1, new KVThreadFactory("GetBatcher", logger));
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Submits a get request, returning a future for its result. The request
+     * is either added to a batch or, if it can't be batched, executed
+     * directly.
+     */
+    public CompletableFuture<Result> execute(Request request,
+                                             TableImpl table) {
+        if (!table.getChildTables().isEmpty()) {
+            return store.executeRequestAsync(request);
+        }
+
+        final BatchKey batchKey = new BatchKey(request, table.getId());
+        final Get get = (Get) request.getOperation();
+        final Entry entry = new Entry(request, get.getKeyBytes());
+        final Batch full;
+        synchronized (this) {
+            Batch batch = pending.get(batchKey);
+            if (batch == null) {
+                batch = new Batch(batchKey, table);
+                pending.put(batchKey, batch);
+                final Batch scheduled = batch;
+                try {
+                    timer.schedule(() -> send(scheduled),
+                                   windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    pending.remove(batchKey);
+                    return store.executeRequestAsync(request);
+                }
+            }
+            batch.entries.add(entry);
+            if (batch.entries.size() < maxBatchSize) {
+                return entry.future;
+            }
+            pending.remove(batchKey);
+            full = batch;
+        }
+        sendBatch(full);
+        return entry.future;
+    }
+
+    /**
+     * Sends a batch at the end of its window if it has not already been sent
+     * because it filled up.
+     */
+    private void send(Batch batch) {
+        synchronized (this) {
+            if (pending.get(batch.key) != batch) {
+                return;
+            }
+            pending.remove(batch.key);
+        }
+        sendBatch(batch);
+    }
+
+    private void sendBatch(Batch batch) {
+        final List<Entry> entries = batch.entries;
+        if (entries.size() == 1) {
+            executeSingle(entries.get(0));
+            return;
+        }
+        numBatches.incrementAndGet();
+        numBatchedGets.addAndGet(entries.size());
+
+        final List<byte[]> keys = new ArrayList<>(entries.size());
+        for (Entry e : entries) {
+            keys.add(e.keyBytes);
+        }
+        final Request first = entries.get(0).request;
+        final MultiGetBatchTable op =
+            new MultiGetBatchTable(keys, null /* resumeKey */,
+                                   new TargetTables(batch.table, null, null),
+                                   null /* subRange */, entries.size());
+        final Request request =
+            store.makeReadRequest(op, first.getPartitionId(),
+                                  first.getConsistency(),
+                                  first.getTimeout());
+        request.setLogContext(first.getLogContext());
+        request.setAuthContext(first.getAuthContext());
+        request.setNoCharge(first.isNoCharge());
+
+        final CompletableFuture<Result> future;
+        try {
+            future = store.executeRequestAsync(request);
+        } catch (RuntimeException e) {
+            entries.forEach(entry -> entry.future.completeExceptionally(e));
+            return;
+        }
+        future.whenComplete(
+            unwrapExceptionVoid(
+                (result, exception) -> {
+                    if (exception == null) {
+                        try {
+                            deliver(entries, result);
+                            return;
+                        } catch (RuntimeException e) {
+                            exception = e;
+                        }
+                    }
+                    for (Entry entry : entries) {
+                        entry.future.completeExceptionally(exception);
+                    }
+                }));
+    }
+
+    private void executeSingle(Entry entry) {
+        final CompletableFuture<Result> future;
+        try {
+            future = store.executeRequestAsync(entry.request);
+        } catch (RuntimeException e) {
+            entry.future.completeExceptionally(e);
+            return;
+        }
+        future.whenComplete(
+            unwrapExceptionVoid(
+                (result, exception) ->
+                complete(entry.future, result, exception)));
+    }
+
+    /**
+     * Hands the rows returned by a batch read back to the gets. Gets whose
+     * keys were not reached because the batch stopped early are retried
+     * individually.
+     */
+    private void deliver(List<Entry> entries, Result result) {
+        final Map<KeyBytes, ResultKeyValueVersion> rows = new HashMap<>();
+        for (ResultKeyValueVersion kvv : result.getKeyValueVersionList()) {
+            if (!kvv.getIsTombstone()) {
+                rows.put(new KeyBytes(kvv.getKeyBytes()), kvv);
+            }
+        }
+        final int numComplete = result.hasMoreElements() ?
+            result.getResumeParentKeyIndex() :
+            entries.size();
+
+        /*
+         * Get the value bytes of the rows, since the rows returned to the
+         * client hold deserialized values, and divide the read KB among the
+         * gets by row size
+         */
+        final ResultKeyValueVersion[] entryRows =
+            new ResultKeyValueVersion[numComplete];
+        final byte[][] valueBytes = new byte[numComplete][];
+        final int[] weights = new int[numComplete];
+        long totalWeight = 0;
+        for (int i = 0; i < numComplete; i++) {
+            final ResultKeyValueVersion kvv =
+                rows.get(new KeyBytes(entries.get(i).keyBytes));
+            if (kvv == null) {
+                weights[i] = 1;
+            } else {
+                entryRows[i] = kvv;
+                valueBytes[i] = kvv.getValue().toByteArray();
+                weights[i] = Math.max(1, (kvv.getKeyBytes().length +
+                                          valueBytes[i].length + 1023) / 1024);
+            }
+            totalWeight += weights[i];
+        }
+        final int totalReadKB = result.getReadKB();
+        int remainingReadKB = totalReadKB;
+        for (int i = 0; i < numComplete; i++) {
+            final int readKB = (i == numComplete - 1) ?
+                remainingReadKB :
+                (int) (totalReadKB * weights[i] / totalWeight);
+            remainingReadKB -= readKB;
+
+            final ResultKeyValueVersion kvv = entryRows[i];
+            final ResultValueVersion rvv = (kvv == null) ? null :
+                new ResultValueVersion(valueBytes[i], kvv.getVersion(),
+                                       kvv.getExpirationTime(),
+                                       kvv.getCreationTime(),
+                                       kvv.getModificationTime(),
+                                       -1 /* storageSize */);
+            entries.get(i).future.complete(
+                new Result.GetResult(OpCode.GET, readKB, 0, rvv));
+        }
+        for (int i = numComplete; i < entries.size(); i++) {
+            executeSingle(entries.get(i));
+        }
+    }
+
+    /** Returns the number of batch requests sent. */
+    public long getNumBatches() {
+        return numBatches.get();
+    }
+
+    /** Returns the number of gets sent in batch requests. */
+    public long getNumBatchedGets() {
+        return numBatchedGets.get();
+    }
+
+    /**
+     * Stops the timer, sending any pending batches.
+     */
+    public void shutdown() {
+        final List<Batch> batches;
+        synchronized (this) {
+            batches = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        timer.shutdownNow();
+        batches.forEach(this::sendBatch);
+    }
+
+    /** A get waiting to be sent. */
+    private static class Entry {
+        final Request request;
+        final byte[] keyBytes;
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        Entry(Request request, byte[] keyBytes) {
+            this.request = request;
+            this.keyBytes = keyBytes;
+        }
+    }
+
+    /** A batch of gets that are sent together. */
+    private static class Batch {
+        final BatchKey key;
+        final TableImpl table;
+        final List<Entry> entries = new ArrayList<>();
+
+        Batch(BatchKey key, TableImpl table) {
+            this.key = key;
+            this.table = table;
+        }
+    }
+
+    /** Identifies the gets that can be sent in the same batch. */
+    private static class BatchKey {
+        private final long tableId;
+        private final int partitionId;
+        private final Consistency consistency;
+        private final int timeoutMs;
+        private final AuthContext authContext;
+        private final boolean noCharge;
+
+        BatchKey(Request request, long tableId) {
+            this.tableId = tableId;
+            partitionId = request.getPartitionId().getPartitionId();
+            consistency = request.getConsistency();
+            timeoutMs = request.getTimeout();
+            authContext = request.getAuthContext();
+            noCharge = request.isNoCharge();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof BatchKey)) {
+                return false;
+            }
+            final BatchKey other = (BatchKey) obj;
+            return (tableId == other.tableId) &&
+                (partitionId == other.partitionId) &&
+                (timeoutMs == other.timeoutMs) &&
+                (noCharge == other.noCharge) &&
+                Objects.equals(consistency, other.consistency) &&
+                Objects.equals(authContext, other.authContext);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableId, partitionId, consistency, timeoutMs,
+                                authContext, noCharge);
+        }
+    }
+}
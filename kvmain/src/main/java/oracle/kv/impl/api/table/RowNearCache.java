@@ -0,0 +1,355 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.api.table;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import oracle.kv.Consistency;
+import oracle.kv.Version;
+import oracle.kv.impl.api.ops.Execute;
+import oracle.kv.impl.api.ops.Execute.OperationImpl;
+import oracle.kv.impl.api.ops.InternalOperation;
+import oracle.kv.impl.api.ops.Result;
+import oracle.kv.impl.api.ops.Result.GetResult;
+import oracle.kv.impl.api.ops.SingleKeyOperation;
+import oracle.nosql.common.cache.Cache;
+import oracle.nosql.common.cache.CacheBuilder;
+import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
+import oracle.nosql.common.sklogger.measure.ThroughputElement;
+
+/**
+ * A client-side cache of the results of primary key gets, for tables whose
+ * rows are read much more often than they are written. Caching is enabled
+ * separately for each table, and each table has its own LRU cache with a
+ * maximum number of rows and an entry lifetime.
+ *
+ * A cached result is only returned if it satisfies the consistency of the
+ * get:
+ * <ul>
+ * <li>{@link Consistency#NONE_REQUIRED} and
+ * {@link Consistency#NONE_REQUIRED_NO_MASTER}: any unexpired entry.
+ * <li>{@link Consistency.Time}: an entry whose age, plus the lag permitted
+ * by the consistency used to read it, is within the permissible lag.
+ * <li>{@link Consistency.Version}: an entry for an existing row whose
+ * version is from the same shard and is not older than the required
+ * version, since the node that returned the row had then reached that
+ * version.
+ * <li>{@link Consistency#ABSOLUTE} and other policies: never.
+ * </ul>
+ * Gets that miss go to the store and refresh the entry. Cached results have
+ * no read cost, since they are returned without a request to an RN.
+ *
+ * Writes made through the same store handle invalidate the entries for the
+ * keys they modify, or all entries for the tables they modify when the keys
+ * are not known. Writes made by other clients are only seen once entries
+ * expire or fail a consistency check, so the entry lifetime bounds how stale
+ * the cached rows can be.
+ *
+ * A get that misses may complete after a write to the same key has
+ * invalidated the entry, and its result may then predate the write. To avoid
+ * caching such a result, each invalidation increments a generation number
+ * for the key, and a get only caches its result if the generation is the
+ * same as when the get started, see {@link #getGeneration}. Generations are
+ * kept for a fixed number of stripes per table rather than for each key, so
+ * an invalidation may also prevent caching the result of a concurrent get of
+ * another key.
+ */
+public class RowNearCache {
+
+    /* The number of invalidation generations for each table */
+    private static final int GENERATION_STRIPES = 64;
+
+    /** The caches for tables that have caching enabled, by table ID. */
+    private final Map<Long, TableCache> tables = new ConcurrentHashMap<>();
+
+    /* Counts of gets of cached tables that were or were not served */
+    private final ThroughputElement hits = new ThroughputElement();
+    private final ThroughputElement misses = new ThroughputElement();
+
+    /**
+     * Enables caching for a table, replacing any existing cache for it.
+     *
+     * @param tableId the table ID
+     * @param maxRows the maximum number of rows to cache
+     * @param lifetime the maximum time to keep a row in the cache
+     * @param unit the unit of the lifetime
+     * @throws IllegalArgumentException if maxRows or lifetime is not
+     * positive
+     */
+    public void enable(long tableId,
+                       int maxRows,
+                       long lifetime,
+                       TimeUnit unit) {
+        final long lifetimeMs = unit.toMillis(lifetime);
+        if ((maxRows <= 0) || (lifetimeMs <= 0)) {
+            throw new IllegalArgumentException(
+                "The maximum rows and lifetime of a near cache must be" +
+                " positive: maxRows=" + maxRows +
+                " lifetimeMs=" + lifetimeMs);
+        }
+        tables.put(tableId, new TableCache(maxRows, lifetimeMs));
+    }
+
+    /**
+     * Disables caching for a table and discards its cached rows.
+     */
+    public void disable(long tableId) {
+        tables.remove(tableId);
+    }
+
+    /**
+     * Returns whether caching is enabled for a table.
+     */
+    public boolean isEnabled(long tableId) {
+        return !tables.isEmpty() && tables.containsKey(tableId);
+    }
+
+    /**
+     * Returns the cached result of a get for the specified key if it
+     * satisfies the consistency, otherwise null. Returns null without
+     * counting a hit or miss if caching is not enabled for the table.
+     */
+    public Result get(long tableId,
+                      byte[] keyBytes,
+                      Consistency consistency) {
+        final TableCache cache = getCache(tableId);
+        if (cache == null) {
+            return null;
+        }
+        final CachedResult cached = cache.rows.get(new KeyBytes(keyBytes));
+        if ((cached != null) && cached.satisfies(consistency)) {
+            hits.observe(1);
+            return cached.result;
+        }
+        misses.observe(1);
+        return null;
+    }
+
+    /**
+     * Returns the invalidation generation of the specified key, to be
+     * passed to {@link #put} when the get that is about to start completes.
+     */
+    public long getGeneration(long tableId, byte[] keyBytes) {
+        final TableCache cache = getCache(tableId);
+        return (cache == null) ? 0 : cache.getGeneration(keyBytes);
+    }
+
+    /**
+     * Caches the result of a get if caching is enabled for the table and the
+     * key has not been invalidated since the get started.
+     *
+     * @param tableId the table ID
+     * @param keyBytes the serialized primary key
+     * @param consistency the consistency used for the get
+     * @param startTimeMs the time the get was started
+     * @param generation the generation returned by {@link #getGeneration}
+     * before the get was started
+     * @param result the result of the get
+     */
+    public void put(long tableId,
+                    byte[] keyBytes,
+                    Consistency consistency,
+                    long startTimeMs,
+                    long generation,
+                    Result result) {
+        final TableCache cache = getCache(tableId);
+        if ((cache == null) || (cache.getGeneration(keyBytes) != generation)) {
+            return;
+        }
+        final KeyBytes key = new KeyBytes(keyBytes);
+        final Result cached = (result instanceof GetResult) ?
+            ((GetResult) result).withoutCost() :
+            result;
+        cache.rows.put(key,
+                       new CachedResult(cached, startTimeMs,
+                                        getPermissibleLagMs(consistency)));
+
+        /*
+         * An invalidation increments the generation before removing the
+         * entry, so if one raced with the put, either it removed the new
+         * entry or the generation has changed and the entry is removed here.
+         */
+        if (cache.getGeneration(keyBytes) != generation) {
+            cache.rows.remove(key);
+        }
+    }
+
+    /**
+     * Invalidates the entries that may have been modified by a write
+     * operation.
+     */
+    public void invalidate(InternalOperation op) {
+        if (tables.isEmpty()) {
+            return;
+        }
+        if (op instanceof SingleKeyOperation) {
+            invalidate(op.getTableId(),
+                       ((SingleKeyOperation) op).getKeyBytes());
+        } else if (op instanceof Execute) {
+            for (OperationImpl opImpl : ((Execute) op).getOperations()) {
+                invalidate(opImpl.getInternalOp());
+            }
+        } else if (op.getTableIds() != null) {
+            for (long tableId : op.getTableIds()) {
+                clear(tableId);
+            }
+        } else if (op.getTableId() != 0) {
+            clear(op.getTableId());
+        }
+    }
+
+    private void clear(long tableId) {
+        final TableCache cache = getCache(tableId);
+        if (cache != null) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                cache.generations.incrementAndGet(i);
+            }
+            cache.rows.clear();
+        }
+    }
+
+    private void invalidate(long tableId, byte[] keyBytes) {
+        final TableCache cache = getCache(tableId);
+        if (cache != null) {
+            cache.generations.incrementAndGet(getStripe(keyBytes));
+            cache.rows.remove(new KeyBytes(keyBytes));
+        }
+    }
+
+    /**
+     * Returns the number of gets served from the cache.
+     */
+    public long getHitCount(String watcherName, boolean clear) {
+        return hits.obtain(watcherName, clear).getCount();
+    }
+
+    /**
+     * Returns the number of gets of tables with caching enabled that were
+     * not served from the cache.
+     */
+    public long getMissCount(String watcherName, boolean clear) {
+        return misses.obtain(watcherName, clear).getCount();
+    }
+
+    private TableCache getCache(long tableId) {
+        return tables.isEmpty() ? null : tables.get(tableId);
+    }
+
+    private static int getStripe(byte[] keyBytes) {
+        return (Arrays.hashCode(keyBytes) & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    /**
+     * Returns the maximum lag, in milliseconds, behind the master of a
+     * replica that satisfies the consistency, or Long.MAX_VALUE if it is not
+     * bounded by time.
+     */
+    private static long getPermissibleLagMs(Consistency consistency) {
+        if (consistency == Consistency.ABSOLUTE) {
+            return 0;
+        }
+        if (consistency instanceof Consistency.Time) {
+            return ((Consistency.Time) consistency).getPermissibleLag(
+                TimeUnit.MILLISECONDS);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /** The cached rows of a table and their invalidation generations. */
+    private static class TableCache {
+        final Cache<KeyBytes, CachedResult> rows;
+        final AtomicLongArray generations =
+            new AtomicLongArray(GENERATION_STRIPES);
+
+        TableCache(int maxRows, long lifetimeMs) {
+            rows = CacheBuilder.build(new CacheConfig()
+                                      .setCapacity(maxRows)
+                                      .setLifetime(lifetimeMs)
+                                      .setCreateCleanupThread(false));
+        }
+
+        long getGeneration(byte[] keyBytes) {
+            return generations.get(getStripe(keyBytes));
+        }
+    }
+
+    /** A cached get result. */
+    private static class CachedResult {
+        final Result result;
+        final long startTimeMs;
+
+        /* The permissible lag of the consistency used for the get */
+        final long lagMs;
+
+        CachedResult(Result result, long startTimeMs, long lagMs) {
+            this.result = result;
+            this.startTimeMs = startTimeMs;
+            this.lagMs = lagMs;
+        }
+
+        @SuppressWarnings("deprecation")
+        boolean satisfies(Consistency consistency) {
+            if ((consistency == Consistency.NONE_REQUIRED) ||
+                (consistency == Consistency.NONE_REQUIRED_NO_MASTER)) {
+                return true;
+            }
+            if (consistency instanceof Consistency.Time) {
+                if (lagMs == Long.MAX_VALUE) {
+                    return false;
+                }
+                final long ageMs =
+                    System.currentTimeMillis() - startTimeMs;
+                return (ageMs + lagMs) <=
+                    ((Consistency.Time) consistency).getPermissibleLag(
+                        TimeUnit.MILLISECONDS);
+            }
+            if (consistency instanceof Consistency.Version) {
+                final Version required =
+                    ((Consistency.Version) consistency).getVersion();
+                final Version version = result.getPreviousVersion();
+                return (version != null) &&
+                    version.getRepGroupUUID().equals(
+                        required.getRepGroupUUID()) &&
+                    (version.getVLSN() >= required.getVLSN());
+            }
+            return false;
+        }
+    }
+
+    /** A serialized key that can be used as a hash key. */
+    static final class KeyBytes {
+        private final byte[] bytes;
+        private final int hash;
+
+        KeyBytes(byte[] bytes) {
+            this.bytes = bytes;
+            hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return (other instanceof KeyBytes) &&
+                Arrays.equals(bytes, ((KeyBytes) other).bytes);
+        }
+    }
+}
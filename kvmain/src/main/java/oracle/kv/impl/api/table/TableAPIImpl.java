@@ -16,12 +16,14 @@ package oracle.kv.impl.api.table;
 import static java.util.Collections.singletonList;
 import static oracle.kv.impl.async.FutureUtils.checked;
 import static oracle.kv.impl.async.FutureUtils.failedFuture;
+import static oracle.kv.impl.async.FutureUtils.handleFutureGetException;
 import static oracle.kv.impl.async.FutureUtils.thenApply;
 import static oracle.kv.impl.util.ObjectUtil.checkNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +31,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
@@ -56,6 +59,7 @@ import oracle.kv.impl.api.Request;
 import oracle.kv.impl.api.bulk.BulkPut;
 import oracle.kv.impl.api.ops.Execute.OperationFactoryImpl;
 import oracle.kv.impl.api.ops.Execute.OperationImpl;
+import oracle.kv.impl.api.ops.Get;
 import oracle.kv.impl.api.ops.InternalOperation;
 import oracle.kv.impl.api.ops.InternalOperation.OpCode;
 import oracle.kv.impl.api.ops.MultiDeleteTable;
@@ -171,6 +175,14 @@ public class TableAPIImpl implements TableAPI {
      */
     private boolean enableTableMDSysTable;
 
+    /*
+     * Client-side cache of rows for tables that have it enabled.
+     */
+    private final RowNearCache nearCache = new RowNearCache();
+
+    /** Coalesces concurrent gets into batches, or null if not enabled. */
+    private volatile GetBatcher getBatcher;
+
     /*
      * This must be public for KVStoreImpl to use it.
      */
@@ -821,9 +833,99 @@ public class TableAPIImpl implements TableAPI {
         tableCache.validate(tableId, seqNum);
     }
 
+    /**
+     * Enables a client-side cache of the rows of a table read by primary key
+     * gets, replacing any existing cache for the table. Caching is only
+     * worthwhile for tables that are read much more often than they are
+     * written. Cached rows are returned only if they satisfy the consistency
+     * of the get, see {@link RowNearCache}. The cache is not used for secure
+     * stores, or for gets whose options carry an AuthContext, since cached
+     * rows are returned without an access check by an RN.
+     *
+     * Internal use only
+     *
+     * Public for use by cloud proxy
+     *
+     * @param table the table
+     * @param maxRows the maximum number of rows to cache
+     * @param lifetime the maximum time to keep a row in the cache
+     * @param unit the unit of the lifetime
+     */
+    public void enableNearCache(Table table,
+                                int maxRows,
+                                long lifetime,
+                                TimeUnit unit) {
+        checkNull("table", table);
+        checkNull("unit", unit);
+        nearCache.enable(((TableImpl) table).getId(), maxRows, lifetime,
+                         unit);
+    }
+
+    /**
+     * Disables the client-side row cache for a table, if enabled.
+     *
+     * Internal use only
+     *
+     * Public for use by cloud proxy
+     */
+    public void disableNearCache(Table table) {
+        checkNull("table", table);
+        nearCache.disable(((TableImpl) table).getId());
+    }
+
+    public RowNearCache getNearCache() {
+        return nearCache;
+    }
+
+    /**
+     * Enables coalescing of concurrent primary key gets into batched reads,
+     * replacing any existing settings, see {@link GetBatcher}. Gets of tables
+     * with near caching enabled are not batched.
+     *
+     * Internal use only
+     *
+     * Public for use by cloud proxy
+     *
+     * @param window the time to wait for more gets after the first get of a
+     * batch
+     * @param unit the unit of the window
+     * @param maxBatchSize the maximum number of gets in a batch
+     */
+    public synchronized void enableGetBatching(long window,
+                                               TimeUnit unit,
+                                               int maxBatchSize) {
+        checkNull("unit", unit);
+        final GetBatcher oldBatcher = getBatcher;
+        getBatcher = new GetBatcher(store, window, unit, maxBatchSize,
+                                    store.getLogger());
+        if (oldBatcher != null) {
+            oldBatcher.shutdown();
+        }
+    }
+
+    /**
+     * Disables the coalescing of gets, if enabled.
+     *
+     * Internal use only
+     *
+     * Public for use by cloud proxy
+     */
+    public synchronized void disableGetBatching() {
+        final GetBatcher oldBatcher = getBatcher;
+        getBatcher = null;
+        if (oldBatcher != null) {
+            oldBatcher.shutdown();
+        }
+    }
+
+    public GetBatcher getGetBatcher() {
+        return getBatcher;
+    }
+
     /** Stop any threads associated with this instance. */
     public void stop() {
         tableCache.stop(false);
+        disableGetBatching();
     }
 
     /*
@@ -873,7 +975,37 @@ public class TableAPIImpl implements TableAPI {
                               ReadOptions readOptions)
         throws FaultException {
 
-        return store.executeRequest(makeGetRequest(rowKey, readOptions));
+        final Request req = makeGetRequest(rowKey, readOptions);
+        if (!useNearCache(req)) {
+            return store.executeRequest(req);
+        }
+        final long tableId = req.getOperation().getTableId();
+        final byte[] keyBytes = ((Get) req.getOperation()).getKeyBytes();
+        final Result cached =
+            nearCache.get(tableId, keyBytes, req.getConsistency());
+        if (cached != null) {
+            return cached;
+        }
+        final long generation = nearCache.getGeneration(tableId, keyBytes);
+        final long startTimeMs = System.currentTimeMillis();
+        final Result result = store.executeRequest(req);
+        nearCache.put(tableId, keyBytes, req.getConsistency(), startTimeMs,
+                      generation, result);
+        return result;
+    }
+
+    /*
+     * Returns whether a get may be served from, and its result added to, the
+     * near cache. A cached row is returned without a request to an RN, so no
+     * RN checks that the caller may read the table. The cache is therefore
+     * not used for secure stores, or for requests that carry the AuthContext
+     * of a user, as the http proxy does for all the users of a shared store
+     * handle.
+     */
+    private boolean useNearCache(Request req) {
+        return nearCache.isEnabled(req.getOperation().getTableId()) &&
+            (req.getAuthContext() == null) &&
+            (KVStoreImpl.getLoginManager(store) == null);
     }
 
     private Request makeGetRequest(RowSerializer rowKey,
@@ -921,9 +1053,32 @@ public class TableAPIImpl implements TableAPI {
     {
         try {
             checkNull("key", key);
+            final Request req = makeGetRequest(key, readOptions);
+            if (!useNearCache(req)) {
+                final GetBatcher batcher = getBatcher;
+                final CompletableFuture<Result> future = (batcher != null) ?
+                    batcher.execute(req, (TableImpl) key.getTable()) :
+                    store.executeRequestAsync(req);
+                return thenApply(future, convertResult::apply);
+            }
+            final long tableId = req.getOperation().getTableId();
+            final byte[] keyBytes = ((Get) req.getOperation()).getKeyBytes();
+            final Result cached =
+                nearCache.get(tableId, keyBytes, req.getConsistency());
+            if (cached != null) {
+                return CompletableFuture.completedFuture(
+                    convertResult.apply(cached));
+            }
+            final long generation =
+                nearCache.getGeneration(tableId, keyBytes);
+            final long startTimeMs = System.currentTimeMillis();
             return thenApply(
-                store.executeRequestAsync(makeGetRequest(key, readOptions)),
-                convertResult::apply);
+                store.executeRequestAsync(req),
+                result -> {
+                    nearCache.put(tableId, keyBytes, req.getConsistency(),
+                                  startTimeMs, generation, result);
+                    return convertResult.apply(result);
+                });
         } catch (Throwable e) {
             return failedFuture(e);
         }
@@ -3020,11 +3175,38 @@ public class TableAPIImpl implements TableAPI {
             throw new TableOpExecutionException(operations.get(failedOpIndex),
                                                 failedOpIndex,
                                                 failedResult,
+                                                createBatchResults(result,
+                                                                   operations),
                                                 result.getReadKB(),
                                                 result.getWriteKB());
         }
     }
 
+    /**
+     * Returns the results of the operations of a failed non-atomic batch,
+     * with null for the operations that were not applied, or null if the
+     * result is not for a non-atomic batch.
+     */
+    private List<TableOperationResult>
+        createBatchResults(Result result, List<TableOperation> operations) {
+
+        final List<Result> results = result.getBatchResults();
+        if (results == null) {
+            return null;
+        }
+        final List<TableOperationResult> tableResults =
+            new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final Result opRes = results.get(i);
+            tableResults.add(
+                (opRes == null) ?
+                null :
+                new OpResultWrapper(this, opRes,
+                                    operations.get(i).getPrimaryKey()));
+        }
+        return Collections.unmodifiableList(tableResults);
+    }
+
     public List<TableOperationResult>
         createResultsFromExecuteResult(Result result,
                                        List<TableOperation> operations) {
@@ -3053,8 +3235,7 @@ public class TableAPIImpl implements TableAPI {
         List<String> majorPath = null;
         int index = 0;
         for (TableOperation op : operations) {
-            OpWrapper opw = ((OpWrapper)op);
-            Operation operation = opw.getOperation(writeOptions);
+            Operation operation = makeExecuteOp(op, writeOptions);
             final List<String> mpath =
                 ((OperationImpl)operation).getKey().getMajorPath();
             if (majorPath == null) {
@@ -3074,18 +3255,24 @@ public class TableAPIImpl implements TableAPI {
                 index++; // only used for errors
             }
             opList.add(operation);
-
-            Put putOp = unwrapPut(operation) ;
-            if (putOp != null) {
-                boolean updateTTL =
-                    getUpdateTTL(writeOptions) || op.getUpdateTTL();
-                putOp.setTTLOptions(getTTL(opw.getTTL(), opw.getTable()),
-                                    updateTTL);
-            }
         }
         return opList;
     }
 
+    private Operation makeExecuteOp(TableOperation op,
+                                    WriteOptions writeOptions) {
+        OpWrapper opw = ((OpWrapper)op);
+        Operation operation = opw.getOperation(writeOptions);
+        Put putOp = unwrapPut(operation) ;
+        if (putOp != null) {
+            boolean updateTTL =
+                getUpdateTTL(writeOptions) || op.getUpdateTTL();
+            putOp.setTTLOptions(getTTL(opw.getTTL(), opw.getTable()),
+                                updateTTL);
+        }
+        return operation;
+    }
+
     private void setContextFromOptions(Request req,
                                        ReadOptions readOptions) {
         if (readOptions != null) {
@@ -3152,6 +3339,200 @@ public class TableAPIImpl implements TableAPI {
         }
     }
 
+    @Override
+    public List<TableOperationResult>
+        executeBatch(List<TableOperation> operations,
+                     WriteOptions writeOptions)
+        throws TableOpExecutionException,
+               DurabilityException,
+               FaultException {
+
+        try {
+            return executeBatchAsync(operations, writeOptions).get();
+        } catch (Throwable t) {
+            final Exception e;
+            try {
+                e = handleFutureGetException(t);
+            } catch (InterruptedException | TimeoutException e2) {
+                throw new IllegalStateException("Unexpected interrupt during " +
+                                                "executeBatch()", e2);
+            }
+            if (e instanceof TableOpExecutionException) {
+                throw (TableOpExecutionException) e;
+            }
+            throw new IllegalStateException("Unexpected exception: " + e, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<TableOperationResult>>
+        executeBatchAsync(List<TableOperation> operations,
+                          WriteOptions writeOptions)
+    {
+        return executeBatchAsyncInternal(
+            operations, writeOptions,
+            result -> createResultsFromExecuteResult(result, operations));
+    }
+
+    /**
+     * Internal use only
+     *
+     * Public for use by cloud proxy
+     */
+    public CompletableFuture<Result> executeBatchAsyncInternal(
+        List<TableOperation> operations, WriteOptions writeOptions)
+    {
+        return executeBatchAsyncInternal(operations, writeOptions, r -> r);
+    }
+
+    /**
+     * Executes the operations of a non-atomic batch. The operations are
+     * divided into groups that can each be executed by a single Execute
+     * request, the requests for all groups are sent concurrently, and their
+     * results are combined into an execute result for the whole batch, with
+     * the operation results in batch order.
+     */
+    private <R> CompletableFuture<R>
+        executeBatchAsyncInternal(List<TableOperation> operations,
+                                  WriteOptions writeOptions,
+                                  Function<Result, R> convertResult) {
+        try {
+            checkNull("operations", operations);
+            final List<Operation> kvOperations =
+                new ArrayList<>(operations.size());
+            final List<BatchGroup> groups =
+                makeBatchGroups(operations, writeOptions, kvOperations);
+            final List<CompletableFuture<Result>> futures =
+                new ArrayList<>(groups.size());
+            final List<int[]> groupIndices = new ArrayList<>(groups.size());
+            for (BatchGroup group : groups) {
+                final Request req = store.makeExecuteRequest(
+                    group.ops,
+                    group.partitionId,
+                    group.tableId,
+                    getDurability(writeOptions),
+                    getTimeout(writeOptions),
+                    getTimeoutUnit(writeOptions));
+                setContextFromOptions(req, writeOptions);
+                futures.add(store.executeRequestAsync(req));
+                groupIndices.add(group.getIndices());
+            }
+            return thenApply(
+                allResults(futures),
+                checked(results ->
+                        convertResult.apply(
+                            processExecuteResult(
+                                Result.combineExecuteResults(
+                                    results, groupIndices, operations.size()),
+                                operations, kvOperations))));
+        } catch (Throwable e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Converts the operations of a non-atomic batch to KV operations, adding
+     * them to kvOperations, and divides them into groups. Each group contains
+     * the operations that are in the same partition and on tables in the same
+     * table hierarchy, so that it can be executed by a single Execute request
+     * that is charged to that hierarchy.
+     */
+    private List<BatchGroup> makeBatchGroups(List<TableOperation> operations,
+                                             WriteOptions writeOptions,
+                                             List<Operation> kvOperations) {
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException
+                ("operations must be non-null and non-empty");
+        }
+        final Set<Key> keys = new HashSet<>();
+        final Map<PartitionId, List<BatchGroup>> partitionGroups =
+            new HashMap<>();
+        final List<BatchGroup> groups = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            final TableOperation op = operations.get(i);
+            final Operation operation = makeExecuteOp(op, writeOptions);
+            kvOperations.add(operation);
+
+            final OperationImpl opImpl = (OperationImpl) operation;
+            if (!keys.add(opImpl.getKey())) {
+                throw new IllegalArgumentException(
+                    "More than one operation has the same primary key: " +
+                    op.getPrimaryKey().toJsonString(false));
+            }
+            final PartitionId partitionId = store.getDispatcher()
+                .getPartitionId(opImpl.getInternalOp().getKeyBytes());
+            final TableImpl table = (TableImpl) ((OpWrapper) op).getTable();
+            final long topTableId = table.getTopLevelTable().getId();
+
+            final List<BatchGroup> candidates =
+                partitionGroups.computeIfAbsent(partitionId,
+                                                k -> new ArrayList<>(1));
+            BatchGroup group = null;
+            for (BatchGroup candidate : candidates) {
+                if (candidate.topTableId == topTableId) {
+                    group = candidate;
+                    break;
+                }
+            }
+            if (group == null) {
+                group = new BatchGroup(partitionId, table.getId(),
+                                       topTableId);
+                candidates.add(group);
+                groups.add(group);
+            }
+            group.ops.add(operation);
+            group.indices.add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * Returns a future that completes when all of the specified futures have
+     * completed, with their results in the same order, or, if any of them
+     * failed, with the exception of the first one that failed.
+     */
+    private static CompletableFuture<List<Result>>
+        allResults(List<CompletableFuture<Result>> futures) {
+
+        return CompletableFuture.allOf(
+            futures.toArray(new CompletableFuture<?>[futures.size()]))
+            .handle((v, e) -> {
+                    final List<Result> results =
+                        new ArrayList<>(futures.size());
+                    for (CompletableFuture<Result> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * A group of the operations of a non-atomic batch that are executed by a
+     * single Execute request.
+     */
+    private static class BatchGroup {
+        final PartitionId partitionId;
+
+        /* The table ID of the request, that of the first operation */
+        final long tableId;
+
+        final long topTableId;
+        final List<Operation> ops = new ArrayList<>();
+
+        /* The batch index of each operation */
+        final List<Integer> indices = new ArrayList<>();
+
+        BatchGroup(PartitionId partitionId, long tableId, long topTableId) {
+            this.partitionId = partitionId;
+            this.tableId = tableId;
+            this.topTableId = topTableId;
+        }
+
+        int[] getIndices() {
+            return indices.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
     /**
      * Creates a Row from the Value with a retry in the case of a
      * TableVersionException.
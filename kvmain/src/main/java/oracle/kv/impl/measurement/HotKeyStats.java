@@ -0,0 +1,234 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.measurement;
+
+import static oracle.kv.impl.util.FormatUtils.formatDateTimeMillis;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * The shard keys, tables and partitions that had the most read and write
+ * throughput on a RepNode during a collection period. The values are
+ * estimates produced by a heavy-hitters sketch, see
+ * oracle.kv.impl.rep.HotKeyTracker.
+ */
+public class HotKeyStats implements ConciseStats, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long startTimeMillis;
+    private final long endTimeMillis;
+    private final List<HotKey> shardKeys;
+    private final List<HotKey> tables;
+    private final List<HotKey> partitions;
+
+    /**
+     * Creates an instance of this class. Each list is ordered heaviest
+     * first.
+     *
+     * @param startTimeMillis the start time of the collection period
+     * @param endTimeMillis the end time of the collection period
+     * @param shardKeys the hottest shard keys
+     * @param tables the hottest tables
+     * @param partitions the hottest partitions
+     */
+    public HotKeyStats(long startTimeMillis,
+                       long endTimeMillis,
+                       List<HotKey> shardKeys,
+                       List<HotKey> tables,
+                       List<HotKey> partitions) {
+        this.startTimeMillis = startTimeMillis;
+        this.endTimeMillis = endTimeMillis;
+        this.shardKeys = shardKeys;
+        this.tables = tables;
+        this.partitions = partitions;
+    }
+
+    /**
+     * Returns the hottest shard keys, heaviest first. Keys are displayed as
+     * hashes if user data hiding is enabled.
+     */
+    public List<HotKey> getShardKeys() {
+        return shardKeys;
+    }
+
+    /**
+     * Returns the hottest tables, heaviest first.
+     */
+    public List<HotKey> getTables() {
+        return tables;
+    }
+
+    /**
+     * Returns the hottest partitions, heaviest first.
+     */
+    public List<HotKey> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Returns whether no throughput was recorded during the period.
+     */
+    public boolean isEmpty() {
+        return shardKeys.isEmpty() && tables.isEmpty() &&
+            partitions.isEmpty();
+    }
+
+    public JsonObject toJson() {
+        final JsonObject result = new JsonObject();
+        result.add("shardKeys", toJson(shardKeys));
+        result.add("tables", toJson(tables));
+        result.add("partitions", toJson(partitions));
+
+        /*
+         * Include the start and end times in the JSON format because these
+         * entries appear by themselves in the collector output files
+         */
+        result.addProperty("startTimeMillis", startTimeMillis);
+        result.addProperty("startTimeHuman",
+                           formatDateTimeMillis(startTimeMillis));
+        result.addProperty("endTimeMillis", endTimeMillis);
+        result.addProperty("endTimeHuman",
+                           formatDateTimeMillis(endTimeMillis));
+        return result;
+    }
+
+    private static JsonArray toJson(List<HotKey> list) {
+        final JsonArray array = new JsonArray();
+        for (HotKey hk : list) {
+            array.add(hk.toJson());
+        }
+        return array;
+    }
+
+    /* ConciseStats */
+
+    @Override
+    public long getStart() {
+        return startTimeMillis;
+    }
+
+    @Override
+    public long getEnd() {
+        return endTimeMillis;
+    }
+
+    @Override
+    public String getFormattedStats() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Hot Keys");
+        appendFormatted(sb, "shardKeys", shardKeys);
+        appendFormatted(sb, "tables", tables);
+        appendFormatted(sb, "partitions", partitions);
+        sb.append("\n");
+        return sb.toString();
+    }
+
+    private static void appendFormatted(StringBuilder sb,
+                                        String label,
+                                        List<HotKey> list) {
+        sb.append("\n\t").append(label).append(":");
+        for (HotKey hk : list) {
+            sb.append("\n\t\t").append(hk.getFormatted());
+        }
+    }
+
+    /* Object */
+
+    @Override
+    public String toString() {
+        return "HotKeyStats[" + getFormattedStats() + "]";
+    }
+
+    /**
+     * The throughput recorded for one shard key, table or partition.
+     */
+    public static class HotKey implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final long totalKB;
+        private final long readKB;
+        private final long writeKB;
+        private final long operations;
+
+        /**
+         * Creates an instance.
+         *
+         * @param name the displayed name of the shard key, table or partition
+         * @param totalKB the estimated total KB read and written, which may
+         * include throughput from before the key was tracked
+         * @param readKB the KB read while the key was tracked
+         * @param writeKB the KB written while the key was tracked
+         * @param operations the number of operations while the key was
+         * tracked
+         */
+        public HotKey(String name,
+                      long totalKB,
+                      long readKB,
+                      long writeKB,
+                      long operations) {
+            this.name = name;
+            this.totalKB = totalKB;
+            this.readKB = readKB;
+            this.writeKB = writeKB;
+            this.operations = operations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTotalKB() {
+            return totalKB;
+        }
+
+        public long getReadKB() {
+            return readKB;
+        }
+
+        public long getWriteKB() {
+            return writeKB;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public JsonObject toJson() {
+            final JsonObject result = new JsonObject();
+            result.addProperty("name", name);
+            result.addProperty("totalKB", totalKB);
+            result.addProperty("readKB", readKB);
+            result.addProperty("writeKB", writeKB);
+            result.addProperty("operations", operations);
+            return result;
+        }
+
+        public String getFormatted() {
+            return name + " totalKB=" + totalKB + " readKB=" + readKB +
+                " writeKB=" + writeKB + " operations=" + operations;
+        }
+
+        @Override
+        public String toString() {
+            return "HotKey[" + getFormatted() + "]";
+        }
+    }
+}
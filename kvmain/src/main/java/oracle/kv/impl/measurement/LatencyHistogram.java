@@ -0,0 +1,192 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.measurement;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cumulative histogram of latency values with log-linear buckets, in the
+ * style of HdrHistogram. Values below {@code 2^precisionBits} are counted
+ * exactly. Above that, each power of two range is divided into {@code
+ * 2^precisionBits} equal sub-buckets, so the relative error of a reported
+ * value is at most {@code 2^-precisionBits} regardless of its magnitude.
+ *
+ * <p>Recording a value is allocation free and lock free: it increments one
+ * element of an atomic array. Histograms with the same precision can be
+ * merged exactly by adding their bucket counts, which makes it possible to
+ * combine the histograms of multiple threads, nodes or time periods, unlike
+ * percentiles which cannot be combined.
+ *
+ * <p>The histogram is never reset, so that it can be exported as cumulative
+ * counters. Consumers that want interval values compute the difference
+ * between two snapshots.
+ */
+public class LatencyHistogram {
+
+    /** The default precision, a relative error of 1/8. */
+    public static final int DEFAULT_PRECISION_BITS = 3;
+
+    private final int precisionBits;
+    private final int subBucketCount;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Creates a histogram with the default precision.
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    /**
+     * Creates a histogram with the specified precision.
+     *
+     * @param precisionBits the number of bits used to divide each power of
+     * two range into sub-buckets
+     * @throws IllegalArgumentException if precisionBits is not between 1 and
+     * 10
+     */
+    public LatencyHistogram(int precisionBits) {
+        if ((precisionBits < 1) || (precisionBits > 10)) {
+            throw new IllegalArgumentException(
+                "precisionBits must be between 1 and 10: " + precisionBits);
+        }
+        this.precisionBits = precisionBits;
+        subBucketCount = 1 << precisionBits;
+        counts = new AtomicLongArray((64 - precisionBits) * subBucketCount);
+    }
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(getBucketIndex(value));
+        count.increment();
+        sum.add(value);
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     *
+     * @throws IllegalArgumentException if the histograms have different
+     * precisions
+     */
+    public void merge(LatencyHistogram other) {
+        if (other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException(
+                "Histograms have different precisions: " + precisionBits +
+                " and " + other.precisionBits);
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            final long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+    }
+
+    public int getPrecisionBits() {
+        return precisionBits;
+    }
+
+    /** Returns the number of values recorded. */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** Returns the sum of the values recorded. */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /** Returns the number of buckets. */
+    public int getNumBuckets() {
+        return counts.length();
+    }
+
+    /** Returns the number of values recorded in the specified bucket. */
+    public long getBucketCount(int index) {
+        return counts.get(index);
+    }
+
+    /**
+     * Returns the index of the bucket that holds the specified non-negative
+     * value.
+     */
+    public int getBucketIndex(long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) -
+            precisionBits;
+        final int subBucket = (int) (value >>> shift) & (subBucketCount - 1);
+        return ((shift + 1) << precisionBits) + subBucket;
+    }
+
+    /**
+     * Returns the largest value that is recorded in the specified bucket.
+     */
+    public long getBucketUpperBound(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        final int shift = (index >>> precisionBits) - 1;
+        final long lower =
+            ((long) (subBucketCount + (index & (subBucketCount - 1)))) <<
+            shift;
+        final long upper = lower + (1L << shift) - 1;
+        return (upper < 0) ? Long.MAX_VALUE : upper;
+    }
+
+    /**
+     * Returns the value at the specified percentile, using the upper bound of
+     * the bucket that contains it, or 0 if no values have been recorded.
+     *
+     * @param percentile the percentile, between 0 and 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long target =
+            Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(counts.length() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram[count=" + getCount() +
+            " sum=" + getSum() +
+            " 50th=" + getValueAtPercentile(50) +
+            " 99th=" + getValueAtPercentile(99) + "]";
+    }
+}
@@ -0,0 +1,225 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.measurement;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import oracle.kv.impl.util.WatcherNames;
+import oracle.nosql.common.sklogger.MetricRegistry;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A small http server that serves the metrics of a service in the
+ * OpenMetrics text format, so that they can be scraped by a monitoring
+ * system such as Prometheus without going through JMX or log parsing.<p>
+ *
+ * Usage: create the server on a port, add one or more {@link Collector}s
+ * that write the metrics of the service, and call start(). GET requests to
+ * the path "/metrics" return the output of all collectors.<p>
+ *
+ * The server uses plain http with no authentication. It listens on the
+ * hostname of the service, or on the loopback address if none is given,
+ * and callers should not start it on a secure store unless the user has
+ * explicitly allowed it, see {@link #isAllowed}.<p>
+ *
+ * Requests are handled one at a time on the server's dispatcher thread, so
+ * the output buffer is reused across scrapes.
+ */
+public class OpenMetricsServer {
+
+    /* The path of the GET request. */
+    public static final String PATH = "/metrics";
+
+    /**
+     * Writes a set of metrics.
+     */
+    @FunctionalInterface
+    public interface Collector {
+        void collect(OpenMetricsWriter writer);
+    }
+
+    private final List<Collector> collectors = new CopyOnWriteArrayList<>();
+    private final HttpServer server;
+    private final Logger logger;
+    private final OpenMetricsWriter writer =
+        new OpenMetricsWriter(new StringBuilder(16 * 1024));
+
+    /**
+     * Creates a server listening on the specified hostname and port, or on
+     * an anonymous port if the port is 0. If the hostname is null, the
+     * server listens on the loopback address.
+     */
+    public OpenMetricsServer(String hostname, int port, Logger logger)
+        throws IOException {
+
+        this.logger = logger;
+        final InetSocketAddress address = (hostname == null) ?
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), port) :
+            new InetSocketAddress(hostname, port);
+        if (address.isUnresolved()) {
+            throw new IOException("Unable to resolve host " + hostname);
+        }
+        server = HttpServer.create(address, 0);
+        server.createContext(PATH, new Handler());
+    }
+
+    /**
+     * Returns whether the server may be started. On a secure store, the
+     * unauthenticated endpoint is only started if allowInsecure is true,
+     * otherwise a warning is logged.
+     */
+    public static boolean isAllowed(boolean isSecure,
+                                    boolean allowInsecure,
+                                    Logger logger) {
+        if (isSecure && !allowInsecure) {
+            logger.warning("Not starting the OpenMetrics endpoint because " +
+                           "the store is secure and the endpoint does not " +
+                           "use authentication. Set metricsAllowInsecure " +
+                           "to true to start it anyway.");
+            return false;
+        }
+        return true;
+    }
+
+    public void addCollector(Collector c) {
+        collectors.add(c);
+    }
+
+    /** Returns the address the server is listening on. */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /** Returns the port the server is listening on. */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Returns a collector for the metrics in the specified sklogger
+     * registry, with names prefixed by the specified prefix.
+     */
+    public static Collector getRegistryCollector(MetricRegistry registry,
+                                                 String prefix) {
+        return writer -> writer.metricFamilies(
+            prefix, registry.getAllMetricFactory(WatcherNames.OPEN_METRICS));
+    }
+
+    /**
+     * Returns a collector for basic JVM metrics: heap usage, thread count,
+     * and garbage collection counts and times, with names prefixed by the
+     * specified prefix.
+     */
+    public static Collector getJVMCollector(String prefix) {
+        return writer -> {
+            final MemoryUsage heap =
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            final String heapUsed = prefix + "_jvm_heap_used_bytes";
+            writer.startFamily(heapUsed, "gauge", "Heap memory used");
+            writer.sample(heapUsed, heap.getUsed());
+            final String heapMax = prefix + "_jvm_heap_max_bytes";
+            writer.startFamily(heapMax, "gauge", "Maximum heap memory");
+            writer.sample(heapMax, heap.getMax());
+            final String threads = prefix + "_jvm_threads";
+            writer.startFamily(threads, "gauge", "Live threads");
+            writer.sample(threads,
+                          ManagementFactory.getThreadMXBean()
+                          .getThreadCount());
+
+            final List<GarbageCollectorMXBean> gcs =
+                ManagementFactory.getGarbageCollectorMXBeans();
+            final String gcCount = prefix + "_jvm_gc_collections";
+            writer.startFamily(gcCount, "counter", "Garbage collections");
+            for (GarbageCollectorMXBean gc : gcs) {
+                writer.counter(gcCount, Math.max(0, gc.getCollectionCount()),
+                               "gc", gc.getName());
+            }
+            final String gcTime = prefix + "_jvm_gc_time_ms";
+            writer.startFamily(gcTime, "counter",
+                               "Garbage collection time in milliseconds");
+            for (GarbageCollectorMXBean gc : gcs) {
+                writer.counter(gcTime, Math.max(0, gc.getCollectionTime()),
+                               "gc", gc.getName());
+            }
+        };
+    }
+
+    /**
+     * Returns the output of all collectors. Collectors that fail are
+     * skipped.
+     */
+    synchronized String collect() {
+        writer.reset();
+        for (Collector c : collectors) {
+            final int mark = writer.getOutput().length();
+            try {
+                c.collect(writer);
+            } catch (RuntimeException e) {
+                /* Skip metrics that are not available, say during startup */
+                writer.getOutput().setLength(mark);
+                if (logger != null) {
+                    logger.log(Level.FINE,
+                               "Problem collecting metrics: " + e, e);
+                }
+            }
+        }
+        writer.finish();
+        return writer.getOutput().toString();
+    }
+
+    class Handler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                final byte[] bytes = collect().getBytes(UTF_8);
+                exchange.getResponseHeaders().set(
+                    "Content-Type", OpenMetricsWriter.CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.measurement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import oracle.nosql.common.json.JsonNode;
+import oracle.nosql.common.sklogger.MetricFamilySamples;
+
+import com.sleepycat.je.utilint.Stat;
+import com.sleepycat.je.utilint.StatDefinition;
+import com.sleepycat.je.utilint.StatGroup;
+
+/**
+ * Writes metrics in the OpenMetrics text exposition format. A writer wraps a
+ * StringBuilder that can be reused across scrapes, so that formatting does
+ * not allocate once the buffer has grown to the size of a typical response.
+ *
+ * <p>Each metric family is started with {@link #startFamily}, followed by
+ * its samples, and the output is terminated with {@link #finish}. Labels are
+ * specified as alternating names and values.
+ *
+ * @see <a href="https://github.com/OpenObservability/OpenMetrics/blob/main/specification/OpenMetrics.md">OpenMetrics</a>
+ */
+public class OpenMetricsWriter {
+
+    /** The content type of the text format. */
+    public static final String CONTENT_TYPE =
+        "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final StringBuilder sb;
+
+    public OpenMetricsWriter(StringBuilder sb) {
+        this.sb = sb;
+    }
+
+    /** Clears the output so the writer can be reused. */
+    public void reset() {
+        sb.setLength(0);
+    }
+
+    /** Returns the output written so far. */
+    public StringBuilder getOutput() {
+        return sb;
+    }
+
+    /**
+     * Starts a metric family.
+     *
+     * @param name the family name, which is sanitized if needed
+     * @param type the OpenMetrics type, such as "counter", "gauge" or
+     * "histogram"
+     * @param help the help text, or null
+     */
+    public void startFamily(String name, String type, String help) {
+        sb.append("# TYPE ");
+        appendName(name);
+        sb.append(' ').append(type).append('\n');
+        if (help != null) {
+            sb.append("# HELP ");
+            appendName(name);
+            sb.append(' ');
+            appendEscaped(help, false);
+            sb.append('\n');
+        }
+    }
+
+    /** Writes a sample with an integral value. */
+    public void sample(String name, long value, String... labels) {
+        appendSampleStart(name, null, labels, null, null);
+        sb.append(value).append('\n');
+    }
+
+    /** Writes a sample with a floating point value. */
+    public void sample(String name, double value, String... labels) {
+        appendSampleStart(name, null, labels, null, null);
+        appendDouble(value);
+        sb.append('\n');
+    }
+
+    /**
+     * Writes the samples of a counter, whose family must have been started
+     * with the same name.
+     */
+    public void counter(String name, long value, String... labels) {
+        appendSampleStart(name, "_total", labels, null, null);
+        sb.append(value).append('\n');
+    }
+
+    /**
+     * Writes the samples of a histogram of nanosecond latencies as a
+     * histogram in seconds. The family must have been started with the same
+     * name and type "histogram". Buckets are written at each power of two
+     * boundary, up to the largest value recorded, to keep the output
+     * compact.
+     */
+    public void histogram(String name,
+                          LatencyHistogram histogram,
+                          String... labels) {
+        final int mask = (1 << histogram.getPrecisionBits()) - 1;
+        final int numBuckets = histogram.getNumBuckets();
+        int last = -1;
+        for (int i = numBuckets - 1; i >= 0; i--) {
+            if (histogram.getBucketCount(i) != 0) {
+                last = i;
+                break;
+            }
+        }
+        long cumulative = 0;
+        for (int i = 0; i <= last; i++) {
+            cumulative += histogram.getBucketCount(i);
+            if (((i & mask) == mask) || (i == last)) {
+                appendSampleStart(name, "_bucket", labels, "le", null);
+                appendDouble(
+                    histogram.getBucketUpperBound(i) / NANOS_PER_SECOND);
+                sb.append("\"} ").append(cumulative).append('\n');
+            }
+        }
+        appendSampleStart(name, "_bucket", labels, "le", "+Inf");
+        sb.append(cumulative).append('\n');
+        appendSampleStart(name, "_count", labels, null, null);
+        sb.append(cumulative).append('\n');
+        appendSampleStart(name, "_sum", labels, null, null);
+        appendDouble(histogram.getSum() / NANOS_PER_SECOND);
+        sb.append('\n');
+    }
+
+    /**
+     * Writes the numeric stats in JE stat groups as gauges, named with the
+     * prefix, the group name and the stat name. Stats with non-numeric
+     * values are skipped.
+     */
+    public void statGroups(String prefix, Collection<StatGroup> groups) {
+        for (StatGroup group : groups) {
+            for (Map.Entry<StatDefinition, Stat<?>> e :
+                     group.getStats().entrySet()) {
+                final Object value = e.getValue().get();
+                final double d;
+                if (value instanceof Number) {
+                    d = ((Number) value).doubleValue();
+                } else if (value instanceof Boolean) {
+                    d = ((Boolean) value) ? 1 : 0;
+                } else {
+                    continue;
+                }
+                final String name =
+                    prefix + "_" + group.getName() + "_" +
+                    e.getKey().getName();
+                startFamily(name, "gauge", e.getKey().getDescription());
+                sample(name, d);
+            }
+        }
+    }
+
+    /**
+     * Writes the samples of sklogger metric families. The numeric fields of
+     * each sample's JSON representation are written as gauges named with the
+     * family name and the field name.
+     */
+    public void metricFamilies(String prefix,
+                               List<MetricFamilySamples<?>> families) {
+        for (MetricFamilySamples<?> family : families) {
+            final String base = prefix + "_" + family.getName();
+            final List<String> labelNames = family.getLabelNames();
+            final List<? extends MetricFamilySamples.Sample<?>> samples =
+                family.getSamples();
+            if (samples.isEmpty()) {
+                continue;
+            }
+            final List<String[]> sampleLabels = new ArrayList<>();
+            final List<JsonNode> values = new ArrayList<>();
+            for (MetricFamilySamples.Sample<?> s : samples) {
+                final String[] labels = new String[labelNames.size() * 2];
+                for (int i = 0; i < labelNames.size(); i++) {
+                    labels[2 * i] = labelNames.get(i);
+                    labels[2 * i + 1] = (i < s.labelValues.size()) ?
+                        s.labelValues.get(i) : "";
+                }
+                sampleLabels.add(labels);
+                values.add(s.dataValue.toJson());
+            }
+
+            /* Write each field as its own family so they are not mixed */
+            final Set<String> fields = new LinkedHashSet<>();
+            boolean scalar = false;
+            for (JsonNode json : values) {
+                if (json.isNumber()) {
+                    scalar = true;
+                } else if (json.isObject()) {
+                    for (Map.Entry<String, JsonNode> e :
+                             json.asObject().entrySet()) {
+                        if (e.getValue().isNumber()) {
+                            fields.add(e.getKey());
+                        }
+                    }
+                }
+            }
+            if (scalar) {
+                startFamily(base, "gauge", null);
+                for (int i = 0; i < values.size(); i++) {
+                    if (values.get(i).isNumber()) {
+                        sample(base, values.get(i).asDouble(),
+                               sampleLabels.get(i));
+                    }
+                }
+            }
+            for (String field : fields) {
+                final String name = base + "_" + field;
+                startFamily(name, "gauge", null);
+                for (int i = 0; i < values.size(); i++) {
+                    final JsonNode json = values.get(i);
+                    final JsonNode value =
+                        json.isObject() ? json.get(field) : null;
+                    if ((value != null) && value.isNumber()) {
+                        sample(name, value.asDouble(), sampleLabels.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    /** Terminates the output. */
+    public void finish() {
+        sb.append("# EOF\n");
+    }
+
+    /**
+     * Appends the sample name and labels through the opening quote of the
+     * extra label value if extraLabel is not null and extraValue is null,
+     * otherwise through the space preceding the value.
+     */
+    private void appendSampleStart(String name,
+                                   String suffix,
+                                   String[] labels,
+                                   String extraLabel,
+                                   String extraValue) {
+        appendName(name);
+        if (suffix != null) {
+            sb.append(suffix);
+        }
+        final boolean hasLabels = labels.length > 0;
+        if (hasLabels || (extraLabel != null)) {
+            sb.append('{');
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendName(labels[i]);
+                sb.append("=\"");
+                appendEscaped(labels[i + 1], true);
+                sb.append('"');
+            }
+            if (extraLabel != null) {
+                if (hasLabels) {
+                    sb.append(',');
+                }
+                sb.append(extraLabel).append("=\"");
+                if (extraValue == null) {
+                    return;
+                }
+                sb.append(extraValue).append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(' ');
+    }
+
+    /**
+     * Appends a metric or label name, replacing characters that are not
+     * permitted in names with underscores.
+     */
+    private void appendName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (((c >= 'a') && (c <= 'z')) ||
+                ((c >= 'A') && (c <= 'Z')) ||
+                (c == '_') || (c == ':') ||
+                ((i > 0) && (c >= '0') && (c <= '9'))) {
+                sb.append(c);
+            } else {
+                sb.append('_');
+            }
+        }
+    }
+
+    private void appendEscaped(String s, boolean quote) {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '\\') {
+                sb.append("\\\\");
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (quote && (c == '"')) {
+                sb.append("\\\"");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    private void appendDouble(double value) {
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            sb.append((value > 0) ? "+Inf" : "-Inf");
+        } else if ((value == Math.rint(value)) &&
+                   (Math.abs(value) < 1e15)) {
+            sb.append((long) value);
+        } else {
+            sb.append(value);
+        }
+    }
+}
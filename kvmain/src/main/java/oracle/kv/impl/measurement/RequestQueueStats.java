@@ -0,0 +1,194 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.measurement;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.google.gson.JsonObject;
+
+/**
+ * The time async requests waited in the request queue of a RepNode during a
+ * collection period, broken down by request class, see
+ * oracle.kv.impl.api.AsyncRequestQueue.
+ */
+public class RequestQueueStats implements ConciseStats, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long startTimeMillis;
+    private final long endTimeMillis;
+    private final List<ClassStats> classStats;
+
+    public RequestQueueStats(long startTimeMillis,
+                             long endTimeMillis,
+                             List<ClassStats> classStats) {
+        this.startTimeMillis = startTimeMillis;
+        this.endTimeMillis = endTimeMillis;
+        this.classStats = classStats;
+    }
+
+    /**
+     * Returns the stats for each request class.
+     */
+    public List<ClassStats> getClassStats() {
+        return classStats;
+    }
+
+    /**
+     * Returns the stats for the named request class, or null if not found.
+     */
+    public ClassStats getClassStats(String requestClass) {
+        for (ClassStats cs : classStats) {
+            if (cs.getRequestClass().equals(requestClass)) {
+                return cs;
+            }
+        }
+        return null;
+    }
+
+    public JsonObject toJson() {
+        final JsonObject result = new JsonObject();
+        for (ClassStats cs : classStats) {
+            result.add(cs.getRequestClass(), cs.toJson());
+        }
+        return result;
+    }
+
+    /* ConciseStats */
+
+    @Override
+    public long getStart() {
+        return startTimeMillis;
+    }
+
+    @Override
+    public long getEnd() {
+        return endTimeMillis;
+    }
+
+    @Override
+    public String getFormattedStats() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Async Request Queue");
+        for (ClassStats cs : classStats) {
+            sb.append("\n\t").append(cs.getFormatted());
+        }
+        sb.append("\n");
+        return sb.toString();
+    }
+
+    /* Object */
+
+    @Override
+    public String toString() {
+        return "RequestQueueStats[" + getFormattedStats() + "]";
+    }
+
+    /**
+     * The queue stats for one request class.
+     */
+    public static class ClassStats implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String requestClass;
+        private final long requestCount;
+        private final long queueTimeAvgNanos;
+        private final long queueTime95thNanos;
+        private final long queueTime99thNanos;
+        private final long expiredCount;
+
+        /**
+         * Creates an instance.
+         *
+         * @param requestClass the name of the request class
+         * @param requestCount the number of requests that left the queue
+         * @param queueTimeAvgNanos the average queue time
+         * @param queueTime95thNanos the 95th percentile queue time
+         * @param queueTime99thNanos the 99th percentile queue time
+         * @param expiredCount the number of requests that were dropped
+         * because their timeout expired while they were queued
+         */
+        public ClassStats(String requestClass,
+                          long requestCount,
+                          long queueTimeAvgNanos,
+                          long queueTime95thNanos,
+                          long queueTime99thNanos,
+                          long expiredCount) {
+            this.requestClass = requestClass;
+            this.requestCount = requestCount;
+            this.queueTimeAvgNanos = queueTimeAvgNanos;
+            this.queueTime95thNanos = queueTime95thNanos;
+            this.queueTime99thNanos = queueTime99thNanos;
+            this.expiredCount = expiredCount;
+        }
+
+        public String getRequestClass() {
+            return requestClass;
+        }
+
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        public long getQueueTimeAverageNanos() {
+            return queueTimeAvgNanos;
+        }
+
+        public long getQueueTime95thNanos() {
+            return queueTime95thNanos;
+        }
+
+        public long getQueueTime99thNanos() {
+            return queueTime99thNanos;
+        }
+
+        public long getExpiredCount() {
+            return expiredCount;
+        }
+
+        public JsonObject toJson() {
+            final JsonObject result = new JsonObject();
+            result.addProperty("requestCount", requestCount);
+            result.addProperty("queueTimeAvgMicros",
+                               NANOSECONDS.toMicros(queueTimeAvgNanos));
+            result.addProperty("queueTime95thMicros",
+                               NANOSECONDS.toMicros(queueTime95thNanos));
+            result.addProperty("queueTime99thMicros",
+                               NANOSECONDS.toMicros(queueTime99thNanos));
+            result.addProperty("expiredCount", expiredCount);
+            return result;
+        }
+
+        String getFormatted() {
+            return requestClass +
+                " requestCount=" + requestCount +
+                " queueTimeAvgMicros=" +
+                NANOSECONDS.toMicros(queueTimeAvgNanos) +
+                " queueTime95thMicros=" +
+                NANOSECONDS.toMicros(queueTime95thNanos) +
+                " queueTime99thMicros=" +
+                NANOSECONDS.toMicros(queueTime99thNanos) +
+                " expiredCount=" + expiredCount;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassStats[" + getFormatted() + "]";
+        }
+    }
+}
@@ -89,6 +89,8 @@ public class RepNode
         "oracle.kv.repnode.endpointgroupstats";
     public static final String
         NOTIFY_RN_LOGGING_STATS = "oracle.kv.repnode.loggingstats";
+    public static final String
+        NOTIFY_RN_HOT_KEYS = "oracle.kv.repnode.hotkeys";
 
     public RepNode(RepNodeParams rnp, MBeanServer server, StorageNode sn) {
         this.server = server;
@@ -215,6 +217,10 @@ public class RepNode
                 new String[]{NOTIFY_RN_LOGGING_STATS},
                 Notification.class.getName(),
                 "Announce RepNode SEVERE and WARNING logging entries"),
+            new MBeanNotificationInfo(
+                new String[]{NOTIFY_RN_HOT_KEYS},
+                Notification.class.getName(),
+                "New RepNode hot key stats are available"),
         };
     }
 
@@ -381,6 +387,17 @@ public class RepNode
             sendNotification(notification);
             sn.sendProxyNotification(notification);
         }
+
+        final String hotKeysStr = packet.toHotKeysJsonString();
+        if ((hotKeysStr != null) && !hotKeysStr.isEmpty()) {
+            notification = new Notification(
+                NOTIFY_RN_HOT_KEYS, oName, notifySequence++,
+                System.currentTimeMillis(),
+                "New hot key stats for this RepNode.");
+            notification.setUserData(hotKeysStr);
+            sendNotification(notification);
+            sn.sendProxyNotification(notification);
+        }
     }
 
     public synchronized void setServiceStatus(ServiceStatus newStatus) {
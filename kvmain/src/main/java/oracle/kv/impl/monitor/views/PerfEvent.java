@@ -17,6 +17,7 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.io.Serializable;
 
+import oracle.kv.impl.measurement.HotKeyStats;
 import oracle.kv.impl.measurement.LatencyInfo;
 import oracle.kv.impl.measurement.LatencyResult;
 import oracle.kv.impl.topo.ResourceId;
@@ -57,6 +58,13 @@ public class PerfEvent implements Serializable {
     private final boolean multiCeilingExceeded;
     private final boolean multiFloorExceeded;
 
+    /*
+     * The hottest shard keys, tables and partitions for the interval, or null
+     * if not available, including in events deserialized from older
+     * versions that did not have this field.
+     */
+    private final HotKeyStats hotKeyStats;
+
     public PerfEvent(ResourceId resourceId,
                      LatencyInfo singleInt,
                      LatencyInfo singleCum,
@@ -64,6 +72,19 @@ public class PerfEvent implements Serializable {
                      int throughputFloor,
                      LatencyInfo multiInt,
                      LatencyInfo multiCum) {
+        this(resourceId, singleInt, singleCum, latencyCeiling,
+             throughputFloor, multiInt, multiCum, null);
+    }
+
+    public PerfEvent(ResourceId resourceId,
+                     LatencyInfo singleInt,
+                     LatencyInfo singleCum,
+                     int latencyCeiling,
+                     int throughputFloor,
+                     LatencyInfo multiInt,
+                     LatencyInfo multiCum,
+                     HotKeyStats hotKeyStats) {
+        this.hotKeyStats = hotKeyStats;
         this.singleInt = singleInt;
         this.singleCum = singleCum;
         this.multiInt = multiInt;
@@ -256,6 +277,14 @@ public class PerfEvent implements Serializable {
         return resourceId;
     }
 
+    /**
+     * Returns the hottest shard keys, tables and partitions for the interval,
+     * or null if not available.
+     */
+    public HotKeyStats getHotKeyStats() {
+        return hotKeyStats;
+    }
+
     /** Never returns null. */
     public LatencyInfo getSingleInt() {
         return singleInt;
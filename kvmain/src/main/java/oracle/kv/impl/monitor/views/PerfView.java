@@ -105,7 +105,8 @@ public class PerfView implements View {
                  singleInterval, singleCumulative,
                  admin.getLatencyCeiling(resourceId),
                  admin.getThroughputFloor(resourceId),
-                 multiInterval, multiCumulative);
+                 multiInterval, multiCumulative,
+                 statsPacket.getHotKeyStats());
 
             for (ViewListener<PerfEvent> listener : listeners) {
                 listener.newInfo(resourceId, event);
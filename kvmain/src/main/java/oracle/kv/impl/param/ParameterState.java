@@ -1469,6 +1469,51 @@ public class ParameterState {
                                  Info.POLICY, Info.NORESTART),
                       Scope.STORE, 1, Integer.MAX_VALUE, null); }
 
+    /**
+     * A comma separated list of the indexes whose maintenance is deferred.
+     * Changes to a deferred index are recorded in a change log when a row is
+     * written and are applied to the index later, in batches, by a
+     * background thread on the master.
+     * <p>
+     * Each index is specified as [namespace:]table.index, for example
+     * "ns1:users.idx_age" or "parent.child.idx_name". The table name is the
+     * full name of the table, including the names of its parent tables, and
+     * the namespace is omitted for tables in the default namespace. Names
+     * must match the case used when the table and the index were created.
+     * The RN converts each entry to the name of the index's secondary
+     * database, indexName.tableName[:namespace], and entries that name no
+     * existing index are ignored.
+     * <p>
+     * The parameter applies to all RNs of the store, and is only read when
+     * an RN starts, so a change takes effect as each RN restarts. An index
+     * that is removed from the list stays deferred until its pending changes
+     * have been applied.
+     */
+    public static final String RN_DEFERRED_INDEXES = "rnDeferredIndexes";
+    public static final String RN_DEFERRED_INDEXES_DEFAULT = "";
+    static { putState(RN_DEFERRED_INDEXES,
+                      RN_DEFERRED_INDEXES_DEFAULT,
+                      Type.STRING,
+                      EnumSet.of(Info.REPNODE, Info.HIDDEN, Info.POLICY),
+                      Scope.STORE); }
+
+    /**
+     * Whether to keep a bloom filter over the keys of each partition
+     * database, so that gets and putIfAbsent operations for keys that are
+     * not present do not search the btree. Each filter uses about 10 bits
+     * per key, which is counted in the JE cache, and is rebuilt in the
+     * background when it fills up. A filter is dropped if all filters would
+     * use more than je.tree.keyFilterMaxMemoryPercentage of the cache.
+     */
+    public static final String RN_PARTITION_KEY_FILTER =
+        "rnPartitionKeyFilter";
+    public static final String RN_PARTITION_KEY_FILTER_DEFAULT = "false";
+    static { putState(RN_PARTITION_KEY_FILTER,
+                      RN_PARTITION_KEY_FILTER_DEFAULT,
+                      Type.BOOLEAN,
+                      EnumSet.of(Info.REPNODE, Info.HIDDEN, Info.POLICY),
+                      Scope.STORE); }
+
     /** The RN node type. */
     public static final String RN_NODE_TYPE = "rnNodeType";
     public static final String RN_NODE_TYPE_DEFAULT = "ELECTABLE";
@@ -1744,6 +1789,24 @@ public class ParameterState {
                       1, Integer.MAX_VALUE,
                       null); }
 
+    /**
+     * The request handler records a latency breakdown of one out of every
+     * this many requests, in addition to requests for which the client asks
+     * for one, and adds it to the per-phase latency histograms of the RN. A
+     * value of 0 disables sampling on the RN.
+     */
+    public static final String RN_RH_TRACE_SAMPLE_INTERVAL =
+        "rnRHTraceSampleInterval";
+    public static final String RN_RH_TRACE_SAMPLE_INTERVAL_DEFAULT = "1000";
+    static { putState(RN_RH_TRACE_SAMPLE_INTERVAL,
+                      RN_RH_TRACE_SAMPLE_INTERVAL_DEFAULT,
+                      Type.INT,
+                      EnumSet.of(Info.REPNODE,
+                                 Info.POLICY, Info.HIDDEN),
+                      Scope.STORE,
+                      0, Integer.MAX_VALUE,
+                      null); }
+
     /**
      * The maximum number of active socket connections that the async request
      * handler will permit, or 0 if there is no limit. This limit will be
@@ -1948,6 +2011,19 @@ public class ParameterState {
                                  Info.POLICY, Info.HIDDEN),
                       Scope.STORE); }
 
+    /*
+     * If true, the migration target requests that the source compress the
+     * partition migration stream.
+     */
+    public static final String RN_PM_COMPRESS_STREAM = "rnPMCompressStream";
+    public static final String RN_PM_COMPRESS_STREAM_DEFAULT = "true";
+    static { putState(RN_PM_COMPRESS_STREAM,
+                      RN_PM_COMPRESS_STREAM_DEFAULT,
+                      Type.BOOLEAN,
+                      EnumSet.of(Info.REPNODE,
+                                 Info.POLICY, Info.HIDDEN),
+                      Scope.STORE); }
+
     /*
      * RepNode parameters associated with statistics gathering.
      */
@@ -3748,6 +3824,53 @@ public class ParameterState {
                       EnumSet.of(Info.REPNODE, Info.NORESTART, Info.POLICY),
                       Scope.STORE); }
 
+    /**
+     * The port of the http endpoint that serves the metrics of a rep node in
+     * the OpenMetrics text format at the path "/metrics". The default value
+     * of 0 disables the endpoint. Each rep node on a storage node needs its
+     * own port. The endpoint listens on the hostname of the storage node.
+     */
+    public static final String SP_RN_METRICS_PORT = "rnMetricsPort";
+    public static final String SP_RN_METRICS_PORT_DEFAULT = "0";
+    static { putState(SP_RN_METRICS_PORT,
+                      SP_RN_METRICS_PORT_DEFAULT,
+                      Type.INT,
+                      EnumSet.of(Info.REPNODE),
+                      Scope.SERVICE,
+                      0, 65535,
+                      null); }
+
+    /**
+     * The port of the http endpoint that serves the metrics of a storage node
+     * agent in the OpenMetrics text format at the path "/metrics". The
+     * default value of 0 disables the endpoint. The endpoint listens on the
+     * hostname of the storage node.
+     */
+    public static final String SP_SN_METRICS_PORT = "snMetricsPort";
+    public static final String SP_SN_METRICS_PORT_DEFAULT = "0";
+    static { putState(SP_SN_METRICS_PORT,
+                      SP_SN_METRICS_PORT_DEFAULT,
+                      Type.INT,
+                      EnumSet.of(Info.SNA, Info.NORESTART),
+                      Scope.SERVICE,
+                      0, 65535,
+                      null); }
+
+    /**
+     * The metrics endpoints use plain http with no authentication, so they
+     * are not started on a secure store unless this parameter is set to
+     * true. It applies to the endpoints of the storage node and of its rep
+     * nodes.
+     */
+    public static final String SP_METRICS_ALLOW_INSECURE =
+        "metricsAllowInsecure";
+    public static final String SP_METRICS_ALLOW_INSECURE_DEFAULT = "false";
+    static { putState(SP_METRICS_ALLOW_INSECURE,
+                      SP_METRICS_ALLOW_INSECURE_DEFAULT,
+                      Type.BOOLEAN,
+                      EnumSet.of(Info.SNA, Info.NORESTART),
+                      Scope.SERVICE); }
+
     /**
      * To be replaced by GP_COLLECTOR_INTERVAL
      * @deprecated since 4.3
@@ -53,6 +53,7 @@ import oracle.kv.impl.query.runtime.ReceiveIter;
 import oracle.kv.impl.query.runtime.SeqMapIter;
 import oracle.kv.impl.query.runtime.SFWIter;
 import oracle.kv.impl.query.runtime.SortIter;
+import oracle.kv.impl.query.runtime.TopNIter;
 import oracle.kv.impl.query.runtime.UpdateFieldIter;
 import oracle.kv.impl.query.runtime.UpdateRowIter;
 import oracle.kv.impl.query.runtime.VarRefIter;
@@ -357,15 +358,102 @@ public class CodeGenerator extends ExprVisitor {
         PlanIter inputIter = theIters.pop();
         int resultReg = allocateResultReg(sort);
 
+        PlanIter[] offsetLimitIters = null;
+
+        if (!theForCloud) {
+            offsetLimitIters = generateOffsetLimitIters(sort);
+        }
+
         PlanIter sortIter = new SortIter(sort, resultReg, inputIter,
                                          sort.getInput().getType().getDef(),
                                          sort.getSortFieldPositions(),
                                          sort.getSortSpecs(),
                                          (theBottomBlockingExpr == sort),
+                                         (offsetLimitIters != null ?
+                                          offsetLimitIters[0] : null),
+                                         (offsetLimitIters != null ?
+                                          offsetLimitIters[1] : null),
                                          theForCloud);
         theIters.push(sortIter);
     }
 
+    /*
+     * If the results of the given sort are consumed by an SFW that applies
+     * a limit to them, generate iters that compute the offset (if any) and
+     * the limit of that SFW. They are separate from the iters generated for
+     * the SFW itself, because they are evaluated by other iters (SortIter
+     * and TopNIter) and, in the case of TopNIter, at the RNs.
+     */
+    private PlanIter[] generateOffsetLimitIters(ExprSort sort) {
+
+        ExprSFW sfw = sort.getLimitSFW();
+
+        if (sfw == null) {
+            return null;
+        }
+
+        PlanIter[] iters = new PlanIter[2];
+
+        if (sfw.getOffset() != null) {
+            theWalker.walk(sfw.getOffset());
+            iters[0] = theIters.pop();
+        }
+
+        theWalker.walk(sfw.getLimit());
+        iters[1] = theIters.pop();
+
+        return iters;
+    }
+
+    /*
+     * Add a TopNIter at the root of the RN plan, if the query sorts the
+     * results of the given ExprReceive at the driver and then applies a
+     * limit to them. This is not done if the driver needs to see all the
+     * results of the RNs, i.e., if it eliminates duplicates or if the RNs
+     * compute partial groups or joins, including joins of tables in the
+     * same hierarchy (NESTED TABLES or multiple tables in the FROM clause).
+     */
+    private PlanIter addTopNIter(ExprReceive e, PlanIter inputIter) {
+
+        if (theQCB.getOptions().isProxyQuery() ||
+            e.getIsUpdate() ||
+            e.getEliminateIndexDups() ||
+            e.getSortFieldPositions() != null ||
+            !e.getType().getDef().isRecord() ||
+            e.getNumParents() != 1 ||
+            e.getParent(0).getKind() != ExprKind.SORT ||
+            e.getInput().getKind() != ExprKind.SFW ||
+            inputIter.getKind() != PlanIterKind.SELECT) {
+            return inputIter;
+        }
+
+        ExprSFW rnSFW = (ExprSFW)e.getInput();
+
+        if (rnSFW.hasGroupBy() || rnSFW.hasJoin() || rnSFW.getNumFroms() > 1) {
+            return inputIter;
+        }
+
+        Expr domExpr = rnSFW.getDomainExpr(0);
+
+        if (domExpr.getKind() != ExprKind.BASE_TABLE ||
+            ((ExprBaseTable)domExpr).getNumTables() > 1) {
+            return inputIter;
+        }
+
+        ExprSort sort = (ExprSort)e.getParent(0);
+        PlanIter[] offsetLimitIters = generateOffsetLimitIters(sort);
+
+        if (offsetLimitIters == null) {
+            return inputIter;
+        }
+
+        return new TopNIter(e, allocateLocalReg(), inputIter,
+                            sort.getSortFieldPositions(),
+                            sort.getSortSpecs(),
+                            offsetLimitIters[0],
+                            offsetLimitIters[1]);
+    }
+
     @Override
     boolean enter(ExprGroup group) {
 
@@ -421,7 +509,7 @@ public class CodeGenerator extends ExprVisitor {
 
         theBottomBlockingExpr = null;
 
-        PlanIter inputIter = theIters.pop();
+        PlanIter inputIter = addTopNIter(e, theIters.pop());
         int resultReg = inputIter.getResultReg();
 
         PlanIter[] partitionsBindIters = null;
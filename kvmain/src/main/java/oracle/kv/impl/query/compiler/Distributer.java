@@ -529,6 +529,12 @@ class Distributer extends ExprVisitor {
             FuncCollect collect = (FuncCollect)aggrFunc;
             aggrFunc = new FuncCollectRegroup(collect.isDistinct());
             break;
+        case FN_APPROX_COUNT_DISTINCT:
+            /* The RNs send their sketches, which are merged at the driver */
+            aggrExpr.setFunction(FuncApproxCountDistinct.createPartial());
+            aggrExpr.computeType(false/*deep*/);
+            aggrFunc = FuncApproxCountDistinct.createMerge();
+            break;
         default:
             throw new QueryStateException(
                 "Unknown aggregate function: " + aggrFunc.getCode());
@@ -2433,6 +2433,7 @@ public class ExprSFW extends Expr {
             aggrFunc = funcLib.getFunc(FuncCode.FN_SEQ_MAX);
             break;
         case FN_ARRAY_COLLECT:
+        case FN_APPROX_COUNT_DISTINCT:
             return inputExpr;
         default:
             throw new QueryStateException(
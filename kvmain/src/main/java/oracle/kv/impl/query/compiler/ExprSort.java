@@ -40,6 +40,13 @@ import oracle.kv.impl.query.types.ExprType;
  * by the grop-by is compatible with the order-by. Then, during code generation,
  * if this flag is set and the group-by was indeed index-based, the ExprSort will
  * be skipped.
+ *
+ * If the sorted results are consumed by an SFW that just applies an offset
+ * and a limit to them (see ExprSFW.addGenericSort()), the sort needs to
+ * retain only the first offset + limit results. In this case, the code
+ * generator passes the offset and limit to the SortIter, and places a
+ * TopNIter at the root of the RN plan to reduce the results sent to the
+ * driver. See getLimitSFW().
  */
 public class ExprSort extends Expr {
 
@@ -119,6 +126,30 @@ public class ExprSort extends Expr {
         return theMatchesGroupBy;
     }
 
+    /*
+     * Returns the parent SFW of this sort, if that SFW just applies a limit,
+     * and possibly an offset, to the sorted results. Otherwise, returns null.
+     */
+    ExprSFW getLimitSFW() {
+
+        if (getNumParents() != 1 || getParent(0).getKind() != ExprKind.SFW) {
+            return null;
+        }
+
+        ExprSFW sfw = (ExprSFW)getParent(0);
+
+        if (sfw.getLimit() == null ||
+            sfw.getNumFroms() != 1 ||
+            sfw.getDomainExpr(0) != this ||
+            sfw.getWhereExpr() != null ||
+            sfw.hasGroupBy() ||
+            sfw.hasSort()) {
+            return null;
+        }
+
+        return sfw;
+    }
+
     boolean isDescendingIndexScan() {
 
         for (int i = 0; i < theSortSpecs.length; ++i) {
@@ -0,0 +1,101 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.compiler;
+
+import oracle.kv.impl.query.QueryException;
+import oracle.kv.impl.query.compiler.FunctionLib.FuncCode;
+import oracle.kv.impl.query.runtime.FuncApproxCountDistinctIter;
+import oracle.kv.impl.query.runtime.PlanIter;
+import oracle.kv.impl.query.types.TypeManager;
+
+/*
+ * long approx_count_distinct(any*)
+ *
+ * Returns an estimate of the number of distinct non-NULL values in its
+ * input. The estimate is computed with a HyperLogLog sketch, so it uses a
+ * fixed amount of memory, and its relative standard error is about 1.6%.
+ *
+ * When the aggregation is distributed (see Distributer.getRegroupingExpr()),
+ * the RNs use a "partial" variant of the function, which returns the sketch
+ * as a BINARY value, and the driver uses a "merge" variant, which merges the
+ * sketches and returns the estimate. These variants are not registered in
+ * the FunctionLib, and cannot be called directly by queries.
+ */
+class FuncApproxCountDistinct extends Function {
+
+    private final boolean theInputIsSketch;
+
+    private final boolean theReturnsSketch;
+
+    FuncApproxCountDistinct() {
+        this(false, false);
+    }
+
+    private FuncApproxCountDistinct(
+        boolean inputIsSketch,
+        boolean returnsSketch) {
+
+        super(FuncCode.FN_APPROX_COUNT_DISTINCT,
+              "approx_count_distinct",
+              TypeManager.ANY_STAR(),
+              (returnsSketch ?
+               TypeManager.BINARY_ONE() :
+               TypeManager.LONG_ONE())); /* RetType */
+        theInputIsSketch = inputIsSketch;
+        theReturnsSketch = returnsSketch;
+    }
+
+    static FuncApproxCountDistinct createPartial() {
+        return new FuncApproxCountDistinct(false, true);
+    }
+
+    static FuncApproxCountDistinct createMerge() {
+        return new FuncApproxCountDistinct(true, false);
+    }
+
+    @Override
+    boolean mayReturnNULL(ExprFuncCall caller) {
+        return false;
+    }
+
+    @Override
+    boolean mayReturnEmpty(ExprFuncCall caller) {
+        return false;
+    }
+
+    @Override
+    boolean isAggregate() {
+        return true;
+    }
+
+    @Override
+    PlanIter codegen(
+        CodeGenerator codegen,
+        ExprFuncCall caller,
+        PlanIter[] argIters) {
+
+        /* Drivers other than the java one cannot merge the sketches */
+        if (codegen.isForCloud()) {
+            throw new QueryException(
+                "The approx_count_distinct function is not supported " +
+                "by this driver", caller.getLocation());
+        }
+
+        int resultReg = codegen.allocateResultReg(caller);
+
+        return new FuncApproxCountDistinctIter(caller, resultReg, argIters[0],
+                                               theInputIsSketch,
+                                               theReturnsSketch);
+    }
+}
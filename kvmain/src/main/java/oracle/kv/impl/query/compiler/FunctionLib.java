@@ -203,7 +203,9 @@ public class FunctionLib {
         FN_ROW_METADATA(131),
 
         FN_CREATION_TIME(132),
-        FN_CREATION_TIME_MILLIS(133);
+        FN_CREATION_TIME_MILLIS(133),
+
+        FN_APPROX_COUNT_DISTINCT(134);
 
 
         private static final FuncCode[] VALUES = values();
@@ -450,6 +452,8 @@ public class FunctionLib {
         theFunctions.add(new FuncCreationTime());
         theFunctions.add(new FuncCreationTimeMillis());
 
+        theFunctions.add(new FuncApproxCountDistinct());
+
         for (Function func : theFunctions) {
             sctx.addFunction(func);
         }
@@ -0,0 +1,101 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the number of results to request in the successive batches of a
+ * partition or shard scan when adaptive batching is enabled (see
+ * ExecuteOptions.setAdaptiveBatching).
+ *
+ * The batch size starts at the results batch size of the query. It is
+ * doubled after a batch that came back full and fast, if the consumer of
+ * the results had to wait for it: fewer, bigger batches then save round
+ * trips. It is halved after a batch that took long to compute or read a lot
+ * of data, to bound the latency and memory of each batch. A batch for which
+ * the consumer did not wait leaves the size unchanged, because the consumer
+ * is the bottleneck and a bigger batch would only use more memory.
+ *
+ * An instance is used by a single scan, whose batches are requested one at a
+ * time, so it needs no synchronization.
+ */
+class AdaptiveBatchSize {
+
+    /* A batch that takes less than this to arrive is considered fast */
+    static final long FAST_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /* A batch that takes more than this to arrive is considered slow */
+    static final long SLOW_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /* A batch that reads more than this is considered large */
+    static final int MAX_BATCH_READ_KB = 4 * 1024;
+
+    /* The max factor by which the initial batch size may grow or shrink */
+    static final int MAX_FACTOR = 16;
+
+    /* The max batch size, unless the initial batch size is larger */
+    static final int MAX_BATCH_SIZE = 10000;
+
+    private final int theMinSize;
+
+    private final int theMaxSize;
+
+    private int theSize;
+
+    AdaptiveBatchSize(int initialSize) {
+        theSize = initialSize;
+        theMinSize = Math.max(1, initialSize / MAX_FACTOR);
+        theMaxSize = (int)Math.max(initialSize,
+                                   Math.min((long)initialSize * MAX_FACTOR,
+                                            MAX_BATCH_SIZE));
+    }
+
+    /**
+     * Returns the number of results to request in the next batch.
+     */
+    int get() {
+        return theSize;
+    }
+
+    /**
+     * Adjusts the batch size after the arrival of a batch.
+     *
+     * @param numResults the number of results in the batch
+     * @param readKB the KB read to compute the batch
+     * @param elapsedNanos the time between sending the request and receiving
+     * the batch
+     * @param consumerWaited whether the consumer of the results had to wait
+     * for the batch
+     */
+    void update(int numResults,
+                int readKB,
+                long elapsedNanos,
+                boolean consumerWaited) {
+
+        if (elapsedNanos > SLOW_BATCH_NANOS || readKB > MAX_BATCH_READ_KB) {
+            theSize = Math.max(theMinSize, theSize / 2);
+        } else if (consumerWaited &&
+                   numResults >= theSize &&
+                   elapsedNanos < FAST_BATCH_NANOS) {
+            theSize = Math.min(theMaxSize, theSize * 2);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveBatchSize[size=" + theSize + " min=" + theMinSize +
+            " max=" + theMaxSize + "]";
+    }
+}
@@ -90,6 +90,15 @@ public class AndOrIter extends PlanIter {
         return theCode;
     }
 
+    PlanIter[] getArgs() {
+        return theArgs;
+    }
+
+    @Override
+    CompiledPredicate.BoolNode compileBool() {
+        return CompiledPredicate.compileAndOr(theCode, theArgs);
+    }
+
     @Override
     public void open(RuntimeControlBlock rcb) {
         rcb.setState(theStatePos, new PlanIterState());
@@ -161,6 +170,88 @@ public class AndOrIter extends PlanIter {
         return true;
     }
 
+    /*
+     * The kernel reads only the first item of each operand, like next(), so
+     * it can be used if any of the operands has a kernel of its own.
+     */
+    @Override
+    boolean supportsBatch(TupleBatch batch) {
+        for (PlanIter arg : theArgs) {
+            if (arg.supportsBatch(batch)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Evaluates the operands in order, each one only for the rows whose
+     * result has not been decided by the previous operands, as next() does
+     * for a single row.
+     */
+    @Override
+    void nextBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch,
+        boolean[] active,
+        ValueVector result) {
+
+        boolean isAnd = (theCode == FuncCode.OP_AND);
+        boolean[] pending = batch.allocMask();
+        boolean[] haveNull = batch.allocMask();
+        ValueVector argRes = batch.allocVector();
+
+        try {
+            for (int i = 0; i < batch.size(); ++i) {
+                pending[i] = active[i];
+                haveNull[i] = false;
+            }
+
+            for (PlanIter arg : theArgs) {
+
+                arg.nextBatch(rcb, batch, pending, argRes);
+
+                for (int i = 0; i < batch.size(); ++i) {
+
+                    if (!pending[i]) {
+                        continue;
+                    }
+
+                    boolean argResult;
+
+                    if (argRes.isEmpty(i)) {
+                        argResult = false;
+                    } else if (argRes.isNull(i)) {
+                        haveNull[i] = true;
+                        continue;
+                    } else {
+                        argResult = argRes.getBoolean(i);
+                    }
+
+                    /* The result of the row is decided */
+                    if (argResult != isAnd) {
+                        pending[i] = false;
+                        result.setBoolean(i, argResult);
+                    }
+                }
+            }
+
+            for (int i = 0; i < batch.size(); ++i) {
+                if (pending[i]) {
+                    if (haveNull[i]) {
+                        result.setNull(i);
+                    } else {
+                        result.setBoolean(i, isAnd);
+                    }
+                }
+            }
+        } finally {
+            batch.releaseMask(pending);
+            batch.releaseMask(haveNull);
+            batch.releaseVector(argRes);
+        }
+    }
+
     @Override
     public void reset(RuntimeControlBlock rcb) {
 
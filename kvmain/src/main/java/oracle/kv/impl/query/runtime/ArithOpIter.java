@@ -52,6 +52,16 @@ import oracle.kv.table.FieldDef.Type;
  */
 public class ArithOpIter extends PlanIter {
 
+    static private class ArithOpState extends PlanIterState {
+
+        /* The values of the args for the current row */
+        final FieldValueImpl[] theArgValues;
+
+        ArithOpState(int numArgs) {
+            theArgValues = new FieldValueImpl[numArgs];
+        }
+    }
+
     private final FuncCode theCode;
 
     private final PlanIter[] theArgs;
@@ -173,7 +183,7 @@ public class ArithOpIter extends PlanIter {
 
     @Override
     public void open(RuntimeControlBlock rcb) {
-        rcb.setState(theStatePos, new PlanIterState());
+        rcb.setState(theStatePos, new ArithOpState(theArgs.length));
         for (PlanIter argIter : theArgs) {
             argIter.open(rcb);
         }
@@ -182,7 +192,7 @@ public class ArithOpIter extends PlanIter {
     @Override
     public boolean next(RuntimeControlBlock rcb) {
 
-        PlanIterState state = rcb.getState(theStatePos);
+        ArithOpState state = (ArithOpState)rcb.getState(theStatePos);
 
         if (state.isDone()) {
             return false;
@@ -224,43 +234,73 @@ public class ArithOpIter extends PlanIter {
                 return true;
             }
 
-            FieldDef.Type argType = argValue.getType();
-
-            switch (argType) {
-            case INTEGER:
-                break;
-            case LONG:
-                if (resultType == Type.INTEGER) {
-                    resultType = Type.LONG;
-                }
-                break;
-            case FLOAT:
-                if (resultType == Type.INTEGER || resultType == Type.LONG) {
-                    resultType = Type.FLOAT;
-                }
-                break;
-            case DOUBLE:
-                if (resultType == Type.INTEGER || resultType == Type.LONG ||
-                    resultType == Type.FLOAT) {
-                    resultType = Type.DOUBLE;
-                }
-                break;
-            case NUMBER:
-                resultType = Type.NUMBER;
-                break;
-            default:
-                throw new QueryException(
-                    "Operand in arithmetic operation has illegal type\n" +
-                    "Operand : " + i + " type :\n" +
-                    argValue.getDefinition().getDDLString(),
-                    argIter.getLocation());
-            }
+            state.theArgValues[i] = argValue;
+            resultType = promoteType(resultType, argValue, i);
         }
 
         assert theOps.length() == theArgs.length :
             "Not enough operations: ops:" + (theOps.length() - 1) + " args:" +
                 theArgs.length;
 
+        FieldValueImpl res = compute(rcb, resultType, state.theArgValues);
+
+        rcb.setRegVal(theResultReg, res);
+
+        state.done();
+        return true;
+    }
+
+    /*
+     * Returns the result type of the operation after promoting the given
+     * result type of the preceding args for the type of arg i. Throws an
+     * exception if the arg is not numeric.
+     */
+    private Type promoteType(Type resultType, FieldValueImpl argValue, int i) {
+
+        Type argType = argValue.getType();
+
+        switch (argType) {
+        case INTEGER:
+            break;
+        case LONG:
+            if (resultType == Type.INTEGER) {
+                resultType = Type.LONG;
+            }
+            break;
+        case FLOAT:
+            if (resultType == Type.INTEGER || resultType == Type.LONG) {
+                resultType = Type.FLOAT;
+            }
+            break;
+        case DOUBLE:
+            if (resultType == Type.INTEGER || resultType == Type.LONG ||
+                resultType == Type.FLOAT) {
+                resultType = Type.DOUBLE;
+            }
+            break;
+        case NUMBER:
+            resultType = Type.NUMBER;
+            break;
+        default:
+            throw new QueryException(
+                "Operand in arithmetic operation has illegal type\n" +
+                "Operand : " + i + " type :\n" +
+                argValue.getDefinition().getDDLString(),
+                theArgs[i].getLocation());
+        }
+
+        return resultType;
+    }
+
+    /*
+     * Computes the result of the operation, given the values of the args
+     * and the result type.
+     */
+    private FieldValueImpl compute(
+        RuntimeControlBlock rcb,
+        Type resultType,
+        FieldValueImpl[] argValues) {
+
         int iRes = theInitResult;
         long lRes = theInitResult;
         float fRes = theInitResult;
@@ -270,8 +310,7 @@ public class ArithOpIter extends PlanIter {
         try {
             for (int i = 0 ; i < theArgs.length; i++) {
 
-                PlanIter argIter = theArgs[i];
-                FieldValueImpl argValue = rcb.getRegVal(argIter.getResultReg());
+                FieldValueImpl argValue = argValues[i];
                 assert (argValue != null);
 
                 if (theCode == FuncCode.OP_ADD_SUB) {
@@ -407,34 +446,231 @@ public class ArithOpIter extends PlanIter {
                 ae, getLocation());
         }
 
-        FieldValueImpl res = null;
         switch (resultType) {
         case INTEGER:
-            res = FieldDefImpl.Constants.integerDef.createInteger(iRes);
-            break;
+            return FieldDefImpl.Constants.integerDef.createInteger(iRes);
         case LONG:
-            res = FieldDefImpl.Constants.longDef.createLong(lRes);
-            break;
+            return FieldDefImpl.Constants.longDef.createLong(lRes);
         case FLOAT:
-            res = FieldDefImpl.Constants.floatDef.createFloat(fRes);
-            break;
+            return FieldDefImpl.Constants.floatDef.createFloat(fRes);
         case DOUBLE:
-            res = FieldDefImpl.Constants.doubleDef.createDouble(dRes);
-            break;
+            return FieldDefImpl.Constants.doubleDef.createDouble(dRes);
         case NUMBER:
-            res = FieldDefImpl.Constants.numberDef.createNumber(nRes);
-            break;
+            return FieldDefImpl.Constants.numberDef.createNumber(nRes);
         default:
             throw new QueryStateException(
                 "Invalid result type: " + resultType);
         }
+    }
 
-        rcb.setRegVal(theResultReg, res);
-
-        state.done();
+    /*
+     * The kernel requires all the args to support batches, because the
+     * default nextBatch() would not detect args that return more than one
+     * item.
+     */
+    @Override
+    boolean supportsBatch(TupleBatch batch) {
+        for (PlanIter arg : theArgs) {
+            if (!arg.supportsBatch(batch)) {
+                return false;
+            }
+        }
         return true;
     }
 
+    /*
+     * Evaluates the args in order, each one only for the rows that did not
+     * get an EMPTY or NULL value for a preceding arg, as next() does for a
+     * single row. Rows whose args are all INTEGER, LONG or DOUBLE values are
+     * then computed on primitives; the others go through compute().
+     */
+    @Override
+    void nextBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch,
+        boolean[] active,
+        ValueVector result) {
+
+        if (!supportsBatch(batch)) {
+            super.nextBatch(rcb, batch, active, result);
+            return;
+        }
+
+        int numRows = batch.size();
+        boolean[] pending = batch.allocMask();
+        ValueVector[] argVecs = new ValueVector[theArgs.length];
+
+        try {
+            for (int i = 0; i < numRows; ++i) {
+                pending[i] = active[i];
+            }
+
+            for (int a = 0; a < theArgs.length; ++a) {
+
+                argVecs[a] = batch.allocVector();
+                theArgs[a].nextBatch(rcb, batch, pending, argVecs[a]);
+
+                for (int i = 0; i < numRows; ++i) {
+
+                    if (!pending[i]) {
+                        continue;
+                    }
+
+                    if (argVecs[a].isEmpty(i)) {
+                        result.setEmpty(i);
+                        pending[i] = false;
+                    } else if (argVecs[a].isNull(i)) {
+                        result.setNull(i);
+                        pending[i] = false;
+                    }
+                }
+            }
+
+            FieldValueImpl[] argValues = null;
+
+            for (int i = 0; i < numRows; ++i) {
+
+                if (!pending[i]) {
+                    continue;
+                }
+
+                /*
+                 * Find the result type for the row, if all the args are
+                 * INTEGER, LONG or DOUBLE.
+                 */
+                byte resultKind = (theHaveRealDiv ?
+                                   ValueVector.DOUBLE :
+                                   ValueVector.INT);
+
+                for (int a = 0; a < theArgs.length; ++a) {
+                    byte kind = argVecs[a].getKind(i);
+                    if (kind == ValueVector.LONG &&
+                        resultKind == ValueVector.INT) {
+                        resultKind = ValueVector.LONG;
+                    } else if (kind == ValueVector.DOUBLE) {
+                        resultKind = ValueVector.DOUBLE;
+                    } else if (kind != ValueVector.INT &&
+                               kind != ValueVector.LONG) {
+                        resultKind = ValueVector.OTHER;
+                        break;
+                    }
+                }
+
+                try {
+                    switch (resultKind) {
+                    case ValueVector.INT:
+                        result.setInt(i, computeInt(argVecs, i));
+                        continue;
+                    case ValueVector.LONG:
+                        result.setLong(i, computeLong(argVecs, i));
+                        continue;
+                    case ValueVector.DOUBLE:
+                        result.setDouble(i, computeDouble(argVecs, i));
+                        continue;
+                    default:
+                        break;
+                    }
+                } catch (ArithmeticException ae) {
+                    throw new QueryException(
+                        "Arithmetic exception in query: " + ae.getMessage(),
+                        ae, getLocation());
+                }
+
+                if (argValues == null) {
+                    argValues = new FieldValueImpl[theArgs.length];
+                }
+
+                Type resultType = (theHaveRealDiv ? Type.DOUBLE : Type.INTEGER);
+
+                for (int a = 0; a < theArgs.length; ++a) {
+                    argValues[a] = argVecs[a].get(i);
+                    resultType = promoteType(resultType, argValues[a], a);
+                }
+
+                result.set(i, compute(rcb, resultType, argValues));
+            }
+        } finally {
+            batch.releaseMask(pending);
+            for (ValueVector vec : argVecs) {
+                if (vec != null) {
+                    batch.releaseVector(vec);
+                }
+            }
+        }
+    }
+
+    private int computeInt(ValueVector[] argVecs, int row) {
+
+        int res = theInitResult;
+
+        for (int a = 0; a < argVecs.length; ++a) {
+            int val = (int)argVecs[a].getLong(row);
+            switch (theOps.charAt(a)) {
+            case '+':
+                res += val;
+                break;
+            case '-':
+                res -= val;
+                break;
+            case '*':
+                res *= val;
+                break;
+            default:
+                res /= val;
+            }
+        }
+
+        return res;
+    }
+
+    private long computeLong(ValueVector[] argVecs, int row) {
+
+        long res = theInitResult;
+
+        for (int a = 0; a < argVecs.length; ++a) {
+            long val = argVecs[a].getLong(row);
+            switch (theOps.charAt(a)) {
+            case '+':
+                res += val;
+                break;
+            case '-':
+                res -= val;
+                break;
+            case '*':
+                res *= val;
+                break;
+            default:
+                res /= val;
+            }
+        }
+
+        return res;
+    }
+
+    private double computeDouble(ValueVector[] argVecs, int row) {
+
+        double res = theInitResult;
+
+        for (int a = 0; a < argVecs.length; ++a) {
+            double val = argVecs[a].getDouble(row);
+            switch (theOps.charAt(a)) {
+            case '+':
+                res += val;
+                break;
+            case '-':
+                res -= val;
+                break;
+            case '*':
+                res *= val;
+                break;
+            default:
+                res /= val;
+            }
+        }
+
+        return res;
+    }
+
     @Override
     public void reset(RuntimeControlBlock rcb) {
         for (PlanIter argIter : theArgs) {
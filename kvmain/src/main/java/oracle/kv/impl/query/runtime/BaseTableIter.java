@@ -708,6 +708,30 @@ public class BaseTableIter extends PlanIter {
         return false;
     }
 
+    @Override
+    public boolean supportsTupleBatches(RuntimeControlBlock rcb) {
+
+        TableIterState state = (TableIterState)rcb.getState(theStatePos);
+
+        return (state.theWorkerIter != null &&
+                state.theWorkerIter.supportsTupleBatches(rcb));
+    }
+
+    @Override
+    public boolean nextTupleBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch) {
+
+        TableIterState state = (TableIterState)rcb.getState(theStatePos);
+
+        if (state.theWorkerIter != null) {
+            return state.theWorkerIter.nextTupleBatch(rcb, batch);
+        }
+
+        state.done();
+        return false;
+    }
+
     @Override
     public void reset(RuntimeControlBlock rcb) {
 
@@ -148,6 +148,12 @@ public class CompOpIter extends PlanIter {
         return theCode;
     }
 
+    @Override
+    CompiledPredicate.BoolNode compileBool() {
+        return CompiledPredicate.compileComp(theCode, theLeftOp, theRightOp,
+                                             getLocation());
+    }
+
     @Override
     public void open(RuntimeControlBlock rcb) {
         rcb.setState(theStatePos, new CompIterState());
@@ -227,40 +233,127 @@ public class CompOpIter extends PlanIter {
             return true;
         }
 
-        int comp = state.theResult.comp;
-        boolean result;
+        FieldValueImpl res = (applyOp(state.theResult.comp) ?
+                              BooleanValueImpl.trueValue :
+                              BooleanValueImpl.falseValue);
+        rcb.setRegVal(theResultReg, res);
+
+        state.done();
+        return true;
+    }
+
+    /*
+     * Returns the result of the comparison operator, given the result of
+     * comparing its operands.
+     */
+    private boolean applyOp(int comp) {
 
         switch (theCode) {
         case OP_EQ:
-            result = (comp == 0);
-            break;
+            return (comp == 0);
         case OP_NEQ:
-            result = (comp != 0);
-            break;
+            return (comp != 0);
         case OP_GT:
-            result = (comp > 0);
-            break;
+            return (comp > 0);
         case OP_GE:
-            result = (comp >= 0);
-            break;
+            return (comp >= 0);
         case OP_LT:
-            result = (comp < 0);
-            break;
+            return (comp < 0);
         case OP_LE:
-            result = (comp <= 0);
-            break;
+            return (comp <= 0);
         default:
             throw new QueryStateException(
                 "Invalid operation code: " + theCode);
         }
+    }
 
-        FieldValueImpl res = (result ?
-                              BooleanValueImpl.trueValue :
-                              BooleanValueImpl.falseValue);
-        rcb.setRegVal(theResultReg, res);
+    /*
+     * The kernel requires both operands to support batches, because the
+     * default nextBatch() would not detect operands that return more than
+     * one item.
+     */
+    @Override
+    boolean supportsBatch(TupleBatch batch) {
+        return (theLeftOp.supportsBatch(batch) &&
+                theRightOp.supportsBatch(batch));
+    }
 
-        state.done();
-        return true;
+    @Override
+    void nextBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch,
+        boolean[] active,
+        ValueVector result) {
+
+        if (!supportsBatch(batch)) {
+            super.nextBatch(rcb, batch, active, result);
+            return;
+        }
+
+        CompIterState state = (CompIterState)rcb.getState(theStatePos);
+        ValueVector lvec = batch.allocVector();
+        ValueVector rvec = batch.allocVector();
+
+        try {
+            theLeftOp.nextBatch(rcb, batch, active, lvec);
+            theRightOp.nextBatch(rcb, batch, active, rvec);
+
+            for (int i = 0; i < batch.size(); ++i) {
+
+                if (!active[i]) {
+                    continue;
+                }
+
+                boolean lempty = lvec.isEmpty(i);
+                boolean rempty = rvec.isEmpty(i);
+                int comp;
+
+                if (lempty || rempty) {
+                    if (lempty && rempty) {
+                        comp = 0;
+                    } else if (theCode == FuncCode.OP_NEQ) {
+                        comp = 1;
+                    } else {
+                        result.setBoolean(i, false);
+                        continue;
+                    }
+                } else if (lvec.isNull(i) || rvec.isNull(i)) {
+                    result.setNull(i);
+                    continue;
+                } else if (lvec.isIntegral(i) && rvec.isIntegral(i)) {
+                    comp = LongValueImpl.compare(lvec.getLong(i),
+                                                 rvec.getLong(i));
+                } else if (lvec.isNumeric(i) && rvec.isNumeric(i)) {
+                    comp = Double.compare(lvec.getDouble(i),
+                                          rvec.getDouble(i));
+                } else {
+                    compare(rcb,
+                            lvec.get(i),
+                            rvec.get(i),
+                            theCode,
+                            false, // forSort
+                            state.theResult,
+                            getLocation());
+
+                    if (state.theResult.haveNull) {
+                        result.setNull(i);
+                        continue;
+                    }
+
+                    if (state.theResult.incompatible) {
+                        result.setBoolean(i, false);
+                        continue;
+                    }
+
+                    comp = state.theResult.comp;
+                }
+
+                result.setBoolean(i, applyOp(comp));
+            }
+        } finally {
+            batch.releaseVector(lvec);
+            batch.releaseVector(rvec);
+        }
     }
 
     @Override
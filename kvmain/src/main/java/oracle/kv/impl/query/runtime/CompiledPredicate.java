@@ -0,0 +1,334 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import oracle.kv.impl.api.table.FieldValueImpl;
+import oracle.kv.impl.api.table.LongValueImpl;
+import oracle.kv.impl.query.QueryException.Location;
+import oracle.kv.impl.query.compiler.FunctionLib.FuncCode;
+import oracle.kv.table.FieldDef.Type;
+
+/**
+ * A predicate (a WHERE clause, an index filtering pred, or an ON pred)
+ * compiled into a tree of closures.
+ *
+ * Interpreting a predicate costs a next()/reset() cycle per iterator and
+ * row, with state lookups, register writes and boxed boolean results at
+ * every node. For the common case of comparisons between column references,
+ * constants and external variables, combined with AND and OR, the compiled
+ * form reads the operand values directly and compares them with primitive
+ * fast paths for numbers and strings.
+ *
+ * Operands of other kinds are not compiled: a comparison or any other
+ * boolean expression with such operands is computed by its iterator, as a
+ * leaf of the compiled tree. In addition, the compiled code gives up on a
+ * row whose values it does not handle (e.g., arrays that would be unnested
+ * by a field step). In this case eval() returns INTERPRET and the caller
+ * computes the predicate with the interpreter, so the result, including any
+ * errors raised, is always that of the interpreter.
+ *
+ * A CompiledPredicate holds no per-query state, so it is computed once per
+ * plan and cached in the predicate iterator.
+ */
+public class CompiledPredicate {
+
+    static final int FALSE = 0;
+
+    static final int TRUE = 1;
+
+    static final int NULL = 2;
+
+    /* The row must be computed by the interpreter */
+    static final int INTERPRET = 3;
+
+    /**
+     * A compiled boolean expression. Returns FALSE, TRUE, NULL or INTERPRET.
+     * An expression that returns no items is FALSE.
+     */
+    @FunctionalInterface
+    interface BoolNode {
+        int eval(RuntimeControlBlock rcb);
+    }
+
+    /**
+     * A compiled expression returning at most one item. Returns the EMPTY
+     * value if the expression returns no items, or null if the row must be
+     * computed by the interpreter.
+     */
+    @FunctionalInterface
+    interface ValueNode {
+        FieldValueImpl eval(RuntimeControlBlock rcb);
+    }
+
+    private final BoolNode theRoot;
+
+    private CompiledPredicate(BoolNode root) {
+        theRoot = root;
+    }
+
+    /**
+     * Computes the given predicate on the current registers and returns
+     * whether it is satisfied. This is a replacement for a next()/reset()
+     * cycle on the predicate iterator, where an empty or NULL result means
+     * false.
+     */
+    public static boolean evalPredicate(
+        RuntimeControlBlock rcb,
+        PlanIter pred) {
+
+        CompiledPredicate compiled = pred.getCompiledPredicate();
+
+        if (compiled != null && rcb.getTraceLevel() < 4) {
+
+            int res = compiled.theRoot.eval(rcb);
+
+            if (res != INTERPRET) {
+                return (res == TRUE);
+            }
+        }
+
+        boolean match = pred.next(rcb);
+
+        if (match) {
+            FieldValueImpl val = rcb.getRegVal(pred.getResultReg());
+            match = (val.isNull() ? false : val.getBoolean());
+        }
+
+        pred.reset(rcb);
+        return match;
+    }
+
+    /**
+     * Compiles the given predicate. Returns null if no part of it can be
+     * compiled, in which case there is nothing to gain over the interpreter.
+     */
+    static CompiledPredicate compile(PlanIter pred) {
+
+        if (!hasCompiledPart(pred)) {
+            return null;
+        }
+
+        return new CompiledPredicate(compileBool(pred));
+    }
+
+    private static boolean hasCompiledPart(PlanIter iter) {
+
+        if (iter instanceof AndOrIter) {
+            for (PlanIter arg : ((AndOrIter)iter).getArgs()) {
+                if (hasCompiledPart(arg)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return (iter.compileBool() != null);
+    }
+
+    /**
+     * Returns the compiled form of a boolean iterator, using the iterator
+     * itself if it cannot be compiled.
+     */
+    static BoolNode compileBool(PlanIter iter) {
+
+        BoolNode node = iter.compileBool();
+
+        if (node != null) {
+            return node;
+        }
+
+        return (rcb) -> {
+            boolean more = iter.next(rcb);
+            int res;
+
+            if (!more) {
+                res = FALSE;
+            } else {
+                FieldValueImpl val = rcb.getRegVal(iter.getResultReg());
+                res = (val.isNull() ? NULL :
+                       (val.getBoolean() ? TRUE : FALSE));
+            }
+
+            iter.reset(rcb);
+            return res;
+        };
+    }
+
+    /**
+     * Returns the compiled form of AND or OR over the given operands. The
+     * operands are computed in order until the result is known, as in
+     * AndOrIter.next().
+     */
+    static BoolNode compileAndOr(FuncCode code, PlanIter[] args) {
+
+        BoolNode[] nodes = new BoolNode[args.length];
+
+        for (int i = 0; i < args.length; ++i) {
+            nodes[i] = compileBool(args[i]);
+        }
+
+        if (code == FuncCode.OP_AND) {
+            return (rcb) -> {
+                boolean haveNull = false;
+                for (BoolNode node : nodes) {
+                    int res = node.eval(rcb);
+                    if (res == FALSE || res == INTERPRET) {
+                        return res;
+                    }
+                    if (res == NULL) {
+                        haveNull = true;
+                    }
+                }
+                return (haveNull ? NULL : TRUE);
+            };
+        }
+
+        assert(code == FuncCode.OP_OR);
+
+        return (rcb) -> {
+            boolean haveNull = false;
+            for (BoolNode node : nodes) {
+                int res = node.eval(rcb);
+                if (res == TRUE || res == INTERPRET) {
+                    return res;
+                }
+                if (res == NULL) {
+                    haveNull = true;
+                }
+            }
+            return (haveNull ? NULL : FALSE);
+        };
+    }
+
+    /**
+     * Returns the compiled form of a value comparison, or null if any of the
+     * operands cannot be compiled. The result is the same as that of
+     * CompOpIter.next().
+     */
+    static BoolNode compileComp(
+        FuncCode code,
+        PlanIter leftOp,
+        PlanIter rightOp,
+        Location location) {
+
+        ValueNode left = leftOp.compileValue();
+        ValueNode right = rightOp.compileValue();
+
+        if (left == null || right == null) {
+            return null;
+        }
+
+        return (rcb) -> {
+
+            FieldValueImpl lval = left.eval(rcb);
+
+            if (lval == null) {
+                return INTERPRET;
+            }
+
+            FieldValueImpl rval = right.eval(rcb);
+
+            if (rval == null) {
+                return INTERPRET;
+            }
+
+            boolean lempty = lval.isEMPTY();
+            boolean rempty = rval.isEMPTY();
+            int comp;
+
+            if (lempty || rempty) {
+                if (lempty && rempty) {
+                    comp = 0;
+                } else if (code == FuncCode.OP_NEQ) {
+                    comp = 1;
+                } else {
+                    return FALSE;
+                }
+            } else if (lval.isNull() || rval.isNull()) {
+                return NULL;
+            } else {
+                Type ltype = lval.getType();
+                Type rtype = rval.getType();
+
+                if (isIntegral(ltype) && isIntegral(rtype)) {
+                    comp = LongValueImpl.compare(lval.getLong(),
+                                                 rval.getLong());
+                } else if (isNumeric(ltype) && isNumeric(rtype)) {
+                    comp = Double.compare(getDouble(lval, ltype),
+                                          getDouble(rval, rtype));
+                } else if (ltype == Type.STRING && rtype == Type.STRING) {
+                    comp = lval.getString().compareTo(rval.getString());
+                } else {
+                    CompOpIter.CompResult res = new CompOpIter.CompResult();
+
+                    CompOpIter.compare(rcb, lval, rval, code,
+                                       false, // forSort
+                                       res, location);
+
+                    if (res.haveNull) {
+                        return NULL;
+                    }
+
+                    if (res.incompatible) {
+                        return FALSE;
+                    }
+
+                    comp = res.comp;
+                }
+            }
+
+            return (applyOp(code, comp) ? TRUE : FALSE);
+        };
+    }
+
+    private static boolean isIntegral(Type type) {
+        return (type == Type.INTEGER || type == Type.LONG);
+    }
+
+    private static boolean isNumeric(Type type) {
+        return (type == Type.INTEGER || type == Type.LONG ||
+                type == Type.DOUBLE);
+    }
+
+    private static double getDouble(FieldValueImpl val, Type type) {
+        switch (type) {
+        case INTEGER:
+            return val.getInt();
+        case LONG:
+            return val.getLong();
+        default:
+            return val.getDouble();
+        }
+    }
+
+    private static boolean applyOp(FuncCode code, int comp) {
+
+        switch (code) {
+        case OP_EQ:
+            return (comp == 0);
+        case OP_NEQ:
+            return (comp != 0);
+        case OP_GT:
+            return (comp > 0);
+        case OP_GE:
+            return (comp >= 0);
+        case OP_LT:
+            return (comp < 0);
+        case OP_LE:
+            return (comp <= 0);
+        default:
+            throw new IllegalStateException("Invalid operation code: " + code);
+        }
+    }
+}
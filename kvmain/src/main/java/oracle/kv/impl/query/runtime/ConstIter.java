@@ -95,6 +95,30 @@ public class ConstIter extends PlanIter {
         return true;
     }
 
+    @Override
+    CompiledPredicate.ValueNode compileValue() {
+        return (rcb) -> theValue;
+    }
+
+    @Override
+    boolean supportsBatch(TupleBatch batch) {
+        return true;
+    }
+
+    @Override
+    void nextBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch,
+        boolean[] active,
+        ValueVector result) {
+
+        for (int i = 0; i < batch.size(); ++i) {
+            if (active[i]) {
+                result.set(i, theValue);
+            }
+        }
+    }
+
     @Override
     public void reset(RuntimeControlBlock rcb) {
         PlanIterState state = rcb.getState(theStatePos);
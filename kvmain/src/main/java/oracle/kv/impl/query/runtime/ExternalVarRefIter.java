@@ -128,6 +128,40 @@ public class ExternalVarRefIter extends PlanIter {
         return (val.isEMPTY() ? false : true);
     }
 
+    /*
+     * An unbound variable is left to the interpreter, which raises the error.
+     */
+    @Override
+    CompiledPredicate.ValueNode compileValue() {
+        return (rcb) -> rcb.getExternalVar(theId);
+    }
+
+    @Override
+    boolean supportsBatch(TupleBatch batch) {
+        return true;
+    }
+
+    @Override
+    void nextBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch,
+        boolean[] active,
+        ValueVector result) {
+
+        FieldValueImpl val = rcb.getExternalVar(theId);
+
+        if (val == null) {
+            throw new QueryStateException(
+                "Variable " + theName + " has not been set");
+        }
+
+        for (int i = 0; i < batch.size(); ++i) {
+            if (active[i]) {
+                result.set(i, val);
+            }
+        }
+    }
+
     @Override
     public void reset(RuntimeControlBlock rcb) {
         PlanIterState state = rcb.getState(theStatePos);
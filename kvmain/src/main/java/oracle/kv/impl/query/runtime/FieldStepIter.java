@@ -176,6 +176,81 @@ public class FieldStepIter extends PlanIter {
         return PlanIterKind.FIELD_STEP;
     }
 
+    /*
+     * A step with a constant field name is compiled if its input is compiled.
+     * Context items that next() would unnest (arrays), or for which it would
+     * raise an error, are left to the interpreter.
+     */
+    @Override
+    CompiledPredicate.ValueNode compileValue() {
+
+        if (theFieldName == null || theCtxItemReg >= 0) {
+            return null;
+        }
+
+        final EmptyValueImpl empty = EmptyValueImpl.getInstance();
+
+        if (theFieldPos >= 0 && theInputIter.producesTuples()) {
+
+            if (!(theInputIter instanceof VarRefIter)) {
+                return null;
+            }
+
+            final int inputReg = theInputIter.getResultReg();
+
+            return (rcb) -> {
+                if (rcb.getRegVal(inputReg) == empty) {
+                    return empty;
+                }
+                return rcb.getRegVal(theResultReg);
+            };
+        }
+
+        final CompiledPredicate.ValueNode input = theInputIter.compileValue();
+
+        if (input == null) {
+            return null;
+        }
+
+        return (rcb) -> {
+
+            FieldValueImpl ctxItem = input.eval(rcb);
+
+            if (ctxItem == null || ctxItem.isEMPTY()) {
+                return ctxItem;
+            }
+
+            if (ctxItem.isAtomic()) {
+                return empty;
+            }
+
+            if (ctxItem.isNull()) {
+                return ctxItem;
+            }
+
+            FieldValueImpl result;
+
+            switch (ctxItem.getType()) {
+            case RECORD:
+                if (ctxItem instanceof JsonCollectionRowImpl) {
+                    result = ((JsonCollectionRowImpl)ctxItem).get(theFieldName);
+                    return (result == null ? empty : result);
+                }
+                if (ctxItem.isTuple() || theFieldPos < 0) {
+                    return null;
+                }
+                return ((RecordValueImpl)ctxItem).get(theFieldPos);
+            case MAP:
+                MapValueImpl map = (MapValueImpl)ctxItem;
+                result = (theFieldPos < 0 ? map.get(theFieldName) :
+                          mapGetCaseInsensitive(map, theFieldName));
+                return (result == null ? empty : result);
+            default:
+                return null;
+            }
+        };
+    }
+
     @Override
     public void open(RuntimeControlBlock rcb) {
         rcb.setState(theStatePos, new FieldStepState(this));
@@ -436,6 +511,38 @@ public class FieldStepIter extends PlanIter {
         }
     }
 
+    /*
+     * If the input is the tuple of the batch, the values of this step are
+     * a column of the batch.
+     */
+    @Override
+    boolean supportsBatch(TupleBatch batch) {
+        return (theFieldPos >= 0 &&
+                theInputIter.producesTuples() &&
+                batch.getColumn(theResultReg) != null);
+    }
+
+    @Override
+    void nextBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch,
+        boolean[] active,
+        ValueVector result) {
+
+        if (!supportsBatch(batch)) {
+            super.nextBatch(rcb, batch, active, result);
+            return;
+        }
+
+        FieldValueImpl[] column = batch.getColumn(theResultReg);
+
+        for (int i = 0; i < batch.size(); ++i) {
+            if (active[i]) {
+                result.set(i, column[i]);
+            }
+        }
+    }
+
     @Override
     public void reset(RuntimeControlBlock rcb) {
         theInputIter.reset(rcb);
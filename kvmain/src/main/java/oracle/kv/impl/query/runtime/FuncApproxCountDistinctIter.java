@@ -0,0 +1,305 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import static oracle.kv.impl.util.SerialVersion.QUERY_VERSION_19;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+import oracle.kv.impl.api.table.ArrayValueImpl;
+import oracle.kv.impl.api.table.DisplayFormatter;
+import oracle.kv.impl.api.table.FieldDefImpl;
+import oracle.kv.impl.api.table.FieldValueImpl;
+import oracle.kv.impl.query.QueryStateException;
+import oracle.kv.impl.query.compiler.Expr;
+import oracle.kv.impl.query.compiler.FunctionLib.FuncCode;
+
+/*
+ * long approx_count_distinct(any*)
+ *
+ * Estimates the number of distinct values in its input, ignoring NULLs,
+ * using a HyperLogLog sketch.
+ *
+ * When the aggregation is distributed, the RNs use a variant of the
+ * iterator that returns the sketch itself (serialized as a BINARY value),
+ * and the driver uses a variant that merges the sketches coming from the
+ * RNs and returns the estimate. So, the amount of memory and the size of
+ * the partial results are bounded, no matter how many distinct values there
+ * are.
+ */
+public class FuncApproxCountDistinctIter extends PlanIter {
+
+    private static class ApproxCountDistinctState extends PlanIterState {
+
+        final HyperLogLog theSketch = new HyperLogLog();
+
+        @Override
+        public void reset(PlanIter iter) {
+            super.reset(iter);
+            theSketch.clear();
+        }
+    }
+
+    private final PlanIter theInput;
+
+    /* Whether the input values are serialized sketches to be merged */
+    private final boolean theInputIsSketch;
+
+    /* Whether the result is the serialized sketch, instead of the estimate */
+    private final boolean theReturnsSketch;
+
+    public FuncApproxCountDistinctIter(
+        Expr e,
+        int resultReg,
+        PlanIter input,
+        boolean inputIsSketch,
+        boolean returnsSketch) {
+
+        super(e, resultReg);
+        theInput = input;
+        theInputIsSketch = inputIsSketch;
+        theReturnsSketch = returnsSketch;
+    }
+
+    /**
+     * FastExternalizable constructor.
+     */
+    FuncApproxCountDistinctIter(DataInput in, short serialVersion)
+        throws IOException {
+
+        super(in, serialVersion);
+        theInput = deserializeIter(in, serialVersion);
+        theInputIsSketch = in.readBoolean();
+        theReturnsSketch = in.readBoolean();
+    }
+
+    /**
+     * FastExternalizable writer.  Must call superclass method first to
+     * write common elements.
+     */
+    @Override
+    public void writeFastExternal(DataOutput out, short serialVersion)
+            throws IOException {
+
+        if (serialVersion < QUERY_VERSION_19) {
+            throw new IllegalStateException("Serial version " + serialVersion +
+                " does not support approx_count_distinct() function, must " +
+                "be " + QUERY_VERSION_19 + " or greater");
+        }
+
+        super.writeFastExternal(out, serialVersion);
+        serializeIter(theInput, out, serialVersion);
+        out.writeBoolean(theInputIsSketch);
+        out.writeBoolean(theReturnsSketch);
+    }
+
+    @Override
+    public PlanIterKind getKind() {
+        return PlanIterKind.FUNC_APPROX_COUNT_DISTINCT;
+    }
+
+    @Override
+    FuncCode getFuncCode() {
+        return FuncCode.FN_APPROX_COUNT_DISTINCT;
+    }
+
+    @Override
+    public PlanIter getInputIter() {
+        return theInput;
+    }
+
+    @Override
+    public void open(RuntimeControlBlock rcb) {
+        rcb.setState(theStatePos, new ApproxCountDistinctState());
+        theInput.open(rcb);
+    }
+
+    @Override
+    public void reset(RuntimeControlBlock rcb) {
+
+        theInput.reset(rcb);
+        /*
+         * Don't reset the state of "this". Resetting the state is done in
+         * method getAggrValue below.
+         */
+    }
+
+    @Override
+    public void close(RuntimeControlBlock rcb) {
+
+        PlanIterState state = rcb.getState(theStatePos);
+        if (state == null) {
+            return;
+        }
+
+        theInput.close(rcb);
+        state.close();
+    }
+
+    @Override
+    public boolean next(RuntimeControlBlock rcb) {
+
+        ApproxCountDistinctState state =
+            (ApproxCountDistinctState)rcb.getState(theStatePos);
+
+        if (state.isDone()) {
+            return false;
+        }
+
+        while (true) {
+
+            boolean more = theInput.next(rcb);
+
+            if (!more) {
+                return true;
+            }
+
+            FieldValueImpl val = rcb.getRegVal(theInput.getResultReg());
+
+            if (rcb.getTraceLevel() >= 3) {
+                rcb.trace("Adding value to sketch: " + val);
+            }
+
+            aggregate(rcb, val);
+        }
+    }
+
+    @Override
+    void aggregate(RuntimeControlBlock rcb, FieldValueImpl val) {
+
+        ApproxCountDistinctState state =
+            (ApproxCountDistinctState)rcb.getState(theStatePos);
+
+        add(state.theSketch, val);
+    }
+
+    /**
+     * Adds an input value to the given sketch. It is used by this iterator,
+     * as well as by a GroupIter that evaluates this aggregate function.
+     */
+    void add(HyperLogLog sketch, FieldValueImpl val) {
+
+        if (val.isNull() || val.isEMPTY()) {
+            return;
+        }
+
+        if (theInputIsSketch) {
+            if (!val.isBinary()) {
+                throw new QueryStateException(
+                    "Unexpected input to approx_count_distinct merge: " +
+                    val.getType());
+            }
+            sketch.merge(val.getBytes());
+            return;
+        }
+
+        /* Unbox the multiple values of a conditionally constructed array */
+        if (val.isArray() &&
+            ((ArrayValueImpl)val).isConditionallyConstructed()) {
+            for (FieldValueImpl elem :
+                 ((ArrayValueImpl)val).getArrayInternal()) {
+                if (!elem.isNull()) {
+                    sketch.add(elem);
+                }
+            }
+            return;
+        }
+
+        sketch.add(val);
+    }
+
+    /**
+     * Returns the result of the function for the given sketch.
+     */
+    FieldValueImpl getResult(HyperLogLog sketch) {
+
+        if (theReturnsSketch) {
+            return FieldDefImpl.Constants.binaryDef.createBinary(
+                sketch.toByteArray());
+        }
+
+        return FieldDefImpl.Constants.longDef.createLong(sketch.estimate());
+    }
+
+    @Override
+    void initAggrValue(RuntimeControlBlock rcb, FieldValueImpl val) {
+
+        ApproxCountDistinctState state =
+            (ApproxCountDistinctState)rcb.getState(theStatePos);
+
+        state.theSketch.clear();
+
+        if (val != null && val.isBinary()) {
+            state.theSketch.merge(val.getBytes());
+        }
+    }
+
+    @Override
+    FieldValueImpl getAggrValue(RuntimeControlBlock rcb, boolean reset) {
+
+        ApproxCountDistinctState state =
+            (ApproxCountDistinctState)rcb.getState(theStatePos);
+
+        FieldValueImpl res = getResult(state.theSketch);
+
+        if (reset) {
+            state.reset(this);
+        }
+
+        return res;
+    }
+
+    @Override
+    protected void displayContent(
+        StringBuilder sb,
+        DisplayFormatter formatter,
+        boolean verbose) {
+
+        if (theInputIsSketch || theReturnsSketch) {
+            formatter.indent(sb);
+            sb.append("\"mode\" : ");
+            sb.append(theInputIsSketch ? "\"merge\"" : "\"partial\"");
+            sb.append(",\n");
+        }
+
+        displayInputIter(sb, formatter, verbose, theInput);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj) ||
+            !(obj instanceof FuncApproxCountDistinctIter)) {
+            return false;
+        }
+        final FuncApproxCountDistinctIter other =
+            (FuncApproxCountDistinctIter) obj;
+        return Objects.equals(theInput, other.theInput) &&
+            (theInputIsSketch == other.theInputIsSketch) &&
+            (theReturnsSketch == other.theReturnsSketch);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(),
+                            theInput,
+                            theInputIsSketch,
+                            theReturnsSketch);
+    }
+}
@@ -119,6 +119,9 @@ public class GroupIter extends PlanIter {
                     theValue = collectIter.getArrayDef().createArray();
                 }
                 break;
+            case FUNC_APPROX_COUNT_DISTINCT:
+                theValue = new HyperLogLog();
+                break;
             default:
                 assert(false);
             }
@@ -129,6 +132,8 @@ public class GroupIter extends PlanIter {
             long sz = (SizeOf.OBJECT_OVERHEAD + SizeOf.OBJECT_REF_OVERHEAD + 1);
             if (theValue instanceof FieldValueImpl) {
                 sz += ((FieldValueImpl)theValue).sizeof();
+            } else if (theValue instanceof HyperLogLog) {
+                sz += ((HyperLogLog)theValue).sizeof();
             } else {
                 HashSet<HashValue> collectSet = (HashSet<HashValue>)theValue;
                 Iterator<HashValue> iter = collectSet.iterator();
@@ -986,6 +991,17 @@ public class GroupIter extends PlanIter {
         case FUNC_COLLECT:
             aggrValue.collect(rcb, val, theCountMemory);
             return;
+        case FUNC_APPROX_COUNT_DISTINCT: {
+            /* The sketch may grow from its sparse to its dense form */
+            HyperLogLog sketch = (HyperLogLog)aggrValue.theValue;
+            long sz = sketch.sizeof();
+            ((FuncApproxCountDistinctIter)aggrIter).add(sketch, val);
+            if (!rcb.isServerRCB() && theCountMemory &&
+                sketch.sizeof() != sz) {
+                rcb.incMemoryConsumption(sketch.sizeof() - sz);
+            }
+            return;
+        }
         default:
             throw new QueryStateException(
                 "Method not implemented for iterator " +
@@ -1032,6 +1048,11 @@ public class GroupIter extends PlanIter {
             return collectArray;
         }
 
+        if (aggrIter.getKind() == PlanIterKind.FUNC_APPROX_COUNT_DISTINCT) {
+            return ((FuncApproxCountDistinctIter)aggrIter).getResult(
+                (HyperLogLog)aggrValue.theValue);
+        }
+
         return (FieldValueImpl)aggrValue.theValue;
     }
 
@@ -1050,7 +1071,7 @@ public class GroupIter extends PlanIter {
         for (int i = 0; i < aggrValues.length; ++i) {
 
             Object v = aggrValues[i].theValue;
-            if (v instanceof FieldValueImpl) {
+            if (v instanceof FieldValueImpl || v instanceof HyperLogLog) {
                 sb.append(v);
             } else {
                 @SuppressWarnings("unchecked")
@@ -0,0 +1,283 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import java.util.Arrays;
+
+import oracle.kv.impl.api.table.FieldValueImpl;
+import oracle.kv.impl.query.QueryStateException;
+import oracle.kv.impl.util.SizeOf;
+
+/**
+ * A HyperLogLog sketch, used to estimate the number of distinct values in
+ * a stream of values with a fixed amount of memory. The sketch consists of
+ * NUM_REGISTERS registers; each value is hashed, the first PRECISION bits of
+ * the hash select a register, and the register keeps the max position of
+ * the leftmost 1-bit seen in the remaining bits. The relative standard error
+ * of the estimate is 1.04 / sqrt(NUM_REGISTERS), i.e., about 1.6%.
+ *
+ * Two sketches are merged by taking the max of each register, so sketches
+ * computed over disjoint subsets of the values (e.g., at different RNs) can
+ * be combined to get the sketch of the union of the subsets.
+ *
+ * While only a few registers are set, they are stored as a list of
+ * (index, value) entries rather than as an array of NUM_REGISTERS bytes, so
+ * that groups with few distinct values take little memory and serialize
+ * compactly.
+ *
+ * The values are hashed using FieldValueImpl.hashcode(), which is consistent
+ * with FieldValueImpl.equal(), so values that are equal according to the
+ * query semantics (e.g., an integer and a long with the same value) are
+ * counted once.
+ */
+class HyperLogLog {
+
+    static final int PRECISION = 12;
+
+    static final int NUM_REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA =
+        0.7213 / (1.0 + 1.079 / NUM_REGISTERS);
+
+    /* The max number of entries in the sparse representation */
+    private static final int MAX_SPARSE_ENTRIES = 256;
+
+    private static final byte FORMAT_SPARSE = 1;
+
+    private static final byte FORMAT_DENSE = 2;
+
+    /* The registers, or null if the sketch is in the sparse representation */
+    private byte[] theRegisters;
+
+    /* The sparse entries; each entry is (register index << 8 | value) */
+    private int[] theEntries;
+
+    private int theNumEntries;
+
+    HyperLogLog() {
+        theEntries = new int[8];
+    }
+
+    /**
+     * Recreates a sketch from its serialized form (see toByteArray()).
+     */
+    static HyperLogLog fromByteArray(byte[] bytes) {
+        HyperLogLog hll = new HyperLogLog();
+        hll.merge(bytes);
+        return hll;
+    }
+
+    void clear() {
+        theRegisters = null;
+        theEntries = new int[8];
+        theNumEntries = 0;
+    }
+
+    void add(FieldValueImpl val) {
+        addHash(mix(val.hashcode()));
+    }
+
+    void addHash(long hash) {
+
+        int index = (int)(hash >>> (64 - PRECISION));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION) + 1,
+                            64 - PRECISION + 1);
+        update(index, rank);
+    }
+
+    private void update(int index, int rank) {
+
+        if (theRegisters != null) {
+            if (theRegisters[index] < rank) {
+                theRegisters[index] = (byte)rank;
+            }
+            return;
+        }
+
+        for (int i = 0; i < theNumEntries; ++i) {
+            if ((theEntries[i] >>> 8) == index) {
+                if ((theEntries[i] & 0xff) < rank) {
+                    theEntries[i] = (index << 8) | rank;
+                }
+                return;
+            }
+        }
+
+        if (theNumEntries == MAX_SPARSE_ENTRIES) {
+            toDense();
+            theRegisters[index] = (byte)rank;
+            return;
+        }
+
+        if (theNumEntries == theEntries.length) {
+            theEntries = Arrays.copyOf(theEntries, 2 * theEntries.length);
+        }
+
+        theEntries[theNumEntries++] = (index << 8) | rank;
+    }
+
+    private void toDense() {
+
+        theRegisters = new byte[NUM_REGISTERS];
+
+        for (int i = 0; i < theNumEntries; ++i) {
+            theRegisters[theEntries[i] >>> 8] = (byte)(theEntries[i] & 0xff);
+        }
+
+        theEntries = null;
+        theNumEntries = 0;
+    }
+
+    void merge(HyperLogLog other) {
+
+        if (other.theRegisters != null) {
+            if (theRegisters == null) {
+                toDense();
+            }
+            for (int i = 0; i < NUM_REGISTERS; ++i) {
+                if (theRegisters[i] < other.theRegisters[i]) {
+                    theRegisters[i] = other.theRegisters[i];
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < other.theNumEntries; ++i) {
+            update(other.theEntries[i] >>> 8, other.theEntries[i] & 0xff);
+        }
+    }
+
+    /**
+     * Merges into this sketch a sketch in serialized form.
+     */
+    void merge(byte[] bytes) {
+
+        if (bytes.length == NUM_REGISTERS + 1 && bytes[0] == FORMAT_DENSE) {
+            if (theRegisters == null) {
+                toDense();
+            }
+            for (int i = 0; i < NUM_REGISTERS; ++i) {
+                if (theRegisters[i] < bytes[i + 1]) {
+                    theRegisters[i] = bytes[i + 1];
+                }
+            }
+            return;
+        }
+
+        if (bytes.length < 1 ||
+            bytes[0] != FORMAT_SPARSE ||
+            (bytes.length - 1) % 3 != 0) {
+            throw new QueryStateException(
+                "Invalid HyperLogLog sketch of length " + bytes.length);
+        }
+
+        for (int pos = 1; pos < bytes.length; pos += 3) {
+            int index = ((bytes[pos] & 0xff) << 8) | (bytes[pos + 1] & 0xff);
+            int rank = bytes[pos + 2];
+            if (index >= NUM_REGISTERS || rank <= 0) {
+                throw new QueryStateException(
+                    "Invalid HyperLogLog sketch entry at offset " + pos);
+            }
+            update(index, rank);
+        }
+    }
+
+    /**
+     * Returns the serialized form of the sketch: a format byte followed by
+     * either the registers (dense format), or a 2-byte register index and a
+     * 1-byte register value for each register that is set (sparse format).
+     */
+    byte[] toByteArray() {
+
+        if (theRegisters != null) {
+            byte[] bytes = new byte[NUM_REGISTERS + 1];
+            bytes[0] = FORMAT_DENSE;
+            System.arraycopy(theRegisters, 0, bytes, 1, NUM_REGISTERS);
+            return bytes;
+        }
+
+        byte[] bytes = new byte[1 + 3 * theNumEntries];
+        bytes[0] = FORMAT_SPARSE;
+
+        int pos = 1;
+        for (int i = 0; i < theNumEntries; ++i) {
+            int index = theEntries[i] >>> 8;
+            bytes[pos++] = (byte)(index >>> 8);
+            bytes[pos++] = (byte)index;
+            bytes[pos++] = (byte)(theEntries[i] & 0xff);
+        }
+
+        return bytes;
+    }
+
+    long estimate() {
+
+        double sum;
+        int numZeros;
+
+        if (theRegisters != null) {
+            sum = 0;
+            numZeros = 0;
+            for (int i = 0; i < NUM_REGISTERS; ++i) {
+                sum += Math.scalb(1.0, -theRegisters[i]);
+                if (theRegisters[i] == 0) {
+                    ++numZeros;
+                }
+            }
+        } else {
+            numZeros = NUM_REGISTERS - theNumEntries;
+            sum = numZeros;
+            for (int i = 0; i < theNumEntries; ++i) {
+                sum += Math.scalb(1.0, -(theEntries[i] & 0xff));
+            }
+        }
+
+        double estimate = ALPHA * NUM_REGISTERS * NUM_REGISTERS / sum;
+
+        /* Use linear counting for small cardinalities */
+        if (estimate <= 2.5 * NUM_REGISTERS && numZeros > 0) {
+            estimate = NUM_REGISTERS *
+                       Math.log((double)NUM_REGISTERS / numZeros);
+        }
+
+        return Math.round(estimate);
+    }
+
+    long sizeof() {
+        return (SizeOf.OBJECT_OVERHEAD +
+                2 * SizeOf.OBJECT_REF_OVERHEAD + 4 +
+                (theRegisters != null ?
+                 SizeOf.byteArraySize(NUM_REGISTERS) :
+                 SizeOf.intArraySize(theEntries.length)));
+    }
+
+    /*
+     * Spreads the bits of a 32-bit hash code over 64 bits (the finalizer
+     * of MurmurHash3).
+     */
+    private static long mix(int hashcode) {
+        long h = hashcode;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53b14d9L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(estimate());
+    }
+}
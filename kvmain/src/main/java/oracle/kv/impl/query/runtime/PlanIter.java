@@ -272,7 +272,10 @@ public abstract class PlanIter implements FastExternalizable {
         FUNC_ROW_METADATA(87),
 
         FUNC_CREATION_TIME(88),
-        FUNC_CREATION_TIME_MILLIS(89);
+        FUNC_CREATION_TIME_MILLIS(89),
+
+        TOP_N(90),
+        FUNC_APPROX_COUNT_DISTINCT(91);
 
 
         private static final PlanIterKind[] VALUES = values();
@@ -322,6 +325,14 @@ public abstract class PlanIter implements FastExternalizable {
 
     protected final boolean theIsCloudDriverIter;
 
+    /*
+     * The compiled form of this iterator, if it is used as a predicate, and
+     * whether it has been computed. See getCompiledPredicate().
+     */
+    private volatile CompiledPredicate theCompiledPred;
+
+    private volatile boolean theCompiledPredInit;
+
     /**
      * Constructor used by the compiler.
      *
@@ -580,6 +591,126 @@ public abstract class PlanIter implements FastExternalizable {
         return !rcb.getState(theStatePos).isDone();
     }
 
+    /*
+     * Batch-at-a-time evaluation.
+     *
+     * An SFW at an RN whose FROM clause is a simple table scan evaluates its
+     * WHERE clause over batches of rows (see TupleBatch). The scan fills a
+     * batch via nextTupleBatch(), and then the SFW calls nextBatch() on the
+     * WHERE iterator, which computes the result of the iterator for each of
+     * the rows of the batch that are marked in the active mask, and stores
+     * it in the result vector.
+     *
+     * The default implementation of nextBatch() evaluates the iterator
+     * row-at-a-time: it loads each active row into the tuple registers and
+     * performs a next()/reset() cycle on the iterator, storing the first
+     * item it returns. Iterators that return at most one item per row and
+     * can do better redefine nextBatch() with a kernel that works on the
+     * vectors of their input iterators, and redefine supportsBatch() to
+     * return true when that kernel can be used with the given batch. Such
+     * kernels may call nextBatch() on any input iterator whose first item
+     * is all they need; others, like the comparison operators, need their
+     * inputs to support batches so that more-than-one-item errors are still
+     * raised.
+     */
+
+    /**
+     * Returns whether this iterator computes its results over the given
+     * batch with a batch kernel, rather than row-at-a-time.
+     */
+    @SuppressWarnings("unused")
+    boolean supportsBatch(TupleBatch batch) {
+        return false;
+    }
+
+    void nextBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch,
+        boolean[] active,
+        ValueVector result) {
+
+        for (int i = 0; i < batch.size(); ++i) {
+
+            if (!active[i]) {
+                continue;
+            }
+
+            batch.loadRow(rcb, i);
+
+            if (next(rcb)) {
+                result.set(i, rcb.getRegVal(theResultReg));
+            } else {
+                result.setEmpty(i);
+            }
+
+            reset(rcb);
+        }
+    }
+
+    /**
+     * Returns whether this iterator is a table scan that can produce its
+     * rows in batches via nextTupleBatch().
+     */
+    @SuppressWarnings("unused")
+    public boolean supportsTupleBatches(RuntimeControlBlock rcb) {
+        return false;
+    }
+
+    /**
+     * Clears the batch and fills it with the next rows of a table scan.
+     * Returns false, without adding any rows, if the scan has no more rows
+     * or the query needs to suspend. In this case, the iterator is done,
+     * exactly as if next() had returned false.
+     */
+    @SuppressWarnings("unused")
+    public boolean nextTupleBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch) {
+        throw new QueryStateException(
+            "Method not implemented for iterator " + getKind());
+    }
+
+    /*
+     * Compiled evaluation.
+     *
+     * Predicates that are computed once per row (WHERE clauses, index
+     * filtering preds and ON preds) are compiled into a tree of closures
+     * (see CompiledPredicate) the first time they are computed, and the
+     * compiled form is cached in the predicate iterator. Iterators take part
+     * by redefining compileBool() or compileValue() to return their compiled
+     * form, if they have one.
+     */
+
+    /**
+     * Returns the compiled form of this iterator as a predicate, or null if
+     * the predicate is to be computed by the interpreter.
+     */
+    CompiledPredicate getCompiledPredicate() {
+
+        if (!theCompiledPredInit) {
+            theCompiledPred = CompiledPredicate.compile(this);
+            theCompiledPredInit = true;
+        }
+
+        return theCompiledPred;
+    }
+
+    /**
+     * Returns the compiled form of this iterator, if it is a boolean
+     * expression that can be compiled, or null.
+     */
+    CompiledPredicate.BoolNode compileBool() {
+        return null;
+    }
+
+    /**
+     * Returns the compiled form of this iterator, if it returns at most one
+     * item and it can be compiled, or null.
+     */
+    CompiledPredicate.ValueNode compileValue() {
+        return null;
+    }
+
     /**
      * Updates the RuntimeControlBlock to reflect the next locally available
      * iteration result.  Returns true if a next result was available locally,
@@ -1096,6 +1227,12 @@ public abstract class PlanIter implements FastExternalizable {
         case FUNC_ROW_METADATA:
             iter = new FuncRowMetadataIter(in, serialVersion);
             break;
+        case TOP_N:
+            iter = new TopNIter(in, serialVersion);
+            break;
+        case FUNC_APPROX_COUNT_DISTINCT:
+            iter = new FuncApproxCountDistinctIter(in, serialVersion);
+            break;
         default:
             throw new IllegalArgumentException(
                 "Unknown query iterator kind: " + kind +
@@ -37,6 +37,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 
 import oracle.kv.Consistency;
@@ -607,6 +609,16 @@ public class ReceiveIter extends PlanIter {
         return PlanIterKind.RECEIVE;
     }
 
+    /**
+     * Returns the plan executed at the RNs, or null if this iterator was
+     * deserialized, in which case that plan is only available in serialized
+     * form.
+     */
+    @Override
+    public PlanIter getInputIter() {
+        return theInputIter;
+    }
+
     /*
      * These are public so that PreparedStatementImpl can reconstruct itself from
      * a serialized format.
@@ -632,6 +644,36 @@ public class ReceiveIter extends PlanIter {
         return (theSortFieldPositions != null);
     }
 
+    /*
+     * Returns whether the number of results per batch is adapted by an
+     * AdaptiveBatchSize. Not done if the batch size is a limit on the
+     * number of results, or for updates, whose batches are transactions.
+     */
+    private boolean useAdaptiveBatching(RuntimeControlBlock rcb) {
+        return (rcb.getExecuteOptions().getAdaptiveBatching() &&
+                !rcb.getUseBatchSizeAsLimit() &&
+                !theIsUpdate);
+    }
+
+    /*
+     * Adjusts the batch size of a parallel partition/shard stream, if any,
+     * after the arrival of a batch. Such streams buffer a bounded number of
+     * batches and stop requesting batches when they run ahead of the
+     * consumer, so the consumer is considered to be waiting for the batch.
+     */
+    private static void updateBatchSize(
+        AdaptiveBatchSize batchSize,
+        QueryResult res,
+        long requestStartTime) {
+
+        if (batchSize != null) {
+            batchSize.update(res.getNumRecords(),
+                             res.getReadKB(),
+                             System.nanoTime() - requestStartTime,
+                             true /* consumerWaited */);
+        }
+    }
+
     public boolean hasSortPhase1Result(RuntimeControlBlock rcb) {
 
         ReceiveIterState state = (ReceiveIterState)rcb.getState(theStatePos);
@@ -984,6 +1026,13 @@ public class ReceiveIter extends PlanIter {
 
                 private int theBatchCounter;
 
+                private final AdaptiveBatchSize theBatchSize =
+                    (useAdaptiveBatching(rcb) ?
+                     new AdaptiveBatchSize(rcb.getBatchSize()) :
+                     null);
+
+                private long theRequestStartTime;
+
                 QueryPartitionStream(RepGroupId groupId, int partitionId) {
                     super(groupId, partitionId, null);
                 }
@@ -992,6 +1041,7 @@ public class ReceiveIter extends PlanIter {
                 protected Request makeReadRequest() {
 
                     ++theBatchCounter;
+                    theRequestStartTime = System.nanoTime();
 
                     TableQuery op = new TableQuery(
                         rcb.getQueryName(),
@@ -1006,7 +1056,9 @@ public class ReceiveIter extends PlanIter {
                         rcb.getMathContext(),
                         rcb.getTraceLevel(),
                         rcb.doLogFileTracing(),
-                        rcb.getBatchSize(),
+                        (theBatchSize != null ?
+                         theBatchSize.get() :
+                         rcb.getBatchSize()),
                         0, /* maxReadKB*/
                         0, /* maxCurrentReadKB */
                         0, /* maxCurrentWriteKB */
@@ -1060,6 +1112,7 @@ public class ReceiveIter extends PlanIter {
 
                     QueryResult res = (QueryResult)result;
                     theResumeInfo.refresh(res.getResumeInfo());
+                    updateBatchSize(theBatchSize, res, theRequestStartTime);
 
                     if (rcb.getTraceLevel() >= 1) {
 
@@ -1211,6 +1264,13 @@ public class ReceiveIter extends PlanIter {
 
                 private int theBatchCounter;
 
+                private final AdaptiveBatchSize theBatchSize =
+                    (useAdaptiveBatching(rcb) ?
+                     new AdaptiveBatchSize(rcb.getBatchSize()) :
+                     null);
+
+                private long theRequestStartTime;
+
                 QueryShardStream(RepGroupId groupId) {
                     super(groupId, null, null);
                     theActualSid = groupId;
@@ -1244,6 +1304,7 @@ public class ReceiveIter extends PlanIter {
                 protected Request makeReadRequest() {
 
                     ++theBatchCounter;
+                    theRequestStartTime = System.nanoTime();
 
                     Topology topo = storeImpl.getTopology();
 
@@ -1272,7 +1333,9 @@ public class ReceiveIter extends PlanIter {
                         rcb.getMathContext(),
                         rcb.getTraceLevel(),
                         rcb.doLogFileTracing(),
-                        rcb.getBatchSize(),
+                        (theBatchSize != null ?
+                         theBatchSize.get() :
+                         rcb.getBatchSize()),
                         0, /* maxReadKB */
                         0, /* maxCurrentReadKB */
                         0, /* maxCurrentWriteKB */
@@ -1393,6 +1456,7 @@ public class ReceiveIter extends PlanIter {
                 protected void setResumeKey(Result result) {
 
                     QueryResult res = (QueryResult)result;
+                    updateBatchSize(theBatchSize, res, theRequestStartTime);
 
                     if (rcb.getTraceLevel() >= 1) {
 
@@ -3173,6 +3237,16 @@ public class ReceiveIter extends PlanIter {
      * Note: No synchronization is needed for async mode, because there can
      * only a single pending remote request in the cases where an
      * AbstractScanIterator is used.
+     *
+     * If adaptive batching is enabled (see ExecuteOptions.setAdaptiveBatching)
+     * the number of results per batch is computed by an AdaptiveBatchSize.
+     * In addition, unless the query has a read limit or the store uses the
+     * sync request dispatcher, the request for the next batch is sent as
+     * soon as the current batch is received, so that the next batch is
+     * computed while the current one is consumed. The prefetched batch is
+     * processed (i.e., its resume info and read/write KB are accounted for)
+     * only when the current batch has been consumed, as if it was requested
+     * at that time.
      */
     private class AbstractScanIterator {
 
@@ -3208,6 +3282,16 @@ public class ReceiveIter extends PlanIter {
 
         private int theBatchCounter;
 
+        /* Non-null if adaptive batching is enabled */
+        private final AdaptiveBatchSize theBatchSize;
+
+        /* The request for the next batch, if it has been prefetched */
+        private CompletableFuture<Result> thePrefetch;
+
+        private long theRequestStartTime;
+
+        private volatile long theRequestEndTime;
+
         public AbstractScanIterator(
             SequentialShardsIterator shardsIterator,
             RuntimeControlBlock rcb,
@@ -3229,6 +3313,10 @@ public class ReceiveIter extends PlanIter {
             theEmptyReadFactor = emptyReadFactor;
 
             theBatchCounter = rcb.getBatchCounter();
+
+            theBatchSize = (useAdaptiveBatching(rcb) ?
+                            new AdaptiveBatchSize(theMaxResults) :
+                            null);
         }
 
         void initForNextPartition(PartitionId pid, int emptyReadFactor) {
@@ -3263,6 +3351,10 @@ public class ReceiveIter extends PlanIter {
                 ++theBatchCounter;
             }
 
+            if (theBatchSize != null) {
+                theMaxResults = theBatchSize.get();
+            }
+
             TableQuery op = new TableQuery(
                         theRCB.getQueryName(),
                         theDistributionKind,
@@ -3369,6 +3461,15 @@ public class ReceiveIter extends PlanIter {
                 return false;
             }
 
+            if (thePrefetch != null) {
+                boolean waited = !thePrefetch.isDone();
+                theResult = (QueryResult)awaitPrefetch();
+                updateBatchSize(waited);
+                boolean more = processResults();
+                prefetch();
+                return more;
+            }
+
             Request req = createRequest();
 
             if (theRCB.getTraceLevel() >= 2) {
@@ -3386,9 +3487,98 @@ public class ReceiveIter extends PlanIter {
             }
 
             KVStoreImpl store = theRCB.getStore();
+            theRequestStartTime = System.nanoTime();
             theResult = (QueryResult)store.executeRequest(req);
+            theRequestEndTime = System.nanoTime();
+            updateBatchSize(true);
+
+            boolean more = processResults();
+            prefetch();
+            return more;
+        }
+
+        /**
+         * Sends the request for the next batch, if adaptive batching is
+         * enabled and the next batch will be needed. Not done for sorting
+         * ALL_PARTITIONS queries, whose sort phase 1 consumes the results of
+         * a single batch (see AllPartitionsIterator), or for queries with a
+         * read limit, since a prefetched batch would use read units the
+         * application may never ask for. Sending a request in the
+         * background needs the async request dispatcher, so prefetching is
+         * done for both the sync and async query APIs, but only when the
+         * store uses the async dispatcher.
+         */
+        private void prefetch() {
+
+            if (theBatchSize == null ||
+                !theMoreRemoteResults ||
+                theRCB.getReachedLimit() ||
+                theIsClosed ||
+                theRCB.getMaxReadKB() > 0 ||
+                (theDistributionKind == DistributionKind.ALL_PARTITIONS &&
+                 doesSort()) ||
+                !theRCB.getStore().getDispatcher().isAsync()) {
+                return;
+            }
 
-            return processResults();
+            Request req = createRequest();
+
+            if (theRCB.getTraceLevel() >= 2) {
+                theRCB.trace("AbstractScanIterator: Prefetching batch for " +
+                             (thePid != null ? thePid : theGroupId) +
+                             " with batch size = " + theMaxResults);
+            }
+
+            thePrefetch = executeRequestAsync(req);
+        }
+
+        /*
+         * Sends a request asynchronously, recording the times it is sent and
+         * completed for the AdaptiveBatchSize.
+         */
+        private CompletableFuture<Result> executeRequestAsync(Request req) {
+            theRequestStartTime = System.nanoTime();
+            return theRCB.getStore().executeRequestAsync(req)
+                .whenComplete((r, e) -> theRequestEndTime = System.nanoTime());
+        }
+
+        private Result awaitPrefetch() {
+
+            CompletableFuture<Result> prefetch = thePrefetch;
+            thePrefetch = null;
+
+            try {
+                return prefetch.get();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(
+                    "Unexpected interrupt while waiting for a query batch", e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(
+                    "Unexpected exception: " + cause, cause);
+            }
+        }
+
+        private void updateBatchSize(boolean consumerWaited) {
+
+            if (theBatchSize == null) {
+                return;
+            }
+
+            theBatchSize.update(theResult.getNumRecords(),
+                                theResult.getReadKB(),
+                                theRequestEndTime - theRequestStartTime,
+                                consumerWaited);
+
+            if (theRCB.getTraceLevel() >= 2) {
+                theRCB.trace("AbstractScanIterator: " + theBatchSize);
+            }
         }
 
         FieldValueImpl next() {
@@ -3416,6 +3606,20 @@ public class ReceiveIter extends PlanIter {
 
             theAsyncRequestExecuting = true;
 
+            if (thePrefetch != null) {
+                final CompletableFuture<Result> prefetch = thePrefetch;
+                final boolean waited = !prefetch.isDone();
+                thePrefetch = null;
+                prefetch
+                    .whenComplete(unwrapExceptionVoid(
+                        (r, e) -> handleAsyncResult((QueryResult) r, e,
+                                                    waited)))
+                    .whenComplete(unwrapExceptionVoid(
+                        e -> theRCB.getLogger().log(
+                            Level.WARNING, "Unexpected exception: " + e, e)));
+                return;
+            }
+
             Request request = createRequest();
 
             if (theRCB.getTraceLevel() >= 2) {
@@ -3432,16 +3636,19 @@ public class ReceiveIter extends PlanIter {
                 }
             }
 
-            theRCB.getStore().executeRequestAsync(request)
+            executeRequestAsync(request)
                 .whenComplete(unwrapExceptionVoid(
-                    (r, e) -> handleAsyncResult((QueryResult) r, e)))
+                    (r, e) -> handleAsyncResult((QueryResult) r, e, true)))
                 .whenComplete(unwrapExceptionVoid(
                     e -> theRCB.getLogger().log(
                             Level.WARNING, "Unexpected exception: " + e, e)));
             return;
         }
 
-        private void handleAsyncResult(QueryResult r, Throwable e) {
+        private void handleAsyncResult(
+            QueryResult r,
+            Throwable e,
+            boolean consumerWaited) {
 
             ReceiveIterState state =
                 (ReceiveIterState) theRCB.getState(theStatePos);
@@ -3450,7 +3657,9 @@ public class ReceiveIter extends PlanIter {
                 if (r != null) {
                     theResult = r;
                     try {
+                        updateBatchSize(consumerWaited);
                         processResults();
+                        prefetch();
                         theHasNewAsyncResult = true;
                     } catch (Throwable e2) {
                         theAsyncException = e2;
@@ -3563,6 +3772,8 @@ public class ReceiveIter extends PlanIter {
             theResultsIter = null;
             theResult = null;
             theIsClosed = true;
+            /* A prefetched batch is not needed anymore */
+            thePrefetch = null;
         }
 
         boolean isClosed() {
@@ -95,6 +95,14 @@ public class SFWIter extends PlanIter {
 
         private boolean theDoOldStyleGrouping;
 
+        /*
+         * The batch of FROM rows and the WHERE results for them, if the
+         * WHERE clause is computed over batches of rows.
+         */
+        private TupleBatch theBatch;
+
+        private ValueVector theWhereResult;
+
         SFWIterState(RuntimeControlBlock rcb, SFWIter iter) {
 
             theFromItersFirstCall = new boolean[iter.theFromIters.length];
@@ -116,6 +124,9 @@ public class SFWIter extends PlanIter {
             theHaveGBTuple = false;
             theGBTuple = null;
             theSwapGBTuple = null;
+            if (theBatch != null) {
+                theBatch.clear();
+            }
         }
     }
 
@@ -260,6 +271,17 @@ public class SFWIter extends PlanIter {
         return PlanIterKind.SELECT;
     }
 
+    /**
+     * Returns the iterator of the FROM clause, if there is only one.
+     */
+    @Override
+    public PlanIter getInputIter() {
+        if (theFromIters.length != 1) {
+            return super.getInputIter();
+        }
+        return theFromIters[0];
+    }
+
     @Override
     public int[] getTupleRegs() {
         return theTupleRegs;
@@ -313,6 +335,8 @@ public class SFWIter extends PlanIter {
 
         computeOffsetLimit(rcb);
 
+        initBatch(rcb, state);
+
         if (theNumGBColumns >= 0) {
             if (rcb.isServerRCB()) {
                 initAggrValues(rcb, state);
@@ -360,6 +384,55 @@ public class SFWIter extends PlanIter {
         computeOffsetLimit(rcb);
     }
 
+    /*
+     * At an RN, if the FROM clause is a single table scan that can produce
+     * batches of rows, and the WHERE clause has batch kernels, set up the
+     * batch over which the WHERE clause will be computed. The batch is not
+     * larger than the max number of results the query may return in this
+     * batch, so that rows are not read far ahead of the point where the
+     * query suspends.
+     */
+    private void initBatch(RuntimeControlBlock rcb, SFWIterState state) {
+
+        if (!rcb.isServerRCB() ||
+            theWhereIter == null ||
+            theFromIters.length != 1 ||
+            state.theDoOldStyleGrouping ||
+            !theFromIters[0].supportsTupleBatches(rcb)) {
+            return;
+        }
+
+        long capacity = TupleBatch.MAX_CAPACITY;
+
+        if (rcb.getBatchSize() > 0) {
+            capacity = Math.min(capacity, rcb.getBatchSize());
+        }
+
+        if (state.theLimit < Long.MAX_VALUE) {
+            capacity = Math.min(capacity, state.theLimit + state.theOffset);
+        }
+
+        if (capacity < 2) {
+            return;
+        }
+
+        TupleBatch batch = new TupleBatch((int)capacity,
+                                          theFromIters[0].getTupleRegs(),
+                                          theFromIters[0].getResultReg());
+
+        if (!theWhereIter.supportsBatch(batch)) {
+            return;
+        }
+
+        state.theBatch = batch;
+        state.theWhereResult = new ValueVector((int)capacity);
+
+        if (rcb.getTraceLevel() >= 2) {
+            rcb.trace("SFW: computing the WHERE clause over batches of " +
+                      capacity + " rows");
+        }
+    }
+
     private void initAggrValues(RuntimeControlBlock rcb, SFWIterState state) {
 
         if (!state.theDoOldStyleGrouping) {
@@ -471,7 +544,18 @@ public class SFWIter extends PlanIter {
         /* while loop for group by */
         while (true) {
 
-            if (theWhereIter != null) {
+            if (state.theBatch != null && !localOnly) {
+
+                if (!getNextBatchTuple(rcb, state)) {
+
+                    if (theNumGBColumns >= 0) {
+                        return produceLastGroup(rcb, state, localOnly);
+                    }
+
+                    return false;
+                }
+
+            } else if (theWhereIter != null) {
 
                 boolean whereValue = true;
 
@@ -485,18 +569,8 @@ public class SFWIter extends PlanIter {
                         return false;
                     }
 
-                    boolean more = theWhereIter.next(rcb);
-
-                    if (!more) {
-                        whereValue = false;
-                    } else {
-                        FieldValueImpl val =
-                            rcb.getRegVal(theWhereIter.getResultReg());
-
-                        whereValue = (val.isNull() ? false : val.getBoolean());
-                    }
-
-                    theWhereIter.reset(rcb);
+                    whereValue =
+                        CompiledPredicate.evalPredicate(rcb, theWhereIter);
 
                 } while (whereValue == false);
 
@@ -632,6 +706,58 @@ public class SFWIter extends PlanIter {
         return true;
     }
 
+    /*
+     * Returns the next row of the FROM table that satisfies the WHERE
+     * clause, computing the WHERE clause over batches of rows. The row is
+     * loaded into the registers of the table iterator, and the resume info
+     * is set to that of the row, as if it had just been returned by the
+     * table iterator.
+     */
+    private boolean getNextBatchTuple(
+        RuntimeControlBlock rcb,
+        SFWIterState state) {
+
+        TupleBatch batch = state.theBatch;
+        PlanIter fromIter = theFromIters[0];
+
+        while (true) {
+
+            /*
+             * If the query needs to suspend, the remaining rows of the batch
+             * are dropped. The resume info is that of the last row returned,
+             * so the query will resume right after it.
+             */
+            if (!rcb.needToSuspend()) {
+
+                int row = batch.nextSelected();
+
+                if (row >= 0) {
+                    batch.emit(rcb, row);
+                    return true;
+                }
+            }
+
+            if (rcb.needToSuspend() || !fromIter.nextTupleBatch(rcb, batch)) {
+                /*
+                 * The table iterator is done. Let getNextFROMTuple() do the
+                 * end-of-input processing.
+                 */
+                batch.clear();
+                return getNextFROMTuple(rcb, state, false);
+            }
+
+            boolean[] active = batch.allocMask();
+            theWhereIter.nextBatch(rcb, batch, active, state.theWhereResult);
+            batch.releaseMask(active);
+            batch.select(state.theWhereResult);
+
+            if (rcb.getTraceLevel() >= 3) {
+                rcb.trace("SFW: computed the WHERE clause over a batch of " +
+                          batch.size() + " rows");
+            }
+        }
+    }
+
     private boolean getNextFROMTuple(
         RuntimeControlBlock rcb,
         SFWIterState state,
@@ -898,6 +1024,10 @@ public class SFWIter extends PlanIter {
                     } else if (aggrIter.getKind() == PlanIterKind.FUNC_COLLECT) {
                         ArrayDefImpl def = ((FuncCollectIter)aggrIter).getArrayDef();
                         rcb.setRegVal(aggrIter.getResultReg(), def.createArray());
+                    } else if (aggrIter.getKind() ==
+                               PlanIterKind.FUNC_APPROX_COUNT_DISTINCT) {
+                        rcb.setRegVal(aggrIter.getResultReg(),
+                                      aggrIter.getAggrValue(rcb, false));
                     } else {
                         rcb.setRegVal(aggrIter.getResultReg(),
                                       NullValueImpl.getInstance());
@@ -62,6 +62,8 @@ public class SortIter extends PlanIter {
 
         CompareFunction theComparator;
 
+        TopNHeap theTopN;
+
         public SortIterState(SortIter iter) {
             super();
             theResults = new ArrayList<FieldValueImpl>(4096);
@@ -73,6 +75,9 @@ public class SortIter extends PlanIter {
             super.done();
             theCurrResult = 0;
             theResults.clear();
+            if (theTopN != null) {
+                theTopN.clear();
+            }
         }
 
         @Override
@@ -80,12 +85,16 @@ public class SortIter extends PlanIter {
             super.reset(iter);
             theCurrResult = 0;
             theResults.clear();
+            if (theTopN != null) {
+                theTopN.clear();
+            }
         }
 
         @Override
         public void close() {
             super.close();
             theResults.clear();
+            theTopN = null;
         }
     }
 
@@ -99,6 +108,17 @@ public class SortIter extends PlanIter {
 
     private final boolean theCountMemory;
 
+    /*
+     * The offset and limit that will be applied to the sorted results, if
+     * any. If the limit is known, only the first offset + limit results in
+     * sort order are retained (in a TopNHeap), instead of all the results.
+     * These iters are not serialized, because they are evaluated at the
+     * driver only.
+     */
+    private final PlanIter theOffsetIter;
+
+    private final PlanIter theLimitIter;
+
     public SortIter(
         Expr e,
         int resultReg,
@@ -107,6 +127,8 @@ public class SortIter extends PlanIter {
         int[] sortFieldPositions,
         SortSpec[] sortSpecs,
         boolean countMemory,
+        PlanIter offsetIter,
+        PlanIter limitIter,
         boolean forCloud) {
 
         super(e, resultReg, forCloud);
@@ -116,6 +138,8 @@ public class SortIter extends PlanIter {
         theSortFieldPositions = sortFieldPositions;
         theSortSpecs = sortSpecs;
         theCountMemory = countMemory;
+        theOffsetIter = offsetIter;
+        theLimitIter = limitIter;
     }
 
     @Override
@@ -158,6 +182,11 @@ public class SortIter extends PlanIter {
         return PlanIterKind.SORT;
     }
 
+    @Override
+    public PlanIter getInputIter() {
+        return theInput;
+    }
+
     @Override
     public void setPublisher(
         RuntimeControlBlock rcb,
@@ -170,6 +199,12 @@ public class SortIter extends PlanIter {
         SortIterState state = new SortIterState(this);
         rcb.setState(theStatePos, state);
         theInput.open(rcb);
+
+        int maxSize = TopNHeap.computeMaxSize(rcb, theOffsetIter, theLimitIter);
+
+        if (maxSize > 0) {
+            state.theTopN = new TopNHeap(maxSize, state.theComparator);
+        }
     }
 
     @Override
@@ -241,11 +276,25 @@ public class SortIter extends PlanIter {
                     }
                 }
 
-                state.theResults.add(v);
+                if (state.theTopN != null) {
+
+                    FieldValueImpl evicted = state.theTopN.add(v);
 
-                if (theCountMemory) {
-                    long sz = v.sizeof() + SizeOf.OBJECT_REF_OVERHEAD;
-                    rcb.incMemoryConsumption(sz);
+                    if (theCountMemory && evicted != v) {
+                        if (evicted != null) {
+                            rcb.decMemoryConsumption(
+                                evicted.sizeof() + SizeOf.OBJECT_REF_OVERHEAD);
+                        }
+                        long sz = v.sizeof() + SizeOf.OBJECT_REF_OVERHEAD;
+                        rcb.incMemoryConsumption(sz);
+                    }
+                } else {
+                    state.theResults.add(v);
+
+                    if (theCountMemory) {
+                        long sz = v.sizeof() + SizeOf.OBJECT_REF_OVERHEAD;
+                        rcb.incMemoryConsumption(sz);
+                    }
                 }
 
                 more = (local ?
@@ -259,7 +308,11 @@ public class SortIter extends PlanIter {
                 }
             }
 
-            state.theResults.sort(state.theComparator);
+            if (state.theTopN != null) {
+                state.theTopN.drainSorted(state.theResults);
+            } else {
+                state.theResults.sort(state.theComparator);
+            }
 
             state.setState(StateEnum.RUNNING);
         }
@@ -299,6 +352,20 @@ public class SortIter extends PlanIter {
         }
         sb.append(" ],\n");
 
+        if (theOffsetIter != null) {
+            formatter.indent(sb);
+            sb.append("\"OFFSET\" :\n");
+            theOffsetIter.display(sb, formatter, verbose);
+            sb.append(",\n");
+        }
+
+        if (theLimitIter != null) {
+            formatter.indent(sb);
+            sb.append("\"LIMIT\" :\n");
+            theLimitIter.display(sb, formatter, verbose);
+            sb.append(",\n");
+        }
+
         displayInputIter(sb, formatter, verbose, theInput);
     }
 
@@ -0,0 +1,175 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import oracle.kv.impl.api.table.FieldValueImpl;
+
+/**
+ * A bounded heap that retains the N smallest of the values added to it,
+ * according to a given comparator. It is used to implement ORDER BY with
+ * LIMIT (and OFFSET) without sorting all the results of a query: if a query
+ * returns at most L results after skipping O results, only the O + L first
+ * results in sort order need to be kept, and the cost of sorting M results
+ * drops from O(M * log(M)) to O(M * log(O + L)).
+ *
+ * Internally, the values are stored in a max-heap, so that the largest
+ * retained value can be evicted in O(log(N)) time when a smaller value
+ * arrives. Values that compare equal are ordered by the order in which they
+ * were added, so the retained values, and their order, are the same as the
+ * first N values of a stable sort of all the values.
+ */
+class TopNHeap {
+
+    private static class Entry {
+
+        final FieldValueImpl theValue;
+
+        final long theSeqNum;
+
+        Entry(FieldValueImpl value, long seqNum) {
+            theValue = value;
+            theSeqNum = seqNum;
+        }
+    }
+
+    private final int theMaxSize;
+
+    private final Comparator<Entry> theComparator;
+
+    private final PriorityQueue<Entry> theHeap;
+
+    private long theNextSeqNum;
+
+    TopNHeap(int maxSize, Comparator<FieldValueImpl> comparator) {
+
+        assert(maxSize > 0);
+        theMaxSize = maxSize;
+        theComparator = (e1, e2) -> {
+            int cmp = comparator.compare(e1.theValue, e2.theValue);
+            return (cmp != 0 ? cmp : Long.compare(e1.theSeqNum, e2.theSeqNum));
+        };
+        theHeap = new PriorityQueue<Entry>(
+            Math.min(maxSize, 4096) + 1,
+            Collections.reverseOrder(theComparator));
+    }
+
+    int size() {
+        return theHeap.size();
+    }
+
+    void clear() {
+        theHeap.clear();
+    }
+
+    /**
+     * Adds the given value to the heap. If the heap is full, either the
+     * value itself or the largest value in the heap is discarded. Returns
+     * the discarded value, or null if no value was discarded.
+     */
+    FieldValueImpl add(FieldValueImpl v) {
+
+        Entry entry = new Entry(v, theNextSeqNum++);
+
+        if (theHeap.size() < theMaxSize) {
+            theHeap.add(entry);
+            return null;
+        }
+
+        if (theComparator.compare(entry, theHeap.peek()) > 0) {
+            return v;
+        }
+
+        Entry evicted = theHeap.poll();
+        theHeap.add(entry);
+        return evicted.theValue;
+    }
+
+    /**
+     * Moves the values in the heap to the given list, in ascending order.
+     * The heap is empty on return.
+     */
+    void drainSorted(List<FieldValueImpl> results) {
+
+        int start = results.size();
+
+        while (!theHeap.isEmpty()) {
+            results.add(theHeap.poll().theValue);
+        }
+
+        Collections.reverse(results.subList(start, results.size()));
+    }
+
+    /**
+     * Evaluates the given offset and limit iterators and returns the max
+     * number of values that a TopNHeap must retain to compute the results
+     * of the query, or -1 if this number is not known. Invalid offset or
+     * limit values are not reported here; they will be reported by the
+     * SFWIter that applies the offset and limit.
+     */
+    static int computeMaxSize(
+        RuntimeControlBlock rcb,
+        PlanIter offsetIter,
+        PlanIter limitIter) {
+
+        if (limitIter == null) {
+            return -1;
+        }
+
+        long limit = evalNonNegativeLong(rcb, limitIter);
+
+        if (limit < 0) {
+            return -1;
+        }
+
+        long offset = 0;
+
+        if (offsetIter != null) {
+            offset = evalNonNegativeLong(rcb, offsetIter);
+
+            if (offset < 0) {
+                return -1;
+            }
+        }
+
+        long maxSize = offset + limit;
+
+        if (maxSize == 0 || maxSize >= Integer.MAX_VALUE) {
+            return -1;
+        }
+
+        return (int)maxSize;
+    }
+
+    private static long evalNonNegativeLong(
+        RuntimeControlBlock rcb,
+        PlanIter iter) {
+
+        iter.open(rcb);
+        boolean more = iter.next(rcb);
+        FieldValueImpl val = (more ? rcb.getRegVal(iter.getResultReg()) : null);
+        long res = -1;
+
+        if (val != null && val.isLong()) {
+            res = val.getLong();
+        }
+
+        iter.close(rcb);
+        return (res < 0 || res > Integer.MAX_VALUE ? -1 : res);
+    }
+}
@@ -0,0 +1,361 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import static oracle.kv.impl.util.SerialVersion.QUERY_VERSION_19;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+import oracle.kv.impl.api.table.DisplayFormatter;
+import oracle.kv.impl.api.table.FieldValueImpl;
+import oracle.kv.impl.api.table.RecordValueImpl;
+import oracle.kv.impl.api.table.TupleValue;
+import oracle.kv.impl.query.QueryException;
+import oracle.kv.impl.query.compiler.Expr;
+import oracle.kv.impl.query.compiler.SortSpec;
+
+/**
+ * TopNIter is used at the RNs to reduce the number of results that are sent
+ * to the driver for queries with a generic (non-index-based) ORDER BY and a
+ * LIMIT. Such queries are sorted at the driver by a SortIter, which then
+ * needs only the first offset + limit results in sort order. TopNIter is
+ * placed at the root of the RN plan, and in every batch it consumes up to
+ * SCAN_FACTOR times the batch size results from its input, retaining only
+ * the first offset + limit of them in a TopNHeap. Any result that is not
+ * retained is preceded by offset + limit other results of the same batch,
+ * so it cannot be among the final results of the query. The retained results
+ * are returned in sort order, and the query is suspended after them, so
+ * that the next batch will resume the scan after the last consumed result.
+ *
+ * TopNIter does not reduce anything, and behaves as a no-op, if the offset
+ * and limit cannot be computed, or if offset + limit is not less than the
+ * batch size.
+ *
+ * Inputs:
+ *   A stream of records. The sort fields must have atomic values.
+ *
+ * Result:
+ *   A subset of the input records.
+ */
+public class TopNIter extends PlanIter {
+
+    /*
+     * The max number of input results consumed per batch is SCAN_FACTOR
+     * times the batch size.
+     */
+    static final int SCAN_FACTOR = 8;
+
+    private static class TopNIterState extends PlanIterState {
+
+        TopNHeap theTopN;
+
+        long theMaxInputs;
+
+        long theNumInputs;
+
+        ArrayList<FieldValueImpl> theResults;
+
+        int theCurrResult;
+
+        @Override
+        public void done() {
+            super.done();
+            clear();
+        }
+
+        @Override
+        public void reset(PlanIter iter) {
+            super.reset(iter);
+            clear();
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            theTopN = null;
+            theResults = null;
+        }
+
+        private void clear() {
+            theNumInputs = 0;
+            theResults = null;
+            theCurrResult = 0;
+            if (theTopN != null) {
+                theTopN.clear();
+            }
+        }
+    }
+
+    private final PlanIter theInput;
+
+    private final int[] theSortFieldPositions;
+
+    private final SortSpec[] theSortSpecs;
+
+    private final PlanIter theOffsetIter;
+
+    private final PlanIter theLimitIter;
+
+    public TopNIter(
+        Expr e,
+        int resultReg,
+        PlanIter input,
+        int[] sortFieldPositions,
+        SortSpec[] sortSpecs,
+        PlanIter offsetIter,
+        PlanIter limitIter) {
+
+        super(e, resultReg);
+        theInput = input;
+        theSortFieldPositions = sortFieldPositions;
+        theSortSpecs = sortSpecs;
+        theOffsetIter = offsetIter;
+        theLimitIter = limitIter;
+    }
+
+    /**
+     * FastExternalizable constructor.
+     */
+    TopNIter(DataInput in, short serialVersion) throws IOException {
+        super(in, serialVersion);
+        theInput = deserializeIter(in, serialVersion);
+        theSortFieldPositions = deserializeIntArray(in, serialVersion);
+        theSortSpecs = deserializeSortSpecs(in, serialVersion);
+        theOffsetIter = deserializeIter(in, serialVersion);
+        theLimitIter = deserializeIter(in, serialVersion);
+    }
+
+    /**
+     * FastExternalizable writer.  Must call superclass method first to
+     * write common elements.
+     *
+     * A TopNIter is an optimization only, so RNs that do not know it just
+     * receive its input.
+     */
+    @Override
+    public void writeFastExternal(DataOutput out, short serialVersion)
+            throws IOException {
+
+        if (serialVersion < QUERY_VERSION_19) {
+            theInput.writeFastExternal(out, serialVersion);
+            return;
+        }
+
+        super.writeFastExternal(out, serialVersion);
+        serializeIter(theInput, out, serialVersion);
+        serializeIntArray(theSortFieldPositions, out, serialVersion);
+        serializeSortSpecs(theSortSpecs, out, serialVersion);
+        serializeIter(theOffsetIter, out, serialVersion);
+        serializeIter(theLimitIter, out, serialVersion);
+    }
+
+    @Override
+    public PlanIterKind getKind() {
+        return PlanIterKind.TOP_N;
+    }
+
+    @Override
+    public PlanIter getInputIter() {
+        return theInput;
+    }
+
+    @Override
+    public void open(RuntimeControlBlock rcb) {
+
+        TopNIterState state = new TopNIterState();
+        rcb.setState(theStatePos, state);
+        theInput.open(rcb);
+
+        int batchSize = rcb.getBatchSize();
+
+        if (batchSize <= 0) {
+            return;
+        }
+
+        int maxSize = TopNHeap.computeMaxSize(rcb, theOffsetIter, theLimitIter);
+
+        if (maxSize > 0 && maxSize < batchSize) {
+            Comparator<FieldValueImpl> comparator = (v1, v2) ->
+                SortIter.compareRecords((RecordValueImpl)v1,
+                                        (RecordValueImpl)v2,
+                                        theSortFieldPositions,
+                                        theSortSpecs);
+            state.theTopN = new TopNHeap(maxSize, comparator);
+            state.theMaxInputs = (long)batchSize * SCAN_FACTOR;
+        }
+
+        if (rcb.getTraceLevel() >= 1) {
+            rcb.trace("TopNIter: max size = " + maxSize +
+                      " batch size = " + batchSize +
+                      " enabled = " + (state.theTopN != null));
+        }
+    }
+
+    @Override
+    public void reset(RuntimeControlBlock rcb) {
+        theInput.reset(rcb);
+        PlanIterState state = rcb.getState(theStatePos);
+        state.reset(this);
+    }
+
+    @Override
+    public void close(RuntimeControlBlock rcb) {
+
+        PlanIterState state = rcb.getState(theStatePos);
+        if (state == null) {
+            return;
+        }
+
+        theInput.close(rcb);
+        state.close();
+    }
+
+    @Override
+    public boolean next(RuntimeControlBlock rcb) {
+
+        TopNIterState state = (TopNIterState)rcb.getState(theStatePos);
+
+        if (state.isDone()) {
+            return false;
+        }
+
+        if (state.theTopN == null) {
+            if (theInput.next(rcb)) {
+                rcb.setRegVal(theResultReg,
+                              rcb.getRegVal(theInput.getResultReg()));
+                return true;
+            }
+            state.done();
+            return false;
+        }
+
+        if (state.theResults == null) {
+
+            while (theInput.next(rcb)) {
+
+                FieldValueImpl v = rcb.getRegVal(theInput.getResultReg());
+
+                if (v.isTuple()) {
+                    v = ((TupleValue)v).toRecord();
+                }
+
+                RecordValueImpl rec = (RecordValueImpl)v;
+
+                for (int i = 0; i < theSortFieldPositions.length; ++i) {
+
+                    FieldValueImpl fval = rec.get(theSortFieldPositions[i]);
+                    if (!fval.isAtomic() && !fval.isNull()) {
+                        throw new QueryException(
+                            "Sort expression does not return a single " +
+                            "atomic value", theLocation);
+                    }
+                }
+
+                state.theTopN.add(rec);
+
+                /* Make the input stop after the current result */
+                if (++state.theNumInputs >= state.theMaxInputs &&
+                    !rcb.needToSuspend()) {
+
+                    if (rcb.getTraceLevel() >= 1) {
+                        rcb.trace("TopNIter: query needs to suspend " +
+                                  "because it has consumed " +
+                                  state.theNumInputs + " input results");
+                    }
+                    rcb.setNeedToSuspend(true);
+                }
+            }
+
+            state.theResults = new ArrayList<>(state.theTopN.size());
+            state.theTopN.drainSorted(state.theResults);
+        }
+
+        if (state.theCurrResult < state.theResults.size()) {
+            rcb.setRegVal(theResultReg,
+                          state.theResults.get(state.theCurrResult));
+            state.theResults.set(state.theCurrResult, null);
+            ++state.theCurrResult;
+            return true;
+        }
+
+        state.done();
+        return false;
+    }
+
+    @Override
+    protected void displayContent(
+        StringBuilder sb,
+        DisplayFormatter formatter,
+        boolean verbose) {
+
+        formatter.indent(sb);
+        sb.append("\"order by fields at positions\" : [ ");
+        for (int i = 0; i < theSortFieldPositions.length; ++i) {
+            sb.append(theSortFieldPositions[i]);
+            if (i < theSortFieldPositions.length - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(" ],\n");
+
+        if (theOffsetIter != null) {
+            formatter.indent(sb);
+            sb.append("\"OFFSET\" :\n");
+            theOffsetIter.display(sb, formatter, verbose);
+            sb.append(",\n");
+        }
+
+        if (theLimitIter != null) {
+            formatter.indent(sb);
+            sb.append("\"LIMIT\" :\n");
+            theLimitIter.display(sb, formatter, verbose);
+            sb.append(",\n");
+        }
+
+        displayInputIter(sb, formatter, verbose, theInput);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj) || !(obj instanceof TopNIter)) {
+            return false;
+        }
+        final TopNIter other = (TopNIter) obj;
+        return Objects.equals(theInput, other.theInput) &&
+            Arrays.equals(theSortFieldPositions,
+                          other.theSortFieldPositions) &&
+            Arrays.equals(theSortSpecs, other.theSortSpecs) &&
+            Objects.equals(theOffsetIter, other.theOffsetIter) &&
+            Objects.equals(theLimitIter, other.theLimitIter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(),
+                            theInput,
+                            Arrays.hashCode(theSortFieldPositions),
+                            Arrays.hashCode(theSortSpecs),
+                            theOffsetIter,
+                            theLimitIter);
+    }
+}
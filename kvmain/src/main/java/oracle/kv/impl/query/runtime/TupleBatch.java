@@ -0,0 +1,352 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import oracle.kv.Version;
+import oracle.kv.impl.api.table.FieldValueImpl;
+import oracle.kv.impl.api.table.RowImpl;
+import oracle.kv.impl.api.table.TupleValue;
+
+/**
+ * A TupleBatch stores a batch of consecutive rows produced by a table scan,
+ * in columnar form, so that the WHERE clause of an SFW can be evaluated
+ * for all the rows of the batch with a single PlanIter.nextBatch() call on
+ * the WHERE iterator, instead of a next()/reset() cycle per row.
+ *
+ * A batch is filled by the table iterator (see
+ * PlanIter.nextTupleBatch()), filtered by the SFW via select(), and then
+ * its selected rows are emitted one at a time via emit(), which loads the
+ * row into the tuple registers of the table iterator, so that the SELECT
+ * clause and the iterators above the SFW see the same register contents as
+ * in row-at-a-time execution.
+ *
+ * Filling a batch moves the scan ahead of the rows that have been emitted.
+ * To keep query suspension exact, the batch records the ResumeInfo state
+ * of the scan after each row, and emit() restores the state of the row it
+ * emits. So, if the query suspends after emitting a row, it resumes right
+ * after that row, exactly as in row-at-a-time execution. The state of the
+ * scan after the last row of the batch, together with the reason the fill
+ * stopped early (end of the scan or a read/time limit), is recorded as well
+ * and restored via restoreEnd() when all the rows have been consumed.
+ *
+ * Instances are not thread-safe; each one belongs to the state of an SFW
+ * iterator.
+ */
+public class TupleBatch {
+
+    /** The maximum number of rows in a batch. */
+    public static final int MAX_CAPACITY = 64;
+
+    private final int theCapacity;
+
+    /* The registers storing the columns of the table tuple */
+    private final int[] theTupleRegs;
+
+    /* The register storing the TupleValue of the table */
+    private final int theTupleReg;
+
+    /* The table position whose ResumeInfo is saved per row */
+    private int thePosInJoin;
+
+    private int theSize;
+
+    /* The column values of the rows, indexed by [column][row] */
+    private final FieldValueImpl[][] theColumns;
+
+    /* The row properties stored in the TupleValue */
+    private final long[] theExpirationTimes;
+    private final long[] theModificationTimes;
+    private final long[] theCreationTimes;
+    private final int[] thePartitions;
+    private final int[] theStorageSizes;
+    private final int[] theIndexStorageSizes;
+    private final Version[] theVersions;
+    private final String[] theRowMetadata;
+
+    /* The ResumeInfo state of the scan after each row */
+    private final byte[][] thePrimResumeKeys;
+    private final byte[][] theSecResumeKeys;
+    private final int[] theIndexRanges;
+    private final boolean[] theMoveAfterResumeKeys;
+
+    /* The ResumeInfo state of the scan after the last row */
+    private byte[] theEndPrimResumeKey;
+    private byte[] theEndSecResumeKey;
+    private int theEndIndexRange;
+    private boolean theEndMoveAfterResumeKey;
+
+    /* Whether the scan reached its end while filling the batch */
+    private boolean theScanDone;
+
+    /* Whether a read or time limit was reached while filling the batch */
+    private boolean theReachedLimit;
+
+    private final boolean[] theSelected;
+
+    /* The next row to be considered by nextSelected() */
+    private int theCursor;
+
+    /* The row currently loaded in the tuple registers, or -1 */
+    private int theLoadedRow = -1;
+
+    private final ArrayDeque<ValueVector> theFreeVectors = new ArrayDeque<>();
+
+    private final ArrayDeque<boolean[]> theFreeMasks = new ArrayDeque<>();
+
+    public TupleBatch(int capacity, int[] tupleRegs, int tupleReg) {
+
+        theCapacity = capacity;
+        theTupleRegs = tupleRegs;
+        theTupleReg = tupleReg;
+
+        theColumns = new FieldValueImpl[tupleRegs.length][capacity];
+
+        theExpirationTimes = new long[capacity];
+        theModificationTimes = new long[capacity];
+        theCreationTimes = new long[capacity];
+        thePartitions = new int[capacity];
+        theStorageSizes = new int[capacity];
+        theIndexStorageSizes = new int[capacity];
+        theVersions = new Version[capacity];
+        theRowMetadata = new String[capacity];
+
+        thePrimResumeKeys = new byte[capacity][];
+        theSecResumeKeys = new byte[capacity][];
+        theIndexRanges = new int[capacity];
+        theMoveAfterResumeKeys = new boolean[capacity];
+
+        theSelected = new boolean[capacity];
+    }
+
+    public int size() {
+        return theSize;
+    }
+
+    public boolean isFull() {
+        return theSize == theCapacity;
+    }
+
+    public boolean isScanDone() {
+        return theScanDone;
+    }
+
+    public boolean reachedLimit() {
+        return theReachedLimit;
+    }
+
+    /**
+     * Returns the values of the tuple column stored in the given register,
+     * or null if the register is not a column of the batch.
+     */
+    public FieldValueImpl[] getColumn(int reg) {
+        for (int i = 0; i < theTupleRegs.length; ++i) {
+            if (theTupleRegs[i] == reg) {
+                return theColumns[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Empties the batch, in preparation for a new fill.
+     */
+    public void clear() {
+
+        for (FieldValueImpl[] column : theColumns) {
+            Arrays.fill(column, 0, theSize, null);
+        }
+        Arrays.fill(theVersions, 0, theSize, null);
+        Arrays.fill(theRowMetadata, 0, theSize, null);
+        Arrays.fill(thePrimResumeKeys, 0, theSize, null);
+        Arrays.fill(theSecResumeKeys, 0, theSize, null);
+
+        theSize = 0;
+        theCursor = 0;
+        theLoadedRow = -1;
+        theScanDone = false;
+        theReachedLimit = false;
+        theEndPrimResumeKey = null;
+        theEndSecResumeKey = null;
+    }
+
+    /**
+     * Adds a table row to the batch, together with the state of the scan
+     * after the row.
+     */
+    public void addRow(
+        RowImpl row,
+        int indexStorageSize,
+        ResumeInfo ri,
+        int posInJoin) {
+
+        assert(theSize < theCapacity);
+        int i = theSize++;
+
+        for (int c = 0; c < row.getNumFields(); ++c) {
+            theColumns[c][i] = row.get(c);
+        }
+
+        theExpirationTimes[i] = row.getExpirationTime();
+        theModificationTimes[i] = row.getLastModificationTime();
+        theCreationTimes[i] = row.getCreationTime();
+        thePartitions[i] = row.getPartition();
+        theStorageSizes[i] = row.getStorageSize();
+        theIndexStorageSizes[i] = indexStorageSize;
+        theVersions[i] = row.getVersion();
+        theRowMetadata[i] = row.getRowMetadata();
+
+        thePosInJoin = posInJoin;
+        thePrimResumeKeys[i] = ri.getPrimResumeKey(posInJoin);
+        theSecResumeKeys[i] = ri.getSecResumeKey(posInJoin);
+        theIndexRanges[i] = ri.getCurrentIndexRange(posInJoin);
+        theMoveAfterResumeKeys[i] = ri.getMoveAfterResumeKey(posInJoin);
+    }
+
+    /**
+     * Records that the fill stopped because the scan reached its end or a
+     * limit, together with the state of the scan at that point.
+     */
+    public void setEnd(
+        ResumeInfo ri,
+        int posInJoin,
+        boolean scanDone,
+        boolean reachedLimit) {
+
+        thePosInJoin = posInJoin;
+        theScanDone = scanDone;
+        theReachedLimit = reachedLimit;
+        theEndPrimResumeKey = ri.getPrimResumeKey(posInJoin);
+        theEndSecResumeKey = ri.getSecResumeKey(posInJoin);
+        theEndIndexRange = ri.getCurrentIndexRange(posInJoin);
+        theEndMoveAfterResumeKey = ri.getMoveAfterResumeKey(posInJoin);
+    }
+
+    /**
+     * Restores the ResumeInfo state recorded by setEnd().
+     */
+    public void restoreEnd(ResumeInfo ri) {
+        ri.setPrimResumeKey(thePosInJoin, theEndPrimResumeKey);
+        ri.setSecResumeKey(thePosInJoin, theEndSecResumeKey);
+        ri.setCurrentIndexRange(thePosInJoin, theEndIndexRange);
+        ri.setMoveAfterResumeKey(thePosInJoin, theEndMoveAfterResumeKey);
+    }
+
+    /**
+     * Selects the rows for which the given WHERE result is true. Rows whose
+     * result is EMPTY or NULL are not selected.
+     */
+    void select(ValueVector where) {
+        for (int i = 0; i < theSize; ++i) {
+            byte kind = where.getKind(i);
+            theSelected[i] = (kind != ValueVector.EMPTY &&
+                              kind != ValueVector.NULL &&
+                              where.getBoolean(i));
+        }
+        theCursor = 0;
+    }
+
+    /**
+     * Returns the next selected row that has not been returned yet, or -1
+     * if there is none.
+     */
+    int nextSelected() {
+        while (theCursor < theSize) {
+            int i = theCursor++;
+            if (theSelected[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Loads a row into the tuple registers, unless it is loaded already.
+     */
+    void loadRow(RuntimeControlBlock rcb, int i) {
+
+        if (theLoadedRow == i) {
+            return;
+        }
+
+        for (int c = 0; c < theColumns.length; ++c) {
+            rcb.setRegVal(theTupleRegs[c], theColumns[c][i]);
+        }
+
+        TupleValue tv = (TupleValue)rcb.getRegVal(theTupleReg);
+        tv.setExpirationTime(theExpirationTimes[i]);
+        tv.setModificationTime(theModificationTimes[i]);
+        tv.setCreationTime(theCreationTimes[i]);
+        tv.setPartition(thePartitions[i]);
+        tv.setStorageSize(theStorageSizes[i]);
+        tv.setIndexStorageSize(theIndexStorageSizes[i]);
+        tv.setVersion(theVersions[i]);
+        tv.setRowMetadata(theRowMetadata[i]);
+
+        theLoadedRow = i;
+    }
+
+    /**
+     * Loads a row into the tuple registers and restores the state of the
+     * scan after the row, as if the row had just been produced by the
+     * table iterator.
+     */
+    void emit(RuntimeControlBlock rcb, int i) {
+
+        theLoadedRow = -1;
+        loadRow(rcb, i);
+
+        ResumeInfo ri = rcb.getResumeInfo();
+        ri.setPrimResumeKey(thePosInJoin, thePrimResumeKeys[i]);
+        ri.setSecResumeKey(thePosInJoin, theSecResumeKeys[i]);
+        ri.setCurrentIndexRange(thePosInJoin, theIndexRanges[i]);
+        ri.setMoveAfterResumeKey(thePosInJoin, theMoveAfterResumeKeys[i]);
+    }
+
+    /**
+     * Returns a mask with an entry per row, initially all true for the rows
+     * of the batch. The mask must be returned via releaseMask().
+     */
+    boolean[] allocMask() {
+        boolean[] mask = theFreeMasks.poll();
+        if (mask == null) {
+            mask = new boolean[theCapacity];
+        }
+        Arrays.fill(mask, 0, theSize, true);
+        return mask;
+    }
+
+    void releaseMask(boolean[] mask) {
+        theFreeMasks.push(mask);
+    }
+
+    /**
+     * Returns a vector for the results of an iterator over the batch. The
+     * vector must be returned via releaseVector().
+     */
+    ValueVector allocVector() {
+        ValueVector vec = theFreeVectors.poll();
+        if (vec == null) {
+            vec = new ValueVector(theCapacity);
+        }
+        return vec;
+    }
+
+    void releaseVector(ValueVector vec) {
+        vec.clear();
+        theFreeVectors.push(vec);
+    }
+}
@@ -0,0 +1,243 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.query.runtime;
+
+import java.util.Arrays;
+
+import oracle.kv.impl.api.table.BooleanValueImpl;
+import oracle.kv.impl.api.table.EmptyValueImpl;
+import oracle.kv.impl.api.table.FieldDefImpl;
+import oracle.kv.impl.api.table.FieldValueImpl;
+import oracle.kv.impl.api.table.NullValueImpl;
+
+/**
+ * A ValueVector stores the results of an iterator over the tuples of a
+ * TupleBatch (see PlanIter.nextBatch()). Entry i holds the result for tuple
+ * i of the batch, which is either no item (EMPTY), the SQL NULL, or a single
+ * item. Integer, long, double and boolean items are stored unboxed, so that
+ * the batch kernels of the comparison, arithmetic and logical operators can
+ * work on primitives without creating a FieldValueImpl per tuple. Items of
+ * other types are stored as FieldValueImpls.
+ *
+ * A FieldValueImpl is created for an unboxed entry only if get() is called
+ * for it.
+ */
+public class ValueVector {
+
+    /* The kinds of the entries */
+    public static final byte EMPTY = 0;
+    public static final byte NULL = 1;
+    public static final byte INT = 2;
+    public static final byte LONG = 3;
+    public static final byte DOUBLE = 4;
+    public static final byte BOOLEAN = 5;
+    public static final byte OTHER = 6;
+
+    private final byte[] theKinds;
+
+    /* The values of INT, LONG and BOOLEAN entries */
+    private final long[] theLongs;
+
+    private final double[] theDoubles;
+
+    /*
+     * The items of OTHER entries, and of unboxed entries whose item is
+     * already available.
+     */
+    private final FieldValueImpl[] theValues;
+
+    public ValueVector(int capacity) {
+        theKinds = new byte[capacity];
+        theLongs = new long[capacity];
+        theDoubles = new double[capacity];
+        theValues = new FieldValueImpl[capacity];
+    }
+
+    public int capacity() {
+        return theKinds.length;
+    }
+
+    public byte getKind(int i) {
+        return theKinds[i];
+    }
+
+    public boolean isEmpty(int i) {
+        return theKinds[i] == EMPTY;
+    }
+
+    public boolean isNull(int i) {
+        return theKinds[i] == NULL;
+    }
+
+    /**
+     * Returns whether entry i is an INT or LONG.
+     */
+    public boolean isIntegral(int i) {
+        return theKinds[i] == INT || theKinds[i] == LONG;
+    }
+
+    /**
+     * Returns whether entry i is an INT, LONG or DOUBLE.
+     */
+    public boolean isNumeric(int i) {
+        return theKinds[i] == INT || theKinds[i] == LONG ||
+               theKinds[i] == DOUBLE;
+    }
+
+    /**
+     * Returns the value of an INT, LONG or BOOLEAN entry.
+     */
+    public long getLong(int i) {
+        return theLongs[i];
+    }
+
+    /**
+     * Returns the value of an INT, LONG or DOUBLE entry as a double.
+     */
+    public double getDouble(int i) {
+        return (theKinds[i] == DOUBLE ? theDoubles[i] : (double)theLongs[i]);
+    }
+
+    /**
+     * Returns the value of an entry that is expected to be a boolean.
+     * Throws the same exception as FieldValueImpl.getBoolean() if it is
+     * not.
+     */
+    public boolean getBoolean(int i) {
+        if (theKinds[i] == BOOLEAN) {
+            return theLongs[i] != 0;
+        }
+        return get(i).getBoolean();
+    }
+
+    /**
+     * Returns the item of entry i, or EmptyValueImpl if it has no item.
+     */
+    public FieldValueImpl get(int i) {
+
+        FieldValueImpl val = theValues[i];
+
+        if (val != null) {
+            return val;
+        }
+
+        switch (theKinds[i]) {
+        case EMPTY:
+            return EmptyValueImpl.getInstance();
+        case NULL:
+            return NullValueImpl.getInstance();
+        case INT:
+            val = FieldDefImpl.Constants.integerDef.createInteger(
+                (int)theLongs[i]);
+            break;
+        case LONG:
+            val = FieldDefImpl.Constants.longDef.createLong(theLongs[i]);
+            break;
+        case DOUBLE:
+            val = FieldDefImpl.Constants.doubleDef.createDouble(
+                theDoubles[i]);
+            break;
+        case BOOLEAN:
+            return BooleanValueImpl.create(theLongs[i] != 0);
+        default:
+            throw new IllegalStateException(
+                "Unexpected kind of vector entry: " + theKinds[i]);
+        }
+
+        theValues[i] = val;
+        return val;
+    }
+
+    /**
+     * Sets entry i to the given item, or to EMPTY if the item is null or
+     * the EMPTY value.
+     */
+    public void set(int i, FieldValueImpl val) {
+
+        theValues[i] = val;
+
+        if (val == null || val.isEMPTY()) {
+            theKinds[i] = EMPTY;
+            theValues[i] = null;
+            return;
+        }
+
+        if (val.isNull()) {
+            theKinds[i] = NULL;
+            return;
+        }
+
+        switch (val.getType()) {
+        case INTEGER:
+            theKinds[i] = INT;
+            theLongs[i] = val.getInt();
+            break;
+        case LONG:
+            theKinds[i] = LONG;
+            theLongs[i] = val.getLong();
+            break;
+        case DOUBLE:
+            theKinds[i] = DOUBLE;
+            theDoubles[i] = val.getDouble();
+            break;
+        case BOOLEAN:
+            theKinds[i] = BOOLEAN;
+            theLongs[i] = (val.getBoolean() ? 1 : 0);
+            break;
+        default:
+            theKinds[i] = OTHER;
+        }
+    }
+
+    public void setEmpty(int i) {
+        theKinds[i] = EMPTY;
+        theValues[i] = null;
+    }
+
+    public void setNull(int i) {
+        theKinds[i] = NULL;
+        theValues[i] = null;
+    }
+
+    public void setInt(int i, int v) {
+        theKinds[i] = INT;
+        theLongs[i] = v;
+        theValues[i] = null;
+    }
+
+    public void setLong(int i, long v) {
+        theKinds[i] = LONG;
+        theLongs[i] = v;
+        theValues[i] = null;
+    }
+
+    public void setDouble(int i, double v) {
+        theKinds[i] = DOUBLE;
+        theDoubles[i] = v;
+        theValues[i] = null;
+    }
+
+    public void setBoolean(int i, boolean v) {
+        theKinds[i] = BOOLEAN;
+        theLongs[i] = (v ? 1 : 0);
+        theValues[i] = null;
+    }
+
+    /**
+     * Releases the items referenced by the vector.
+     */
+    void clear() {
+        Arrays.fill(theValues, null);
+    }
+}
@@ -108,6 +108,11 @@ public class VarRefIter extends PlanIter {
         return theTupleRegs;
     }
 
+    @Override
+    CompiledPredicate.ValueNode compileValue() {
+        return (rcb) -> rcb.getRegVal(theResultReg);
+    }
+
     @Override
     public void open(RuntimeControlBlock rcb) {
         rcb.setState(theStatePos, new PlanIterState());
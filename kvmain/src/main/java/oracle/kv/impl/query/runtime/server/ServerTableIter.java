@@ -44,12 +44,14 @@ import oracle.kv.impl.query.compiler.ExprInOp.In3BindInfo;
 import oracle.kv.impl.query.compiler.FunctionLib.FuncCode;
 import oracle.kv.impl.query.compiler.SortSpec;
 import oracle.kv.impl.query.runtime.BaseTableIter;
+import oracle.kv.impl.query.runtime.CompiledPredicate;
 import oracle.kv.impl.query.runtime.PlanIter;
 import oracle.kv.impl.query.runtime.PlanIterState;
 import oracle.kv.impl.query.runtime.PlanIterState.StateEnum;
 import oracle.kv.impl.query.runtime.ResumeInfo;
 import oracle.kv.impl.query.runtime.RuntimeControlBlock;
 import oracle.kv.impl.query.runtime.SortIter;
+import oracle.kv.impl.query.runtime.TupleBatch;
 import oracle.kv.impl.query.runtime.server.TableScannerFactory.TableScanner;
 import oracle.kv.impl.query.runtime.server.TableScannerFactory.AncestorScanner;
 import oracle.kv.impl.query.runtime.server.TableScannerFactory.SizeLimitException;
@@ -1629,31 +1631,8 @@ public class ServerTableIter extends BaseTableIter {
             return false;
         }
 
-        if (theScanner == null) {
-
-            if (theAlwaysFalse) {
-                state.done();
-                return false;
-            }
-
-            /*
-             * This call will return an index scanner if secKey is not null,
-             * otherwise it returns a primary key scanner.
-             */
-            theScanner = theFactory.getTableScanner(
-                    rcb.getResumeInfo().getCurrentPid(),
-                    theDirection,
-                    thePosInJoin,
-                    theTables,
-                    theNumAncestors,
-                    theIndex,
-                    theRTKeys,
-                    theRTRanges,
-                    theIsUpdate,
-                    theLockIndexEntries,
-                    theUsesCoveringIndex,
-                    theExceededSizeLimit,
-                    theVersion);
+        if (!initScanner(rcb, state)) {
+            return false;
         }
 
         boolean more;
@@ -1718,6 +1697,44 @@ public class ServerTableIter extends BaseTableIter {
         return simpleNext(rcb, state);
     }
 
+    /*
+     * Creates the scanner, if not created already. Returns false, and
+     * finishes the iterator, if the scan is known to return no rows.
+     */
+    private boolean initScanner(
+        RuntimeControlBlock rcb,
+        PlanIterState state) {
+
+        if (theScanner != null) {
+            return true;
+        }
+
+        if (theAlwaysFalse) {
+            state.done();
+            return false;
+        }
+
+        /*
+         * This call will return an index scanner if secKey is not null,
+         * otherwise it returns a primary key scanner.
+         */
+        theScanner = theFactory.getTableScanner(
+                rcb.getResumeInfo().getCurrentPid(),
+                theDirection,
+                thePosInJoin,
+                theTables,
+                theNumAncestors,
+                theIndex,
+                theRTKeys,
+                theRTRanges,
+                theIsUpdate,
+                theLockIndexEntries,
+                theUsesCoveringIndex,
+                theExceededSizeLimit,
+                theVersion);
+        return true;
+    }
+
     public boolean simpleNext(RuntimeControlBlock rcb, PlanIterState state) {
 
         RecordValueImpl indexRow = null;
@@ -1766,42 +1783,10 @@ public class ServerTableIter extends BaseTableIter {
                         rcb.setRegVal(theResultReg, srow.getJsonCollectionMap());
 
                     } else {
-                        /* Populate the appropriate registers */
-                        for (int i = 0; i < indexRow.getNumFields(); ++i) {
-                            rcb.setRegVal(tupleRegs[i], indexRow.get(i));
-                        }
-
-                        TupleValue tv = (TupleValue)rcb.getRegVal(resultReg);
-                        tv.setExpirationTime(theScanner.expirationTime());
-                        tv.setModificationTime(theScanner.modificationTime());
-                        tv.setCreationTime(theScanner.creationTime());
-                        tv.setPartition(theScanner.partitionId());
-                        tv.setIndexStorageSize(theScanner.indexStorageSize());
-
-                        /*
-                         * Don't get the row size if the query is using a secondary
-                         * index, because (a) doing so will access the LN and
-                         * (b) it's not necessary as the row_storage_size() function
-                         * cannot appear in an index-filtering predicate for a
-                         * secondary index.
-                         */
-                        if (theIndex == null) {
-                            tv.setStorageSize(theScanner.rowStorageSize());
-                        }
-                    }
-
-                    /* Compute the filter condition */
-                    boolean match = filterIter.next(rcb);
-
-                    if (match) {
-                        FieldValueImpl val =
-                            rcb.getRegVal(filterIter.getResultReg());
-                        match = (val.isNull() ? false : val.getBoolean());
+                        setIndexRowRegs(rcb, indexRow, tupleRegs, resultReg);
                     }
 
-                    filterIter.reset(rcb);
-
-                    if (!match) {
+                    if (!evalFilter(rcb, filterIter)) {
                         if (rcb.getTraceLevel() >= 2) {
                             trace(rcb, "Filtered-out index row :\n " + indexRow);
                         }
@@ -1944,6 +1929,212 @@ public class ServerTableIter extends BaseTableIter {
         return false;
     }
 
+    /*
+     * Populates the registers with the fields of an index row (which is not
+     * a JSON collection row), in order to compute the index-filtering
+     * predicate on it.
+     */
+    private void setIndexRowRegs(
+        RuntimeControlBlock rcb,
+        RecordValueImpl indexRow,
+        int[] tupleRegs,
+        int resultReg) {
+
+        for (int i = 0; i < indexRow.getNumFields(); ++i) {
+            rcb.setRegVal(tupleRegs[i], indexRow.get(i));
+        }
+
+        TupleValue tv = (TupleValue)rcb.getRegVal(resultReg);
+        tv.setExpirationTime(theScanner.expirationTime());
+        tv.setModificationTime(theScanner.modificationTime());
+        tv.setCreationTime(theScanner.creationTime());
+        tv.setPartition(theScanner.partitionId());
+        tv.setIndexStorageSize(theScanner.indexStorageSize());
+
+        /*
+         * Don't get the row size if the query is using a secondary
+         * index, because (a) doing so will access the LN and
+         * (b) it's not necessary as the row_storage_size() function
+         * cannot appear in an index-filtering predicate for a
+         * secondary index.
+         */
+        if (theIndex == null) {
+            tv.setStorageSize(theScanner.rowStorageSize());
+        }
+    }
+
+    /*
+     * Computes the filter condition on the current registers.
+     */
+    private static boolean evalFilter(
+        RuntimeControlBlock rcb,
+        PlanIter filterIter) {
+
+        return CompiledPredicate.evalPredicate(rcb, filterIter);
+    }
+
+    /*
+     * Batches are supported for a scan over a single table that returns
+     * table rows, i.e., the cases where simpleNext() populates theTupleRegs
+     * with the fields of a table row.
+     */
+    @Override
+    public boolean supportsTupleBatches(RuntimeControlBlock rcb) {
+        return (theTables.length == 1 &&
+                thePosInJoin == 0 &&
+                !theIsUpdate &&
+                !theIsDelete &&
+                !theUsesCoveringIndex[0] &&
+                theIndexTupleRegs == null &&
+                theTupleRegs != null &&
+                !theTargetTable.isJsonCollection());
+    }
+
+    /*
+     * The batch version of simpleNext(). Scans rows into the batch until it
+     * is full, the scan ends, or a read or time limit is reached. In the
+     * last two cases, the resume info of the scan is recorded in the batch,
+     * and the iterator finishes on the next call, after the rows of the
+     * batch have been consumed. A reached limit is reported at that time,
+     * so that the rows of the batch can be returned before the query
+     * suspends.
+     */
+    @Override
+    public boolean nextTupleBatch(
+        RuntimeControlBlock rcb,
+        TupleBatch batch) {
+
+        PlanIterState state = rcb.getState(theStatePos);
+        ResumeInfo ri = rcb.getResumeInfo();
+
+        if (state.isDone()) {
+            return false;
+        }
+
+        if (batch.isScanDone() || batch.reachedLimit()) {
+            finishBatches(rcb, state, batch);
+            return false;
+        }
+
+        if (!initScanner(rcb, state)) {
+            return false;
+        }
+
+        if (rcb.needToSuspend()) {
+            if (rcb.getTraceLevel() >= 2) {
+                trace(rcb, "query can now suspend");
+            }
+            rcb.resetCannotSuspend();
+            state.done();
+            return false;
+        }
+
+        if (state.isOpen()) {
+            state.setState(StateEnum.RUNNING);
+        }
+
+        batch.clear();
+
+        PlanIter filterIter = getTargetTablePred();
+
+        try {
+            while (!batch.isFull()) {
+
+                if (!theScanner.next(null)) {
+                    batch.setEnd(ri, thePosInJoin, true, false);
+                    break;
+                }
+
+                if (filterIter != null) {
+
+                    RecordValueImpl indexRow = theScanner.getIndexRow();
+                    setIndexRowRegs(rcb, indexRow, theTupleRegs, theResultReg);
+
+                    if (!evalFilter(rcb, filterIter)) {
+                        if (rcb.getTraceLevel() >= 2) {
+                            trace(rcb, "Filtered-out index row :\n " +
+                                  indexRow);
+                        }
+                        continue;
+                    }
+                }
+
+                RowImpl tableRow = theScanner.getTableRow();
+
+                if (tableRow == null) {
+                    if (rcb.getTraceLevel() >= 2) {
+                        trace(rcb, "Failed to access table row for" +
+                              " index row");
+                    }
+                    continue;
+                }
+
+                if (rcb.getTraceLevel() >= 3) {
+                    trace(rcb, "Produced row: " + tableRow);
+                }
+
+                batch.addRow(tableRow, theScanner.indexStorageSize(),
+                             ri, thePosInJoin);
+            }
+        } catch (SizeLimitException sle) {
+
+            if (rcb.getTraceLevel() >= 2) {
+                trace(rcb, "Batch stopped due to SizeLimitException. " +
+                      "MaxReadKB = " + rcb.getMaxReadKB() +
+                      " CurrentMaxReadKB = " + rcb.getCurrentMaxReadKB());
+            }
+
+            ri.setMoveAfterResumeKey(thePosInJoin, sle.getAfterReadEntry());
+            batch.setEnd(ri, thePosInJoin, false, true);
+
+        } catch (TimeoutException e) {
+
+            /*
+             * rcb.checkTimeout() has set the reachedLimit and needToSuspend
+             * flags. Clear needToSuspend until the rows of the batch have
+             * been consumed. It was not set when the fill started.
+             */
+            if (rcb.getTraceLevel() >= 1) {
+                trace(rcb, "Batch stopped due to TimeoutException");
+            }
+
+            rcb.setNeedToSuspend(false);
+            batch.setEnd(ri, thePosInJoin, false, true);
+        }
+
+        if (batch.size() == 0) {
+            finishBatches(rcb, state, batch);
+            return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Called when the rows of the last batch have been consumed and the
+     * fill of that batch stopped at the end of the scan or at a limit.
+     * Restores the resume info recorded at that point, reports a reached
+     * limit, and finishes the iterator.
+     */
+    private void finishBatches(
+        RuntimeControlBlock rcb,
+        PlanIterState state,
+        TupleBatch batch) {
+
+        batch.restoreEnd(rcb.getResumeInfo());
+
+        if (batch.reachedLimit()) {
+            if (rcb.getTraceLevel() >= 2) {
+                trace(rcb, "Suspending after batch due to reached limit");
+            }
+            /* rcb.setReachedLimit() sets the needToSuspend flag as well */
+            rcb.setReachedLimit();
+        }
+
+        batch.clear();
+        state.done();
+    }
+
     private boolean nestedTablesNext(
         RuntimeControlBlock rcb,
         PlanIterState state) {
@@ -2461,14 +2652,7 @@ public class ServerTableIter extends BaseTableIter {
              */
             PlanIter predIter = thePredIters[tablePos];
 
-            boolean match = predIter.next(rcb);
-
-            if (match) {
-                FieldValueImpl val = rcb.getRegVal(predIter.getResultReg());
-                match = (val.isNull() ? false : val.getBoolean());
-            }
-
-            predIter.reset(rcb);
+            boolean match = CompiledPredicate.evalPredicate(rcb, predIter);
 
             if (!match) {
                 if (rcb.getTraceLevel() >= 2) {
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
+import oracle.kv.BulkWriteOptions;
 import oracle.kv.impl.util.CommandParser;
 import oracle.kv.table.Table;
 import oracle.kv.table.TableAPI;
@@ -38,6 +39,16 @@ public class ImportCommand extends ShellCommand {
     private final static String TABLE_FLAG_DESC = TABLE_FLAG + " <name>";
     private final static String FILE_FLAG_DESC = FILE_FLAG + " <name>";
 
+    private final static String PARALLELISM_FLAG = "-parallelism";
+    private final static String PARALLELISM_FLAG_DESC =
+        PARALLELISM_FLAG + " <n>";
+    private final static String SHARD_PARALLELISM_FLAG = "-shard-parallelism";
+    private final static String SHARD_PARALLELISM_FLAG_DESC =
+        SHARD_PARALLELISM_FLAG + " <n>";
+
+    /* The interval at which the progress of the import is printed */
+    private final static long PROGRESS_INTERVAL_MS = 10_000;
+
     private final static String TYPE_JSON = "JSON";
     private final static String TYPE_CSV = "CSV";
 
@@ -45,7 +56,9 @@ public class ImportCommand extends ShellCommand {
 
     final static String SYNTAX = NAME + " " +
         CommandParser.optional(TABLE_FLAG_DESC) + " " + FILE_FLAG_DESC + " " +
-        CommandParser.optional(TYPE_JSON + " | " + TYPE_CSV);
+        CommandParser.optional(TYPE_JSON + " | " + TYPE_CSV) + " " +
+        CommandParser.optional(PARALLELISM_FLAG_DESC) + " " +
+        CommandParser.optional(SHARD_PARALLELISM_FLAG_DESC);
 
     final static String DESCRIPTION =
         "Imports records from the specified file into the named table." + eolt +
@@ -62,7 +75,14 @@ public class ImportCommand extends ShellCommand {
         "..." + eolt + Shell.tab +
         "Table: emails" + eolt + Shell.tab +
         "<records of emails>" + eolt + Shell.tab +
-        "..." ;
+        "..." + eolt +
+        PARALLELISM_FLAG + " is the number of threads that parse records " +
+        "and" + eolt + "feed them to the store, the default is the number " +
+        "of" + eolt + "processors. " + SHARD_PARALLELISM_FLAG + " is the " +
+        "maximum number of" + eolt + "concurrent batch writes to each " +
+        "shard, the default is 3." + eolt + "If the file contains several " +
+        "records with the same primary" + eolt + "key, which one is " +
+        "stored is undefined.";
 
     public ImportCommand() {
         super(NAME, 3);
@@ -77,6 +97,8 @@ public class ImportCommand extends ShellCommand {
         String tableName = null;
         String fileName = null;
         Boolean isJson = null;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int shardParallelism = 0;
         for (int i = 1; i < args.length; i++) {
             String arg = args[i];
             if (TABLE_FLAG.equals(arg)) {
@@ -87,6 +109,17 @@ public class ImportCommand extends ShellCommand {
                 isJson = true;
             } else if (TYPE_CSV.equals(arg.toUpperCase())) {
                 isJson = false;
+            } else if (PARALLELISM_FLAG.equals(arg)) {
+                parallelism = parseUnsignedInt(Shell.nextArg(args, i++, this));
+                if (parallelism == 0) {
+                    invalidArgument(arg);
+                }
+            } else if (SHARD_PARALLELISM_FLAG.equals(arg)) {
+                shardParallelism =
+                    parseUnsignedInt(Shell.nextArg(args, i++, this));
+                if (shardParallelism == 0) {
+                    invalidArgument(arg);
+                }
             } else {
                 shell.unknownArgument(arg, this);
             }
@@ -117,14 +150,25 @@ public class ImportCommand extends ShellCommand {
         final WriteOptions wro = new WriteOptions(sqlShell.getStoreDurability(),
                                                   sqlShell.getRequestTimeout(),
                                                   TimeUnit.MILLISECONDS);
+        final BulkWriteOptions bwo =
+            new BulkWriteOptions(sqlShell.getStoreDurability(),
+                                 sqlShell.getRequestTimeout(),
+                                 TimeUnit.MILLISECONDS);
+        bwo.setStreamParallelism(parallelism);
+        if (shardParallelism > 0) {
+            bwo.setPerShardParallelism(shardParallelism);
+        }
+        final LoadTableUtils.Loader loader =
+            new LoadTableUtils.Loader(tableImpl)
+            .setBulkWriteOptions(bwo)
+            .setProgressOutput(shell.getOutput(), PROGRESS_INTERVAL_MS);
+
         Map<String, Long> results = null;
         try {
             if (isJson) {
-                results = LoadTableUtils.loadJsonFromFile(tableImpl, table,
-                                                          fileName, wro);
+                results = loader.loadJsonToTables(table, fileName, wro, true);
             } else {
-                results = LoadTableUtils.loadCSVFromFile(tableImpl, table,
-                                                         fileName, wro);
+                results = loader.loadCSVToTables(table, fileName, wro, true);
             }
         } catch (IOException ioe) {
             throw new ShellException(ioe.getMessage(), ioe);
@@ -0,0 +1,195 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.rep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import oracle.kv.Key;
+import oracle.kv.impl.api.ops.Execute;
+import oracle.kv.impl.api.ops.InternalOperation;
+import oracle.kv.impl.api.ops.SingleKeyOperation;
+import oracle.kv.impl.measurement.HotKeyStats;
+import oracle.kv.impl.measurement.HotKeyStats.HotKey;
+import oracle.kv.impl.topo.PartitionId;
+import oracle.kv.impl.util.HeavyHitterSketch;
+import oracle.kv.impl.util.HeavyHitterSketch.HeavyHitter;
+import oracle.kv.impl.util.UserDataControl;
+
+/**
+ * Tracks the shard keys, tables and partitions with the most read and write
+ * throughput on this RepNode, using bounded-memory heavy-hitter sketches.
+ * The request handler calls {@link #track} for each completed operation, and
+ * the stats collector calls {@link #getAndReset} at the end of each
+ * collection period to obtain the hottest entries for the period.
+ *
+ * Shard keys are tracked for single-key operations and for Execute
+ * (multi-operation) requests, all of which have a single major path. Tables
+ * are tracked for operations on a single table, and partitions for
+ * operations that target a single partition.
+ */
+public class HotKeyTracker {
+
+    /** The number of entries reported for each dimension. */
+    static final int TOP_N = 10;
+
+    /*
+     * Sketch sizes. Each stripe has DEPTH * WIDTH counters plus CAPACITY
+     * entries, so a set of sketches uses about 200KB.
+     */
+    private static final int N_STRIPES = 4;
+    private static final int WIDTH = 512;
+    private static final int CAPACITY = 2 * TOP_N;
+
+    private volatile Sketches sketches = new Sketches();
+
+    /**
+     * Records the throughput of a completed operation.
+     *
+     * @param op the operation
+     * @param partitionId the partition targeted by the request, or the null
+     * partition if the request is not for a single partition
+     * @param readKB the KB read by the operation
+     * @param writeKB the KB written by the operation
+     */
+    public void track(InternalOperation op,
+                      PartitionId partitionId,
+                      int readKB,
+                      int writeKB) {
+        if (readKB + writeKB <= 0) {
+            return;
+        }
+        final Sketches current = sketches;
+        final byte[] keyBytes = getKeyBytes(op);
+        if (keyBytes != null) {
+            current.shardKeys.add(new ShardKey(keyBytes), readKB, writeKB);
+        }
+        final long tableId = op.getTableId();
+        if (tableId != 0) {
+            current.tables.add(tableId, readKB, writeKB);
+        }
+        if ((partitionId != null) && !partitionId.isNull()) {
+            current.partitions.add(partitionId.getPartitionId(),
+                                   readKB, writeKB);
+        }
+    }
+
+    /**
+     * Returns the hottest entries tracked since the last call and starts a
+     * new tracking period.
+     *
+     * @param start the start time of the period
+     * @param end the end time of the period
+     * @param tableNames returns the name of a table given its ID, or null if
+     * the table is not known
+     */
+    public HotKeyStats getAndReset(long start,
+                                   long end,
+                                   LongFunction<String> tableNames) {
+        final Sketches old = sketches;
+        sketches = new Sketches();
+
+        final List<HotKey> shardKeys = new ArrayList<>();
+        for (HeavyHitter<ShardKey> hh : old.shardKeys.getTop(TOP_N)) {
+            shardKeys.add(toHotKey(hh.getKey().getDisplayName(), hh));
+        }
+        final List<HotKey> tables = new ArrayList<>();
+        for (HeavyHitter<Long> hh : old.tables.getTop(TOP_N)) {
+            final String name = tableNames.apply(hh.getKey());
+            tables.add(toHotKey(
+                (name != null) ? name : "tableId:" + hh.getKey(), hh));
+        }
+        final List<HotKey> partitions = new ArrayList<>();
+        for (HeavyHitter<Integer> hh : old.partitions.getTop(TOP_N)) {
+            partitions.add(
+                toHotKey(new PartitionId(hh.getKey()).toString(), hh));
+        }
+        return new HotKeyStats(start, end, shardKeys, tables, partitions);
+    }
+
+    private static HotKey toHotKey(String name, HeavyHitter<?> hh) {
+        return new HotKey(name, hh.getWeight(), hh.getReadWeight(),
+                          hh.getWriteWeight(), hh.getCount());
+    }
+
+    /**
+     * Returns the key bytes whose major path is the operation's shard key,
+     * or null if the operation does not have a single shard key.
+     */
+    private static byte[] getKeyBytes(InternalOperation op) {
+        if (op instanceof SingleKeyOperation) {
+            return ((SingleKeyOperation) op).getKeyBytes();
+        }
+        if (op instanceof Execute) {
+            final Execute execute = (Execute) op;
+            if (!execute.getOperations().isEmpty()) {
+                return execute.getOperations().get(0).getInternalOp()
+                    .getKeyBytes();
+            }
+        }
+        return null;
+    }
+
+    /** The sketches for one tracking period. */
+    private static class Sketches {
+        final HeavyHitterSketch<ShardKey> shardKeys =
+            new HeavyHitterSketch<>(N_STRIPES, WIDTH, CAPACITY);
+        final HeavyHitterSketch<Long> tables =
+            new HeavyHitterSketch<>(N_STRIPES, WIDTH, CAPACITY);
+        final HeavyHitterSketch<Integer> partitions =
+            new HeavyHitterSketch<>(N_STRIPES, WIDTH, CAPACITY);
+    }
+
+    /**
+     * The major path of a key. Refers to the operation's key bytes rather
+     * than copying them, since most keys are never retained by the sketch.
+     */
+    private static final class ShardKey {
+        private final byte[] keyBytes;
+        private final int length;
+        private final int hash;
+
+        ShardKey(byte[] keyBytes) {
+            this.keyBytes = keyBytes;
+            length = Key.getMajorPathLength(keyBytes);
+            int h = 1;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + keyBytes[i];
+            }
+            hash = h;
+        }
+
+        String getDisplayName() {
+            return UserDataControl.displayKey(
+                Arrays.copyOf(keyBytes, length));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ShardKey)) {
+                return false;
+            }
+            final ShardKey o = (ShardKey) other;
+            return (hash == o.hash) &&
+                Arrays.equals(keyBytes, 0, length, o.keyBytes, 0, o.length);
+        }
+    }
+}
@@ -18,28 +18,38 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import oracle.kv.impl.admin.param.RepNodeParams;
 import oracle.kv.impl.api.RequestHandlerImpl;
+import oracle.kv.impl.api.RequestTrace;
+import oracle.kv.impl.api.table.TableImpl;
 import oracle.kv.impl.api.ops.InternalOperation.OpCode;
 import oracle.kv.impl.async.EndpointGroup;
 import oracle.kv.impl.async.dialog.nio.NioEndpointGroup;
 import oracle.kv.impl.measurement.EnvStats;
+import oracle.kv.impl.measurement.HotKeyStats;
 import oracle.kv.impl.measurement.JVMStats;
+import oracle.kv.impl.measurement.LatencyHistogram;
 import oracle.kv.impl.measurement.LatencyInfo;
 import oracle.kv.impl.measurement.LoggingStats;
+import oracle.kv.impl.measurement.OpenMetricsWriter;
 import oracle.kv.impl.measurement.PerfStatType;
 import oracle.kv.impl.measurement.RepEnvStats;
 import oracle.kv.impl.measurement.ReplicationState;
 import oracle.kv.impl.measurement.StatType;
+import oracle.kv.impl.measurement.TableInfo;
 import oracle.kv.impl.monitor.AgentRepository;
 import oracle.kv.impl.monitor.views.PerfEvent;
 import oracle.kv.impl.param.DurationParameter;
@@ -48,6 +58,8 @@ import oracle.kv.impl.param.ParameterMap;
 import oracle.kv.impl.param.ParameterState;
 import oracle.kv.impl.param.ParameterUtils;
 import oracle.kv.impl.rep.monitor.StatsPacket;
+import oracle.kv.impl.security.login.TokenVerifier;
+import oracle.kv.impl.security.login.TokenVerifier.VerifierStats;
 import oracle.kv.impl.topo.RepNodeId;
 import oracle.kv.impl.util.KVThreadFactory;
 import oracle.kv.impl.util.LatencyTracker;
@@ -97,6 +109,28 @@ public class OperationsStatsTracker {
      */
     private volatile SummarizingLatencyTracker latencyTracker;
 
+    /*
+     * Cumulative latency histograms for each op type, indexed by ordinal,
+     * for the OpenMetrics endpoint. These are kept across replacements of
+     * the latency tracker, and are never reset.
+     */
+    private final LatencyHistogram[] opHistograms =
+        createHistograms(OpCode.values().length);
+
+    /*
+     * Cumulative latency histograms for each server phase of traced
+     * requests, indexed by phase ordinal, for the OpenMetrics endpoint.
+     */
+    private final LatencyHistogram[] phaseHistograms =
+        createHistograms(RequestTrace.Phase.values().length);
+
+    /* Cumulative throughput of each table, for the OpenMetrics endpoint */
+    private final Map<String, TableTotals> tableTotals =
+        new ConcurrentHashMap<>();
+
+    /* Tracks the hottest shard keys, tables and partitions. */
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker();
+
     /* Timestamp for the start of all operation tracking. */
     private long trackingStart;
 
@@ -106,6 +140,8 @@ public class OperationsStatsTracker {
     private long lastEndOfLog = 0;
     /* Configuration used to collect stats. */
     private final StatsConfig config = new StatsConfig().setClear(true);
+    /* Configuration used to read stats for metrics, without clearing. */
+    private static final StatsConfig METRICS_CONFIG = new StatsConfig();
 
     private final Logger logger;
     private final RepNodeService repNodeService;
@@ -164,7 +200,8 @@ public class OperationsStatsTracker {
      * tracking.
      */
     public OperationsStatsTracker() {
-        latencyTracker = new SummarizingLatencyTracker(null, 0, 0, 0);
+        latencyTracker =
+            new SummarizingLatencyTracker(null, 0, 0, 0, opHistograms);
         monitorBuffer = null;
         collector = null;
         collectorFuture = null;
@@ -196,7 +233,8 @@ public class OperationsStatsTracker {
             (logger,
              rnParamsMap.get(ParameterState.SP_ACTIVE_THRESHOLD).asInt(),
              ParameterUtils.getThreadDumpIntervalMillis(rnParamsMap),
-             rnParamsMap.get(ParameterState.SP_THREAD_DUMP_MAX).asInt());
+             rnParamsMap.get(ParameterState.SP_THREAD_DUMP_MAX).asInt(),
+             opHistograms);
 
         DurationParameter dp =
             (DurationParameter) globalParamsMap.getOrDefault(
@@ -213,6 +251,10 @@ public class OperationsStatsTracker {
         return latencyTracker;
     }
 
+    public HotKeyTracker getHotKeyTracker() {
+        return hotKeyTracker;
+    }
+
     synchronized public void newRNParameters(ParameterMap oldMap,
                                              ParameterMap newMap) {
 
@@ -285,12 +327,26 @@ public class OperationsStatsTracker {
                              useEnd, result)));
 
         /* Get the table throughput and size stats */
-        packet.set
-            (repNodeService.getRepNode().getTableManager().getTableInfo());
+        final Set<TableInfo> tableInfo =
+            repNodeService.getRepNode().getTableManager().getTableInfo();
+        packet.set(tableInfo);
+        if (tableInfo != null) {
+            for (TableInfo info : tableInfo) {
+                tableTotals.computeIfAbsent(info.getTableName(),
+                                            k -> new TableTotals())
+                    .add(info);
+            }
+        }
 
         packet.add
             (new ReplicationState(useStart, useEnd, getReplicationState()));
 
+        final HotKeyStats hotKeyStats =
+            hotKeyTracker.getAndReset(useStart, useEnd, this::getTableName);
+        if (!hotKeyStats.isEmpty()) {
+            packet.add(hotKeyStats);
+        }
+
         if (repNodeService.getParams().getRepNodeParams().
             getCollectEnvStats()) {
             ReplicatedEnvironment repEnv =
@@ -376,6 +432,8 @@ public class OperationsStatsTracker {
             asyncRequestTimeStatsNanos.getPercent95());
         packet.setAsyncRequestQueueTime99thNanos(
             asyncRequestTimeStatsNanos.getPercent99());
+        packet.add(reqHandler.getAsyncRequestQueueStats(
+                       useStart, useEnd, WatcherNames.SERVER_STATS_TRACKER));
         lastEnd = useEnd;
 
         logThresholdAlerts(Level.WARNING, packet);
@@ -385,6 +443,161 @@ public class OperationsStatsTracker {
         logger.log(Level.FINE, () -> packet.toString());
     }
 
+    /**
+     * Writes the metrics of this RN for the OpenMetrics endpoint: the latency
+     * histograms of each op type and of each phase of traced requests, the
+     * cumulative throughput of each table, and, if the environment is open,
+     * the JE environment and replication stats. Note that the values of
+     * incremental JE stats cover the current stats collection period, since
+     * collection clears them.
+     */
+    public void writeMetrics(OpenMetricsWriter writer) {
+        final String latencyName = "kv_rn_op_latency_seconds";
+        writer.startFamily(latencyName, "histogram",
+                           "Request latency by operation type");
+        for (OpCode opCode : OpCode.values()) {
+            final LatencyHistogram h = opHistograms[opCode.ordinal()];
+            if (h.getCount() > 0) {
+                writer.histogram(latencyName, h, "op", opCode.name());
+            }
+        }
+
+        final String phaseName = "kv_rn_request_phase_seconds";
+        writer.startFamily(phaseName, "histogram",
+                           "Time spent in each phase by traced requests");
+        for (RequestTrace.Phase phase : RequestTrace.Phase.values()) {
+            final LatencyHistogram h = phaseHistograms[phase.ordinal()];
+            if (h.getCount() > 0) {
+                writer.histogram(phaseName, h, "phase", phase.name());
+            }
+        }
+
+        writeTableCounter(writer, "kv_rn_table_read_kb",
+                          "Read KB by table", t -> t.readKB.get());
+        writeTableCounter(writer, "kv_rn_table_write_kb",
+                          "Write KB by table", t -> t.writeKB.get());
+        writeTableCounter(writer, "kv_rn_table_read_throttled",
+                          "Read throughput exceptions by table",
+                          t -> t.readThroughputExceptions.get());
+        writeTableCounter(writer, "kv_rn_table_write_throttled",
+                          "Write throughput exceptions by table",
+                          t -> t.writeThroughputExceptions.get());
+
+        final RepNodeSecurity security = repNodeService.getRepNodeSecurity();
+        final TokenVerifier verifier =
+            (security == null) ? null : security.getTokenVerifier();
+        if (verifier != null) {
+            final VerifierStats stats = verifier.getStats();
+            writeCounter(writer, "kv_rn_token_cache_hits",
+                         "Login tokens found valid in the cache",
+                         stats.getHits());
+            writeCounter(writer, "kv_rn_token_cache_invalid_hits",
+                         "Login tokens found invalid in the cache",
+                         stats.getInvalidHits());
+            writeCounter(writer, "kv_rn_token_cache_misses",
+                         "Login tokens that had to be resolved",
+                         stats.getMisses());
+            writeCounter(writer, "kv_rn_token_resolves_coalesced",
+                         "Token resolutions that waited for one in progress",
+                         stats.getCoalesced());
+            writeCounter(writer, "kv_rn_token_refreshes",
+                         "Background refreshes of cached login tokens",
+                         stats.getRefreshAttempts());
+            writeCounter(writer, "kv_rn_token_refresh_batches",
+                         "Batches of background token refreshes",
+                         stats.getRefreshBatches());
+        }
+
+        final ReplicatedEnvironment repEnv =
+            repNodeService.getRepNode().getEnv(0);
+        if ((repEnv != null) && repEnv.isValid()) {
+            writer.statGroups("je",
+                              repEnv.getStats(METRICS_CONFIG)
+                              .getStatGroups());
+            writer.statGroups("je_rep",
+                              repEnv.getRepStats(METRICS_CONFIG)
+                              .getStatGroups());
+        }
+    }
+
+    private static void writeCounter(OpenMetricsWriter writer,
+                                     String name,
+                                     String help,
+                                     long value) {
+        writer.startFamily(name, "counter", help);
+        writer.counter(name, value);
+    }
+
+    private void writeTableCounter(OpenMetricsWriter writer,
+                                   String name,
+                                   String help,
+                                   ToLongFunction<TableTotals> value) {
+        writer.startFamily(name, "counter", help);
+        for (Entry<String, TableTotals> e : tableTotals.entrySet()) {
+            writer.counter(name, value.applyAsLong(e.getValue()),
+                           "table", e.getKey());
+        }
+    }
+
+    /**
+     * Records the server phases of a traced request in the phase histograms.
+     */
+    public void recordTrace(RequestTrace trace) {
+        for (RequestTrace.Phase phase : RequestTrace.Phase.values()) {
+            if (!phase.isClient()) {
+                phaseHistograms[phase.ordinal()].record(
+                    trace.getNanos(phase));
+            }
+        }
+    }
+
+    /**
+     * Returns the histogram of the times traced requests spent in the
+     * specified server phase.
+     */
+    public LatencyHistogram getPhaseHistogram(RequestTrace.Phase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the latency histogram of the specified op type.
+     */
+    public LatencyHistogram getOpHistogram(OpCode opCode) {
+        return opHistograms[opCode.ordinal()];
+    }
+
+    private static LatencyHistogram[] createHistograms(int count) {
+        final LatencyHistogram[] histograms = new LatencyHistogram[count];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    /**
+     * The cumulative throughput of a table.
+     */
+    private static class TableTotals {
+        final AtomicLong readKB = new AtomicLong();
+        final AtomicLong writeKB = new AtomicLong();
+        final AtomicLong readThroughputExceptions = new AtomicLong();
+        final AtomicLong writeThroughputExceptions = new AtomicLong();
+
+        void add(TableInfo info) {
+            readKB.addAndGet(info.getReadKB());
+            writeKB.addAndGet(info.getWriteKB());
+            readThroughputExceptions.addAndGet(
+                info.getReadThroughputExceptions());
+            writeThroughputExceptions.addAndGet(
+                info.getWriteThroughputExceptions());
+        }
+    }
+
+    private String getTableName(long tableId) {
+        final TableImpl table = repNodeService.getRepNode().getTable(tableId);
+        return (table != null) ? table.getFullNamespaceName() : null;
+    }
+
     private PerfStatType getPerfStatTypeFromKey(StatType key) {
         if (key instanceof PerfStatType) {
             return (PerfStatType) key;
@@ -471,12 +684,28 @@ public class OperationsStatsTracker {
     public static class SummarizingLatencyTracker
         extends LatencyTracker<StatType> {
 
+        /*
+         * Cumulative histograms of each op type, indexed by ordinal, or null
+         * if not tracked.
+         */
+        private final LatencyHistogram[] opHistograms;
+
         public SummarizingLatencyTracker(Logger stackTraceLogger,
                                          int activeThreadThreshold,
                                          long threadDumpIntervalMillis,
                                          int threadDumpMax) {
+            this(stackTraceLogger, activeThreadThreshold,
+                 threadDumpIntervalMillis, threadDumpMax, null);
+        }
+
+        public SummarizingLatencyTracker(Logger stackTraceLogger,
+                                         int activeThreadThreshold,
+                                         long threadDumpIntervalMillis,
+                                         int threadDumpMax,
+                                         LatencyHistogram[] opHistograms) {
             super(LATENCY_TRACK_ENUMS, stackTraceLogger, activeThreadThreshold,
                   threadDumpIntervalMillis, threadDumpMax);
+            this.opHistograms = opHistograms;
         }
 
         /**
@@ -495,6 +724,10 @@ public class OperationsStatsTracker {
             }
             final OpCode opType = (OpCode) type;
             super.markFinish(opType, startTime, numRecords);
+            if ((opHistograms != null) && (numRecords != 0)) {
+                opHistograms[opType.ordinal()].record(
+                    System.nanoTime() - startTime);
+            }
 
             if (opType.equals(OpCode.NOP)) {
                 /* No need to update parent types for NOP. */
@@ -127,6 +127,9 @@ public class PartitionManager {
     /* Partition generation table, or null if not initialized */
     private volatile PartitionGenerationTable partGenTable = null;
 
+    /* Whether partition databases have a key filter */
+    private final boolean partitionKeyFilter;
+
     PartitionManager(RepNode repNode,
                      SecondaryAssociation secondaryAssociation,
                      Params params) {
@@ -140,6 +143,8 @@ public class PartitionManager {
                                  setSecondaryAssociation(secondaryAssociation).
                                  setCacheMode(
                                     params.getRepNodeParams().getJECacheMode());
+        partitionKeyFilter =
+            params.getRepNodeParams().getPartitionKeyFilter();
         logger = LoggerUtils.getLogger(this.getClass(), params);
         logger.log(Level.INFO,
                    "Partition database cache mode: {0}",
@@ -876,6 +881,9 @@ public class PartitionManager {
 
                 txn.commit();
                 txn = null;
+                if (partitionKeyFilter) {
+                    DbInternal.getDbImpl(db).getTree().enableKeyFilter();
+                }
                 /* DB op successful, update in-memory data */
                 partitionDbMap.put(partitionId, db);
                 return true;
@@ -244,6 +244,13 @@ public class RepNodeSecurity implements GlobalParamsUpdater,
         }
     }
 
+    /**
+     * Returns the token verifier, or null if security is not enabled.
+     */
+    public TokenVerifier getTokenVerifier() {
+        return tokenVerifier;
+    }
+
     public AccessChecker getAccessChecker() {
         return accessChecker;
     }
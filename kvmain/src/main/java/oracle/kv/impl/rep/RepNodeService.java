@@ -18,6 +18,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static oracle.kv.impl.param.ParameterState.COMMON_HIDE_USERDATA;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.net.InetSocketAddress;
 import java.rmi.NotBoundException;
@@ -54,6 +55,7 @@ import oracle.kv.impl.async.ResponderDialogHandlerFactory;
 import oracle.kv.impl.fault.ProcessExitCode;
 import oracle.kv.impl.fault.ProcessFaultHandler;
 import oracle.kv.impl.fault.ServiceFaultHandler;
+import oracle.kv.impl.measurement.OpenMetricsServer;
 import oracle.kv.impl.metadata.Metadata;
 import oracle.kv.impl.metadata.MetadataInfo;
 import oracle.kv.impl.monitor.AgentRepository;
@@ -99,6 +101,7 @@ import oracle.kv.impl.util.registry.RegistryUtils.InterfaceType;
 import oracle.kv.impl.util.registry.ServerSocketFactory;
 import oracle.kv.impl.util.registry.VersionedRemote;
 import oracle.kv.impl.util.server.LoggerUtils;
+import oracle.nosql.common.sklogger.MetricRegistry;
 
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.rep.ReplicatedEnvironment;
@@ -184,6 +187,9 @@ public class RepNodeService
      */
     private OperationsStatsTracker opStatsTracker;
 
+    /* The OpenMetrics endpoint, or null if not enabled */
+    private OpenMetricsServer metricsServer;
+
     /**
      * Parameter change tracker
      */
@@ -707,6 +713,8 @@ public class RepNodeService
                 keyStatsCollector.startup(getRepNodeParams());
                 checkStopRequestedDuringStart();
 
+                startMetricsServer();
+
                 if (numAsyncServicesStarted > NUM_ASYNC_SERVICES) {
                     throw new IllegalStateException(
                         "The number of async services started (" +
@@ -727,6 +735,38 @@ public class RepNodeService
         }
     }
 
+    /**
+     * Starts the OpenMetrics endpoint if a port is configured. Failing to
+     * start the endpoint is logged but does not prevent the RN from running.
+     */
+    private void startMetricsServer() {
+        final int port = getRepNodeParams().getMetricsPort();
+        if (port == 0) {
+            return;
+        }
+        final StorageNodeParams snp = params.getStorageNodeParams();
+        if (!OpenMetricsServer.isAllowed(
+                params.getSecurityParams().isSecure(),
+                snp.getMetricsAllowInsecure(), logger)) {
+            return;
+        }
+        try {
+            final OpenMetricsServer server =
+                new OpenMetricsServer(snp.getHostname(), port, logger);
+            server.addCollector(opStatsTracker::writeMetrics);
+            server.addCollector(OpenMetricsServer.getJVMCollector("kv_rn"));
+            server.addCollector(
+                OpenMetricsServer.getRegistryCollector(
+                    MetricRegistry.defaultRegistry, "kv_rn"));
+            server.start();
+            metricsServer = server;
+            logger.info("Started OpenMetrics endpoint on port " + port);
+        } catch (IOException e) {
+            logger.warning("Unable to start OpenMetrics endpoint on port " +
+                           port + ": " + e);
+        }
+    }
+
     private void checkStopRequestedDuringStart() {
         if (stopRequested) {
             throw new IllegalStateException(
@@ -851,6 +891,11 @@ public class RepNodeService
                  */
                 kvStoreCreator.stop();
 
+                if (metricsServer != null) {
+                    metricsServer.stop();
+                    metricsServer = null;
+                }
+
                 /*
                  * Push all stats out of the operation stats collector, to
                  * attempt to get them to the admin monitor or to the local log.
@@ -528,7 +528,8 @@ public class MigrationService implements Runnable {
 
             source = new MigrationSource(channel, partitionId,
                                          request.targetRNId,
-                                         repNode, this, params);
+                                         repNode, this, params,
+                                         request.compress);
             sourceMap.put(partitionId, source);
 
             try {
@@ -16,7 +16,6 @@ package oracle.kv.impl.rep.migration;
 import static com.sleepycat.je.utilint.VLSN.NULL_VLSN;
 import static oracle.kv.impl.api.ops.InternalOperationHandler.getStorageSize;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.channels.Channels;
 import java.util.concurrent.TimeoutException;
@@ -28,6 +27,7 @@ import oracle.kv.impl.rep.PartitionManager;
 import oracle.kv.impl.rep.RepNode;
 import oracle.kv.impl.rep.RepNodeService.Params;
 import oracle.kv.impl.rep.migration.TransferProtocol.OP;
+import oracle.kv.impl.rep.migration.TransferProtocol.OpOutputStream;
 import oracle.kv.impl.rep.migration.generation.PartitionGeneration;
 import oracle.kv.impl.rep.migration.generation.PartitionGenerationTable;
 import oracle.kv.impl.test.TestHook;
@@ -146,6 +146,12 @@ public class MigrationSource implements Runnable {
 
     private final static long WAIT_PENDING_OPS_TIMEOUT_MS = 10 * 60 * 1000;
 
+    /*
+     * The maximum time copied records are held in the stream buffer before
+     * being flushed to the target.
+     */
+    private final static long FLUSH_INTERVAL_MS = 1000;
+
     /**
      * Test hook that throws an IOException before sending the EOD,
      * setting the target migration state to ERROR.
@@ -168,7 +174,7 @@ public class MigrationSource implements Runnable {
 
     private final DataChannel channel;
 
-    private final DataOutputStream stream;
+    private final OpOutputStream stream;
 
     /* The partition this source is transferring */
     private final PartitionId partitionId;
@@ -228,6 +234,9 @@ public class MigrationSource implements Runnable {
     /* True if EOD has been sent */
     private volatile boolean eod = false;
 
+    /* The time of the last stream flush. Synchronize when accessing. */
+    private long lastFlushTime;
+
     /* statistics */
     private final long startTime;
     private long endTime = 0;
@@ -249,10 +258,12 @@ public class MigrationSource implements Runnable {
                     RepNodeId targetRNId,
                     RepNode repNode,
                     MigrationService service,
-                    Params params)
+                    Params params,
+                    boolean compress)
         throws IOException {
         this.channel = channel;
-        this.stream = new DataOutputStream(Channels.newOutputStream(channel));
+        this.stream = TransferProtocol.createOpOutputStream(
+            Channels.newOutputStream(channel), compress);
         this.partitionId = partitionId;
         this.targetRNId = targetRNId;
         this.transferOnly =
@@ -267,6 +278,7 @@ public class MigrationSource implements Runnable {
                 params.getRepNodeParams().getReadWriteTimeout());
         channel.socket().setTcpNoDelay(false);
         startTime = System.currentTimeMillis();
+        lastFlushTime = startTime;
     }
 
     /**
@@ -522,6 +534,12 @@ public class MigrationSource implements Runnable {
                         return;
                     }
 
+                    /*
+                     * Push out the records sent so far, since the retry may
+                     * take a while.
+                     */
+                    flush();
+
                     /* retry */
                     transactionConflicts++;
                 }
@@ -562,7 +580,8 @@ public class MigrationSource implements Runnable {
     }
 
     /**
-     * Closes the channel, logging any resulting exceptions.
+     * Closes the channel, logging any resulting exceptions, and releases the
+     * op stream.
      */
     private void closeChannel() {
         try {
@@ -570,6 +589,8 @@ public class MigrationSource implements Runnable {
         } catch (IOException ioe) {
             logger.log(Level.WARNING,
                        "Exception closing partition migration channel", ioe);
+        } finally {
+            stream.end();
         }
     }
 
@@ -776,6 +797,31 @@ public class MigrationSource implements Runnable {
             writeTombstoneFlag(isTombstone);
             writeVLSN(vlsn);
             recordsSent++;
+
+            /*
+             * The stream is buffered, flush periodically so that the target
+             * receives data in a timely manner even if the scan is slow.
+             */
+            final long now = System.currentTimeMillis();
+            if ((now - lastFlushTime) >= FLUSH_INTERVAL_MS) {
+                stream.flush();
+                lastFlushTime = now;
+            }
+        } catch (IOException ioe) {
+            error(ioe);
+        }
+    }
+
+    /**
+     * Flushes the stream, sending any buffered operations to the target.
+     */
+    private synchronized void flush() {
+        if (canceled) {
+            return;
+        }
+        try {
+            stream.flush();
+            lastFlushTime = System.currentTimeMillis();
         } catch (IOException ioe) {
             error(ioe);
         }
@@ -997,6 +1043,13 @@ public class MigrationSource implements Runnable {
         try {
             writeOp(commit ? OP.COMMIT : OP.ABORT, txnId);
 
+            /*
+             * The target applies the client operation once the resolution is
+             * received, so don't leave it in the stream buffer.
+             */
+            stream.flush();
+            lastFlushTime = System.currentTimeMillis();
+
             /* If the op was prepared the txnCount was incremented */
             if (prepared) {
                 txnCount.decrementAndGet();
@@ -35,6 +35,7 @@ import oracle.kv.impl.rep.admin.RepNodeAdmin.MigrationState;
 import oracle.kv.impl.rep.admin.RepNodeAdmin.PartitionMigrationState;
 import oracle.kv.impl.rep.migration.PartitionMigrations.TargetRecord;
 import oracle.kv.impl.rep.migration.TransferProtocol.OP;
+import oracle.kv.impl.rep.migration.TransferProtocol.OpInputStream;
 import oracle.kv.impl.rep.migration.TransferProtocol.TransferRequest;
 import oracle.kv.impl.rep.migration.generation.PartitionGenNum;
 import oracle.kv.impl.rep.migration.generation.PartitionGeneration;
@@ -193,6 +194,9 @@ public class MigrationTarget implements Callable<MigrationTarget> {
 
     private final ReaderFactory readerFactory;
 
+    /* True if the target requests a compressed op stream from the source */
+    private final boolean compressStream;
+
     private DataChannel channel = null;
 
     /* The new partition db */
@@ -289,6 +293,7 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         final RepNodeParams repNodeParams = params.getRepNodeParams();
         waitAfterBusy =  repNodeParams.getWaitAfterBusy();
         waitAfterError = repNodeParams.getWaitAfterError();
+        compressStream = repNodeParams.getMigrationCompressStream();
         readerFactory = new ReaderFactory();
         requestTime = System.currentTimeMillis();
         writeOptions = new WriteOptions().setUpdateTTL(true);
@@ -319,6 +324,13 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         return creationTime;
     }
 
+    /**
+     * Returns true if the op stream from the source should be compressed.
+     */
+    boolean getCompressStream() {
+        return compressStream;
+    }
+
     /**
      * Returns the rep node.
      */
@@ -719,7 +731,9 @@ public class MigrationTarget implements Callable<MigrationTarget> {
                      * Read loop. This returns when done, or throws an
                      * IOException.
                      */
-                    consumeOps(readerFactory.newReader(stream));
+                    consumeOps(readerFactory.newReader(
+                        TransferProtocol.createOpInputStream(stream,
+                                                             compressStream)));
                     break;
 
                 /*
@@ -927,7 +941,8 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         ServiceDispatcher.doServiceHandshake(channel,
                                              MigrationService.SERVICE_NAME);
 
-        return new DataInputStream(Channels.newInputStream(channel));
+        return TransferProtocol.createOpInputStream(
+            Channels.newInputStream(channel), false /* compress */);
     }
 
     /**
@@ -1156,7 +1171,10 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         private final Map<Long, LocalTxn> txnMap = new HashMap<>();
 
         /* Max. number of operations in a single copy batch transaction */
-        private final int MAX_BATCH_COPY_OPS = 100;
+        private final int MAX_BATCH_COPY_OPS = 1000;
+
+        /* Max. number of record bytes in a single copy batch transaction */
+        private final long MAX_BATCH_COPY_BYTES = 1024 * 1024;
 
         /*
          * The transaction used to batch copy operations. This should only be
@@ -1171,6 +1189,9 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         /* The number of copy operations made in the current batch txn. */
         private int batchCount = 0;
 
+        /* The number of record bytes copied in the current batch txn. */
+        private long batchBytes = 0;
+
         /* The operation queue. This thread inserts ops, the target thread
          * removes them. Accesses to the queue must be synchronized.
          */
@@ -1185,7 +1206,7 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         /* The capacity limit of the op queue. */
         private int capacity = DEFAULT_CAPACITY;
 
-        private final DataInputStream stream;
+        private final OpInputStream stream;
 
         /* The last record marker from the source*/
         private volatile boolean lastRecordMarker;
@@ -1194,7 +1215,7 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         private final DatabaseEntry keyEntry = new DatabaseEntry();
         private final DatabaseEntry valueEntry = new DatabaseEntry();
 
-        Reader(DataInputStream stream) {
+        Reader(OpInputStream stream) {
             this.stream = stream;
             lastRecordMarker = false;
         }
@@ -1241,6 +1262,8 @@ public class MigrationTarget implements Callable<MigrationTarget> {
                                "Migration stopped for partition %s. " +
                                "Current migration state is %s.",
                                partitionId, getState().toString()));
+            } finally {
+                stream.end();
             }
         }
 
@@ -1486,18 +1509,21 @@ public class MigrationTarget implements Callable<MigrationTarget> {
         }
 
         /*
-         * Gets the batch transaction and increments the batch count. If the
-         * count is MAX_BATCH_COPY_OPS the current txn is committed and a new
+         * Gets the batch transaction and increments the batch count and size.
+         * If the count is MAX_BATCH_COPY_OPS or the size is at least
+         * MAX_BATCH_COPY_BYTES the current txn is committed and a new
          * transaction is started.
          */
-        private Transaction getBatchTxn() {
-            if (batchCount >= MAX_BATCH_COPY_OPS) {
+        private Transaction getBatchTxn(int recordBytes) {
+            if ((batchCount >= MAX_BATCH_COPY_OPS) ||
+                (batchBytes >= MAX_BATCH_COPY_BYTES)) {
                 commitBatchTxn();
             }
             if (batchTxn == null) {
                 batchTxn = repEnv.beginTransaction(null, WEAK_CONFIG);
             }
             batchCount++;
+            batchBytes += recordBytes;
             return batchTxn;
         }
 
@@ -1510,6 +1536,7 @@ public class MigrationTarget implements Callable<MigrationTarget> {
                 batchTxn.commit();
                 batchTxn = null;
                 batchCount = 0;
+                batchBytes = 0;
                 copyBatches++;
             }
         }
@@ -1527,6 +1554,7 @@ public class MigrationTarget implements Callable<MigrationTarget> {
                 TxnUtil.abort(batchTxn);
                 batchTxn = null;
                 batchCount = 0;
+                batchBytes = 0;
             }
 
             /*
@@ -1574,7 +1602,8 @@ public class MigrationTarget implements Callable<MigrationTarget> {
                 }
                 keyEntry.setData(key);
                 valueEntry.setData(value);
-                partitionDb.put(getBatchTxn(), keyEntry, valueEntry,
+                partitionDb.put(getBatchTxn(key.length + value.length),
+                                keyEntry, valueEntry,
                                 Put.OVERWRITE,
                                 getWriteOptions(rowCreationTime,
                                                 modificationTime,
@@ -1868,7 +1897,7 @@ public class MigrationTarget implements Callable<MigrationTarget> {
             super(" migration stream reader for ", logger);
         }
 
-        private Reader newReader(DataInputStream stream) {
+        private Reader newReader(OpInputStream stream) {
             final Reader reader = new Reader(stream);
             newThread(reader).start();
             return reader;
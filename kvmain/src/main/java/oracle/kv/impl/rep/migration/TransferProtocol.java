@@ -13,9 +13,18 @@
 
 package oracle.kv.impl.rep.migration;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import oracle.kv.impl.rep.admin.RepNodeAdmin;
 import oracle.kv.impl.rep.admin.RepNodeAdmin.PartitionMigrationState;
@@ -56,8 +65,30 @@ public class TransferProtocol {
      * Version 7 as of release 25.3, add last record marker and support for
      * creation time in row metadata.
      *
+     * Version 8 as of release 25.4, add stream flags to the transfer request
+     * so that the target can request a compressed operation stream.
      */
-    static final int VERSION = 7;
+    static final int VERSION = 8;
+
+    /*
+     * The oldest request version accepted by a source. The op stream of a
+     * version 7 target is the same as that of version 8, except that it is
+     * never compressed.
+     */
+    static final int MIN_VERSION = 7;
+
+    /* The first version with request flags */
+    private static final int FLAGS_VERSION = 8;
+
+    /* Transfer request flag indicating that the op stream is compressed */
+    static final int FLAG_COMPRESS = 0x1;
+
+    /*
+     * Size of the buffers used for the op stream. Ops are small, so buffering
+     * them avoids a network write (and, when compressing, a deflate call) per
+     * op.
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
 
     /* Constant used to indicate a transfer only request */
     static final RepNodeId TRANSFER_ONLY_TARGET = new RepNodeId(0, 0);
@@ -73,7 +104,7 @@ public class TransferProtocol {
      *      8 long target creation time
      *      4 int target number of attempts
      *      4 int target status ordinal
-     *      4 int 0 (unused - must be zero)
+     *      4 int flags (transfer only requests - must be zero)
      */
     private static final int REQUEST_SIZE = 4 + 4 + 4 + 4 + 8 + 4 + 4 + 4;
 
@@ -89,24 +120,29 @@ public class TransferProtocol {
         final long creationTime;
         final PartitionMigrationState state;
         final int attempts;
+        /* True if the target requested a compressed op stream */
+        final boolean compress;
 
         private TransferRequest(int partitionId,
                                 RepNodeId targetRnId,
                                 long creationTime,
                                 int attempts,
-                                PartitionMigrationState state) {
+                                PartitionMigrationState state,
+                                boolean compress) {
             this.partitionId = partitionId;
             this.targetRNId = targetRnId;
             this.creationTime = creationTime;
             this.state = state;
             this.attempts = attempts;
+            this.compress = compress;
         }
 
         @Override
         public String toString() {
             return String.format(
-                "Transfer target (%s, %s) [PARTITION-%s, %s, %s]",
-                creationTime, attempts, partitionId, targetRNId, state);
+                "Transfer target (%s, %s) [PARTITION-%s, %s, %s%s]",
+                creationTime, attempts, partitionId, targetRNId, state,
+                compress ? ", compressed" : "");
         }
 
         /*
@@ -136,7 +172,7 @@ public class TransferProtocol {
             buffer.putInt(target.getAttempts());
             buffer.putInt(
                 target.getState().getPartitionMigrationState().ordinal());
-            buffer.putInt(0);
+            buffer.putInt(target.getCompressStream() ? FLAG_COMPRESS : 0);
             buffer.flip();
             channel.write(buffer);
         }
@@ -173,14 +209,25 @@ public class TransferProtocol {
             ByteBuffer readBuffer =
                         ByteBuffer.allocate(TransferProtocol.REQUEST_SIZE);
             read(readBuffer, channel);
+            return read(readBuffer);
+        }
+
+        /*
+         * Reads a transfer request from a buffer holding the request.
+         */
+        static TransferRequest read(ByteBuffer readBuffer)
+            throws IOException {
 
             final int version = readBuffer.getInt();
 
-            if (version != TransferProtocol.VERSION) {
+            if ((version < TransferProtocol.MIN_VERSION) ||
+                (version > TransferProtocol.VERSION)) {
                 final StringBuilder sb = new StringBuilder();
                 sb.append("Protocol version mismatch, received ");
                 sb.append(version);
                 sb.append(" expected ");
+                sb.append(TransferProtocol.MIN_VERSION);
+                sb.append(" to ");
                 sb.append(TransferProtocol.VERSION);
                 throw new IOException(sb.toString());
             }
@@ -191,8 +238,9 @@ public class TransferProtocol {
             final int attempts = readBuffer.getInt();
             final int stateOrdinal = readBuffer.getInt();
 
-            /* Unused, mbz */
-            readBuffer.getInt();
+            /* Unused before version 8, mbz */
+            final int flags = (version >= FLAGS_VERSION) ?
+                readBuffer.getInt() : 0;
 
             final RepNodeId rnId = (targetGroupId == 0)
                 ? TRANSFER_ONLY_TARGET
@@ -201,7 +249,8 @@ public class TransferProtocol {
                 RepNodeAdmin.PARTITION_MIGRATION_STATE_VALUES[stateOrdinal];
 
             return new TransferRequest(
-                partitionId, rnId, creationTime, attempts, state);
+                partitionId, rnId, creationTime, attempts, state,
+                (flags & FLAG_COMPRESS) != 0);
         }
 
         private static void read(ByteBuffer bb, DataChannel channel)
@@ -312,6 +361,146 @@ public class TransferProtocol {
         }
     }
 
+    /* -- Op stream -- */
+
+    /**
+     * Creates the stream used by the source to write ops to the channel. The
+     * stream is buffered, so the source must flush it whenever the target
+     * needs to see the ops written so far. If compress is true the ops are
+     * deflated, and each flush emits a sync flush block, so that the target
+     * can inflate everything written before the flush. The source must call
+     * OpOutputStream.end() once it is done with the stream.
+     */
+    static OpOutputStream createOpOutputStream(OutputStream out,
+                                               boolean compress) {
+        final OpDeflaterOutputStream deflaterOut =
+            compress ? new OpDeflaterOutputStream(out) : null;
+        return new OpOutputStream(
+            new BufferedOutputStream(compress ? deflaterOut : out,
+                                     STREAM_BUFFER_SIZE),
+            deflaterOut);
+    }
+
+    /**
+     * Creates the stream used by the target to read ops written to a stream
+     * created by createOpOutputStream. The input stream should be the
+     * (buffered) stream used to read the transfer response, so that no ops
+     * that were read ahead along with the response are lost. The target must
+     * call OpInputStream.end() once it is done with the stream.
+     */
+    static OpInputStream createOpInputStream(InputStream in,
+                                             boolean compress) {
+        if (compress) {
+            final Inflater inflater = new Inflater();
+            return new OpInputStream(
+                new InflaterInputStream(in, inflater, STREAM_BUFFER_SIZE),
+                inflater);
+        }
+        return (in instanceof OpInputStream) ?
+            (OpInputStream) in :
+            new OpInputStream(new BufferedInputStream(in, STREAM_BUFFER_SIZE),
+                              null);
+    }
+
+    /**
+     * The op stream written by the source. Closing the channel does not
+     * release the native memory of the deflater, so end() must be called
+     * when the migration stops.
+     */
+    static class OpOutputStream extends DataOutputStream {
+
+        /* The deflating stream, or null if the ops are not compressed */
+        private final OpDeflaterOutputStream deflaterOut;
+
+        private OpOutputStream(OutputStream out,
+                               OpDeflaterOutputStream deflaterOut) {
+            super(out);
+            this.deflaterOut = deflaterOut;
+        }
+
+        /**
+         * Releases the deflater. Any later write that reaches the deflater
+         * throws an IOException.
+         */
+        void end() {
+            if (deflaterOut != null) {
+                deflaterOut.end();
+            }
+        }
+    }
+
+    /**
+     * A deflating stream whose deflater can be ended while other threads may
+     * still write to it. Client operations are sent by their own threads, so
+     * the source may see writes after it has stopped.
+     */
+    private static class OpDeflaterOutputStream extends DeflaterOutputStream {
+
+        private boolean ended;
+
+        OpDeflaterOutputStream(OutputStream out) {
+            super(out, new Deflater(Deflater.BEST_SPEED), STREAM_BUFFER_SIZE,
+                  true /* syncFlush */);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len)
+            throws IOException {
+            checkEnded();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            checkEnded();
+            super.flush();
+        }
+
+        @Override
+        public synchronized void finish() throws IOException {
+            checkEnded();
+            super.finish();
+        }
+
+        synchronized void end() {
+            if (!ended) {
+                ended = true;
+                def.end();
+            }
+        }
+
+        private void checkEnded() throws IOException {
+            if (ended) {
+                throw new IOException("Op stream has been closed");
+            }
+        }
+    }
+
+    /**
+     * The op stream read by the target. Closing the channel does not release
+     * the native memory of the inflater, so end() must be called when the
+     * target stops reading.
+     */
+    static class OpInputStream extends DataInputStream {
+
+        /* The inflater, or null if the ops are not compressed */
+        private final Inflater inflater;
+
+        private OpInputStream(InputStream in, Inflater inflater) {
+            super(in);
+            this.inflater = inflater;
+        }
+
+        /**
+         * Releases the inflater. The stream must not be read afterwards.
+         */
+        void end() {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
     /* -- DB OPs -- */
 
     /**
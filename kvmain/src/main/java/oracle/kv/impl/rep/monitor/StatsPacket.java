@@ -34,6 +34,7 @@ import oracle.kv.impl.async.perf.NioChannelThreadPoolPerf;
 import oracle.kv.impl.measurement.ConciseStats;
 import oracle.kv.impl.measurement.EndpointGroupStats;
 import oracle.kv.impl.measurement.EnvStats;
+import oracle.kv.impl.measurement.HotKeyStats;
 import oracle.kv.impl.measurement.JVMStats;
 import oracle.kv.impl.measurement.LatencyInfo;
 import oracle.kv.impl.measurement.LatencyInfoSummarizer;
@@ -42,6 +43,7 @@ import oracle.kv.impl.measurement.LoggingStats;
 import oracle.kv.impl.measurement.Measurement;
 import oracle.kv.impl.measurement.PerfStatType;
 import oracle.kv.impl.measurement.RepEnvStats;
+import oracle.kv.impl.measurement.RequestQueueStats;
 import oracle.kv.impl.measurement.TableInfo;
 import oracle.kv.impl.monitor.Metrics;
 import oracle.kv.impl.util.FormatUtils;
@@ -50,6 +52,7 @@ import oracle.nosql.common.json.JsonUtils;
 import oracle.nosql.common.json.ObjectNode;
 import oracle.nosql.common.jss.JsonSerializationUtils;
 
+import com.google.gson.JsonObject;
 import com.sleepycat.je.utilint.MapStat;
 import com.sleepycat.je.utilint.Stat;
 import com.sleepycat.je.utilint.StatDefinition;
@@ -745,6 +748,39 @@ public class StatsPacket implements ConciseStats, Measurement, Serializable {
         return result.toString();
     }
 
+    /**
+     * Returns the hot key stats for this packet, or null if no throughput
+     * was recorded during the period.
+     */
+    public HotKeyStats getHotKeyStats() {
+        return otherStats.stream()
+            .filter(s -> s instanceof HotKeyStats)
+            .map(s -> (HotKeyStats) s)
+            .findAny().orElse(null);
+    }
+
+    /**
+     * Returns the async request queue stats for this packet, or null if not
+     * available.
+     */
+    public RequestQueueStats getRequestQueueStats() {
+        return otherStats.stream()
+            .filter(s -> s instanceof RequestQueueStats)
+            .map(s -> (RequestQueueStats) s)
+            .findAny().orElse(null);
+    }
+
+    public String toHotKeysJsonString() {
+        final HotKeyStats hotKeyStats = getHotKeyStats();
+        if (hotKeyStats == null) {
+            return "";
+        }
+        final JsonObject result = hotKeyStats.toJson();
+        result.addProperty("resource", resource);
+        result.addProperty("shard", shard);
+        return result.toString();
+    }
+
     public String toLoggingStatsJsonString() {
         return otherStats.stream()
             .filter(s -> s instanceof LoggingStats)
@@ -0,0 +1,212 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.rep.table;
+
+import static oracle.kv.impl.rep.table.SecondaryInfoMap.CLEANER_CONFIG;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import oracle.kv.RequestTimeoutException;
+import oracle.kv.impl.rep.RepNode;
+import oracle.kv.impl.util.ShutdownThread;
+import oracle.kv.impl.util.TxnUtil;
+
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.LockConflictException;
+import com.sleepycat.je.SecondaryChangeLog;
+import com.sleepycat.je.SecondaryDatabase;
+import com.sleepycat.je.Transaction;
+import com.sleepycat.je.rep.ReplicatedEnvironment;
+
+/**
+ * Thread applying the pending changes of deferred indexes to their secondary
+ * databases. Changes are recorded in the change log of the deferred indexes
+ * when rows are written, and are applied by this thread in write order, in
+ * batches of APPLY_BATCH_SIZE changes per transaction. The thread runs on
+ * all nodes but only applies changes on the master.
+ *
+ * Reads with absolute consistency do not wait for this thread, they apply
+ * the pending changes of the index they use first, see catchUp().
+ */
+public class DeferredIndexApplier extends ShutdownThread {
+
+    /* Number of changes applied in each transaction */
+    static final int APPLY_BATCH_SIZE = 500;
+
+    /* Wait after a lock conflict in catchUp before retrying */
+    private static final long LOCK_CONFLICT_RETRY_MS = 10L;
+
+    /* Time between passes over the deferred indexes */
+    private static final long APPLY_INTERVAL_MS = 1000L;
+
+    /* Wait after an error before the next pass */
+    private static final long RETRY_WAIT_MS = 10000L;
+
+    private final TableManager tableManager;
+
+    private final RepNode repNode;
+
+    private final Logger logger;
+
+    DeferredIndexApplier(TableManager tableManager,
+                         RepNode repNode,
+                         Logger logger) {
+        super("KV deferred index applier");
+        this.tableManager = tableManager;
+        this.repNode = repNode;
+        this.logger = logger;
+    }
+
+    /**
+     * Applies the pending changes of the specified secondary, if it is a
+     * deferred index, so that a read with absolute consistency sees the
+     * changes of all writes committed before the call. Called on the master,
+     * in the thread of the read request, so it gives up when the timeout of
+     * the request is exceeded. Lock conflicts with the writers or with this
+     * thread are retried until then. A timeoutMs of zero means no limit.
+     *
+     * @throws RequestTimeoutException if the changes could not be applied
+     * within timeoutMs
+     */
+    public static void catchUp(SecondaryDatabase db, int timeoutMs) {
+        final SecondaryChangeLog log = db.getChangeLog();
+        if ((log == null) || !log.hasChanges(db)) {
+            return;
+        }
+        final Environment env = db.getEnvironment();
+        final long deadlineMs = (timeoutMs > 0) ?
+            System.currentTimeMillis() + timeoutMs : 0;
+        int count = APPLY_BATCH_SIZE;
+        while (count == APPLY_BATCH_SIZE) {
+            long remainingMs = 0;
+            if (deadlineMs > 0) {
+                remainingMs = deadlineMs - System.currentTimeMillis();
+                if (remainingMs <= 0) {
+                    throw new RequestTimeoutException(
+                        timeoutMs,
+                        "Timed out applying the pending changes of " +
+                        "deferred index " + db.getDatabaseName(),
+                        null, true);
+                }
+            }
+            try {
+                count = applyBatch(env, log, db, remainingMs);
+            } catch (LockConflictException lce) {
+                /* Retry until the deadline */
+                try {
+                    Thread.sleep(LOCK_CONFLICT_RETRY_MS);
+                } catch (InterruptedException ie) {
+                    throw new RequestTimeoutException(
+                        timeoutMs,
+                        "Interrupted applying the pending changes of " +
+                        "deferred index " + db.getDatabaseName(), ie, true);
+                }
+            }
+        }
+    }
+
+    /*
+     * Applies a batch of changes to the secondary in a transaction. Returns
+     * the number of changes applied. If lockTimeoutMs is not zero, it
+     * overrides the lock timeout of the environment.
+     */
+    private static int applyBatch(Environment env,
+                                  SecondaryChangeLog log,
+                                  SecondaryDatabase db,
+                                  long lockTimeoutMs) {
+        Transaction txn = null;
+        try {
+            txn = env.beginTransaction(null, CLEANER_CONFIG);
+            if (lockTimeoutMs != 0) {
+                txn.setLockTimeout(lockTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+            final int count = log.apply(txn, db, APPLY_BATCH_SIZE);
+            txn.commit();
+            txn = null;
+            return count;
+        } finally {
+            TxnUtil.abort(txn);
+        }
+    }
+
+    @Override
+    public void run() {
+        logger.log(Level.INFO, "Starting {0}", this);
+        try {
+            while (!isShutdown()) {
+                final long waitMS = applyChanges() ? APPLY_INTERVAL_MS :
+                                                     RETRY_WAIT_MS;
+                waitForMS(waitMS);
+            }
+        } catch (InterruptedException ie) {
+            /* Only interrupted during shutdown */
+        } finally {
+            logger.log(Level.INFO, "Exiting {0}", this);
+        }
+    }
+
+    /*
+     * Applies the pending changes of all deferred indexes. Returns false if
+     * there was an error.
+     */
+    private boolean applyChanges() {
+        final ReplicatedEnvironment repEnv = repNode.getEnv(1);
+        if ((repEnv == null) || !repEnv.getState().isMaster()) {
+            return true;
+        }
+        for (SecondaryDatabase db : tableManager.getDeferredSecondaries()) {
+            final SecondaryChangeLog log = db.getChangeLog();
+            long total = 0;
+            try {
+                int count;
+                do {
+                    if (isShutdown()) {
+                        return true;
+                    }
+                    count = applyBatch(repEnv, log, db, 0);
+                    total += count;
+                } while (count == APPLY_BATCH_SIZE);
+            } catch (LockConflictException lce) {
+                /* Retry on the next pass */
+                logger.log(Level.FINE, "Lock conflict applying changes to " +
+                           "{0}: {1}",
+                           new Object[]{db.getDatabaseName(),
+                                        lce.getMessage()});
+            } catch (RuntimeException re) {
+                /*
+                 * The DB may have been closed or the node may no longer be
+                 * the master. Retry after a delay.
+                 */
+                logger.log(Level.INFO, "Exception applying changes to " +
+                           "{0}: {1}",
+                           new Object[]{db.getDatabaseName(), re});
+                return false;
+            }
+            if (total > 0) {
+                final long applied = total;
+                logger.log(Level.FINE,
+                           () -> "Applied " + applied + " changes to " +
+                                 db.getDatabaseName());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected Logger getLogger() {
+        return logger;
+    }
+}
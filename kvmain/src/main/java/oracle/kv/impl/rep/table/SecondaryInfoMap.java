@@ -288,6 +288,10 @@ class SecondaryInfoMap implements Serializable  {
                         /* Actually remove the DB */
                         repEnv.removeDatabase(txn, dbName);
 
+                        /* Drop any changes pending for a deferred index */
+                        maintenanceThread.tableManager.
+                            discardDeferredChanges(txn, dbName, repEnv);
+
                         /* Remove the associated SecondaryInfo instance */
                         itr.remove();
                     } catch (DatabaseNotFoundException ignore) {
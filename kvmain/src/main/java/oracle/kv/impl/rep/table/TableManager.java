@@ -100,6 +100,7 @@ import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.Get;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.SecondaryAssociation;
+import com.sleepycat.je.SecondaryChangeLog;
 import com.sleepycat.je.SecondaryConfig;
 import com.sleepycat.je.SecondaryDatabase;
 import com.sleepycat.je.SecondaryIntegrityException;
@@ -123,6 +124,10 @@ public class TableManager extends MetadataManager<TableMetadata>
     private static final String SECONDARY_INFO_DB_NAME = "SecondaryInfoDB";
     private static final String TABLE_DB_NAME = "TableMetadata";
 
+    /* Name of the DB holding the pending changes to deferred indexes */
+    private static final String DEFERRED_INDEX_LOG_DB_NAME =
+        "DeferredIndexChangeLog";
+
     /*
      * The serialization upgrade batches writes to allow the operation to
      * shutdown and to lower contention on the table metadata. Public for unit
@@ -216,6 +221,25 @@ public class TableManager extends MetadataManager<TableMetadata>
      */
     private volatile Database infoDatabase = null;
 
+    /*
+     * Secondary DB names of the indexes whose maintenance is deferred, from
+     * the rnDeferredIndexes parameter. The parameter is only read here, so
+     * changes to it take effect when the RN restarts.
+     */
+    private final Set<String> deferredIndexes;
+
+    /*
+     * Change log of the deferred indexes. Must be synchronized, access the
+     * log via getChangeLog().
+     */
+    private volatile SecondaryChangeLog changeLog = null;
+
+    /*
+     * Thread applying the changes of deferred indexes, started when the
+     * change log is opened.
+     */
+    private DeferredIndexApplier deferredIndexApplier = null;
+
     /*
      * Map of secondary database handles. Modification or iteration can only
      * be made within the maintenance thread, or with the threadLock held and
@@ -399,6 +423,44 @@ public class TableManager extends MetadataManager<TableMetadata>
         stateTracker = new TableManagerStateTracker(logger);
         resolver = new LastWriteWinResolver(this);
         setPartitionSizePercent(params.getRepNodeParams().getMap());
+        deferredIndexes = parseDeferredIndexes(
+            params.getRepNodeParams().getDeferredIndexes());
+        if (!deferredIndexes.isEmpty()) {
+            logger.log(Level.INFO, "Deferred indexes: {0}", deferredIndexes);
+        }
+    }
+
+    /**
+     * Parses the value of the rnDeferredIndexes parameter, a comma separated
+     * list of [namespace:]table.index, into secondary DB names, which have
+     * the format indexName.tableName[:namespace] (see createDbName). The
+     * table name may contain dots, for a child table, so the index name is
+     * the part after the last dot.
+     */
+    static Set<String> parseDeferredIndexes(String value) {
+        final Set<String> dbNames = new HashSet<>();
+        for (String name : value.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String namespace = null;
+            final int colon = name.indexOf(':');
+            if (colon >= 0) {
+                namespace = name.substring(0, colon);
+                name = name.substring(colon + 1);
+            }
+            /* Child table names contain dots, the index name does not */
+            final int dot = name.lastIndexOf('.');
+            if (dot <= 0 || dot == name.length() - 1) {
+                throw new IllegalArgumentException(
+                    "Invalid deferred index name: " + name +
+                    ", expected [namespace:]table.index");
+            }
+            dbNames.add(createDbName(namespace, name.substring(dot + 1),
+                                     name.substring(0, dot)));
+        }
+        return dbNames;
     }
 
     private void setPartitionSizePercent(ParameterMap map) {
@@ -837,6 +899,110 @@ public class TableManager extends MetadataManager<TableMetadata>
         infoDatabase = null;
     }
 
+    /**
+     * Gets the change log of the deferred indexes. Returns null if the log
+     * does not exist and cannot be created, either because no index is
+     * deferred or because this node is not the master.
+     */
+    synchronized SecondaryChangeLog getChangeLog(ReplicatedEnvironment repEnv) {
+        if ((changeLog != null) &&
+            !DatabaseUtils.needsRefresh(changeLog.getDatabase(), repEnv)) {
+            return changeLog;
+        }
+        closeChangeLog();
+
+        final DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(!deferredIndexes.isEmpty() &&
+                                repEnv.getState().isMaster()).
+                 setTransactional(true);
+
+        final TransactionConfig txnConfig = new TransactionConfig().
+              setConsistencyPolicy(NoConsistencyRequiredPolicy.NO_CONSISTENCY);
+
+        Transaction txn = null;
+        try {
+            txn = repEnv.beginTransaction(null, txnConfig);
+            final Database db =
+                repEnv.openDatabase(txn, DEFERRED_INDEX_LOG_DB_NAME, dbConfig);
+            txn.commit();
+            txn = null;
+            changeLog = new SecondaryChangeLog(db);
+        } catch (DatabaseNotFoundException dnfe) {
+            return null;
+        } finally {
+            TxnUtil.abort(txn);
+        }
+
+        if (deferredIndexApplier == null) {
+            deferredIndexApplier =
+                new DeferredIndexApplier(this, repNode, logger);
+            deferredIndexApplier.start();
+        }
+        return changeLog;
+    }
+
+    /*
+     * Closes the change log of the deferred indexes.
+     */
+    private synchronized void closeChangeLog() {
+        if (changeLog != null) {
+            TxnUtil.close(logger, changeLog.getDatabase(),
+                          DEFERRED_INDEX_LOG_DB_NAME);
+            changeLog = null;
+        }
+    }
+
+    /**
+     * Returns the secondary databases whose maintenance is deferred.
+     */
+    List<SecondaryDatabase> getDeferredSecondaries() {
+        final List<SecondaryDatabase> dbs = new ArrayList<>();
+        for (DbHolder dbHolder : dbHolders.values()) {
+            if (dbHolder.db.isDeferred()) {
+                dbs.add(dbHolder.db);
+            }
+        }
+        return dbs;
+    }
+
+    /**
+     * Removes the pending changes of a secondary database that is being
+     * removed, in the specified transaction.
+     */
+    void discardDeferredChanges(Transaction txn,
+                                String dbName,
+                                ReplicatedEnvironment repEnv) {
+        final SecondaryChangeLog log = getChangeLog(repEnv);
+        if (log != null) {
+            log.discard(txn, dbName, Integer.MAX_VALUE);
+        }
+    }
+
+    /*
+     * Defers the maintenance of the secondary if it is configured as a
+     * deferred index. An index that is no longer configured as deferred
+     * remains deferred until its pending changes have been applied and the
+     * secondary is reopened.
+     */
+    private void setDeferred(String dbName,
+                             SecondaryDatabase db,
+                             ReplicatedEnvironment repEnv) {
+        final SecondaryChangeLog log = getChangeLog(repEnv);
+        if (log == null) {
+            if (deferredIndexes.contains(dbName)) {
+                /* The log is created by the master, retry later */
+                throw new IllegalStateException(
+                    "Change log for deferred index " + dbName +
+                    " does not exist");
+            }
+            return;
+        }
+        if (deferredIndexes.contains(dbName) || log.hasChanges(db)) {
+            db.setChangeLog(log);
+            logger.log(Level.INFO, "Maintenance of {0} is deferred", dbName);
+        }
+    }
+
     /**
      * Gets the secondary info map. Returns null if there is an error getting
      * the map, or the map does not yet exist.
@@ -965,6 +1131,12 @@ public class TableManager extends MetadataManager<TableMetadata>
             assert db != null;
             assert TestHookExecute.doHookIfSet(updateHook, db);
 
+            try {
+                setDeferred(dbName, db, repEnv);
+            } catch (RuntimeException re) {
+                closeSecondaryDb(db);
+                throw re;
+            }
             dbHolder = new DbHolder(db);
             setIncrementalPopulation(dbName, dbHolder, infoDb);
             dbHolders.put(dbName, dbHolder);
@@ -1200,12 +1372,14 @@ public class TableManager extends MetadataManager<TableMetadata>
         threadLock.lock();
         try {
             shutdownMaintenance();
+            shutdownDeferredIndexApplier();
 
             final Iterator<DbHolder> itr = dbHolders.values().iterator();
             while (itr.hasNext()) {
                 closeSecondaryDb(itr.next().db);
                 itr.remove();
             }
+            closeChangeLog();
         } finally {
             threadLock.unlock();
             super.closeDbHandles();
@@ -2643,6 +2817,21 @@ public class TableManager extends MetadataManager<TableMetadata>
         }
     }
 
+    /**
+     * Shuts down the deferred index applier thread.
+     */
+    private void shutdownDeferredIndexApplier() {
+        final DeferredIndexApplier t;
+        synchronized (this) {
+            t = deferredIndexApplier;
+            deferredIndexApplier = null;
+        }
+        /* Shut down outside of synchronization, see shutdownMaintenance */
+        if (t != null) {
+            t.shutdown();
+        }
+    }
+
     /**
      * Returns true if there is active table maintenance operations that
      * require migration to be idle.
@@ -14,7 +14,9 @@
 package oracle.kv.impl.security.login;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -41,7 +43,16 @@ import oracle.nosql.common.cache.Cache;
  * token is queued to be refreshed as a background activity.  Tokens that are
  * found to still be valid have a new entry created with a new lifetime start.
  * This allows frequently used tokens to not incur a pause for token
- * validation.
+ * validation. The refresher drains queued entries in batches, so that a burst
+ * of entries reaching the refresh point is handled in one pass, and an entry
+ * whose token no longer resolves is dropped from the cache.
+ * <p>
+ * The cache also records tokens that were found to be invalid, for a short
+ * lifetime, so that repeated requests carrying an invalid token (e.g., from a
+ * client whose session was logged out or expired) are rejected without a
+ * resolution each time. The lifetime is short because a token for a newly
+ * created persistent session may not be resolvable on every node until the
+ * session has been replicated.
  */
 
 public class TokenCache {
@@ -49,9 +60,18 @@ public class TokenCache {
     /* The maximum number of outstanding refresh requests */
     private static final int REFRESH_QUEUE_MAX = 100;
 
+    /* The maximum number of entries refreshed in a single batch */
+    private static final int REFRESH_BATCH_MAX = 20;
+
+    /* The maximum lifetime for an invalid token entry in ms */
+    static final long INVALID_ENTRY_LIFETIME_MAX = 1000L;
+
     /* Map of session ID to information about the session */
     private final Cache<SessionId, SessionEntry> cache;
 
+    /* Map of session ID to the token found to be invalid for the session */
+    private final Cache<SessionId, LoginToken> invalidCache;
+
     /* Maximum lifetime for a SessionEntry in ms */
     private volatile long entryLifetimeMax;
 
@@ -73,6 +93,19 @@ public class TokenCache {
     public TokenCache(CacheConfig cacheConfig, TokenResolver resolver) {
         this.entryLifetimeMax = cacheConfig.getLifetime();
         this.cache = CacheBuilder.build(cacheConfig);
+        final long invalidLifetime = (entryLifetimeMax > 0) ?
+            Math.min(entryLifetimeMax, INVALID_ENTRY_LIFETIME_MAX) :
+            INVALID_ENTRY_LIFETIME_MAX;
+        /*
+         * Expired entries are dropped on lookup, so a cleanup thread is only
+         * needed if the cache is unbounded.
+         */
+        this.invalidCache = CacheBuilder.build(
+            new CacheConfig().setCapacity(cacheConfig.getCapacity())
+                             .setLifetime(invalidLifetime)
+                             .setCreateCleanupThread(
+                                 cacheConfig.getCapacity() == 0)
+                             .setName("InvalidTokenCache"));
         this.refresher =
             (resolver == null) ? null : new EntryRefresher(resolver);
     }
@@ -110,9 +143,27 @@ public class TokenCache {
      */
     public void add(LoginToken token, Subject subject) {
         final SessionId id = token.getSessionId();
+        invalidCache.remove(id);
         cache.put(id, new SessionEntry(token, subject));
     }
 
+    /**
+     * Returns true if the token was recently found to be invalid.
+     */
+    public boolean isInvalid(LoginToken token) {
+        return token.equals(invalidCache.get(token.getSessionId()));
+    }
+
+    /**
+     * Records that the token could not be resolved, removing any entry that
+     * was previously cached for its session.
+     */
+    public void addInvalid(LoginToken token) {
+        final SessionId id = token.getSessionId();
+        cache.remove(id);
+        invalidCache.put(id, token);
+    }
+
     /**
      * Notifies the token cache to stop background execution and waits
      * for completion if the wait parameter is set to true.
@@ -124,6 +175,7 @@ public class TokenCache {
             refresher.stop(wait);
         }
         cache.stop(wait);
+        invalidCache.stop(wait);
     }
 
     /**
@@ -141,11 +193,11 @@ public class TokenCache {
     }
 
     /**
-     * Returns statistics regarding cache refresh, for testing purposes.
+     * Returns statistics regarding cache refresh.
      */
     public EntryRefreshStats getRefreshStats() {
         return (refresher == null) ?
-            new EntryRefreshStats(0) :
+            new EntryRefreshStats(0, 0) :
             refresher.getRefreshStats();
     }
 
@@ -229,14 +281,20 @@ public class TokenCache {
      */
     public static final class EntryRefreshStats {
         private int refreshAttempts;
+        private int refreshBatches;
 
-        public EntryRefreshStats(int refreshAttempts) {
+        public EntryRefreshStats(int refreshAttempts, int refreshBatches) {
             this.refreshAttempts = refreshAttempts;
+            this.refreshBatches = refreshBatches;
         }
 
         public int getRefreshAttempts() {
             return refreshAttempts;
         }
+
+        public int getRefreshBatches() {
+            return refreshBatches;
+        }
     }
 
     /**
@@ -256,9 +314,12 @@ public class TokenCache {
         /* The thread that performs the refresh activity */
         private final Thread refresherThread;
 
-        /* A count of refresh attempts, for testing purposes */
+        /* A count of refresh attempts */
         private volatile int entryRefreshAttempts;
 
+        /* A count of refresh batches */
+        private volatile int refreshBatches;
+
         private EntryRefresher(TokenResolver resolver) {
             this.entryRefreshAttempts = 0;
             this.resolver = resolver;
@@ -306,7 +367,8 @@ public class TokenCache {
         }
 
         private EntryRefreshStats getRefreshStats() {
-            return new EntryRefreshStats(entryRefreshAttempts);
+            return new EntryRefreshStats(entryRefreshAttempts,
+                                         refreshBatches);
         }
 
         /**
@@ -314,30 +376,55 @@ public class TokenCache {
          */
         @Override
         public void run() {
+            final List<SessionEntry> batch =
+                new ArrayList<SessionEntry>(REFRESH_BATCH_MAX);
+            /* Batch entries by session, in case one was queued twice */
+            final Map<SessionId, SessionEntry> entries =
+                new LinkedHashMap<SessionId, SessionEntry>();
             while (!terminated) {
                 try {
-                    final SessionEntry entry = refreshQueue.take();
-                    entryRefreshAttempts++;
-                    final Subject resolved = resolver.resolve(entry.getToken());
-                    if (resolved != null) {
-                        add(entry.getToken(), resolved);
-                    }
-                } catch (SessionAccessException sae) /* CHECKSTYLE:OFF */ {
-                    /*
-                     * We could try to requeue for later access, but that
-                     * could be immediatedly, so just let it go.
-                     */
-                } /* CHECKSTYLE:ON */
-                catch (InterruptedException ie) /* CHECKSTYLE:OFF */ {
+                    batch.add(refreshQueue.take());
+                } catch (InterruptedException ie) /* CHECKSTYLE:OFF */ {
                     /* We are probably being asked to terminate */
+                    continue;
                 } /* CHECKSTYLE:ON */
-                catch (RuntimeException rte) /* CHECKSTYLE:OFF */ {
-                    /*
-                     * It's unclear what happened, but ignore it. We expect
-                     * that any errors were logged by the resolver.
-                     */
-                } /* CHECKSTYLE:ON */
+                refreshQueue.drainTo(batch, REFRESH_BATCH_MAX - 1);
+                for (SessionEntry entry : batch) {
+                    entries.put(entry.getToken().getSessionId(), entry);
+                }
+                batch.clear();
+                refreshBatches++;
+                for (SessionEntry entry : entries.values()) {
+                    if (terminated) {
+                        break;
+                    }
+                    refresh(entry);
+                }
+                entries.clear();
             }
         }
+
+        private void refresh(SessionEntry entry) {
+            try {
+                entryRefreshAttempts++;
+                final Subject resolved = resolver.resolve(entry.getToken());
+                if (resolved != null) {
+                    add(entry.getToken(), resolved);
+                } else {
+                    addInvalid(entry.getToken());
+                }
+            } catch (SessionAccessException sae) /* CHECKSTYLE:OFF */ {
+                /*
+                 * We could try to requeue for later access, but that
+                 * could be immediatedly, so just let it go.
+                 */
+            } /* CHECKSTYLE:ON */
+            catch (RuntimeException rte) /* CHECKSTYLE:OFF */ {
+                /*
+                 * It's unclear what happened, but ignore it. We expect
+                 * that any errors were logged by the resolver.
+                 */
+            } /* CHECKSTYLE:ON */
+        }
     }
 }
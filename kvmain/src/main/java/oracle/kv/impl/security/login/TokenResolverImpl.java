@@ -404,10 +404,14 @@ public class TokenResolverImpl implements TokenResolver {
         assert (allocator.getType() == ResourceId.ResourceType.REP_NODE);
         final RepNodeId rnid = (RepNodeId) allocator;
 
+        /*
+         * The token may be valid, so throw rather than return null, which
+         * would report the token as invalid.
+         */
         if (topoResolver == null) {
             logger.info("Unable to resolve RepNode-allocated " +
                         "token - no topology resolver available.");
-            return null;
+            throw new SessionAccessException("topology not available");
         }
 
         if (token.getSessionId().getIdValueScope() != IdScope.STORE) {
@@ -420,7 +424,7 @@ public class TokenResolverImpl implements TokenResolver {
         if (sn == null) {
             logger.info("Unable to resolve RepNode-allocated " +
                         "token - RepNode with id " + rnid);
-            return null;
+            throw new SessionAccessException("unknown allocator id");
         }
         final String allocatorHost = sn.getHostname();
         final int allocatorPort = sn.getRegistryPort();
@@ -14,6 +14,10 @@
 package oracle.kv.impl.security.login;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.security.auth.Subject;
 
@@ -26,6 +30,12 @@ import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
  * Provides a common mechanism for looking up user capabilities based on tokens.
  * This classes combines the use of TokenResolver and TokenCache in order to
  * provide low-overhead verification of tokens, on average.
+ * <p>
+ * Concurrent resolutions of tokens for the same session, whether by request
+ * threads that missed in the cache or by the cache's background refresher,
+ * are coalesced so that only one of them calls the underlying resolver. This
+ * avoids a burst of identical resolution requests to the session store after
+ * a restart, when the cache is empty.
  */
 
 public class TokenVerifier {
@@ -33,6 +43,19 @@ public class TokenVerifier {
     private final TokenResolver tokenResolver;
     private volatile TokenCache tokenCache;
 
+    /* Resolver that coalesces concurrent resolutions for the same session */
+    private final TokenResolver coalescingResolver = this::resolve;
+
+    /* Resolutions in progress, by session */
+    private final ConcurrentHashMap<SessionId, PendingResolve> pending =
+        new ConcurrentHashMap<>();
+
+    /* Statistics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong invalidHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
     /**
      * Creates a new TokenVerifier.
      * @param cacheConfig if null, no cache is to be used.  Otherwise, provides
@@ -44,7 +67,7 @@ public class TokenVerifier {
         this.tokenResolver = tokenResolver;
         this.tokenCache = (cacheConfig == null) ?
             null :
-            new TokenCache(cacheConfig, tokenResolver);
+            new TokenCache(cacheConfig, coalescingResolver);
     }
 
     /**
@@ -58,22 +81,78 @@ public class TokenVerifier {
     public Subject verifyToken(LoginToken token)
         throws SessionAccessException {
 
-        Subject subject =
-            (null == tokenCache) ? null : tokenCache.lookup(token);
-
-        if (subject != null) {
-            return subject;
+        final TokenCache cache = tokenCache;
+        if (cache != null) {
+            final Subject subject = cache.lookup(token);
+            if (subject != null) {
+                hits.incrementAndGet();
+                return subject;
+            }
+            if (cache.isInvalid(token)) {
+                invalidHits.incrementAndGet();
+                return null;
+            }
         }
+        misses.incrementAndGet();
 
-        subject = tokenResolver.resolve(token);
+        final Subject subject = resolve(token);
 
-        if (subject != null && tokenCache != null) {
-            tokenCache.add(token, subject);
+        if (cache != null) {
+            if (subject != null) {
+                cache.add(token, subject);
+            } else {
+                cache.addInvalid(token);
+            }
         }
 
         return subject;
     }
 
+    /**
+     * Resolves the token, waiting for the result of a resolution already in
+     * progress for the same token rather than starting another one.
+     */
+    private Subject resolve(LoginToken token)
+        throws SessionAccessException {
+
+        final PendingResolve resolve = new PendingResolve(token);
+        final PendingResolve existing =
+            pending.putIfAbsent(token.getSessionId(), resolve);
+        if (existing != null) {
+            if (existing.token.equals(token)) {
+                coalesced.incrementAndGet();
+                return existing.await();
+            }
+            /* A different token for the session, resolve it separately */
+            return tokenResolver.resolve(token);
+        }
+
+        try {
+            final Subject subject = tokenResolver.resolve(token);
+            resolve.result.complete(subject);
+            return subject;
+        } catch (RuntimeException re) {
+            resolve.result.completeExceptionally(re);
+            throw re;
+        } finally {
+            pending.remove(token.getSessionId(), resolve);
+        }
+    }
+
+    /**
+     * Returns token verification statistics.
+     */
+    public VerifierStats getStats() {
+        final TokenCache cache = tokenCache;
+        final TokenCache.EntryRefreshStats refreshStats = (cache == null) ?
+            new TokenCache.EntryRefreshStats(0, 0) :
+            cache.getRefreshStats();
+        return new VerifierStats(hits.get(), invalidHits.get(), misses.get(),
+                                 coalesced.get(),
+                                 refreshStats.getRefreshAttempts(),
+                                 refreshStats.getRefreshBatches());
+    }
+
     /**
      * Update the tokenCache with a new size.
      *
@@ -88,7 +167,7 @@ public class TokenVerifier {
         final TokenCache oldCache = tokenCache;
         tokenCache = new TokenCache(
             new CacheConfig().setCapacity(newSize).setLifetime(entryLifeTime),
-            tokenResolver);
+            coalescingResolver);
 
         /* shut down background processing on the old cache */
         if (oldCache != null) {
@@ -111,7 +190,7 @@ public class TokenVerifier {
         tokenCache = new TokenCache(
             new CacheConfig().setCapacity(oldCache.getCacheSize())
             .setLifetime(newTimeoutInMillis),
-            tokenResolver);
+            coalescingResolver);
 
         /* shut down background processing on the old cache but don't wait */
         if (oldCache != null) {
@@ -151,4 +230,111 @@ public class TokenVerifier {
             tokenCache.stop(true);
         }
     }
+
+    /**
+     * A token resolution in progress.
+     */
+    private static final class PendingResolve {
+        private final LoginToken token;
+        private final CompletableFuture<Subject> result =
+            new CompletableFuture<>();
+
+        private PendingResolve(LoginToken token) {
+            this.token = token;
+        }
+
+        private Subject await() {
+            try {
+                return result.join();
+            } catch (CompletionException ce) {
+                final Throwable cause = ce.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw ce;
+            }
+        }
+    }
+
+    /**
+     * Statistics on token verification.
+     */
+    public static final class VerifierStats {
+        private final long hits;
+        private final long invalidHits;
+        private final long misses;
+        private final long coalesced;
+        private final long refreshAttempts;
+        private final long refreshBatches;
+
+        public VerifierStats(long hits,
+                             long invalidHits,
+                             long misses,
+                             long coalesced,
+                             long refreshAttempts,
+                             long refreshBatches) {
+            this.hits = hits;
+            this.invalidHits = invalidHits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+            this.refreshAttempts = refreshAttempts;
+            this.refreshBatches = refreshBatches;
+        }
+
+        /**
+         * Returns the number of tokens found valid in the cache.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Returns the number of tokens found invalid in the cache.
+         */
+        public long getInvalidHits() {
+            return invalidHits;
+        }
+
+        /**
+         * Returns the number of tokens that had to be resolved.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Returns the number of resolutions, including background refreshes,
+         * that waited for a resolution already in progress for the same
+         * token.
+         */
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        /**
+         * Returns the number of background refreshes of cached tokens by
+         * the current token cache.
+         */
+        public long getRefreshAttempts() {
+            return refreshAttempts;
+        }
+
+        /**
+         * Returns the number of batches in which the current token cache
+         * refreshed tokens.
+         */
+        public long getRefreshBatches() {
+            return refreshBatches;
+        }
+
+        @Override
+        public String toString() {
+            return "VerifierStats[hits=" + hits +
+                " invalidHits=" + invalidHits +
+                " misses=" + misses +
+                " coalesced=" + coalesced +
+                " refreshAttempts=" + refreshAttempts +
+                " refreshBatches=" + refreshBatches + "]";
+        }
+    }
 }
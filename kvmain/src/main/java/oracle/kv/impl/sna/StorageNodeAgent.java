@@ -76,6 +76,7 @@ import oracle.kv.impl.async.EndpointGroup.ListenHandle;
 import oracle.kv.impl.async.NetworkAddress;
 import oracle.kv.impl.async.ResponderDialogHandlerFactory;
 import oracle.kv.impl.fault.ProcessFaultHandler;
+import oracle.kv.impl.measurement.OpenMetricsServer;
 import oracle.kv.impl.measurement.ServiceStatusChange;
 import oracle.kv.impl.metadata.Metadata;
 import oracle.kv.impl.metadata.MetadataInfo;
@@ -145,6 +146,7 @@ import oracle.kv.impl.util.server.LoggerUtils;
 
 import oracle.nosql.common.json.JsonUtils;
 import oracle.nosql.common.json.ObjectNode;
+import oracle.nosql.common.sklogger.MetricRegistry;
 
 import com.sleepycat.je.rep.StateChangeEvent;
 import com.sleepycat.je.rep.utilint.RepUtils;
@@ -297,6 +299,8 @@ public final class StorageNodeAgent {
     private ServiceManager adminService;
     private MonitorAgentImpl monitorAgent;
     private MgmtAgent mgmtAgent;
+    /* The OpenMetrics endpoint, or null if not enabled */
+    private OpenMetricsServer metricsServer;
     private TrustedLoginImpl trustedLogin;
     private SNASecurity snaSecurity;
     private CollectorService collectorService;
@@ -3384,6 +3388,7 @@ public final class StorageNodeAgent {
         if (collectorService != null) {
             collectorService.shutdown();
         }
+        updateMetricsServer(0, false);
         mgmtAgent.shutdown();
     }
 
@@ -4417,6 +4422,9 @@ public final class StorageNodeAgent {
 
         customProcessStartupPrefix = snp.getProcessStartupPrefix();
 
+        updateMetricsServer(snp.getMetricsPort(),
+                            snp.getMetricsAllowInsecure());
+
         /*
          * Start the management agent here.  This covers the cases of
          * startupRegistered and newParams.  If nothing regarding the
@@ -4481,6 +4489,45 @@ public final class StorageNodeAgent {
         }
     }
 
+    /**
+     * Starts, restarts or stops the OpenMetrics endpoint to match the
+     * specified port, where 0 means no endpoint. On a secure store, the
+     * endpoint is only started if allowInsecure is true. Failing to start
+     * the endpoint is logged but does not prevent the SNA from running.
+     */
+    private synchronized void updateMetricsServer(int port,
+                                                  boolean allowInsecure) {
+        if ((port != 0) &&
+            !OpenMetricsServer.isAllowed((sp != null) && sp.isSecure(),
+                                         allowInsecure, logger)) {
+            port = 0;
+        }
+        if (metricsServer != null) {
+            if (metricsServer.getPort() == port) {
+                return;
+            }
+            metricsServer.stop();
+            metricsServer = null;
+        }
+        if (port == 0) {
+            return;
+        }
+        try {
+            final OpenMetricsServer server =
+                new OpenMetricsServer(getHostname(), port, logger);
+            server.addCollector(OpenMetricsServer.getJVMCollector("kv_sn"));
+            server.addCollector(
+                OpenMetricsServer.getRegistryCollector(
+                    MetricRegistry.defaultRegistry, "kv_sn"));
+            server.start();
+            metricsServer = server;
+            logger.info("Started OpenMetrics endpoint on port " + port);
+        } catch (IOException e) {
+            logger.warning("Unable to start OpenMetrics endpoint on port " +
+                           port + ": " + e);
+        }
+    }
+
     /* Merge List of String into one String, with delimiter. */
     private static String joinStringList(List<String> a, String delimiter) {
         String r = "";
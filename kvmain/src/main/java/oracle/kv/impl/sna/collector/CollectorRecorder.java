@@ -23,7 +23,7 @@ public interface CollectorRecorder {
 
     public enum MetricType {
         PING, PLAN, RNENV, RNEVENT, RNEXCEPTION, RNOP, RNTABLE, RNJVM,
-        RNENDPOINTGROUP, LOGGINGSTAT,
+        RNENDPOINTGROUP, LOGGINGSTAT, RNHOTKEYS,
     }
 
     /**
@@ -55,9 +55,11 @@ import oracle.kv.util.ErrorMessage;
  *   RNEVENT_TYPE use 10%
  *   RNEXCEPTION_TYPE use 10%
  *   RNOP_TYPE use 20%
- *   RNTABLE_TYPE use 20%
- *   RNJVM_TYPE uses 5%
- *   RNENDPOINTGROUP_TYPE uses 5%
+ *   RNTABLE_TYPE use 15%
+ *   RNJVM_TYPE uses 3%
+ *   RNENDPOINTGROUP_TYPE uses 3%
+ *   LOGGINGSTAT_TYPE uses 3%
+ *   RNHOTKEYS_TYPE uses 5%
  *
  * There is a minimum amount of disk space for each metric type, so final
  * calculation is max(minAmountOfSpace, limitPerComponent * set percentage.)
@@ -165,6 +167,11 @@ public class FileCollectorRecorder implements CollectorRecorder {
                              loggerPrefix,
                              FileNames.COLLECTOR_LOGGINGSTATS_FILE_NAME);
 
+        initPatternAndLogger(MetricType.RNHOTKEYS,
+                             workingDir,
+                             loggerPrefix,
+                             FileNames.COLLECTOR_RNHOTKEYS_FILE_NAME);
+
         /* set limitPerComponent to -1 to force updating log handlers */
         limitPerComponent = -1;
         nComps = -1;
@@ -226,7 +233,7 @@ public class FileCollectorRecorder implements CollectorRecorder {
             Math.max((int) (0.2 * limitPerComponent * nComps),
                      MIN_FILE_SIZE);
         final int rnTableLimit =
-            Math.max((int) (0.2 * limitPerComponent * nComps),
+            Math.max((int) (0.15 * limitPerComponent * nComps),
                      MIN_FILE_SIZE);
         final int rnJVMLimit =
             Math.max((int) (0.03 * limitPerComponent * nComps),
@@ -237,6 +244,9 @@ public class FileCollectorRecorder implements CollectorRecorder {
         final int loggingStatsLimit =
             Math.max((int) (0.03 * limitPerComponent * nComps),
                      MIN_FILE_SIZE);
+        final int rnHotKeysLimit =
+            Math.max((int) (0.05 * limitPerComponent * nComps),
+                     MIN_FILE_SIZE);
 
         updateLoggerHandler(MetricType.RNENV, rnEnvLimit, FILE_COUNT);
         updateLoggerHandler(MetricType.RNEVENT, rnEventLimit, FILE_COUNT);
@@ -249,6 +259,8 @@ public class FileCollectorRecorder implements CollectorRecorder {
                             rnEndpointGroupLimit, FILE_COUNT);
         updateLoggerHandler(MetricType.LOGGINGSTAT, loggingStatsLimit,
                             FILE_COUNT);
+        updateLoggerHandler(MetricType.RNHOTKEYS, rnHotKeysLimit,
+                            FILE_COUNT);
     }
 
     @Override
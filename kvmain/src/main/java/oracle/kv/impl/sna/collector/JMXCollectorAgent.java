@@ -313,6 +313,8 @@ public class JMXCollectorAgent implements CollectorAgent{
                 CollectorRecorder.MetricType.RNEVENT);
         map.put(RepNode.NOTIFY_RN_LOGGING_STATS,
                 CollectorRecorder.MetricType.LOGGINGSTAT);
+        map.put(RepNode.NOTIFY_RN_HOT_KEYS,
+                CollectorRecorder.MetricType.RNHOTKEYS);
         map.put(Admin.NOTIFY_PLAN_STATUS_CHANGE,
                 CollectorRecorder.MetricType.PLAN);
         map.put(Admin.NOTIFY_ADMIN_LOGGING_STATS,
@@ -334,6 +334,103 @@ public class SplitBuilder {
         return splits;
     }
     
+    /**
+     * Creates a list of topology splits for the store balanced by the
+     * specified partition sizes. The number of splits and the number of
+     * partitions in each partition set are the same as for
+     * createShardSplits(Consistency), but partitions are assigned to the
+     * splits largest first, each to the split with the fewest bytes so far,
+     * so that each split covers roughly the same amount of data even if the
+     * partition sizes are skewed. Partitions missing from the map are
+     * assumed to be empty. The estimated size of each split is available
+     * from TopoSplit.getSize(). Splits that end up with no partitions are
+     * not returned.
+     *
+     * @param partitionSizes map of partition id to the estimated number of
+     * bytes in that partition
+     * @param consistency the consistency used to access the store
+     * @return a list of topology splits
+     */
+    public List<TopoSplit> createSizedSplits(Map<Integer, Long> partitionSizes,
+                                             Consistency consistency) {
+        final int nShards = topo.getRepGroupMap().size();
+        final int streamsPerShard =
+                calcShardConcurrency(consistency) * TARGET_STREAMS_PER_RN;
+        final int totalStreams = streamsPerShard * nShards;
+        final int nSplits = (totalStreams > TARGET_STREAMS_PER_SPLIT) ?
+                                       totalStreams / TARGET_STREAMS_PER_SPLIT :
+                                       1;
+        int streamsPerSplit = totalStreams / nSplits;
+        if ((totalStreams % nSplits) != 0) {
+            streamsPerSplit += 1;
+        }
+
+        final int nPartitions = topo.getPartitionMap().getNPartitions();
+        final List<Integer> partitions = new ArrayList<Integer>(nPartitions);
+        for (int i = 1; i <= nPartitions; i++) {
+            partitions.add(i);
+        }
+        partitions.sort((p1, p2) -> {
+            final int cmp = Long.compare(getSize(partitionSizes, p2),
+                                         getSize(partitionSizes, p1));
+            return (cmp != 0) ? cmp : Integer.compare(p1, p2);
+        });
+
+        /*
+         * Greedy assignment: each partition goes to the split with the
+         * fewest bytes, or with the fewest partitions if the bytes are
+         * equal, so that empty partitions are also spread evenly.
+         */
+        final long[] splitSizes = new long[nSplits];
+        final List<Map<RepGroupId, Set<Integer>>> maps =
+            new ArrayList<Map<RepGroupId, Set<Integer>>>(nSplits);
+        final int[] splitCounts = new int[nSplits];
+        for (int i = 0; i < nSplits; i++) {
+            maps.add(new HashMap<RepGroupId, Set<Integer>>());
+        }
+        for (Integer p : partitions) {
+            int target = 0;
+            for (int i = 1; i < nSplits; i++) {
+                if ((splitSizes[i] < splitSizes[target]) ||
+                    ((splitSizes[i] == splitSizes[target]) &&
+                     (splitCounts[i] < splitCounts[target]))) {
+                    target = i;
+                }
+            }
+            splitSizes[target] += getSize(partitionSizes, p);
+            splitCounts[target]++;
+            final RepGroupId rgid = topo.getRepGroupId(new PartitionId(p));
+            maps.get(target).computeIfAbsent(rgid, k -> new HashSet<Integer>())
+                .add(p);
+        }
+
+        final List<TopoSplit> splits = new ArrayList<TopoSplit>(nSplits);
+        for (int i = 0; i < nSplits; i++) {
+            final Map<RepGroupId, Set<Integer>> map = maps.get(i);
+            if (map.isEmpty()) {
+                continue;
+            }
+            final TopoSplit split = new TopoSplit(i + 1);
+            split.setSize(splitSizes[i]);
+            while (!map.isEmpty()) {
+                final PartitionSelector selector =
+                                    new PartitionSelector(map, streamsPerShard);
+                final Set<Integer> pSet = selector.getNextSet(streamsPerSplit);
+                if (pSet != null) {
+                    split.add(pSet);
+                }
+            }
+            splits.add(split);
+        }
+        return splits;
+    }
+
+    private static long getSize(Map<Integer, Long> partitionSizes,
+                                Integer partitionId) {
+        final Long size = partitionSizes.get(partitionId);
+        return (size == null || size < 0) ? 0 : size;
+    }
+
     /**
      * Create a map of rep group => set of partitions in that group for
      * the partitions between start and end.
@@ -56,6 +56,9 @@ public class TopoSplit {
     /* Lists of partition sets */
     private final List<Set<Integer>> partitionSets;
 
+    /* Estimated number of bytes in the partitions, or -1 if not known */
+    private long size = -1;
+
     TopoSplit(int id) {
         this.id = id;
         partitionSets = new ArrayList<Set<Integer>>();
@@ -92,6 +95,20 @@ public class TopoSplit {
         return partitionSets.size();
     }
 
+    void setSize(long size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets the estimated number of bytes of data in the partitions of this
+     * split, or -1 if the split was built without partition sizes.
+     *
+     * @return the estimated number of bytes in this split or -1
+     */
+    public long getSize() {
+        return size;
+    }
+
     /**
      * Gets the list of partition sets in this split.
      *
@@ -181,6 +198,11 @@ public class TopoSplit {
         sb.append("TopoSplit[");
         sb.append(id);
         sb.append(", ");
+        if (size >= 0) {
+            sb.append("size=");
+            sb.append(size);
+            sb.append(", ");
+        }
         for (Set<Integer> set : partitionSets) {
             sb.append("\n\t");
             sb.append(set);
@@ -227,6 +227,7 @@ public class FileNames {
     public static final String COLLECTOR_RNEVENT_FILE_NAME = "rnEvent";
     public static final String COLLECTOR_LOGGINGSTATS_FILE_NAME =
         "loggingStats";
+    public static final String COLLECTOR_RNHOTKEYS_FILE_NAME = "rnHotKeys";
 
     public static final String COLLECTOR_FILE_SUFFIX = "json";
 
@@ -0,0 +1,266 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded-memory sketch that finds the heaviest keys in a stream of
+ * weighted updates. Each update carries a read weight and a write weight,
+ * and keys are ranked by the sum of the two.
+ *
+ * <p>The sketch combines a Count-Min sketch, which estimates the total weight
+ * of any key, with a small table of the keys having the highest estimates.
+ * A key that is not in the table replaces the lightest entry only if its
+ * estimate exceeds that entry's estimate, so the cost of an update is
+ * constant except when the set of heavy hitters changes. Estimates never
+ * underestimate the true weight, and overestimate it by at most a small
+ * fraction of the total weight added to the sketch.
+ *
+ * <p>To reduce contention, keys are hashed into independently synchronized
+ * stripes. A given key always maps to the same stripe, so the entries
+ * returned by {@link #getTop} are the union of the heavy hitters of each
+ * stripe.
+ *
+ * <p>The sketch has no reset operation: callers that want per-interval
+ * results should replace the sketch at the end of each interval.
+ *
+ * @param <K> the key type, which must implement hashCode and equals
+ */
+public class HeavyHitterSketch<K> {
+
+    /** The number of Count-Min rows, each using a different hash. */
+    private static final int DEPTH = 4;
+
+    private final Stripe<K>[] stripes;
+
+    /**
+     * Creates a sketch.
+     *
+     * @param nStripes the number of independently locked stripes
+     * @param width the number of counters in each Count-Min row, rounded up
+     * to a power of two
+     * @param capacity the maximum number of heavy hitters tracked by each
+     * stripe
+     */
+    @SuppressWarnings("unchecked")
+    public HeavyHitterSketch(int nStripes, int width, int capacity) {
+        if (nStripes <= 0 || width <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException(
+                "Sketch sizes must be positive: nStripes=" + nStripes +
+                " width=" + width + " capacity=" + capacity);
+        }
+        final int roundedWidth =
+            (width == 1) ? 1 : Integer.highestOneBit(width - 1) << 1;
+        stripes = new Stripe[nStripes];
+        for (int i = 0; i < nStripes; i++) {
+            stripes[i] = new Stripe<>(roundedWidth, capacity);
+        }
+    }
+
+    /**
+     * Adds weights for a key. Updates with a total weight of zero are
+     * ignored.
+     */
+    public void add(K key, long readWeight, long writeWeight) {
+        if (readWeight + writeWeight <= 0) {
+            return;
+        }
+        final int hash = mix(key.hashCode());
+        final Stripe<K> stripe =
+            stripes[Math.floorMod(hash >>> 16, stripes.length)];
+        stripe.add(key, hash, readWeight, writeWeight);
+    }
+
+    /**
+     * Returns up to n heavy hitters, heaviest first.
+     */
+    public List<HeavyHitter<K>> getTop(int n) {
+        final List<HeavyHitter<K>> all = new ArrayList<>();
+        for (Stripe<K> stripe : stripes) {
+            stripe.copyEntries(all);
+        }
+        all.sort((e1, e2) -> Long.compare(e2.getWeight(), e1.getWeight()));
+        return (all.size() <= n) ? all : new ArrayList<>(all.subList(0, n));
+    }
+
+    /** Spreads the bits of a hash code, as in MurmurHash3's finalizer. */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * A heavy hitter. The weight is the Count-Min estimate of the key's
+     * total weight. The read and write weights and the update count are
+     * exact, but only cover the updates made since the key entered the
+     * table of heavy hitters.
+     */
+    public static class HeavyHitter<K> {
+        private final K key;
+        private final long weight;
+        private final long readWeight;
+        private final long writeWeight;
+        private final long count;
+
+        HeavyHitter(K key,
+                    long weight,
+                    long readWeight,
+                    long writeWeight,
+                    long count) {
+            this.key = key;
+            this.weight = weight;
+            this.readWeight = readWeight;
+            this.writeWeight = writeWeight;
+            this.count = count;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public long getReadWeight() {
+            return readWeight;
+        }
+
+        public long getWriteWeight() {
+            return writeWeight;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return key + "[weight=" + weight + " read=" + readWeight +
+                " write=" + writeWeight + " count=" + count + "]";
+        }
+    }
+
+    /** A mutable table entry, protected by the stripe's monitor. */
+    private static class Entry<K> {
+        private final K key;
+        private long estimate;
+        private long readWeight;
+        private long writeWeight;
+        private long count;
+
+        Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    private static class Stripe<K> {
+        private final long[][] counters;
+        private final int mask;
+        private final int capacity;
+        private final Map<K, Entry<K>> entries;
+
+        /*
+         * A lower bound on the smallest estimate in the table. Estimates only
+         * grow, so the bound stays valid until the smallest entry is evicted,
+         * and the table only needs to be scanned when a new key's estimate
+         * exceeds it.
+         */
+        private long minEstimate;
+
+        Stripe(int width, int capacity) {
+            counters = new long[DEPTH][width];
+            mask = width - 1;
+            this.capacity = capacity;
+            entries = new HashMap<>();
+        }
+
+        synchronized void add(K key,
+                              int hash,
+                              long readWeight,
+                              long writeWeight) {
+            final long estimate =
+                updateCounters(hash, readWeight + writeWeight);
+
+            Entry<K> entry = entries.get(key);
+            if (entry == null) {
+                if (entries.size() >= capacity) {
+                    if (estimate <= minEstimate) {
+                        return;
+                    }
+                    final Entry<K> lightest = findLightest();
+                    if (estimate <= lightest.estimate) {
+                        minEstimate = lightest.estimate;
+                        return;
+                    }
+                    entries.remove(lightest.key);
+                }
+                entry = new Entry<>(key);
+                entries.put(key, entry);
+            }
+            entry.estimate = estimate;
+            entry.readWeight += readWeight;
+            entry.writeWeight += writeWeight;
+            entry.count++;
+            if (entry.count == 1 && entries.size() >= capacity) {
+                minEstimate = findLightest().estimate;
+            }
+        }
+
+        /**
+         * Adds the weight to the key's counter in each row and returns the
+         * new estimate, which is the smallest of those counters.
+         */
+        private long updateCounters(int hash, long weight) {
+            long estimate = Long.MAX_VALUE;
+            for (int i = 0; i < DEPTH; i++) {
+                final int index = rowHash(hash, i) & mask;
+                final long value = counters[i][index] + weight;
+                counters[i][index] = value;
+                estimate = Math.min(estimate, value);
+            }
+            return estimate;
+        }
+
+        /** Derives the hash for a row using double hashing. */
+        private static int rowHash(int hash, int row) {
+            return hash + row * mix(hash ^ 0x9e3779b9);
+        }
+
+        private Entry<K> findLightest() {
+            Entry<K> lightest = null;
+            for (Entry<K> e : entries.values()) {
+                if (lightest == null || e.estimate < lightest.estimate) {
+                    lightest = e;
+                }
+            }
+            return lightest;
+        }
+
+        synchronized void copyEntries(List<HeavyHitter<K>> list) {
+            for (Entry<K> e : entries.values()) {
+                list.add(new HeavyHitter<>(e.key, e.estimate, e.readWeight,
+                                           e.writeWeight, e.count));
+            }
+        }
+    }
+}
@@ -13,8 +13,8 @@
 
 package oracle.kv.impl.util;
 
+import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -28,8 +28,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class ReusingThreadPoolExecutor extends ThreadPoolExecutor {
 
-    /** Queue of requests waiting for a free thread to be executed. */
-    private final BlockingQueue<Runnable> queue;
+    /**
+     * Queue of requests waiting for a free thread to be executed. The queue
+     * must be thread safe.
+     */
+    private final Queue<Runnable> queue;
 
     /** The queue capacity. */
     private final int queueCapacity;
@@ -75,6 +78,42 @@ public class ReusingThreadPoolExecutor extends ThreadPoolExecutor {
                                      TimeUnit unit,
                                      int queueCapacity,
                                      ThreadFactory threadFactory) {
+        this(corePoolSize, maxPoolSize, keepAliveTime, unit,
+             createQueue(queueCapacity), queueCapacity, threadFactory);
+    }
+
+    /**
+     * Creates an instance of this class that holds waiting tasks in the
+     * specified queue, which determines the order in which the tasks are
+     * executed.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even if
+     * they are idle
+     * @param maxPoolSize the maximum number of threads to allow in the pool
+     * @param keepAliveTime when the number of threads is greater than the
+     * core, this is the maximum time that excess idle threads will wait for
+     * new tasks before terminating.
+     * @param unit the time unit for the {@code keepAliveTime} argument
+     * @param queue the thread safe work queue, which should reject offers
+     * that would exceed {@code queueCapacity}
+     * @param queueCapacity the capacity of the work queue
+     * @param threadFactory the factory to use when the executor creates a new
+     * thread
+     * @throws IllegalArgumentException if: <ul>
+     * <li> {@code corePoolSize < 0}
+     * <li> {@code maxPoolSize <= 0}
+     * <li> {@code keepAliveTime < 0}
+     * <li> {@code queueCapacity < 1}
+     * <li> {@code maxPoolSize < corePoolSize}
+     * </ul>
+     */
+    public ReusingThreadPoolExecutor(int corePoolSize,
+                                     int maxPoolSize,
+                                     long keepAliveTime,
+                                     TimeUnit unit,
+                                     Queue<Runnable> queue,
+                                     int queueCapacity,
+                                     ThreadFactory threadFactory) {
         super(corePoolSize, maxPoolSize, keepAliveTime, unit,
 
               /*
@@ -88,10 +127,18 @@ public class ReusingThreadPoolExecutor extends ThreadPoolExecutor {
                 "queueCapacity must be greater than 0");
         }
         this.queueCapacity = queueCapacity;
-        queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queue = queue;
         setRejectedExecutionHandler(new AddToQueueHandler());
     }
 
+    private static Queue<Runnable> createQueue(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                "queueCapacity must be greater than 0");
+        }
+        return new ArrayBlockingQueue<>(queueCapacity);
+    }
+
     /**
      * Handle rejected execution by attempting to add the task to the queue.
      */
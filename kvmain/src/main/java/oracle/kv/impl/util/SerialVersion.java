@@ -643,12 +643,26 @@ public class SerialVersion {
      */
     public static final short CREATION_TIME_VER = V38;
 
+    /**
+     * Introduced at R25.4/V39
+     * - Requests can ask for a latency breakdown, which is returned in the
+     *   response
+     * - Query: TopNIter in RN plans
+     * - Query: approx_count_distinct() function
+     */
+    public static final short V39 = 39;
+    static { init(V39, KVVersion.R25_4); }
+
+    public static final short REQUEST_TRACE_VERSION = V39;
+
+    public static final short QUERY_VERSION_19 = V39;
+
     /**
      * When adding a new version and updating DEFAULT_CURRENT, be sure to make
      * corresponding changes in KVVersion as well as the files referenced from
      * there to add a new release version. See {@link KVVersion#CURRENT_VERSION}
      */
-    private static final short DEFAULT_CURRENT = V38;
+    private static final short DEFAULT_CURRENT = V39;
 
     /*
      * The default earliest supported serial version.
@@ -42,6 +42,13 @@ public class WatcherNames {
                        */
                       "oracle.kv.impl.rep.OperationsStatsTracker");
 
+    /**
+     * The watcher name for metrics served by an OpenMetrics endpoint.
+     */
+    public static final String OPEN_METRICS =
+        String.format("%s-%s.monitor", "OpenMetrics",
+                      "oracle.kv.impl.measurement.OpenMetricsServer");
+
     /**
      * Returns a watcher name for the {@link KVStore#getStats(String,
      * boolean)}.
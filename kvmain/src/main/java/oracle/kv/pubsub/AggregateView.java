@@ -0,0 +1,565 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.pubsub;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import oracle.kv.Consistency;
+import oracle.kv.Version;
+import oracle.kv.table.FieldDef;
+import oracle.kv.table.FieldValue;
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.ReadOptions;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+import oracle.kv.table.TableAPI;
+
+/**
+ * Object represents a materialized aggregate view over a table, i.e., the
+ * result of the query
+ *
+ *   SELECT g1, ..., gn, count(*), sum(s1), ..., sum(sm)
+ *   FROM source
+ *   GROUP BY g1, ..., gn
+ *
+ * stored in a KV table and maintained incrementally, as the changes made to
+ * the source table are applied to it (see {@link AggregateViewSubscriber},
+ * which applies the changes delivered by a NoSQL stream). Reading the
+ * aggregates of a group is then a single-partition lookup, instead of a
+ * scan of the source table.
+ *
+ * The view table has one row per group and per source shard, with primary
+ * key (SHARD(g1, ..., gn), shard_id). Each row stores the count and sums of
+ * the source rows of its group that were written at that shard, and the
+ * sequence id (VLSN) of the last change applied to it. Since the changes
+ * made at a shard are delivered in sequence id order, a change whose
+ * sequence id is not greater than the one stored in the row has already
+ * been applied, and is skipped. This makes applying changes idempotent, so
+ * the stream can be resumed from any earlier checkpoint. The rows of a group
+ * at different shards are summed when the view is read.
+ *
+ * Applying an update or a delete requires the previous value of the source
+ * row, so before images must be enabled on the source table, and included
+ * in the stream. Source rows with a NULL grouping value are not counted in
+ * any group. Only count(*) and sum(), which can be maintained by subtracting
+ * the contribution of the previous row, are supported. The sums of INTEGER,
+ * LONG and NUMBER columns are stored as NUMBERs, so they cannot overflow.
+ * <p>
+ * A view is created and maintained as follows:
+ * <pre>
+ * AggregateView view = new AggregateView(
+ *     tableAPI, tableAPI.getTable("orders"), "orders_by_customer",
+ *     Arrays.asList("customer"), Arrays.asList("amount"));
+ * tableAPI.getStore().executeSync(view.getCreateTableStatement());
+ *
+ * NoSQLSubscriptionConfig config =
+ *     new NoSQLSubscriptionConfig.Builder("orders_view_ckpt")
+ *     .setSubscribedTables("orders")
+ *     .setIncludeBeforeImage(true)
+ *     .build();
+ * AggregateViewSubscriber subscriber =
+ *     new AggregateViewSubscriber(view, config, logger);
+ * publisher.subscribe(subscriber);
+ *
+ * AggregateView.Result res = view.get(new StringValue("c1"));
+ * </pre>
+ *
+ * @see AggregateViewSubscriber
+ * @since 25.4
+ */
+public class AggregateView {
+
+    /**
+     * The name of the column of the view table that holds the ID of the
+     * source shard.
+     */
+    public static final String SHARD_ID = "shard_id";
+
+    /**
+     * The name of the column of the view table that holds the sequence id of
+     * the last change applied to a row.
+     */
+    public static final String LAST_SEQ = "last_seq";
+
+    /**
+     * The name of the column of the view table that holds the number of
+     * source rows.
+     */
+    public static final String COUNT = "cnt";
+    private static final String SUM_PREFIX = "sum_";
+    private static final String SUM_COUNT_PREFIX = "cnt_";
+
+    /* max number of attempts to update a view row */
+    private static final int MAX_UPDATE_ATTEMPTS = 10;
+
+    private final TableAPI tableAPI;
+
+    /* the source table */
+    private final Table source;
+
+    /* full name of the view table */
+    private final String viewName;
+
+    private final String[] groupColumns;
+
+    private final String[] sumColumns;
+
+    private final ReadOptions readOptions =
+        new ReadOptions(Consistency.ABSOLUTE, 0, null);
+
+    /* the view table, or null if not yet fetched */
+    private volatile Table view;
+
+    /**
+     * Creates an aggregate view. The view table is not created by this
+     * constructor, see {@link #getCreateTableStatement}.
+     *
+     * @param tableAPI the handle used to read and write the view table
+     * @param source the source table
+     * @param viewName the full name of the view table, including its
+     * namespace, if any
+     * @param groupColumns the names of the grouping columns of the source
+     * table, which must be of type INTEGER, LONG, NUMBER, STRING or TIMESTAMP
+     * @param sumColumns the names of the summed columns of the source table,
+     * which must be of type INTEGER, LONG, NUMBER, FLOAT or DOUBLE
+     *
+     * @throws IllegalArgumentException if there are no grouping columns, or
+     * a column does not exist in the source table or has a type that is not
+     * supported
+     */
+    public AggregateView(TableAPI tableAPI,
+                         Table source,
+                         String viewName,
+                         List<String> groupColumns,
+                         List<String> sumColumns) {
+
+        if (groupColumns.isEmpty()) {
+            throw new IllegalArgumentException(
+                "An aggregate view requires at least one grouping column");
+        }
+
+        for (String col : groupColumns) {
+            getDDLType(source, col, false);
+        }
+        for (String col : sumColumns) {
+            getDDLType(source, col, true);
+        }
+
+        this.tableAPI = tableAPI;
+        this.source = source;
+        this.viewName = viewName;
+        this.groupColumns = groupColumns.toArray(new String[0]);
+        this.sumColumns = sumColumns.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the source table.
+     *
+     * @return the source table
+     */
+    public Table getSourceTable() {
+        return source;
+    }
+
+    /**
+     * Returns the full name of the view table.
+     *
+     * @return the full name of the view table
+     */
+    public String getViewName() {
+        return viewName;
+    }
+
+    /**
+     * Returns the DDL statement that creates the view table. The statement
+     * must be executed before changes are applied to the view.
+     *
+     * @return the DDL statement that creates the view table
+     */
+    public String getCreateTableStatement() {
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TABLE IF NOT EXISTS ").append(viewName).append("(");
+
+        for (String col : groupColumns) {
+            sb.append(col).append(" ").
+                append(getDDLType(source, col, false)).append(", ");
+        }
+
+        sb.append(SHARD_ID).append(" INTEGER, ");
+        sb.append(LAST_SEQ).append(" LONG, ");
+        sb.append(COUNT).append(" LONG, ");
+
+        for (String col : sumColumns) {
+            sb.append(SUM_PREFIX).append(col).append(" ").
+                append(getDDLType(source, col, true)).append(", ");
+            sb.append(SUM_COUNT_PREFIX).append(col).append(" LONG, ");
+        }
+
+        sb.append("PRIMARY KEY(SHARD(");
+        sb.append(String.join(", ", groupColumns));
+        sb.append("), ").append(SHARD_ID).append("))");
+        return sb.toString();
+    }
+
+    /**
+     * Applies a change of the source table, made at the given shard with the
+     * given sequence id. The previous row is null for an insert, and the new
+     * row is null for a delete.
+     *
+     * @hidden For use by AggregateViewSubscriber and tests
+     */
+    public void apply(int shardId, long seq, Row prevRow, Row newRow) {
+
+        final Delta prevDelta = createDelta(prevRow, -1);
+        final Delta newDelta = createDelta(newRow, 1);
+
+        if (prevDelta != null && newDelta != null &&
+            Arrays.equals(prevDelta.groupValues, newDelta.groupValues)) {
+            newDelta.add(prevDelta);
+            applyDelta(shardId, seq, newDelta);
+            return;
+        }
+
+        if (prevDelta != null) {
+            applyDelta(shardId, seq, prevDelta);
+        }
+        if (newDelta != null) {
+            applyDelta(shardId, seq, newDelta);
+        }
+    }
+
+    /**
+     * Returns the aggregates of the group with the given grouping values, or
+     * null if the group is empty. The aggregates include the changes that
+     * the subscriber of the view has applied so far.
+     *
+     * @param groupValues the values of the grouping columns, in the order of
+     * the columns passed to the constructor
+     *
+     * @return the aggregates of the group, or null
+     *
+     * @throws IllegalArgumentException if the number of values is not the
+     * number of grouping columns
+     * @throws IllegalStateException if the view table does not exist
+     */
+    public Result get(FieldValue... groupValues) {
+
+        if (groupValues.length != groupColumns.length) {
+            throw new IllegalArgumentException(
+                "Expected " + groupColumns.length + " grouping values");
+        }
+
+        final PrimaryKey key = getView().createPrimaryKey();
+        for (int i = 0; i < groupColumns.length; ++i) {
+            key.put(groupColumns[i], groupValues[i]);
+        }
+
+        final Result res = new Result();
+
+        /* all the rows of a group are in the same partition */
+        for (Row row : tableAPI.multiGet(key, null, readOptions)) {
+            res.count += row.get(COUNT).asLong().get();
+            for (String col : sumColumns) {
+                final long cnt =
+                    row.get(SUM_COUNT_PREFIX + col).asLong().get();
+                if (cnt == 0) {
+                    continue;
+                }
+                res.sumCounts.merge(col, cnt, Long::sum);
+                res.sums.merge(col, getSum(row, col), BigDecimal::add);
+            }
+        }
+
+        return (res.count > 0 ? res : null);
+    }
+
+    private Table getView() {
+        if (view == null) {
+            view = tableAPI.getTable(viewName);
+            if (view == null) {
+                throw new IllegalStateException(
+                    "View table does not exist: " + viewName);
+            }
+        }
+        return view;
+    }
+
+    private Delta createDelta(Row row, int sign) {
+
+        if (row == null) {
+            return null;
+        }
+
+        final Delta delta = new Delta();
+
+        for (int i = 0; i < groupColumns.length; ++i) {
+            final FieldValue val = row.get(groupColumns[i]);
+            if (val == null || val.isNull()) {
+                return null;
+            }
+            delta.groupValues[i] = val;
+        }
+
+        delta.count = sign;
+
+        for (int i = 0; i < sumColumns.length; ++i) {
+            final FieldValue val = row.get(sumColumns[i]);
+            if (val == null || val.isNull()) {
+                continue;
+            }
+            delta.sumCounts[i] = sign;
+            delta.sums[i] = (sign > 0 ?
+                             toDecimal(val) :
+                             toDecimal(val).negate());
+        }
+
+        return delta;
+    }
+
+    private void applyDelta(int shardId, long seq, Delta delta) {
+
+        final Table viewTable = getView();
+        final PrimaryKey key = viewTable.createPrimaryKey();
+        for (int i = 0; i < groupColumns.length; ++i) {
+            key.put(groupColumns[i], delta.groupValues[i]);
+        }
+        key.put(SHARD_ID, shardId);
+
+        for (int i = 0; i < MAX_UPDATE_ATTEMPTS; ++i) {
+
+            final Row curRow = tableAPI.get(key, readOptions);
+
+            /* the change was applied before the stream was resumed */
+            if (curRow != null && curRow.get(LAST_SEQ).asLong().get() >= seq) {
+                return;
+            }
+
+            final Row row;
+            if (curRow != null) {
+                row = curRow;
+            } else {
+                row = viewTable.createRow(key);
+                row.put(COUNT, 0L);
+                for (String col : sumColumns) {
+                    row.put(SUM_COUNT_PREFIX + col, 0L);
+                    putSum(row, col, BigDecimal.ZERO);
+                }
+            }
+
+            /*
+             * Rows whose count drops to 0 are kept, so that the sequence id
+             * of the last change applied to them is not lost.
+             */
+            row.put(LAST_SEQ, seq);
+            row.put(COUNT, row.get(COUNT).asLong().get() + delta.count);
+
+            for (int j = 0; j < sumColumns.length; ++j) {
+                if (delta.sums[j] == null) {
+                    continue;
+                }
+                final String col = sumColumns[j];
+                final String cntCol = SUM_COUNT_PREFIX + col;
+                row.put(cntCol,
+                        row.get(cntCol).asLong().get() + delta.sumCounts[j]);
+                putSum(row, col, getSum(row, col).add(delta.sums[j]));
+            }
+
+            final Version ver = (curRow != null ?
+                                 tableAPI.putIfVersion(row,
+                                                       curRow.getVersion(),
+                                                       null, null) :
+                                 tableAPI.putIfAbsent(row, null, null));
+            if (ver != null) {
+                return;
+            }
+        }
+
+        throw new IllegalStateException(
+            "Could not update row of view " + viewName + " after " +
+            MAX_UPDATE_ATTEMPTS + " attempts, key: " + key.toJsonString(false));
+    }
+
+    /*
+     * Returns the sum stored in a row of the view. NUMBER values may be read
+     * back in exponent form (e.g. 1E+1), so the sums of integer columns are
+     * returned with a scale of 0.
+     */
+    private BigDecimal getSum(Row row, String col) {
+
+        final BigDecimal sum = toDecimal(row.get(SUM_PREFIX + col));
+
+        switch (source.getField(col).getType()) {
+        case INTEGER:
+        case LONG:
+            return sum.setScale(0);
+        default:
+            return sum;
+        }
+    }
+
+    private void putSum(Row row, String col, BigDecimal sum) {
+
+        final String sumCol = SUM_PREFIX + col;
+
+        switch (source.getField(col).getType()) {
+        case FLOAT:
+        case DOUBLE:
+            row.put(sumCol, sum.doubleValue());
+            break;
+        default:
+            row.putNumber(sumCol, sum);
+            break;
+        }
+    }
+
+    private static BigDecimal toDecimal(FieldValue val) {
+
+        switch (val.getType()) {
+        case INTEGER:
+            return BigDecimal.valueOf(val.asInteger().get());
+        case LONG:
+            return BigDecimal.valueOf(val.asLong().get());
+        case FLOAT:
+            return new BigDecimal(val.asFloat().get());
+        case DOUBLE:
+            return new BigDecimal(val.asDouble().get());
+        case NUMBER:
+            return val.asNumber().get();
+        default:
+            throw new IllegalStateException(
+                "Unexpected type of aggregated value: " + val.getType());
+        }
+    }
+
+    /*
+     * Returns the type of a column of the view table that holds the values
+     * of a grouping column, or the sums of a summed column, of the source.
+     */
+    private static String getDDLType(Table source, String col, boolean sum) {
+
+        final FieldDef def = source.getField(col);
+        if (def == null) {
+            throw new IllegalArgumentException(
+                "Column " + col + " does not exist in table " +
+                source.getFullNamespaceName());
+        }
+
+        if (sum) {
+            switch (def.getType()) {
+            case INTEGER:
+            case LONG:
+            case NUMBER:
+                /* a sum of LONGs may not fit in a LONG */
+                return "NUMBER";
+            case FLOAT:
+            case DOUBLE:
+                return "DOUBLE";
+            default:
+                break;
+            }
+        } else {
+            switch (def.getType()) {
+            case INTEGER:
+            case LONG:
+            case STRING:
+            case NUMBER:
+                return def.getType().toString();
+            case TIMESTAMP:
+                return "TIMESTAMP(" + def.asTimestamp().getPrecision() + ")";
+            default:
+                break;
+            }
+        }
+
+        throw new IllegalArgumentException(
+            "Column " + col + " of type " + def.getType() +
+            " cannot be " + (sum ? "summed" : "used for grouping") +
+            " in an aggregate view");
+    }
+
+    /* the contribution of a source row to its group */
+    private class Delta {
+
+        final FieldValue[] groupValues = new FieldValue[groupColumns.length];
+
+        long count;
+
+        final BigDecimal[] sums = new BigDecimal[sumColumns.length];
+
+        final long[] sumCounts = new long[sumColumns.length];
+
+        void add(Delta other) {
+            count += other.count;
+            for (int i = 0; i < sums.length; ++i) {
+                sumCounts[i] += other.sumCounts[i];
+                if (other.sums[i] != null) {
+                    sums[i] = (sums[i] == null ?
+                               other.sums[i] :
+                               sums[i].add(other.sums[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Object represents the aggregates of a group.
+     *
+     * @since 25.4
+     */
+    public static class Result {
+
+        private long count;
+
+        private final Map<String, BigDecimal> sums = new HashMap<>();
+
+        private final Map<String, Long> sumCounts = new HashMap<>();
+
+        /**
+         * Returns the number of source rows in the group.
+         *
+         * @return the number of source rows in the group
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of the values of the given column in the group, or
+         * null if all these values are NULL.
+         *
+         * @param column the name of a summed column of the source table
+         * @return the sum, or null
+         */
+        public BigDecimal getSum(String column) {
+            return sums.get(column);
+        }
+
+        /**
+         * Returns the number of non-NULL values of the given column in the
+         * group.
+         *
+         * @param column the name of a summed column of the source table
+         * @return the number of non-NULL values
+         */
+        public long getCount(String column) {
+            final Long cnt = sumCounts.get(column);
+            return (cnt == null ? 0 : cnt);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.pubsub;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import oracle.kv.impl.api.table.TableImpl;
+import oracle.kv.impl.pubsub.StreamSequenceId;
+import oracle.kv.table.Row;
+
+import org.reactivestreams.Subscription;
+
+/**
+ * Object represents a subscriber that maintains an {@link AggregateView} by
+ * applying to it the changes of its source table delivered by a NoSQL
+ * stream. The subscription must include the before images of the changes,
+ * and before images must be enabled on the source table.
+ *
+ * Since applying changes to the view is idempotent, the stream can be
+ * resumed from any checkpoint taken by the application.
+ *
+ * Source rows that expire through their TTL are removed without a stream
+ * delete event, so they are never subtracted from the view, and the counts
+ * and sums of their groups drift upwards. The view should only be used for
+ * source tables whose rows do not expire, or whose application deletes
+ * rows explicitly instead.
+ * <p>
+ * See {@link AggregateView} for an example of how a view is created and
+ * maintained. The subscriber requests an unbounded number of changes when
+ * it is subscribed, and cancels the subscription if a change cannot be
+ * applied, in which case {@link #getFailure} returns the cause.
+ *
+ * @since 25.4
+ */
+public class AggregateViewSubscriber implements NoSQLSubscriber {
+
+    /* private logger */
+    private final Logger logger;
+
+    private final AggregateView view;
+
+    /* configuration of the subscription */
+    private final NoSQLSubscriptionConfig config;
+
+    /* cause of subscription failure, or null */
+    private volatile Throwable cause;
+
+    /* subscription handle, or null if the subscription is not established */
+    private volatile NoSQLSubscription subscription;
+
+    /* number of changes applied to the view */
+    private final AtomicLong numApplied = new AtomicLong();
+
+    /**
+     * Creates a subscriber that maintains an aggregate view.
+     *
+     * @param view the view
+     * @param config the configuration of the subscription, which must
+     * subscribe to the source table of the view and include before images
+     * @param logger the logger of the subscriber
+     *
+     * @throws IllegalArgumentException if the subscription does not include
+     * before images
+     */
+    public AggregateViewSubscriber(AggregateView view,
+                                   NoSQLSubscriptionConfig config,
+                                   Logger logger) {
+
+        if (!config.getIncludeBeforeImage()) {
+            throw new IllegalArgumentException(
+                "The subscription of aggregate view " + view.getViewName() +
+                " must include before images");
+        }
+
+        this.view = view;
+        this.config = config;
+        this.logger = logger;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscription = (NoSQLSubscription) s;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(StreamOperation op) {
+        try {
+            apply(op);
+        } catch (RuntimeException exp) {
+            cause = exp;
+            logger.log(Level.WARNING,
+                       "Failed to apply change to aggregate view " +
+                       view.getViewName() + ", " + exp, exp);
+            subscription.cancel();
+        }
+    }
+
+    private void apply(StreamOperation op) {
+
+        final Row prevRow;
+        final Row newRow;
+
+        switch (op.getType()) {
+        case TRANSACTION:
+            for (StreamOperation txnOp :
+                 op.asTransaction().getOperations()) {
+                apply(txnOp);
+            }
+            return;
+        case PUT:
+            newRow = op.asPut().getRow();
+            break;
+        case DELETE:
+            newRow = null;
+            break;
+        default:
+            return;
+        }
+
+        if (op.getTableId() != ((TableImpl) view.getSourceTable()).getId()) {
+            return;
+        }
+
+        if (!op.isBeforeImageEnabled() || op.isBeforeImageExpired()) {
+            throw new IllegalStateException(
+                "The before image of a change is not available, " +
+                "cannot maintain aggregate view " + view.getViewName() +
+                ", change: " + op.getSequenceId());
+        }
+
+        prevRow = op.getBeforeImage();
+
+        view.apply(op.getRepGroupId(),
+                   ((StreamSequenceId) op.getSequenceId()).getSequence(),
+                   prevRow, newRow);
+        numApplied.incrementAndGet();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        cause = t;
+        logger.warning("Subscription of aggregate view " +
+                       view.getViewName() + " failed: " + t);
+    }
+
+    @Override
+    public void onComplete() {
+        /* never called */
+    }
+
+    @Override
+    public NoSQLSubscriptionConfig getSubscriptionConfig() {
+        return config;
+    }
+
+    @Override
+    public void onWarn(Throwable t) {
+        logger.info("Warning in subscription of aggregate view " +
+                    view.getViewName() + ": " + t);
+    }
+
+    @Override
+    public void onCheckpointComplete(StreamPosition streamPosition,
+                                     Throwable failureCause) {
+        if (failureCause != null) {
+            logger.info("Checkpoint of aggregate view " +
+                        view.getViewName() + " failed: " + failureCause);
+        }
+    }
+
+    /**
+     * Returns the cause of the subscription failure, or null if the
+     * subscription has not failed.
+     *
+     * @return the cause of the failure, or null
+     */
+    public Throwable getFailure() {
+        return cause;
+    }
+
+    /**
+     * Returns the number of changes applied to the view.
+     *
+     * @return the number of changes applied to the view
+     */
+    public long getNumApplied() {
+        return numApplied.get();
+    }
+}
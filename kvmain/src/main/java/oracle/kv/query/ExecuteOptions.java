@@ -103,6 +103,9 @@ public class ExecuteOptions {
 
     private boolean doPrefetching = true;
 
+    /* added in 25.4 */
+    private boolean adaptiveBatching;
+
     private long maxClientMemoryConsumption = 100 * 1024 * 1024;
 
     private long maxServerMemoryConsumption = MAX_SERVER_MEMORY_CONSUMPTION;
@@ -429,6 +432,40 @@ public class ExecuteOptions {
         return this;
     }
 
+    /**
+     * Sets whether the number of results requested per partition/shard
+     * batch is adapted to the observed behavior of the query. If true, the
+     * results batch size (see {@link #setResultsBatchSize}) is used as the
+     * initial batch size of each partition/shard scan. It is increased while
+     * batches come back full and quickly and the application is waiting for
+     * them, and decreased when batches are slow to compute or large. In
+     * addition, while the application consumes a batch of results from a
+     * partition or shard scanned sequentially, the next batch is requested
+     * in the background, unless the async network protocol is disabled (see
+     * {@link oracle.kv.KVStoreConfig#setUseAsync}).
+     * <p>
+     * Adaptive batching is not used for queries that use the results batch
+     * size as a limit on the number of results, nor for updating queries.
+     * The default value is false.
+     *
+     * @since 25.4
+     */
+    public ExecuteOptions setAdaptiveBatching(boolean value) {
+        adaptiveBatching = value;
+        return this;
+    }
+
+    /**
+     * Returns whether the number of results requested per partition/shard
+     * batch is adapted to the observed behavior of the query (see
+     * {@link #setAdaptiveBatching}).
+     *
+     * @since 25.4
+     */
+    public boolean getAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
     /**
      * Returns the {@link MathContext} used for {@link BigDecimal} and
      * {@link BigInteger} operations. {@link MathContext#DECIMAL32} is used by
@@ -30,6 +30,7 @@ import oracle.kv.KVStore;
 import oracle.kv.KVStoreConfig;
 import oracle.kv.impl.api.RequestDispatcher;
 import oracle.kv.impl.api.ops.InternalOperation.OpCode;
+import oracle.kv.impl.api.table.RowNearCache;
 import oracle.kv.impl.async.EndpointGroup;
 import oracle.kv.impl.async.dialog.nio.NioEndpointGroup;
 import oracle.kv.impl.async.perf.DialogEndpointGroupPerf;
@@ -99,6 +100,10 @@ public class KVStats implements Serializable {
 
     private final long requestRetryCount;
 
+    private final long nearCacheHitCount;
+
+    private final long nearCacheMissCount;
+
     private transient DialogEndpointGroupPerf dialogEndpointGroupPerf;
     private transient NioChannelThreadPoolPerf nioChannelThreadPoolPerf;
     private final String dialogEndpointGroupPerfString;
@@ -111,6 +116,27 @@ public class KVStats implements Serializable {
     public KVStats(String watcherName,
                    boolean clear,
                    RequestDispatcher requestDispatcher) {
+        this(watcherName, clear, requestDispatcher, null);
+    }
+
+    /**
+     * @hidden
+     * Internal use only.
+     */
+    public KVStats(String watcherName,
+                   boolean clear,
+                   RequestDispatcher requestDispatcher,
+                   RowNearCache nearCache) {
+
+        if (nearCache == null) {
+            this.nearCacheHitCount = 0;
+            this.nearCacheMissCount = 0;
+        } else {
+            this.nearCacheHitCount =
+                nearCache.getHitCount(watcherName, clear);
+            this.nearCacheMissCount =
+                nearCache.getMissCount(watcherName, clear);
+        }
 
         final Topology topology = requestDispatcher.getTopology();
         this.requestRetryCount =
@@ -273,6 +299,10 @@ public class KVStats implements Serializable {
         if (requestRetryCount > 0) {
             result.put("requestRetryCount", requestRetryCount);
         }
+        if ((nearCacheHitCount > 0) || (nearCacheMissCount > 0)) {
+            result.put("nearCacheHitCount", nearCacheHitCount);
+            result.put("nearCacheMissCount", nearCacheMissCount);
+        }
 
         result.put("operationMetrics",
                    getOpMetrics().stream().
@@ -328,6 +358,28 @@ public class KVStats implements Serializable {
         return requestRetryCount;
     }
 
+    /**
+     * Returns the number of primary key gets that were served from the
+     * client-side row cache of a table, without contacting the store.
+     *
+     * @hidden Until the near cache is made public
+     */
+    public long getNearCacheHitCount() {
+        return nearCacheHitCount;
+    }
+
+    /**
+     * Returns the number of primary key gets of tables with a client-side
+     * row cache that could not be served from the cache, either because the
+     * row was not cached, had expired, or did not satisfy the consistency
+     * of the get.
+     *
+     * @hidden Until the near cache is made public
+     */
+    public long getNearCacheMissCount() {
+        return nearCacheMissCount;
+    }
+
     /**
      * Returns the async endpoint group metrics.
      *
@@ -538,6 +590,7 @@ public class KVStats implements Serializable {
         private final long errorCount;
         private final long averageTrailingResponseTimeNanos;
         private final long averageResponseTimeNanos;
+        private final long selectionCount;
 
         public NodeMetricsImpl(RepNodeId repNodeId,
                                String datacenterName,
@@ -547,7 +600,8 @@ public class KVStats implements Serializable {
                                long requestCount,
                                long errorCount,
                                long averageTrailingResponseTimeNanos,
-                               long averageResponseTimeNanos) {
+                               long averageResponseTimeNanos,
+                               long selectionCount) {
             this.repNodeId = repNodeId;
             this.datacenterName = datacenterName;
             this.isActive = isActive;
@@ -558,6 +612,7 @@ public class KVStats implements Serializable {
             this.averageTrailingResponseTimeNanos =
                 averageTrailingResponseTimeNanos;
             this.averageResponseTimeNanos = averageResponseTimeNanos;
+            this.selectionCount = selectionCount;
         }
 
         @Override
@@ -612,6 +667,11 @@ public class KVStats implements Serializable {
             return averageResponseTimeNanos;
         }
 
+        @Override
+        public long getSelectionCount() {
+            return selectionCount;
+        }
+
         @Override
         public String toString() {
             return toJson().toString();
@@ -628,6 +688,7 @@ public class KVStats implements Serializable {
             object.put("failedRequestCount", errorCount);
             object.put("averageLatencyNanos",
                                averageResponseTimeNanos);
+            object.put("selectionCount", selectionCount);
             return object;
         }
     }
@@ -95,4 +95,15 @@ public interface NodeMetrics extends Serializable {
      * KVStore#getStats(String, boolean)}.
      */
     public long getAverageLatencyNanos();
+
+    /**
+     * @hidden
+     * Returns the number of times the node was chosen by load balancing to
+     * serve a request that could be served by more than one node.
+     *
+     * <p>The stats reflects the value computed since the last time it is
+     * obtained and cleared with respect to a watcher name. See {@link
+     * KVStore#getStats(String, boolean)}.
+     */
+    public long getSelectionCount();
 }
@@ -2011,6 +2011,104 @@ public interface TableAPI {
     CompletableFuture<List<TableOperationResult>> executeAsync(
         List<TableOperation> operations, WriteOptions writeOptions);
 
+    /**
+     * Executes a sequence of operations on rows of any tables, with any
+     * shard keys, as a non-atomic batch. The operations are grouped by the
+     * partition that holds their keys, and the groups are sent to the store
+     * concurrently, so that writing a set of unrelated rows takes a single
+     * parallel round trip rather than one {@link #execute} call per shard
+     * key.
+     * <p>
+     * The operations passed to this method are created using an {@link
+     * TableOperationFactory}, which is obtained from the {@link
+     * #getTableOperationFactory} method.
+     * <p>
+     * Unlike {@link #execute}, the batch as a whole is not executed within a
+     * single transaction. The operations in each group are executed in a
+     * transaction of their own, so the operations on rows with the same shard
+     * key are still applied atomically. If an operation that was created with
+     * {@code true} for the {@code abortIfUnsuccessful} parameter is not
+     * successful, only the operations in its group are aborted, and a {@link
+     * TableOpExecutionException} is thrown. If a group fails with an
+     * exception, that exception is thrown. In either case, the operations in
+     * other groups may have been executed. When several groups fail, the
+     * exception reported is for the first failed group, and the batch waits
+     * for all groups to complete before reporting it. The {@link
+     * TableOpExecutionException#getBatchResults batch results} of a {@code
+     * TableOpExecutionException} tell which operations were applied.
+     *
+     * @param operations the list of operations to be performed
+     *
+     * @param writeOptions non-default arguments controlling the durability of
+     * the operation, or {@code null} to get default behavior
+     *
+     * @return the sequence of results associated with the operation. There is
+     * one entry for each TableOperation in the operations argument list.  The
+     * returned list is in the same order as the operations argument list.
+     *
+     * @throws TableOpExecutionException if an operation is not successful as
+     * defined by the particular operation (e.g., a delete operation for a
+     * non-existent key) <em>and</em> {@code true} was passed for the {@code
+     * abortIfUnsuccessful} parameter when the operation was created using the
+     * {@link TableOperationFactory}. The failed operation index is the
+     * operation's index in the operations argument list, and the exception's
+     * batch results hold the results of the operations that were applied.
+     *
+     * @throws IllegalArgumentException if operations is {@code null} or empty,
+     * or more than one operation has the same primary key, or any of the
+     * primary keys are incomplete
+     *
+     * @see <a href="../KVStore.html#writeExceptions">Write exceptions</a>
+     *
+     * @since 25.4
+     */
+    List<TableOperationResult> executeBatch(List<TableOperation> operations,
+                                            WriteOptions writeOptions)
+        throws TableOpExecutionException;
+
+    /**
+     * Executes a sequence of operations on rows of any tables, with any
+     * shard keys, as a non-atomic batch, returning a future to manage the
+     * asynchronous operation. See {@link #executeBatch} for a description of
+     * how the operations are executed.
+     *
+     * <p>The result supplied to the future is the sequence of results
+     * associated with the operation, in the same order as the operations
+     * argument list.
+     *
+     * <p>If the request fails, the future will complete exceptionally with one
+     * of the following exceptions:
+     *
+     * <ul>
+     * <li> {@link TableOpExecutionException} - if an operation is not
+     * successful as defined by the particular operation (e.g., a delete
+     * operation for a non-existent key) <em>and</em> {@code true} was passed
+     * for the {@code abortIfUnsuccessful} parameter when the operation was
+     * created using the {@link TableOperationFactory}
+     *
+     * <li> {@link IllegalArgumentException} - if operations is {@code null} or
+     * empty, or more than one operation has the same primary key, or any of
+     * the primary keys are incomplete
+     *
+     * <li> {@link FaultException} - for one of the standard <a
+     * href="../KVStore.html#writeExceptions">write exceptions</a>
+     * </ul>
+     *
+     * @param operations the list of operations to be performed
+     *
+     * @param writeOptions non-default arguments controlling the durability of
+     * the operation, or {@code null} to get default behavior
+     *
+     * @return a future for managing the asynchronous operation
+     *
+     * @see <a href="../KVStore.html#asyncThreadModel">Thread model for
+     * asynchronous execution</a>
+     *
+     * @since 25.4
+     */
+    CompletableFuture<List<TableOperationResult>> executeBatchAsync(
+        List<TableOperation> operations, WriteOptions writeOptions);
+
     /**
      * @hidden
      * For internal use only!
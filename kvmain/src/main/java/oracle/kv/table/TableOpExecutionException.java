@@ -19,7 +19,9 @@ import oracle.kv.ContingencyException;
 /**
  * Provides information about a failure from the sequence of operations
  * executed by {@link TableAPI#execute(List, WriteOptions)
- * TableAPI.execute(List&lt;TableOperation&gt;, WriteOptions)}
+ * TableAPI.execute(List&lt;TableOperation&gt;, WriteOptions)} or {@link
+ * TableAPI#executeBatch(List, WriteOptions)
+ * TableAPI.executeBatch(List&lt;TableOperation&gt;, WriteOptions)}
  */
 public class TableOpExecutionException extends ContingencyException {
 
@@ -28,6 +30,7 @@ public class TableOpExecutionException extends ContingencyException {
     private final TableOperation failedOperation;
     private final int failedOperationIndex;
     private final TableOperationResult failedOperationResult;
+    private final List<TableOperationResult> batchResults;
 
     /* The number of KB read and written during this operation */
     private final int readKB;
@@ -44,11 +47,28 @@ public class TableOpExecutionException extends ContingencyException {
          int readKB,
          int writeKB) {
 
+        this(failedOperation, failedOperationIndex, failedOperationResult,
+             null, readKB, writeKB);
+    }
+
+    /**
+     * For internal use only.
+     * @hidden
+     */
+    public TableOpExecutionException
+        (TableOperation failedOperation,
+         int failedOperationIndex,
+         TableOperationResult failedOperationResult,
+         List<TableOperationResult> batchResults,
+         int readKB,
+         int writeKB) {
+
         super("Failed table operation, type: " + failedOperation.getType() +
               ", operation index in list: " + failedOperationIndex);
         this.failedOperation = failedOperation;
         this.failedOperationIndex = failedOperationIndex;
         this.failedOperationResult = failedOperationResult;
+        this.batchResults = batchResults;
         this.readKB = readKB;
         this.writeKB = writeKB;
     }
@@ -81,6 +101,29 @@ public class TableOpExecutionException extends ContingencyException {
         return failedOperationIndex;
     }
 
+    /**
+     * Returns the results of the operations of a non-atomic batch executed by
+     * {@link TableAPI#executeBatch TableAPI.executeBatch}, in the same order
+     * as the operations argument list, or {@code null} if the operations were
+     * executed by {@link TableAPI#execute TableAPI.execute}.
+     * <p>
+     * The operations of the groups that were committed have their results.
+     * The entry for the operation that caused its group to be aborted has
+     * that operation's unsuccessful result, and the entries for the other
+     * operations of an aborted group are {@code null}, since those operations
+     * were not applied. More than one group may have been aborted, in which
+     * case {@link #getFailedOperationIndex} returns the lowest index of the
+     * operations that caused an abort.
+     *
+     * @return the results of the operations of a non-atomic batch, or {@code
+     * null}
+     *
+     * @since 25.4
+     */
+    public List<TableOperationResult> getBatchResults() {
+        return batchResults;
+    }
+
     /**
      * Returns the number of KB read during this operation. It may include
      * records read from the store but not returned in this result.
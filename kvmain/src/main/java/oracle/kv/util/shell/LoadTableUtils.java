@@ -18,10 +18,22 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import oracle.kv.BulkWriteOptions;
+import oracle.kv.EntryStream;
 import oracle.kv.FaultException;
 import oracle.kv.impl.api.table.FieldDefImpl;
 import oracle.kv.table.FieldDef;
@@ -138,12 +150,60 @@ public class LoadTableUtils {
      */
     public static class Loader {
 
+        /* The default interval for printing bulk load progress */
+        private static final long DEFAULT_PROGRESS_INTERVAL_MS = 10_000;
+
         private final TableAPI tableImpl;
 
+        /* If non-null, records are written with a bulk put */
+        private BulkWriteOptions bulkOptions;
+
+        /* If non-null, bulk load progress is printed to this stream */
+        private PrintStream progressOutput;
+        private long progressIntervalMs = DEFAULT_PROGRESS_INTERVAL_MS;
+
         public Loader(final TableAPI tableImpl) {
             this.tableImpl = tableImpl;
         }
 
+        /**
+         * Loads records with a bulk put using the specified options rather
+         * than with one put per record. The records read from the file are
+         * handed in chunks to {@code options.getStreamParallelism()} entry
+         * streams, which parse them into rows in parallel, and are written
+         * in per-shard batches with up to
+         * {@code options.getPerShardParallelism()} concurrent requests per
+         * shard. At most two chunks per stream are buffered. Existing rows
+         * are overwritten, but if the file contains several records with the
+         * same primary key, which one is stored is undefined. The
+         * {@link #doPut} method is not called for bulk loads.
+         *
+         * @param options the bulk write options, or null to load records one
+         * put at a time
+         * @return this
+         */
+        public Loader setBulkWriteOptions(BulkWriteOptions options) {
+            if (options != null) {
+                options = new BulkWriteOptions(options);
+                options.setOverwrite(true);
+            }
+            bulkOptions = options;
+            return this;
+        }
+
+        /**
+         * Sets the stream to which the progress of a bulk load, the number
+         * of rows loaded, the load rate and the number of errors, is printed
+         * at the specified interval.
+         *
+         * @return this
+         */
+        public Loader setProgressOutput(PrintStream output, long intervalMs) {
+            progressOutput = output;
+            progressIntervalMs = intervalMs;
+            return this;
+        }
+
         /**
          * Load JSON records from a file to tables.
          *
@@ -265,7 +325,12 @@ public class LoadTableUtils {
             }
 
             BufferedReader br = null;
+            final BulkLoad bulkLoad = (bulkOptions == null) ? null :
+                new BulkLoad(this, type, fileName, exitOnFailure);
             try {
+                if (bulkLoad != null) {
+                    bulkLoad.start();
+                }
                 Table target = table;
                 Row row = null;
                 final StringBuilder buffer = new StringBuilder();
@@ -353,6 +418,11 @@ public class LoadTableUtils {
                         rowLine = line;
                     }
 
+                    if (bulkLoad != null) {
+                        bulkLoad.add(target, rowLine, nLine);
+                        continue;
+                    }
+
                     try {
                         row = createRow(target, rowLine, type);
                         if (doPut(tableImpl, row, options)) {
@@ -364,10 +434,9 @@ public class LoadTableUtils {
                         }
                     } catch (RuntimeException rte) {
                         if (exitOnFailure) {
-                            final String fmt = "Failed to import JSON row at " +
-                                "line %d of file, %s: " + rte.getMessage();
                             throw new RuntimeException(
-                                String.format(fmt, nLine, fileName), rte);
+                                getLoadFailureMessage(nLine, fileName, rte),
+                                rte);
                         }
                         /* Ignore the exception if exitOnFailure is false. */
                     }
@@ -382,11 +451,17 @@ public class LoadTableUtils {
                     }
                 }
 
+                if (bulkLoad != null) {
+                    return bulkLoad.finish();
+                }
                 if (target != null) {
                     tallyCount(result, target, nLoaded);
                 }
                 return result;
             } finally {
+                if (bulkLoad != null) {
+                    bulkLoad.close();
+                }
                 if (br != null) {
                     try {
                         br.close();
@@ -576,6 +651,18 @@ public class LoadTableUtils {
             return cnt;
         }
 
+        /**
+         * Returns the message of the exception thrown when a record cannot be
+         * loaded and the load should stop.
+         */
+        private static String getLoadFailureMessage(long nLine,
+                                                    String fileName,
+                                                    RuntimeException rte) {
+            final String fmt = "Failed to import JSON row at " +
+                "line %d of file, %s: " + rte.getMessage();
+            return String.format(fmt, nLine, fileName);
+        }
+
         /**
          * Check if the given string is valid JSON string.
          *
@@ -594,4 +681,276 @@ public class LoadTableUtils {
             return true;
         }
     }
+
+    /**
+     * A record read from the file, not yet parsed into a row.
+     */
+    private static class Record {
+        final Table table;
+        final String text;
+        final long nLine;
+
+        Record(Table table, String text, long nLine) {
+            this.table = table;
+            this.text = text;
+            this.nLine = nLine;
+        }
+    }
+
+    /**
+     * Loads the records read from a file with a bulk put. The caller reads
+     * the file and adds the records, which are queued in chunks. The bulk
+     * put runs in a separate thread, and its entry streams take chunks from
+     * the queue and parse the records into rows. The queue is bounded, so
+     * the reader blocks while the streams are behind.
+     */
+    private static class BulkLoad {
+
+        /* The number of records in a chunk */
+        private static final int CHUNK_SIZE = 500;
+
+        /* Marks the end of the records; streams put it back for the others */
+        private static final List<Record> END =
+            Collections.unmodifiableList(new ArrayList<Record>());
+
+        private static final long POLL_MS = 100;
+
+        private final Loader loader;
+        private final Type type;
+        private final String fileName;
+        private final boolean exitOnFailure;
+        private final BlockingQueue<List<Record>> queue;
+
+        /* The number of rows loaded per table */
+        private final Map<String, AtomicLong> counts =
+            new ConcurrentHashMap<>();
+        private final AtomicLong nLoaded = new AtomicLong();
+        private final AtomicLong nErrors = new AtomicLong();
+
+        /* The first failure that stops the load, if exitOnFailure */
+        private final AtomicReference<RuntimeException> failure =
+            new AtomicReference<>();
+        private volatile boolean aborted;
+
+        private List<Record> chunk = new ArrayList<>(CHUNK_SIZE);
+        private Thread putThread;
+        private long startMs;
+        private long lastProgressMs;
+
+        BulkLoad(Loader loader,
+                 Type type,
+                 String fileName,
+                 boolean exitOnFailure) {
+            this.loader = loader;
+            this.type = type;
+            this.fileName = fileName;
+            this.exitOnFailure = exitOnFailure;
+            queue = new LinkedBlockingQueue<>(
+                2 * loader.bulkOptions.getStreamParallelism());
+        }
+
+        void start() {
+            final int nStreams = loader.bulkOptions.getStreamParallelism();
+            final List<EntryStream<Row>> streams = new ArrayList<>(nStreams);
+            for (int i = 1; i <= nStreams; i++) {
+                streams.add(new RecordStream(fileName + "-" + i));
+            }
+            startMs = lastProgressMs = System.currentTimeMillis();
+            putThread = new Thread(() -> {
+                try {
+                    loader.tableImpl.put(streams, loader.bulkOptions);
+                } catch (RuntimeException rte) {
+                    failure.compareAndSet(null, rte);
+                }
+            }, "BulkLoad-" + new File(fileName).getName());
+            putThread.setDaemon(true);
+            putThread.start();
+        }
+
+        void add(Table table, String text, long nLine) {
+            chunk.add(new Record(table, text, nLine));
+            if (chunk.size() >= CHUNK_SIZE) {
+                enqueue(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        private void enqueue(List<Record> records) {
+            try {
+                while (!queue.offer(records, POLL_MS,
+                                    TimeUnit.MILLISECONDS)) {
+                    checkFailure();
+                    if (!putThread.isAlive()) {
+                        throw new IllegalStateException(
+                            "Bulk load of " + fileName + " ended early");
+                    }
+                    printProgress();
+                }
+            } catch (InterruptedException ie) {
+                throw new IllegalStateException(
+                    "Interrupted while loading " + fileName, ie);
+            }
+            checkFailure();
+            printProgress();
+        }
+
+        /**
+         * Throws the exception that stopped the load, if any.
+         */
+        private void checkFailure() {
+            final RuntimeException rte = failure.get();
+            if (rte != null) {
+                throw rte;
+            }
+        }
+
+        private void printProgress() {
+            if (loader.progressOutput == null) {
+                return;
+            }
+            final long now = System.currentTimeMillis();
+            if (now - lastProgressMs < loader.progressIntervalMs) {
+                return;
+            }
+            lastProgressMs = now;
+            final long loaded = nLoaded.get();
+            final long elapsedMs = Math.max(1, now - startMs);
+            loader.progressOutput.println(String.format(
+                "Loaded %,d rows (%,d rows/sec), %,d errors",
+                loaded, loaded * 1000 / elapsedMs, nErrors.get()));
+        }
+
+        /**
+         * Waits for the queued records to be loaded and returns the number
+         * of rows loaded per table.
+         */
+        Map<String, Long> finish() {
+            if (!chunk.isEmpty()) {
+                enqueue(chunk);
+                chunk = new ArrayList<>();
+            }
+            enqueue(END);
+            try {
+                putThread.join();
+            } catch (InterruptedException ie) {
+                throw new IllegalStateException(
+                    "Interrupted while loading " + fileName, ie);
+            }
+            checkFailure();
+            final Map<String, Long> result = new HashMap<>();
+            for (Map.Entry<String, AtomicLong> e : counts.entrySet()) {
+                if (e.getValue().get() != 0) {
+                    result.put(e.getKey(), e.getValue().get());
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Stops the streams, if still running, and waits for the bulk put.
+         */
+        void close() {
+            aborted = true;
+            if (putThread == null) {
+                return;
+            }
+            try {
+                putThread.join();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void fail(RuntimeException rte) {
+            failure.compareAndSet(null, rte);
+            aborted = true;
+        }
+
+        private AtomicLong getCount(Table table) {
+            return counts.computeIfAbsent(table.getFullName(),
+                                          k -> new AtomicLong());
+        }
+
+        /**
+         * An entry stream that parses the records of the chunks it takes
+         * from the queue.
+         */
+        private class RecordStream implements EntryStream<Row> {
+
+            private final String name;
+            private Iterator<Record> records =
+                Collections.<Record>emptyList().iterator();
+
+            RecordStream(String name) {
+                this.name = name;
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Row getNext() {
+                while (!aborted) {
+                    if (!records.hasNext()) {
+                        final List<Record> next;
+                        try {
+                            next = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException ie) {
+                            return null;
+                        }
+                        if (next == END) {
+                            /* Leave the end marker for the other streams */
+                            queue.offer(END);
+                            return null;
+                        }
+                        if (next != null) {
+                            records = next.iterator();
+                        }
+                        continue;
+                    }
+
+                    final Record record = records.next();
+                    try {
+                        final Row row =
+                            loader.createRow(record.table, record.text, type);
+                        getCount(record.table).incrementAndGet();
+                        nLoaded.incrementAndGet();
+                        return row;
+                    } catch (RuntimeException rte) {
+                        nErrors.incrementAndGet();
+                        if (exitOnFailure) {
+                            fail(new RuntimeException(
+                                Loader.getLoadFailureMessage(record.nLine,
+                                                             fileName, rte),
+                                rte));
+                            return null;
+                        }
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void completed() {
+            }
+
+            @Override
+            public void keyExists(Row entry) {
+                /* Not called, rows are overwritten */
+            }
+
+            @Override
+            public void catchException(RuntimeException exception, Row entry) {
+                nErrors.incrementAndGet();
+                nLoaded.decrementAndGet();
+                getCount(entry.getTable()).decrementAndGet();
+                if (exitOnFailure) {
+                    fail(exception);
+                    throw exception;
+                }
+            }
+        }
+    }
 }
@@ -9,6 +9,11 @@ compiled-query-plan
   {
     "iterator kind" : "SORT",
     "order by fields at positions" : [ 1 ],
+    "LIMIT" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 2
+    },
     "input iterator" :
     {
       "iterator kind" : "SELECT",
@@ -9,6 +9,16 @@ compiled-query-plan
   {
     "iterator kind" : "SORT",
     "order by fields at positions" : [ 0, 1 ],
+    "OFFSET" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 3
+    },
+    "LIMIT" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 10
+    },
     "input iterator" :
     {
       "iterator kind" : "RECEIVE",
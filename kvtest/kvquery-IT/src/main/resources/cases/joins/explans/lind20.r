@@ -9,6 +9,11 @@ compiled-query-plan
   {
     "iterator kind" : "SORT",
     "order by fields at positions" : [ 4 ],
+    "LIMIT" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 10
+    },
     "input iterator" :
     {
       "iterator kind" : "RECEIVE",
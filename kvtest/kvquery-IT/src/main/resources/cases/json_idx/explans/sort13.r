@@ -9,45 +9,70 @@ compiled-query-plan
   {
     "iterator kind" : "SORT",
     "order by fields at positions" : [ 0 ],
+    "OFFSET" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 2
+    },
+    "LIMIT" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 3
+    },
     "input iterator" :
     {
       "iterator kind" : "RECEIVE",
       "distribution kind" : "ALL_SHARDS",
       "input iterator" :
       {
-        "iterator kind" : "SELECT",
-        "FROM" :
+        "iterator kind" : "TOP_N",
+        "order by fields at positions" : [ 0 ],
+        "OFFSET" :
         {
-          "iterator kind" : "TABLE",
-          "target table" : "Bar",
-          "row variable" : "$$b",
-          "index used" : "idx_state_city_age",
-          "covering index" : true,
-          "index row variable" : "$$b_idx",
-          "index scans" : [
-            {
-              "equality conditions" : {"info.address.state":"OR"},
-              "range conditions" : {}
-            }
-          ],
-          "position in join" : 0
+          "iterator kind" : "CONST",
+          "value" : 2
+        },
+        "LIMIT" :
+        {
+          "iterator kind" : "CONST",
+          "value" : 3
         },
-        "FROM variable" : "$$b_idx",
-        "SELECT expressions" : [
+        "input iterator" :
+        {
+          "iterator kind" : "SELECT",
+          "FROM" :
           {
-            "field name" : "id",
-            "field expression" : 
+            "iterator kind" : "TABLE",
+            "target table" : "Bar",
+            "row variable" : "$$b",
+            "index used" : "idx_state_city_age",
+            "covering index" : true,
+            "index row variable" : "$$b_idx",
+            "index scans" : [
+              {
+                "equality conditions" : {"info.address.state":"OR"},
+                "range conditions" : {}
+              }
+            ],
+            "position in join" : 0
+          },
+          "FROM variable" : "$$b_idx",
+          "SELECT expressions" : [
             {
-              "iterator kind" : "FIELD_STEP",
-              "field name" : "#id",
-              "input iterator" :
+              "field name" : "id",
+              "field expression" : 
               {
-                "iterator kind" : "VAR_REF",
-                "variable" : "$$b_idx"
+                "iterator kind" : "FIELD_STEP",
+                "field name" : "#id",
+                "input iterator" :
+                {
+                  "iterator kind" : "VAR_REF",
+                  "variable" : "$$b_idx"
+                }
               }
             }
-          }
-        ]
+          ]
+        }
       }
     }
   },
@@ -9,6 +9,16 @@ compiled-query-plan
   {
     "iterator kind" : "SORT",
     "order by fields at positions" : [ 2 ],
+    "OFFSET" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 2
+    },
+    "LIMIT" :
+    {
+      "iterator kind" : "CONST",
+      "value" : 3
+    },
     "input iterator" :
     {
       "iterator kind" : "SELECT",
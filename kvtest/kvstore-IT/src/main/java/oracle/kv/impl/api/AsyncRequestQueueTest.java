@@ -0,0 +1,123 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api;
+
+import static oracle.kv.impl.api.AsyncRequestQueue.RequestClass.BACKGROUND;
+import static oracle.kv.impl.api.AsyncRequestQueue.RequestClass.POINT_READ;
+import static oracle.kv.impl.api.AsyncRequestQueue.RequestClass.SCAN;
+import static oracle.kv.impl.api.AsyncRequestQueue.RequestClass.WRITE;
+import static oracle.kv.util.TestUtils.checkException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import oracle.kv.TestBase;
+import oracle.kv.impl.api.AsyncRequestQueue.ClassifiedTask;
+import oracle.kv.impl.api.AsyncRequestQueue.RequestClass;
+
+import org.junit.Test;
+
+/**
+ * Tests the weighted round-robin dequeueing of AsyncRequestQueue.
+ */
+public class AsyncRequestQueueTest extends TestBase {
+
+    @Test
+    public void testConstructor() {
+        checkException(() -> new AsyncRequestQueue(0),
+                       IllegalArgumentException.class, "capacity");
+    }
+
+    @Test
+    public void testCapacity() {
+        final AsyncRequestQueue queue = new AsyncRequestQueue(3);
+        assertTrue(queue.offer(new Task(SCAN, 1)));
+        assertTrue(queue.offer(new Task(POINT_READ, 2)));
+        assertTrue(queue.offer(() -> { }));
+        assertFalse(queue.offer(new Task(POINT_READ, 3)));
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.size(BACKGROUND));
+
+        assertTrue(queue.poll() instanceof Task);
+        assertTrue(queue.offer(new Task(POINT_READ, 3)));
+    }
+
+    @Test
+    public void testWeightedOrder() {
+        final AsyncRequestQueue queue = new AsyncRequestQueue(1000);
+        assertNull(queue.poll());
+
+        /* Enqueue scans first, so FIFO would execute them all first */
+        for (RequestClass rc : new RequestClass[] {
+                BACKGROUND, SCAN, WRITE, POINT_READ }) {
+            for (int i = 0; i < 20; i++) {
+                queue.offer(new Task(rc, i));
+            }
+        }
+
+        final List<Task> order = new ArrayList<>();
+        Runnable r;
+        while ((r = queue.poll()) != null) {
+            order.add((Task) r);
+        }
+        assertEquals(80, order.size());
+        assertTrue(queue.isEmpty());
+
+        /* The first round follows the weights */
+        int pos = 0;
+        for (RequestClass rc : RequestClass.values()) {
+            for (int i = 0; i < rc.getWeight(); i++) {
+                final Task task = order.get(pos++);
+                assertEquals(rc, task.getRequestClass());
+                assertEquals(i, task.id);
+            }
+        }
+
+        /* Each class is FIFO */
+        for (RequestClass rc : RequestClass.values()) {
+            int next = 0;
+            for (Task task : order) {
+                if (task.getRequestClass() == rc) {
+                    assertEquals(next++, task.id);
+                }
+            }
+            assertEquals(20, next);
+        }
+
+        /* Classes with fewer waiting requests are not starved */
+        queue.offer(new Task(POINT_READ, 0));
+        queue.offer(new Task(BACKGROUND, 0));
+        assertEquals(2, queue.size());
+        assertTrue(queue.poll() instanceof Task);
+        assertTrue(queue.poll() instanceof Task);
+        assertNull(queue.poll());
+    }
+
+    private static class Task implements ClassifiedTask {
+        private final RequestClass requestClass;
+        final int id;
+
+        Task(RequestClass requestClass, int id) {
+            this.requestClass = requestClass;
+            this.id = id;
+        }
+
+        @Override
+        public RequestClass getRequestClass() {
+            return requestClass;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+}
@@ -61,7 +61,8 @@ public class RequestSerialTest extends TestBase {
                                 new ClientId(7) /* dispatcherId */,
                                 8 /* timeoutMs */,
                                 null /* readZoneIds */),
-                    SerialVersion.MINIMUM, 0x479a6e8e21562239L),
+                    SerialVersion.MINIMUM, 0x479a6e8e21562239L,
+                    SerialVersion.REQUEST_TRACE_VERSION, 0x38f1ce2c536825deL),
                 /* Shard ID, read, read zones */
                 serialVersionChecker(
                     new Request(new Get(new byte[] { 1, 2, 3 }),
@@ -74,7 +75,8 @@ public class RequestSerialTest extends TestBase {
                                 new ClientId(7) /* dispatcherId */,
                                 8 /* timeoutMs */,
                                 new int[] { 9, 10 } /* readZoneIds */),
-                    SerialVersion.MINIMUM, 0x1cf4cadeb78c0019L),
+                    SerialVersion.MINIMUM, 0x1cf4cadeb78c0019L,
+                    SerialVersion.REQUEST_TRACE_VERSION, 0x4897f86b9679bbdL),
                 /* Partition ID, write */
                 serialVersionChecker(
                     new Request(new Get(new byte[] { 1, 2, 3 }),
@@ -87,7 +89,8 @@ public class RequestSerialTest extends TestBase {
                                 new ClientId(7) /* dispatcherId */,
                                 8 /* timeoutMs */,
                                 null /* readZoneIds */),
-                    SerialVersion.MINIMUM, 0xc3e022e6fb9f353dL),
+                    SerialVersion.MINIMUM, 0xc3e022e6fb9f353dL,
+                    SerialVersion.REQUEST_TRACE_VERSION, 0x21f49e9b2f79a7dL),
                 /* Shard ID, write, forwarding RNs */
                 serialVersionChecker(
                     addForwardingRNs(
@@ -102,7 +105,8 @@ public class RequestSerialTest extends TestBase {
                                     9 /* timeoutMs */,
                                     null /* readZoneIds */),
                         10, 11 /* forwarding RNs */),
-                    SerialVersion.MINIMUM, 0xedf27fa00b0eb508L))
+                    SerialVersion.MINIMUM, 0xedf27fa00b0eb508L,
+                    SerialVersion.REQUEST_TRACE_VERSION, 0xe373fd851a670f03L))
             /*
              * Serialize using the specified serial version but store 1 as the
              * serial version in the serialized form so that the bytes stay the
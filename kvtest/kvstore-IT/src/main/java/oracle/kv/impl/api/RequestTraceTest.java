@@ -0,0 +1,171 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import oracle.kv.impl.api.RequestTrace.Phase;
+import oracle.kv.impl.api.ops.InternalOperation.OpCode;
+import oracle.kv.impl.api.ops.Result;
+import oracle.kv.impl.api.table.TableTestBase;
+import oracle.kv.impl.topo.RepNodeId;
+import oracle.kv.impl.util.SerialVersion;
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import com.sleepycat.je.utilint.PhaseTimer;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests tracing the latency breakdown of requests.
+ */
+public class RequestTraceTest extends TableTestBase {
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        ((KVStoreImpl) store).disableRequestTracing();
+        super.tearDown();
+    }
+
+    @Test
+    public void testPhaseTimer() {
+        assertFalse(PhaseTimer.isEnabled());
+        assertEquals(0, PhaseTimer.start());
+        PhaseTimer.end(PhaseTimer.Phase.FSYNC, 0);
+        assertNull(PhaseTimer.disable());
+
+        PhaseTimer.enable();
+        assertTrue(PhaseTimer.isEnabled());
+        final long start = PhaseTimer.start();
+        assertTrue(start != 0);
+        PhaseTimer.end(PhaseTimer.Phase.LOG_READ, start - 1000);
+        final long[] times = PhaseTimer.disable();
+        assertFalse(PhaseTimer.isEnabled());
+        assertTrue(times[PhaseTimer.Phase.LOG_READ.ordinal()] >= 1000);
+        assertEquals(0, times[PhaseTimer.Phase.FSYNC.ordinal()]);
+
+        /* JE times are added to the matching phases */
+        final RequestTrace trace = new RequestTrace();
+        trace.addJETimes(times);
+        assertEquals(times[PhaseTimer.Phase.LOG_READ.ordinal()],
+                     trace.getNanos(Phase.LOG_READ));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final RequestTrace trace = new RequestTrace();
+        long value = 1;
+        for (Phase phase : Phase.values()) {
+            trace.setNanos(phase, value++);
+        }
+        final Response response =
+            new Response(new RepNodeId(1, 1), 2,
+                         new Result.GetResult(OpCode.GET, 1, 0, null),
+                         null, null, SerialVersion.CURRENT);
+        response.setTrace(trace);
+
+        /* Only server phases are returned */
+        Response copy = copy(response, SerialVersion.CURRENT);
+        final RequestTrace copyTrace = copy.getTrace();
+        assertNotNull(copyTrace);
+        for (Phase phase : Phase.values()) {
+            assertEquals(phase.toString(),
+                         phase.isClient() ? 0 : trace.getNanos(phase),
+                         copyTrace.getNanos(phase));
+        }
+
+        /* Not returned to earlier versions */
+        copy = copy(response,
+                    (short) (SerialVersion.REQUEST_TRACE_VERSION - 1));
+        assertNull(copy.getTrace());
+    }
+
+    private static Response copy(Response response, short serialVersion)
+        throws Exception {
+
+        response.setSerialVersion(serialVersion);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        response.writeFastExternal(new DataOutputStream(baos), serialVersion);
+        final DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(baos.toByteArray()));
+        final Response copy = new Response(in, serialVersion);
+        assertEquals(-1, in.read());
+        return copy;
+    }
+
+    @Test
+    public void testTracing() throws Exception {
+        final KVStoreImpl storeImpl = (KVStoreImpl) store;
+        try {
+            storeImpl.enableRequestTracing(0, t -> { });
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+
+        executeDdl("CREATE TABLE foo(id INTEGER, s STRING, PRIMARY KEY(id))");
+        final Table table = tableImpl.getTable("foo");
+        final List<RequestTrace> traces = new CopyOnWriteArrayList<>();
+        storeImpl.enableRequestTracing(1, traces::add);
+
+        final Row row = table.createRow();
+        row.put("id", 1);
+        row.put("s", "value");
+        tableImpl.put(row, null, null);
+        final PrimaryKey key = table.createPrimaryKey();
+        key.put("id", 1);
+        assertNotNull(tableImpl.get(key, null));
+        assertNotNull(tableImpl.getAsync(key, null).get());
+
+        assertEquals(3, traces.size());
+        for (RequestTrace trace : traces) {
+            assertNotNull(trace.getRepNodeId());
+            final long rnExecute = trace.getNanos(Phase.RN_EXECUTE);
+            assertTrue(trace.toString(), rnExecute > 0);
+            assertTrue(trace.toString(),
+                       trace.getTotalNanos() >=
+                       trace.getNanos(Phase.DISPATCH) +
+                       trace.getNanos(Phase.RN_QUEUE) + rnExecute);
+            for (Phase phase : Phase.values()) {
+                assertTrue(trace.toString(), trace.getNanos(phase) >= 0);
+            }
+            assertTrue(trace.toString(),
+                       trace.getNanos(Phase.LOCK_WAIT) +
+                       trace.getNanos(Phase.LOG_READ) +
+                       trace.getNanos(Phase.FSYNC) +
+                       trace.getNanos(Phase.REPLICA_ACK) <= rnExecute);
+        }
+
+        /* No traces after disabling */
+        storeImpl.disableRequestTracing();
+        assertNotNull(tableImpl.get(key, null));
+        assertEquals(3, traces.size());
+    }
+}
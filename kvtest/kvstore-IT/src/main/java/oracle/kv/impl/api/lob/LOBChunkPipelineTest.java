@@ -0,0 +1,235 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.lob;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import oracle.kv.Consistency;
+import oracle.kv.KVStore;
+import oracle.kv.KVStoreConfig;
+import oracle.kv.KVStoreFactory;
+import oracle.kv.Key;
+import oracle.kv.TestBase;
+import oracle.kv.ValueVersion;
+import oracle.kv.impl.api.KVStoreImpl;
+import oracle.kv.lob.InputStreamVersion;
+import oracle.kv.lob.PartialLOBException;
+import oracle.kv.util.CreateStore;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests LOB reads with chunk read-ahead and LOB writes with pipelined chunk
+ * puts, using a small chunk size so that LOBs span several superchunks.
+ */
+public class LOBChunkPipelineTest extends TestBase {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int CHUNKS_PER_PARTITION = 5;
+
+    private CreateStore createStore;
+    private KVStore store;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        createStore = new CreateStore(kvstoreName, 5000,
+                                      1 /* numStorageNodes */,
+                                      1 /* replicationFactor */,
+                                      10 /* numPartitions */,
+                                      1 /* capacity */,
+                                      CreateStore.MB_PER_SN,
+                                      true /* useThreads */,
+                                      null /* mgmtImpl */);
+        createStore.start();
+
+        final KVStoreConfig config =
+            new KVStoreConfig(kvstoreName, "localhost:5000");
+        config.setLOBChunkSize(CHUNK_SIZE);
+        config.setLOBChunksPerPartition(CHUNKS_PER_PARTITION);
+        config.setLOBReadAheadChunks(3);
+        config.setLOBChunkWritesInFlight(3);
+        store = KVStoreFactory.getStore(config);
+    }
+
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+        if (createStore != null) {
+            createStore.shutdown();
+        }
+        super.tearDown();
+    }
+
+    @Test
+    public void testPutGet() throws Exception {
+
+        /* Sizes around chunk and superchunk boundaries */
+        final int[] sizes = {
+            0, 1, CHUNK_SIZE, CHUNK_SIZE + 1,
+            CHUNK_SIZE * CHUNKS_PER_PARTITION,
+            (CHUNK_SIZE * CHUNKS_PER_PARTITION * 4) + 17
+        };
+
+        for (int size : sizes) {
+            final Key key = Key.createKey("lob" + size + ".lob");
+            final byte[] bytes = randomBytes(size);
+            store.putLOB(key, new ByteArrayInputStream(bytes), null,
+                         0, null);
+            assertArrayEquals("size:" + size, bytes, readLOB(key));
+        }
+    }
+
+    @Test
+    public void testSkipAndReset() throws Exception {
+
+        final int size = CHUNK_SIZE * CHUNKS_PER_PARTITION * 3;
+        final Key key = Key.createKey("skip.lob");
+        final byte[] bytes = randomBytes(size);
+        store.putLOB(key, new ByteArrayInputStream(bytes), null, 0, null);
+
+        final InputStreamVersion isv =
+            store.getLOB(key, Consistency.NONE_REQUIRED, 0, null);
+        final InputStream in = isv.getInputStream();
+        try {
+            assertEquals(bytes[0], (byte) in.read());
+            in.mark(0);
+
+            /* Skip forward, beyond the read-ahead window */
+            assertEquals(CHUNK_SIZE * 7, in.skip(CHUNK_SIZE * 7));
+            assertEquals(bytes[1 + CHUNK_SIZE * 7], (byte) in.read());
+
+            /* Move back to a chunk whose successors were already fetched */
+            in.reset();
+            assertEquals(bytes[1], (byte) in.read());
+
+            final byte[] rest = new byte[size - 2];
+            int off = 0;
+            while (off < rest.length) {
+                final int n = in.read(rest, off, rest.length - off);
+                assertTrue(n > 0);
+                off += n;
+            }
+            for (int i = 0; i < rest.length; i++) {
+                assertEquals("byte:" + (i + 2), bytes[i + 2], rest[i]);
+            }
+            assertEquals(-1, in.read());
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Checks that resuming a partial put discards chunks that a failed
+     * pipelined write stored after a missing chunk.
+     */
+    @Test
+    public void testResumeWithMissingChunk() throws Exception {
+
+        final int size = CHUNK_SIZE * CHUNKS_PER_PARTITION * 3;
+        final Key key = Key.createKey("resume.lob");
+        final byte[] bytes = randomBytes(size);
+
+        /* Fail the put in the middle of the second superchunk */
+        final int failAt = CHUNK_SIZE * (CHUNKS_PER_PARTITION + 4);
+        try {
+            store.putLOB(key, new FailingInputStream(bytes, failAt),
+                         null, 0, null);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+
+        /*
+         * Remove the second chunk of the second superchunk, so that the
+         * chunks after it look like puts that completed after a failed one.
+         */
+        final KVStoreImpl internalStore =
+            (KVStoreImpl) KVStoreImpl.makeInternalHandle(store);
+        final ValueVersion ilkValue =
+            internalStore.get(key, Consistency.ABSOLUTE, 0, null);
+        assertNotNull(ilkValue);
+        final Key ilk = Operation.valueToILK(ilkValue.getValue());
+        final Key chunkKey =
+            new ChunkKeyFactory(LOBMetadataKeys.CURRENT_VERSION)
+            .create(ilk, 2, 2);
+        assertTrue(internalStore.delete(chunkKey, null, null,
+                                        0, TimeUnit.MILLISECONDS));
+
+        try {
+            store.getLOB(key, Consistency.ABSOLUTE, 0, null);
+            fail("Expected PartialLOBException");
+        } catch (PartialLOBException expected) {
+        }
+
+        store.putLOB(key, new ByteArrayInputStream(bytes), null, 0, null);
+        assertArrayEquals(bytes, readLOB(key));
+    }
+
+    private byte[] readLOB(Key key) throws IOException {
+        final InputStreamVersion isv =
+            store.getLOB(key, Consistency.NONE_REQUIRED, 0, null);
+        final InputStream in = isv.getInputStream();
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[700];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        final byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * A stream that throws IllegalStateException once the given number of
+     * bytes has been read.
+     */
+    private static class FailingInputStream extends ByteArrayInputStream {
+
+        private final int failAt;
+
+        FailingInputStream(byte[] bytes, int failAt) {
+            super(bytes);
+            this.failAt = failAt;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            if (pos >= failAt) {
+                throw new IllegalStateException("Injected failure");
+            }
+            return super.read(b, off, Math.min(len, failAt - pos));
+        }
+    }
+}
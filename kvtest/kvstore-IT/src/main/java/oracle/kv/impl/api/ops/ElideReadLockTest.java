@@ -0,0 +1,218 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.ops;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import oracle.kv.TestBase;
+import oracle.kv.impl.util.TestUtils;
+
+import com.sleepycat.bind.tuple.IntegerBinding;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.DbInternal;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.Get;
+import com.sleepycat.je.LockConflictException;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationResult;
+import com.sleepycat.je.ReadOptions;
+import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.Transaction;
+import com.sleepycat.je.TransactionConfig;
+import com.sleepycat.je.dbi.CursorImpl;
+
+import org.junit.Test;
+
+/**
+ * Tests ReadOptions.setElideReadLock.
+ */
+public class ElideReadLockTest extends TestBase {
+
+    private static final ReadOptions ELIDE_LOCK =
+        LockMode.DEFAULT.toReadOptions().clone().setElideReadLock(true);
+
+    private static final StatsConfig CLEAR_STATS =
+        new StatsConfig().setClear(true);
+
+    private Environment env;
+    private Database db;
+
+    @Override
+    public void setUp()
+        throws Exception {
+
+        super.setUp();
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setTransactional(true);
+        envConfig.setLockTimeout(100, TimeUnit.MILLISECONDS);
+        env = new Environment(TestUtils.getTestDir(), envConfig);
+
+        final DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        dbConfig.setTransactional(true);
+        db = env.openDatabase(null, "foo", dbConfig);
+    }
+
+    @Override
+    public void tearDown()
+        throws Exception {
+
+        if (db != null) {
+            db.close();
+        }
+        if (env != null) {
+            env.close();
+        }
+        super.tearDown();
+    }
+
+    /**
+     * Only uncontended reads by lockers that do not need the lock after the
+     * operation skip the lock.
+     */
+    @Test
+    public void testElideReadLock() {
+
+        write(1, 1);
+        env.getStats(CLEAR_STATS);
+
+        /* Non-transactional and read-committed readers skip the lock. */
+        assertEquals(1, read(null, 1, ELIDE_LOCK));
+        final Transaction rcTxn = env.beginTransaction(
+            null, new TransactionConfig().setReadCommitted(true));
+        assertEquals(1, read(rcTxn, 1, ELIDE_LOCK));
+        rcTxn.commit();
+        assertEquals(2, env.getStats(CLEAR_STATS).getNReadLocksElided());
+
+        /* The option is ignored by repeatable-read txns. */
+        final Transaction rrTxn = env.beginTransaction(null, null);
+        assertEquals(1, read(rrTxn, 1, ELIDE_LOCK));
+        rrTxn.commit();
+
+        /* Without the option, the lock is taken. */
+        assertEquals(1, read(null, 1, LockMode.DEFAULT.toReadOptions()));
+        assertEquals(0, env.getStats(CLEAR_STATS).getNReadLocksElided());
+
+        /* A write-locked record is never read without a lock. */
+        final Transaction writer = env.beginTransaction(null, null);
+        db.put(writer, entry(1), entry(2));
+        try {
+            read(null, 1, ELIDE_LOCK);
+            fail("Expected LockConflictException");
+        } catch (LockConflictException expected) {
+        }
+        writer.abort();
+        assertEquals(0, env.getStats(CLEAR_STATS).getNReadLocksElided());
+        assertEquals(1, read(null, 1, ELIDE_LOCK));
+    }
+
+    /**
+     * The version and storage size returned with an unlocked read must be
+     * those of the data returned, even if the record is updated before the
+     * caller asks for them.
+     */
+    @Test
+    public void testConcurrentWriter()
+        throws Exception {
+
+        final int nWrites = 2000;
+        final long[] lsns = new long[nWrites];
+        final AtomicReference<Throwable> writerError = new AtomicReference<>();
+
+        write(1, 0);
+        lsns[0] = readVersion(1)[1];
+
+        final Thread writer = new Thread(() -> {
+            try {
+                for (int i = 1; i < nWrites; i++) {
+                    lsns[i] = write(1, i);
+                }
+            } catch (Throwable t) {
+                writerError.set(t);
+            }
+        });
+
+        final List<long[]> reads = new ArrayList<>();
+        env.getStats(CLEAR_STATS);
+        writer.start();
+        while (writer.isAlive()) {
+            reads.add(readVersion(1));
+        }
+        writer.join();
+        assertNull(writerError.get());
+
+        assertTrue(env.getStats(null).getNReadLocksElided() > 0);
+        for (long[] read : reads) {
+            final int value = (int) read[0];
+            assertEquals("value " + value, lsns[value], read[1]);
+        }
+    }
+
+    /**
+     * Updates the record and returns the LSN of the new version.
+     */
+    private long write(int key, int value) {
+        final Transaction txn = env.beginTransaction(null, null);
+        final long lsn;
+        try (Cursor cursor = db.openCursor(txn, null)) {
+            cursor.put(entry(key), entry(value));
+            lsn = DbInternal.getCursorImpl(cursor)
+                .getCurrentVersion(true /*allowFetch*/).getLSN();
+        }
+        txn.commit();
+        return lsn;
+    }
+
+    private int read(Transaction txn, int key, ReadOptions options) {
+        final DatabaseEntry data = new DatabaseEntry();
+        try (Cursor cursor = db.openCursor(txn, null)) {
+            assertNotNull(cursor.get(entry(key), data, Get.SEARCH, options));
+        }
+        return IntegerBinding.entryToInt(data);
+    }
+
+    /**
+     * Reads the record without a lock, in the way GetHandler does, and
+     * returns its value and the LSN of its version.
+     */
+    private long[] readVersion(int key) {
+        final DatabaseEntry data = new DatabaseEntry();
+        try (Cursor cursor = db.openCursor(null, null)) {
+            final OperationResult result =
+                cursor.get(entry(key), data, Get.SEARCH, ELIDE_LOCK);
+            assertNotNull(result);
+            final CursorImpl cursorImpl = DbInternal.getCursorImpl(cursor);
+            assertEquals(result.getStorageSize(),
+                         cursorImpl.getStorageSize());
+            return new long[] {
+                IntegerBinding.entryToInt(data),
+                cursorImpl.getCurrentVersion(true /*allowFetch*/).getLSN() };
+        }
+    }
+
+    private static DatabaseEntry entry(int val) {
+        final DatabaseEntry entry = new DatabaseEntry();
+        IntegerBinding.intToEntry(val, entry);
+        return entry;
+    }
+}
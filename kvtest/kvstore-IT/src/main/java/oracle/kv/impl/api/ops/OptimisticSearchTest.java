@@ -0,0 +1,204 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.ops;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import oracle.kv.TestBase;
+import oracle.kv.impl.util.TestUtils;
+
+import com.sleepycat.bind.tuple.IntegerBinding;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.Get;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.StatsConfig;
+
+import org.junit.Test;
+
+/**
+ * Tests the optimistic search of the upper Btree INs, which is used for all
+ * record lookups on the RNs.
+ */
+public class OptimisticSearchTest extends TestBase {
+
+    private static final StatsConfig CLEAR_STATS =
+        new StatsConfig().setClear(true);
+
+    /* Small nodes, so that the tree has several levels of upper INs. */
+    private static final int NODE_MAX_ENTRIES = 8;
+
+    private Environment env;
+    private Database db;
+
+    @Override
+    public void tearDown()
+        throws Exception {
+
+        if (db != null) {
+            db.close();
+        }
+        if (env != null) {
+            env.close();
+        }
+        super.tearDown();
+    }
+
+    @Test
+    public void testSearch() {
+
+        open(true /*optimisticSearch*/);
+        insert(0, 5000);
+
+        env.getStats(CLEAR_STATS);
+        checkSearch(0, 5000);
+        checkRange(5000);
+        assertTrue(env.getStats(CLEAR_STATS).getNOptimisticSearches() >=
+                   5000);
+    }
+
+    @Test
+    public void testDisabled() {
+
+        open(false /*optimisticSearch*/);
+        insert(0, 1000);
+
+        env.getStats(CLEAR_STATS);
+        checkSearch(0, 1000);
+        final EnvironmentStats stats = env.getStats(CLEAR_STATS);
+        assertEquals(0, stats.getNOptimisticSearches());
+        assertEquals(0, stats.getNOptimisticSearchFailures());
+    }
+
+    /**
+     * Searches must find every record while a concurrent writer splits the
+     * INs on the search path.
+     */
+    @Test
+    public void testConcurrentSplits()
+        throws Exception {
+
+        open(true /*optimisticSearch*/);
+
+        final int nRecords = 20000;
+        final AtomicInteger nInserted = new AtomicInteger();
+        final AtomicReference<Throwable> writerError = new AtomicReference<>();
+
+        /*
+         * Insert even keys in ascending order, then odd keys, so that the
+         * second pass splits INs throughout the tree.
+         */
+        final Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < nRecords; i += 2) {
+                    put(i);
+                }
+                nInserted.set(nRecords / 2);
+                for (int i = 1; i < nRecords; i += 2) {
+                    put(i);
+                }
+            } catch (Throwable t) {
+                writerError.set(t);
+            }
+        });
+
+        env.getStats(CLEAR_STATS);
+        writer.start();
+        int key = 0;
+        while (writer.isAlive()) {
+            if (nInserted.get() == 0) {
+                Thread.yield();
+                continue;
+            }
+            assertTrue("key " + key, exists(key));
+            key = (key + 2) % nRecords;
+        }
+        writer.join();
+        assertNull(writerError.get());
+
+        checkSearch(0, nRecords);
+        checkRange(nRecords);
+        assertTrue(env.getStats(null).getNOptimisticSearches() > 0);
+    }
+
+    private void open(boolean optimisticSearch) {
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setConfigParam("je.tree.optimisticSearch",
+                                 String.valueOf(optimisticSearch));
+        env = new Environment(TestUtils.getTestDir(), envConfig);
+
+        final DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        dbConfig.setNodeMaxEntries(NODE_MAX_ENTRIES);
+        db = env.openDatabase(null, "foo", dbConfig);
+    }
+
+    private void insert(int start, int end) {
+        for (int i = start; i < end; i++) {
+            put(i);
+        }
+    }
+
+    private void put(int key) {
+        assertEquals(OperationStatus.SUCCESS,
+                     db.put(null, entry(key), entry(key)));
+    }
+
+    private boolean exists(int key) {
+        final DatabaseEntry data = new DatabaseEntry();
+        if (db.get(null, entry(key), data, Get.SEARCH, null) == null) {
+            return false;
+        }
+        assertEquals(key, IntegerBinding.entryToInt(data));
+        return true;
+    }
+
+    private void checkSearch(int start, int end) {
+        for (int i = start; i < end; i++) {
+            assertTrue("key " + i, exists(i));
+        }
+    }
+
+    /**
+     * Checks the first and last records, which are found with LEFT and RIGHT
+     * searches, and a range search.
+     */
+    private void checkRange(int nRecords) {
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry data = new DatabaseEntry();
+        try (Cursor cursor = db.openCursor(null, null)) {
+            assertTrue(cursor.get(key, data, Get.FIRST, null) != null);
+            assertEquals(0, IntegerBinding.entryToInt(key));
+            assertTrue(cursor.get(key, data, Get.LAST, null) != null);
+            assertEquals(nRecords - 1, IntegerBinding.entryToInt(key));
+
+            final DatabaseEntry searchKey = entry(nRecords / 2);
+            assertTrue(cursor.get(searchKey, data, Get.SEARCH_GTE, null) !=
+                       null);
+            assertEquals(nRecords / 2, IntegerBinding.entryToInt(searchKey));
+        }
+    }
+
+    private static DatabaseEntry entry(int val) {
+        final DatabaseEntry entry = new DatabaseEntry();
+        IntegerBinding.intToEntry(val, entry);
+        return entry;
+    }
+}
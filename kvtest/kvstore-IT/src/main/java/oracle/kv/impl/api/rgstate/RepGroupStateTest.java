@@ -25,6 +25,7 @@ import oracle.kv.Version;
 import oracle.kv.impl.api.ClientId;
 import oracle.kv.impl.api.Request;
 import oracle.kv.impl.api.ops.Get;
+import oracle.kv.impl.topo.DatacenterId;
 import oracle.kv.impl.topo.PartitionId;
 import oracle.kv.impl.topo.RepGroup;
 import oracle.kv.impl.topo.RepGroupId;
@@ -200,6 +201,77 @@ public class RepGroupStateTest extends UncaughtExceptionTestBase {
         assertEquals(0, randomRNs.size());
     }
 
+    @Test
+    public void testGetAdaptiveRN() {
+
+        /* A shard with two RNs in each of two zones */
+        final Topology topo = TopoUtils.create("test", 2, 2, 2, 10, 0, 1,
+                                               TopoUtils.makeFreePortLocator());
+        final RepGroupState rgs =
+            new RepGroupState(rg1Id, null /* trackerId */, async, logger);
+        rgs.update(topo.get(rg1Id), topo);
+        assertEquals(4, rgs.getRepNodeStates().size());
+        final DatacenterId localZoneId = rgs.get(rg1n1Id).getZoneId();
+        final Request dummyRequest = new Request();
+
+        /* Idle RNs in the local zone are always preferred */
+        final Set<RepNodeId> selected = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            final RepNodeState rns =
+                rgs.getAdaptiveRN(dummyRequest, null, localZoneId);
+            assertEquals(localZoneId, rns.getZoneId());
+            selected.add(rns.getRepNodeId());
+        }
+        assertEquals(2, selected.size());
+
+        /* Without a local zone, all RNs are used */
+        selected.clear();
+        for (int i = 0; i < 200; i++) {
+            selected.add(
+                rgs.getAdaptiveRN(dummyRequest, null, null).getRepNodeId());
+        }
+        assertEquals(4, selected.size());
+
+        /*
+         * Remote RNs are used once the local ones are busier by more than
+         * the zone penalty
+         */
+        for (RepNodeState rns : rgs.getRepNodeStates()) {
+            if (localZoneId.equals(rns.getZoneId())) {
+                for (int i = 0; i <= RepGroupState.REMOTE_ZONE_PENALTY; i++) {
+                    rns.requestStart();
+                }
+            }
+        }
+        boolean remote = false;
+        for (int i = 0; !remote && (i < 200); i++) {
+            remote = !localZoneId.equals(
+                rgs.getAdaptiveRN(dummyRequest, null, localZoneId)
+                .getZoneId());
+        }
+        assertTrue(remote);
+
+        /* Excluded RNs are never returned */
+        final Set<RepNodeId> excludeRNs = new HashSet<>();
+        for (RepNodeState rns : rgs.getRepNodeStates()) {
+            if (!rns.getRepNodeId().equals(rg1n2Id)) {
+                excludeRNs.add(rns.getRepNodeId());
+            }
+        }
+        assertSame(rgs.get(rg1n2Id),
+                   rgs.getAdaptiveRN(dummyRequest, excludeRNs, localZoneId));
+        excludeRNs.add(rg1n2Id);
+        assertNull(rgs.getAdaptiveRN(dummyRequest, excludeRNs, localZoneId));
+
+        /* Selections are counted */
+        long total = 0;
+        for (RepNodeState rns : rgs.getRepNodeStates()) {
+            total += rns.getNodeMetrics(topo, "test", false)
+                .getSelectionCount();
+        }
+        assertTrue("total: " + total, total >= 401);
+    }
+
     @Test
     public void testConsistencyScreening() throws InterruptedException {
 
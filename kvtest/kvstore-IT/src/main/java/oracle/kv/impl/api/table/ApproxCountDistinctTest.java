@@ -0,0 +1,214 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import oracle.kv.Consistency;
+import oracle.kv.StatementResult;
+import oracle.kv.impl.api.query.PreparedStatementImpl;
+import oracle.kv.impl.query.runtime.PlanIter;
+import oracle.kv.impl.query.runtime.PlanIter.PlanIterKind;
+import oracle.kv.impl.util.SerialVersion;
+import oracle.kv.query.ExecuteOptions;
+import oracle.kv.table.RecordValue;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the approx_count_distinct aggregate function, checking that its
+ * estimates are close to the exact counts, with and without grouping, and
+ * with both generic and index-based grouping.
+ */
+public class ApproxCountDistinctTest extends TableTestBase {
+
+    private static final int NUM_SHARD_KEYS = 4;
+
+    private static final int NUM_ROWS_PER_KEY = 1500;
+
+    private static final double MAX_ERROR = 0.05;
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    protected String getNamespace() {
+        return "approxtest";
+    }
+
+    @Test
+    public void testApproxCountDistinct() {
+
+        executeDdl("CREATE TABLE foo(sk INTEGER, id INTEGER, g INTEGER, " +
+                   "v INTEGER, s STRING, PRIMARY KEY(SHARD(sk), id))");
+        Table table = tableImpl.getTable(getNamespace(), "foo");
+
+        Set<Integer> all = new HashSet<>();
+        Set<Integer> sk1 = new HashSet<>();
+        Map<Integer, Set<Integer>> groups = new HashMap<>();
+
+        for (int sk = 0; sk < NUM_SHARD_KEYS; ++sk) {
+            for (int id = 0; id < NUM_ROWS_PER_KEY; ++id) {
+                int g = id % 3;
+                int v = id % 1000 + sk * 250;
+                Row row = table.createRow();
+                row.put("sk", sk);
+                row.put("id", id);
+                row.put("g", g);
+                row.put("v", v);
+                if (id % 10 != 0) {
+                    row.put("s", "s" + (id % 7));
+                } else {
+                    row.putNull("s");
+                }
+                tableImpl.put(row, null, null);
+
+                all.add(v);
+                if (sk == 1) {
+                    sk1.add(v);
+                }
+                groups.computeIfAbsent(g, k -> new HashSet<>()).add(v);
+            }
+        }
+
+        String plan = ((PreparedStatementImpl)store.prepare(
+            "SELECT approx_count_distinct(v) AS cnt FROM foo",
+            options(0))).getQueryPlan().display(true);
+        assertTrue(plan, plan.contains("\"merge\""));
+        assertTrue(plan, plan.contains("\"partial\""));
+
+        for (int batchSize : new int[] { 0, 10 }) {
+
+            List<RecordValue> res = query(
+                "SELECT approx_count_distinct(v) AS cnt FROM foo", batchSize);
+            assertEquals(1, res.size());
+            checkEstimate(all.size(), res.get(0));
+
+            /* Single partition */
+            res = query("SELECT approx_count_distinct(v) AS cnt FROM foo " +
+                        "WHERE sk = 1", batchSize);
+            checkEstimate(sk1.size(), res.get(0));
+
+            /* Few values are counted exactly; NULLs are ignored */
+            res = query("SELECT approx_count_distinct(s) AS cnt FROM foo",
+                        batchSize);
+            assertEquals(7, res.get(0).get("cnt").asLong().get());
+
+            /* Empty input */
+            res = query("SELECT approx_count_distinct(v) AS cnt FROM foo " +
+                        "WHERE id < 0", batchSize);
+            assertEquals(0, res.get(0).get("cnt").asLong().get());
+
+            checkGroups(groups, batchSize);
+        }
+
+        /* Index-based grouping */
+        executeDdl("CREATE INDEX idx_g ON foo(g)");
+
+        for (int batchSize : new int[] { 0, 10 }) {
+            checkGroups(groups, batchSize);
+        }
+    }
+
+    /**
+     * RNs that predate the function cannot be sent a plan that uses it.
+     */
+    @Test
+    public void testSerialVersion() throws IOException {
+
+        executeDdl("CREATE TABLE bar(sk INTEGER, id INTEGER, v INTEGER, " +
+                   "PRIMARY KEY(SHARD(sk), id))");
+
+        PlanIter plan = ((PreparedStatementImpl)store.prepare(
+            "SELECT approx_count_distinct(v) AS cnt FROM bar",
+            options(0))).getQueryPlan();
+        while (plan.getKind() != PlanIterKind.RECEIVE) {
+            plan = plan.getInputIter();
+        }
+        PlanIter rnPlan = plan.getInputIter();
+
+        PlanIter.serializeIter(rnPlan,
+                               new DataOutputStream(
+                                   new ByteArrayOutputStream()),
+                               SerialVersion.QUERY_VERSION_19);
+        try {
+            PlanIter.serializeIter(rnPlan,
+                                   new DataOutputStream(
+                                       new ByteArrayOutputStream()),
+                                   SerialVersion.QUERY_VERSION_18);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ise) {
+            assertTrue(ise.getMessage(),
+                       ise.getMessage().contains("approx_count_distinct"));
+        }
+    }
+
+    private void checkGroups(Map<Integer, Set<Integer>> groups,
+                             int batchSize) {
+
+        List<RecordValue> res = query(
+            "SELECT g, approx_count_distinct(v) AS cnt, count(*) AS n " +
+            "FROM foo GROUP BY g", batchSize);
+        assertEquals(groups.size(), res.size());
+
+        for (RecordValue rec : res) {
+            int g = rec.get("g").asInteger().get();
+            checkEstimate(groups.get(g).size(), rec);
+            assertEquals(NUM_SHARD_KEYS * NUM_ROWS_PER_KEY / 3,
+                         rec.get("n").asLong().get());
+        }
+    }
+
+    private static void checkEstimate(int expected, RecordValue rec) {
+        long estimate = rec.get("cnt").asLong().get();
+        assertTrue("expected " + expected + " got " + estimate,
+                   Math.abs(estimate - expected) <= expected * MAX_ERROR);
+    }
+
+    private ExecuteOptions options(int batchSize) {
+        ExecuteOptions options = new ExecuteOptions();
+        options.setNamespace(getNamespace(), false);
+        options.setConsistency(Consistency.ABSOLUTE);
+        if (batchSize > 0) {
+            options.setResultsBatchSize(batchSize);
+        }
+        return options;
+    }
+
+    private List<RecordValue> query(String query, int batchSize) {
+
+        List<RecordValue> results = new ArrayList<>();
+        StatementResult sr = store.executeSync(query, options(batchSize));
+        try {
+            for (RecordValue res : sr) {
+                results.add(res);
+            }
+        } finally {
+            sr.close();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,153 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import oracle.kv.Consistency;
+import oracle.kv.StatementResult;
+import oracle.kv.query.BoundStatement;
+import oracle.kv.query.ExecuteOptions;
+import oracle.kv.table.RecordValue;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests queries whose predicates are computed in compiled form (see
+ * oracle.kv.impl.query.runtime.CompiledPredicate), checking that they return
+ * the same rows as the interpreter would, including for rows that the
+ * compiled code leaves to the interpreter.
+ */
+public class CompiledPredicateTest extends TableTestBase {
+
+    private static final int NUM_ROWS = 300;
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    protected String getNamespace() {
+        return "compiledtest";
+    }
+
+    @Test
+    public void testPredicates() {
+
+        executeDdl("CREATE TABLE foo(id INTEGER, i INTEGER, s STRING, " +
+                   "info JSON, PRIMARY KEY(id))");
+        executeDdl("CREATE INDEX idx_i_s ON foo(i, s)");
+        Table table = tableImpl.getTable(getNamespace(), "foo");
+
+        for (int id = 0; id < NUM_ROWS; ++id) {
+            Row row = table.createRow();
+            row.put("id", id);
+            if (id % 7 == 0) {
+                row.putNull("i");
+            } else {
+                row.put("i", id % 50);
+            }
+            row.put("s", "s" + (id % 10));
+
+            StringBuilder sb = new StringBuilder("{");
+            if (id % 13 != 0) {
+                sb.append("\"age\":").append(age(id)).append(", ");
+            }
+            sb.append("\"name\":\"n").append(id % 10).append("\", ");
+            /* A field step over the array is left to the interpreter */
+            if (id % 11 == 0) {
+                sb.append("\"obj\":[{\"k\":").append(id % 3).append("}]");
+            } else {
+                sb.append("\"obj\":{\"k\":").append(id % 3).append("}");
+            }
+            sb.append("}");
+            row.putJson("info", sb.toString());
+            tableImpl.put(row, null, null);
+        }
+
+        /* Index scan with an index filtering pred */
+        check("SELECT id FROM foo f WHERE f.i > 10 AND f.s = 's3'",
+              id -> id % 7 != 0 && id % 50 > 10 && id % 10 == 3);
+
+        check("SELECT id FROM foo f WHERE f.i < $max",
+              id -> id % 7 != 0 && id % 50 < 20);
+
+        /* Mixed numeric types, missing fields and strings */
+        check("SELECT id FROM foo f " +
+              "WHERE f.info.age >= 30 OR f.info.name = 'n5'",
+              id -> (id % 13 != 0 && age(id) >= 30) || id % 10 == 5);
+
+        /* A missing field is not equal to anything */
+        check("SELECT id FROM foo f WHERE f.info.age != 10 AND f.i = 10",
+              id -> (id % 13 == 0 || age(id) != 10) &&
+                    id % 7 != 0 && id % 50 == 10);
+
+        check("SELECT id FROM foo f WHERE f.info.obj.k = 1",
+              id -> id % 3 == 1);
+
+        /* NULL AND false is false, NULL OR true is true */
+        check("SELECT id FROM foo f WHERE f.i > 40 OR f.s = 's1'",
+              id -> id % 10 == 1 || (id % 7 != 0 && id % 50 > 40));
+    }
+
+    private static double age(int id) {
+        return (id % 5 == 0 ? (id % 60) + 0.5 : id % 60);
+    }
+
+    private void check(String query, IntPredicate expected) {
+
+        List<Integer> expectedIds = new ArrayList<>();
+        for (int id = 0; id < NUM_ROWS; ++id) {
+            if (expected.test(id)) {
+                expectedIds.add(id);
+            }
+        }
+
+        /* Batch size 1 disables the batched WHERE computation */
+        for (int batchSize : new int[] { 1, 0 }) {
+            assertEquals(query + " batchSize=" + batchSize,
+                         expectedIds, query(query, batchSize));
+        }
+    }
+
+    private List<Integer> query(String query, int batchSize) {
+
+        ExecuteOptions options = new ExecuteOptions();
+        options.setNamespace(getNamespace(), false);
+        options.setConsistency(Consistency.ABSOLUTE);
+        if (batchSize > 0) {
+            options.setResultsBatchSize(batchSize);
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        BoundStatement bs =
+            store.prepare("DECLARE $max INTEGER; " + query, options)
+            .createBoundStatement();
+        bs.setVariable("$max", 20);
+
+        StatementResult sr = store.executeSync(bs, options);
+        try {
+            for (RecordValue res : sr) {
+                ids.add(res.get("id").asInteger().get());
+            }
+        } finally {
+            sr.close();
+        }
+        ids.sort(null);
+        return ids;
+    }
+}
@@ -0,0 +1,163 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import oracle.kv.Consistency;
+import oracle.kv.Direction;
+import oracle.kv.impl.param.ParameterState;
+import oracle.kv.table.Index;
+import oracle.kv.table.IndexKey;
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+import oracle.kv.table.TableIterator;
+import oracle.kv.table.TableIteratorOptions;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests indexes whose maintenance is deferred with the rnDeferredIndexes
+ * parameter.
+ */
+public class DeferredIndexTest extends TableTestBase {
+
+    private static final int NROWS = 100;
+
+    private static final TableIteratorOptions ABSOLUTE =
+        new TableIteratorOptions(Direction.UNORDERED, Consistency.ABSOLUTE,
+                                 0, null);
+
+    private static final TableIteratorOptions NONE_REQUIRED =
+        new TableIteratorOptions(Direction.UNORDERED,
+                                 Consistency.NONE_REQUIRED, 0, null);
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        policyMap = makePolicyMap();
+        policyMap.setParameter(ParameterState.RN_DEFERRED_INDEXES,
+                               "deferred.idx");
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @AfterClass
+    public static void resetPolicyMap() {
+        policyMap = null;
+    }
+
+    @Test
+    public void testDeferredIndex() throws Exception {
+        final Table table = createTable();
+        final Index index = table.getIndex("idx");
+
+        for (int i = 0; i < NROWS; i++) {
+            tableImpl.put(makeRow(table, i, "a" + (i % 5)), null, null);
+        }
+
+        /* A read with absolute consistency sees all changes */
+        assertEquals(NROWS / 5, count(index, "a1", ABSOLUTE));
+
+        /* Move some rows to a different key and delete others */
+        for (int i = 0; i < NROWS; i += 5) {
+            tableImpl.put(makeRow(table, i + 1, "b"), null, null);
+            tableImpl.delete(makePrimaryKey(table, i + 2), null, null);
+        }
+        assertEquals(0, count(index, "a1", ABSOLUTE));
+        assertEquals(0, count(index, "a2", ABSOLUTE));
+        assertEquals(NROWS / 5, count(index, "b", ABSOLUTE));
+        assertEquals(NROWS / 5, count(index, "a3", ABSOLUTE));
+
+        /* Other reads see the changes once they have been applied */
+        for (int i = 0; i < NROWS; i += 5) {
+            tableImpl.put(makeRow(table, i + 3, "c"), null, null);
+        }
+        final long end = System.currentTimeMillis() + 30000;
+        while (count(index, "c", NONE_REQUIRED) != NROWS / 5) {
+            assertTrue("Changes were not applied",
+                       System.currentTimeMillis() < end);
+            Thread.sleep(100);
+        }
+        assertEquals(0, count(index, "a3", NONE_REQUIRED));
+    }
+
+    /**
+     * Changes to the same row must be applied in write order, including when
+     * they span several batches.
+     */
+    @Test
+    public void testRepeatedUpdates() throws Exception {
+        final Table table = createTable();
+        final Index index = table.getIndex("idx");
+        final int nRows = 10;
+        final int nUpdates = 101;
+
+        for (int j = 0; j < nUpdates; j++) {
+            for (int i = 0; i < nRows; i++) {
+                final int id = NROWS + i;
+                if (j % 10 == 5) {
+                    tableImpl.delete(makePrimaryKey(table, id), null, null);
+                } else {
+                    tableImpl.put(makeRow(table, id, (j % 2 == 0) ? "x" : "y"),
+                                  null, null);
+                }
+            }
+        }
+        assertEquals(nRows, count(index, "x", ABSOLUTE));
+        assertEquals(0, count(index, "y", ABSOLUTE));
+
+        for (int i = 0; i < nRows; i += 2) {
+            tableImpl.delete(makePrimaryKey(table, NROWS + i), null, null);
+        }
+        assertEquals(nRows / 2, count(index, "x", ABSOLUTE));
+    }
+
+    private Table createTable() {
+        executeDdl("CREATE TABLE IF NOT EXISTS deferred(" +
+                   "id INTEGER, s STRING, PRIMARY KEY(id))");
+        executeDdl("CREATE INDEX IF NOT EXISTS idx ON deferred(s)");
+        return tableImpl.getTable("deferred");
+    }
+
+    private static int count(Index index,
+                             String s,
+                             TableIteratorOptions options) {
+        final IndexKey key = index.createIndexKey();
+        key.put("s", s);
+        int count = 0;
+        final TableIterator<Row> iter =
+            tableImpl.tableIterator(key, null, options);
+        try {
+            while (iter.hasNext()) {
+                final Row row = iter.next();
+                assertEquals(s, row.get("s").asString().get());
+                count++;
+            }
+        } finally {
+            iter.close();
+        }
+        return count;
+    }
+
+    private static Row makeRow(Table table, int id, String s) {
+        final Row row = table.createRow();
+        row.put("id", id);
+        row.put("s", s);
+        return row;
+    }
+
+    private static PrimaryKey makePrimaryKey(Table table, int id) {
+        final PrimaryKey key = table.createPrimaryKey();
+        key.put("id", id);
+        return key;
+    }
+}
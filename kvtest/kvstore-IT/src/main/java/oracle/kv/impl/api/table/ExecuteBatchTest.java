@@ -0,0 +1,357 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import oracle.kv.impl.api.KVStoreImpl;
+import oracle.kv.impl.topo.PartitionId;
+
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.ReturnRow;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+import oracle.kv.table.TableOpExecutionException;
+import oracle.kv.table.TableOperation;
+import oracle.kv.table.TableOperationFactory;
+import oracle.kv.table.TableOperationResult;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests TableAPI.executeBatch, which executes operations with different
+ * shard keys as non-atomic, per-partition batches.
+ */
+public class ExecuteBatchTest extends TableTestBase {
+
+    private static final int NROWS = 20;
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Test
+    public void testExecuteBatch() throws Exception {
+        final Table table = createTable();
+        final TableOperationFactory factory =
+            tableImpl.getTableOperationFactory();
+
+        List<TableOperation> ops = new ArrayList<>();
+        for (int i = 0; i < NROWS; i++) {
+            ops.add(factory.createPut(makeRow(table, i, "v" + i),
+                                      ReturnRow.Choice.NONE, false));
+        }
+        List<TableOperationResult> results =
+            tableImpl.executeBatch(ops, null);
+        assertEquals(NROWS, results.size());
+        for (TableOperationResult res : results) {
+            assertTrue(res.getSuccess());
+            assertNotNull(res.getNewVersion());
+        }
+        for (int i = 0; i < NROWS; i++) {
+            final Row row = tableImpl.get(makeKey(table, i), null);
+            assertEquals("v" + i, row.get("s").asString().get());
+        }
+
+        /* Results are returned in the order of the input operations */
+        ops.clear();
+        for (int i = NROWS - 1; i >= 0; i--) {
+            ops.add(factory.createPutIfAbsent(makeRow(table, i, "x"),
+                                              ReturnRow.Choice.VALUE, false));
+        }
+        results = tableImpl.executeBatchAsync(ops, null).get();
+        assertEquals(NROWS, results.size());
+        for (int i = 0; i < NROWS; i++) {
+            final TableOperationResult res = results.get(i);
+            assertFalse(res.getSuccess());
+            assertEquals("v" + (NROWS - 1 - i),
+                         res.getPreviousRow().get("s").asString().get());
+        }
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        final Table table = createTable();
+        final TableOperationFactory factory =
+            tableImpl.getTableOperationFactory();
+        tableImpl.put(makeRow(table, 3, "v3"), null, null);
+
+        /* A failed operation only aborts the operations in its partition */
+        final List<TableOperation> ops = new ArrayList<>();
+        for (int i = 0; i < NROWS; i++) {
+            ops.add(factory.createPutIfAbsent(makeRow(table, i, "x"),
+                                              ReturnRow.Choice.NONE,
+                                              i == 3));
+        }
+        try {
+            tableImpl.executeBatch(ops, null);
+            fail("Expected TableOpExecutionException");
+        } catch (TableOpExecutionException e) {
+            assertEquals(3, e.getFailedOperationIndex());
+            assertFalse(e.getFailedOperationResult().getSuccess());
+        }
+        assertEquals("v3", tableImpl.get(makeKey(table, 3), null)
+                     .get("s").asString().get());
+        int written = 0;
+        for (int i = 0; i < NROWS; i++) {
+            if (i != 3 && tableImpl.get(makeKey(table, i), null) != null) {
+                written++;
+            }
+        }
+        assertTrue("written: " + written, written > 0);
+
+        /* Duplicate primary keys are rejected */
+        ops.clear();
+        ops.add(factory.createDelete(makeKey(table, 1),
+                                     ReturnRow.Choice.NONE, false));
+        ops.add(factory.createPut(makeRow(table, 1, "y"),
+                                  ReturnRow.Choice.NONE, false));
+        try {
+            tableImpl.executeBatch(ops, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            tableImpl.executeBatch(Collections.emptyList(), null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * When one group fails and another commits, the exception's batch
+     * results tell which operations were applied.
+     */
+    @Test
+    public void testFailedAndCommittedGroups() throws Exception {
+        final Table table = createTable();
+        final TableOperationFactory factory =
+            tableImpl.getTableOperationFactory();
+
+        /* Find rows in two partitions, so they are in separate groups */
+        final int failedId = 0;
+        final PartitionId failedPartition = getPartitionId(table, failedId);
+        int committedId = 1;
+        while (getPartitionId(table, committedId).equals(failedPartition)) {
+            committedId++;
+        }
+        tableImpl.put(makeRow(table, failedId, "v"), null, null);
+
+        final List<TableOperation> ops = new ArrayList<>();
+        ops.add(factory.createPut(makeRow(table, committedId, "x"),
+                                  ReturnRow.Choice.NONE, false));
+        ops.add(factory.createPutIfAbsent(makeRow(table, failedId, "x"),
+                                          ReturnRow.Choice.NONE, true));
+        try {
+            tableImpl.executeBatch(ops, null);
+            fail("Expected TableOpExecutionException");
+        } catch (TableOpExecutionException e) {
+            assertEquals(1, e.getFailedOperationIndex());
+            final List<TableOperationResult> results = e.getBatchResults();
+            assertEquals(2, results.size());
+            assertTrue(results.get(0).getSuccess());
+            assertNotNull(results.get(0).getNewVersion());
+            assertFalse(results.get(1).getSuccess());
+        }
+        assertEquals("x", tableImpl.get(makeKey(table, committedId), null)
+                     .get("s").asString().get());
+        assertEquals("v", tableImpl.get(makeKey(table, failedId), null)
+                     .get("s").asString().get());
+
+        /*
+         * The other operations of the failed group were not applied, so
+         * their results are null.
+         */
+        int otherId = committedId + 1;
+        while (!getPartitionId(table, otherId).equals(failedPartition)) {
+            otherId++;
+        }
+        ops.clear();
+        ops.add(factory.createPut(makeRow(table, otherId, "y"),
+                                  ReturnRow.Choice.NONE, false));
+        ops.add(factory.createPutIfAbsent(makeRow(table, failedId, "y"),
+                                          ReturnRow.Choice.NONE, true));
+        ops.add(factory.createPut(makeRow(table, committedId, "y"),
+                                  ReturnRow.Choice.NONE, false));
+        try {
+            tableImpl.executeBatchAsync(ops, null).get();
+            fail("Expected TableOpExecutionException");
+        } catch (ExecutionException ee) {
+            final TableOpExecutionException e =
+                (TableOpExecutionException) ee.getCause();
+            assertEquals(1, e.getFailedOperationIndex());
+            final List<TableOperationResult> results = e.getBatchResults();
+            assertNull(results.get(0));
+            assertFalse(results.get(1).getSuccess());
+            assertTrue(results.get(2).getSuccess());
+        }
+        assertNull(tableImpl.get(makeKey(table, otherId), null));
+        assertEquals("y", tableImpl.get(makeKey(table, committedId), null)
+                     .get("s").asString().get());
+
+        /* An atomic execute has no batch results */
+        ops.clear();
+        ops.add(factory.createPutIfAbsent(makeRow(table, failedId, "z"),
+                                          ReturnRow.Choice.NONE, true));
+        try {
+            tableImpl.execute(ops, null);
+            fail("Expected TableOpExecutionException");
+        } catch (TableOpExecutionException e) {
+            assertNull(e.getBatchResults());
+        }
+    }
+
+    /**
+     * A batch may mix rows of a parent table and of its child table, which
+     * share shard keys.
+     */
+    @Test
+    public void testParentChild() throws Exception {
+        executeDdl("CREATE TABLE IF NOT EXISTS batchParent(" +
+                   "id INTEGER, s STRING, PRIMARY KEY(id))");
+        executeDdl("CREATE TABLE IF NOT EXISTS batchParent.child(" +
+                   "cid INTEGER, c STRING, PRIMARY KEY(cid))");
+        final Table parent = tableImpl.getTable("batchParent");
+        final Table child = tableImpl.getTable("batchParent.child");
+        final TableOperationFactory factory =
+            tableImpl.getTableOperationFactory();
+
+        final List<TableOperation> ops = new ArrayList<>();
+        for (int i = 0; i < NROWS; i++) {
+            ops.add(factory.createPut(makeRow(parent, i, "p" + i),
+                                      ReturnRow.Choice.NONE, false));
+            ops.add(factory.createPut(makeChildRow(child, i, 1, "c" + i),
+                                      ReturnRow.Choice.NONE, false));
+        }
+        List<TableOperationResult> results =
+            tableImpl.executeBatch(ops, null);
+        assertEquals(2 * NROWS, results.size());
+        for (TableOperationResult res : results) {
+            assertTrue(res.getSuccess());
+        }
+        for (int i = 0; i < NROWS; i++) {
+            assertEquals("p" + i, tableImpl.get(makeKey(parent, i), null)
+                         .get("s").asString().get());
+            assertEquals("c" + i,
+                         tableImpl.get(makeChildKey(child, i, 1), null)
+                         .get("c").asString().get());
+        }
+
+        /* Delete the child rows and update the parent rows */
+        ops.clear();
+        for (int i = 0; i < NROWS; i++) {
+            ops.add(factory.createDelete(makeChildKey(child, i, 1),
+                                         ReturnRow.Choice.NONE, true));
+            ops.add(factory.createPut(makeRow(parent, i, "q" + i),
+                                      ReturnRow.Choice.NONE, false));
+        }
+        results = tableImpl.executeBatch(ops, null);
+        assertEquals(2 * NROWS, results.size());
+        for (int i = 0; i < NROWS; i++) {
+            assertNull(tableImpl.get(makeChildKey(child, i, 1), null));
+            assertEquals("q" + i, tableImpl.get(makeKey(parent, i), null)
+                         .get("s").asString().get());
+        }
+    }
+
+    /**
+     * A batch may mix rows of unrelated tables, with the same or different
+     * primary key values.
+     */
+    @Test
+    public void testUnrelatedTables() throws Exception {
+        final Table table1 = createTable();
+        executeDdl("CREATE TABLE IF NOT EXISTS batch2(" +
+                   "id INTEGER, s STRING, PRIMARY KEY(id))");
+        final Table table2 = tableImpl.getTable("batch2");
+        final TableOperationFactory factory =
+            tableImpl.getTableOperationFactory();
+
+        final List<TableOperation> ops = new ArrayList<>();
+        for (int i = 0; i < NROWS; i++) {
+            ops.add(factory.createPut(makeRow(table1, i, "a" + i),
+                                      ReturnRow.Choice.NONE, false));
+            ops.add(factory.createPut(makeRow(table2, i, "b" + i),
+                                      ReturnRow.Choice.NONE, false));
+            ops.add(factory.createPut(makeRow(table2, NROWS + i, "c" + i),
+                                      ReturnRow.Choice.NONE, false));
+        }
+        final List<TableOperationResult> results =
+            tableImpl.executeBatch(ops, null);
+        assertEquals(3 * NROWS, results.size());
+        for (TableOperationResult res : results) {
+            assertTrue(res.getSuccess());
+        }
+        for (int i = 0; i < NROWS; i++) {
+            assertEquals("a" + i, tableImpl.get(makeKey(table1, i), null)
+                         .get("s").asString().get());
+            assertEquals("b" + i, tableImpl.get(makeKey(table2, i), null)
+                         .get("s").asString().get());
+            assertEquals("c" + i,
+                         tableImpl.get(makeKey(table2, NROWS + i), null)
+                         .get("s").asString().get());
+        }
+    }
+
+    private Table createTable() throws Exception {
+        executeDdl("CREATE TABLE IF NOT EXISTS batch(" +
+                   "id INTEGER, s STRING, PRIMARY KEY(id))");
+        final Table table = tableImpl.getTable("batch");
+        for (int i = 0; i < NROWS; i++) {
+            tableImpl.delete(makeKey(table, i), null, null);
+        }
+        return table;
+    }
+
+    private static Row makeRow(Table table, int id, String s) {
+        final Row row = table.createRow();
+        row.put("id", id);
+        row.put("s", s);
+        return row;
+    }
+
+    private static Row makeChildRow(Table table, int id, int cid, String c) {
+        final Row row = table.createRow();
+        row.put("id", id);
+        row.put("cid", cid);
+        row.put("c", c);
+        return row;
+    }
+
+    private static PrimaryKey makeChildKey(Table table, int id, int cid) {
+        final PrimaryKey key = table.createPrimaryKey();
+        key.put("id", id);
+        key.put("cid", cid);
+        return key;
+    }
+
+    private PartitionId getPartitionId(Table table, int id) {
+        return ((KVStoreImpl) store).getDispatcher().getPartitionId(
+            ((PrimaryKeyImpl) makeKey(table, id)).createKeyBytes());
+    }
+
+    private static PrimaryKey makeKey(Table table, int id) {
+        final PrimaryKey key = table.createPrimaryKey();
+        key.put("id", id);
+        return key;
+    }
+}
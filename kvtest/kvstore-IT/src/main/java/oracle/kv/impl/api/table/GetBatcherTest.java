@@ -0,0 +1,127 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import oracle.kv.Consistency;
+import oracle.kv.impl.api.ops.Result;
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.ReadOptions;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests coalescing concurrent gets into batches with GetBatcher.
+ */
+public class GetBatcherTest extends TableTestBase {
+
+    private static final int NUM_ROWS = 50;
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        tableImpl.disableGetBatching();
+        super.tearDown();
+    }
+
+    @Test
+    public void testEnable() {
+        try {
+            tableImpl.enableGetBatching(0, TimeUnit.MILLISECONDS, 10);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            tableImpl.enableGetBatching(1, TimeUnit.MILLISECONDS, 1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+        assertNull(tableImpl.getGetBatcher());
+    }
+
+    @Test
+    public void testBatchedGets() throws Exception {
+        executeDdl("CREATE TABLE foo(sk INTEGER, id INTEGER, s STRING, " +
+                   "PRIMARY KEY(SHARD(sk), id))");
+        final Table table = tableImpl.getTable("foo");
+        for (int id = 0; id < NUM_ROWS; id += 2) {
+            final Row row = table.createRow();
+            row.put("sk", 1);
+            row.put("id", id);
+            row.put("s", "value" + id);
+            tableImpl.put(row, null, null);
+        }
+
+        tableImpl.enableGetBatching(50, TimeUnit.MILLISECONDS, 16);
+        final GetBatcher batcher = tableImpl.getGetBatcher();
+        assertNotNull(batcher);
+
+        /* Gets of the same shard key are in the same partition */
+        final ReadOptions options =
+            new ReadOptions(Consistency.ABSOLUTE, 10, TimeUnit.SECONDS);
+        final List<CompletableFuture<Row>> futures = new ArrayList<>();
+        for (int id = 0; id < NUM_ROWS; id++) {
+            final PrimaryKey key = table.createPrimaryKey();
+            key.put("sk", 1);
+            key.put("id", id);
+            futures.add(tableImpl.getAsync(key, options));
+        }
+        for (int id = 0; id < NUM_ROWS; id++) {
+            final Row row = futures.get(id).get(30, TimeUnit.SECONDS);
+            if (id % 2 == 0) {
+                assertNotNull(row);
+                assertEquals("value" + id, row.get("s").asString().get());
+                assertNotNull(row.getVersion());
+            } else {
+                assertNull(row);
+            }
+        }
+        assertTrue(batcher.getNumBatches() > 0);
+        assertTrue(batcher.getNumBatchedGets() > batcher.getNumBatches());
+
+        /* Results of internal gets */
+        final PrimaryKeyImpl key = (PrimaryKeyImpl) table.createPrimaryKey();
+        key.put("sk", 1);
+        key.put("id", 0);
+        final PrimaryKeyImpl key2 = (PrimaryKeyImpl) table.createPrimaryKey();
+        key2.put("sk", 1);
+        key2.put("id", 1);
+        final CompletableFuture<Result> f1 =
+            tableImpl.getAsyncInternal(key, options);
+        final CompletableFuture<Result> f2 =
+            tableImpl.getAsyncInternal(key2, options);
+        assertTrue(f1.get(30, TimeUnit.SECONDS).getSuccess());
+        assertFalse(f2.get(30, TimeUnit.SECONDS).getSuccess());
+
+        /* Single gets after disabling */
+        tableImpl.disableGetBatching();
+        assertEquals("value0",
+                     tableImpl.get(key, options).get("s").asString().get());
+    }
+}
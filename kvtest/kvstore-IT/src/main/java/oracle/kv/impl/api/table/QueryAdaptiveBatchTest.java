@@ -0,0 +1,116 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import oracle.kv.Consistency;
+import oracle.kv.StatementResult;
+import oracle.kv.query.ExecuteOptions;
+import oracle.kv.table.RecordValue;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests queries with adaptive batching (see
+ * ExecuteOptions.setAdaptiveBatching), checking that they return the same
+ * results as with fixed size batches, in both sync and async mode.
+ */
+public class QueryAdaptiveBatchTest extends TableTestBase {
+
+    private static final int NUM_SHARD_KEYS = 3;
+
+    private static final int NUM_ROWS_PER_KEY = 300;
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    protected String getNamespace() {
+        return "adaptivetest";
+    }
+
+    @Test
+    public void testQueries() {
+
+        executeDdl("CREATE TABLE foo(sk INTEGER, id INTEGER, s STRING, " +
+                   "PRIMARY KEY(SHARD(sk), id))");
+        executeDdl("CREATE INDEX idx_s ON foo(s)");
+        Table table = tableImpl.getTable(getNamespace(), "foo");
+
+        for (int sk = 0; sk < NUM_SHARD_KEYS; ++sk) {
+            for (int id = 0; id < NUM_ROWS_PER_KEY; ++id) {
+                Row row = table.createRow();
+                row.put("sk", sk);
+                row.put("id", id);
+                row.put("s", "s" + (id % 10));
+                tableImpl.put(row, null, null);
+            }
+        }
+
+        /* Single partition */
+        check("SELECT id FROM foo WHERE sk = 1 AND id >= 17");
+
+        /* All partitions */
+        check("SELECT sk, id FROM foo ORDER BY sk, id");
+        check("SELECT count(*) AS cnt FROM foo");
+
+        /* All shards */
+        check("SELECT id, s FROM foo WHERE s > 's3' ORDER BY s, sk, id");
+    }
+
+    private void check(String query) {
+
+        List<String> expected = query(query, 0, false, true);
+
+        for (boolean async : new boolean[] { true, false }) {
+            for (int batchSize : new int[] { 0, 1, 7 }) {
+                assertEquals(query + " batchSize=" + batchSize +
+                             " async=" + async,
+                             expected,
+                             query(query, batchSize, true, async));
+            }
+        }
+    }
+
+    private List<String> query(
+        String query,
+        int batchSize,
+        boolean adaptive,
+        boolean async) {
+
+        ExecuteOptions options = new ExecuteOptions();
+        options.setNamespace(getNamespace(), false);
+        options.setConsistency(Consistency.ABSOLUTE);
+        options.setAdaptiveBatching(adaptive);
+        options.setAsync(async);
+        if (batchSize > 0) {
+            options.setResultsBatchSize(batchSize);
+        }
+
+        List<String> results = new ArrayList<>();
+        StatementResult sr = store.executeSync(query, options);
+        try {
+            for (RecordValue res : sr) {
+                results.add(res.toString());
+            }
+        } finally {
+            sr.close();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,142 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import oracle.kv.Consistency;
+import oracle.kv.StatementResult;
+import oracle.kv.query.BoundStatement;
+import oracle.kv.query.ExecuteOptions;
+import oracle.kv.table.RecordValue;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests queries whose WHERE clause is computed over batches of rows at the
+ * RNs (see oracle.kv.impl.query.runtime.TupleBatch), checking that they
+ * return the same rows as row-at-a-time evaluation would, including when
+ * the queries suspend and resume because of the batch size.
+ */
+public class QueryBatchTest extends TableTestBase {
+
+    private static final int NUM_ROWS = 500;
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    protected String getNamespace() {
+        return "batchtest";
+    }
+
+    @Test
+    public void testWhere() {
+
+        executeDdl("CREATE TABLE foo(id INTEGER, i INTEGER, l LONG, " +
+                   "d DOUBLE, s STRING, PRIMARY KEY(id))");
+        Table table = tableImpl.getTable(getNamespace(), "foo");
+
+        for (int id = 0; id < NUM_ROWS; ++id) {
+            Row row = table.createRow();
+            row.put("id", id);
+            if (id % 7 == 0) {
+                row.putNull("i");
+            } else {
+                row.put("i", id % 100);
+            }
+            row.put("l", (long)id * 1000000000L);
+            row.put("d", id / 4.0);
+            row.put("s", "s" + (id % 10));
+            tableImpl.put(row, null, null);
+        }
+
+        check("i > 50", id -> id % 7 != 0 && id % 100 > 50);
+
+        check("i + 10 >= 60 and d < 100",
+              id -> id % 7 != 0 && id % 100 + 10 >= 60 && id / 4.0 < 100);
+
+        check("i * 2 = id * 2 or l > 400000000000",
+              id -> (id % 7 != 0 && id % 100 == id) ||
+                    (long)id * 1000000000L > 400000000000L);
+
+        check("l div 1000000000 = d * 4",
+              id -> true);
+
+        check("s = 's3' and i != 3", id -> id % 10 == 3 && id % 7 != 0 &&
+                                           id % 100 != 3);
+
+        /* Operands with no kernel are computed row-at-a-time */
+        check("length(s) = 2 and id < $max", id -> id < 123);
+
+        /* NULL OR true is true, NULL OR false is NULL, so the row is skipped */
+        check("i > 50 or id < 10",
+              id -> id < 10 || (id % 7 != 0 && id % 100 > 50));
+
+        /* Arithmetic errors are raised as in row-at-a-time execution */
+        try {
+            query("i / (id - id) > 0", 0);
+            fail("Expected division by zero");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private void check(String where, IntPredicate expected) {
+
+        List<Integer> expectedIds = new ArrayList<>();
+        for (int id = 0; id < NUM_ROWS; ++id) {
+            if (expected.test(id)) {
+                expectedIds.add(id);
+            }
+        }
+
+        for (int batchSize : new int[] { 0, 1, 5, 63, 100 }) {
+            assertEquals(where + " batchSize=" + batchSize,
+                         expectedIds, query(where, batchSize));
+        }
+    }
+
+    private List<Integer> query(String where, int batchSize) {
+
+        ExecuteOptions options = new ExecuteOptions();
+        options.setNamespace(getNamespace(), false);
+        options.setConsistency(Consistency.ABSOLUTE);
+        if (batchSize > 0) {
+            options.setResultsBatchSize(batchSize);
+        }
+
+        String query = "DECLARE $max INTEGER; " +
+            "SELECT id FROM foo WHERE " + where + " ORDER BY id";
+
+        List<Integer> ids = new ArrayList<>();
+        BoundStatement bs =
+            store.prepare(query, options).createBoundStatement();
+        bs.setVariable("$max", 123);
+
+        StatementResult sr = store.executeSync(bs, options);
+        try {
+            for (RecordValue res : sr) {
+                ids.add(res.get("id").asInteger().get());
+            }
+        } finally {
+            sr.close();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,231 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import oracle.kv.Consistency;
+import oracle.kv.StatementResult;
+import oracle.kv.impl.api.query.PreparedStatementImpl;
+import oracle.kv.impl.query.runtime.PlanIter;
+import oracle.kv.impl.query.runtime.PlanIter.PlanIterKind;
+import oracle.kv.impl.util.SerialVersion;
+import oracle.kv.query.BoundStatement;
+import oracle.kv.query.ExecuteOptions;
+import oracle.kv.table.RecordValue;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests ORDER BY queries with a LIMIT on non-indexed fields, which retain
+ * only the first offset + limit results at the driver (SortIter) and at the
+ * RNs (TopNIter), checking their results against the expected ones for
+ * various batch sizes.
+ */
+public class QueryTopNTest extends TableTestBase {
+
+    private static final int NUM_SHARD_KEYS = 4;
+
+    private static final int NUM_ROWS_PER_KEY = 200;
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    protected String getNamespace() {
+        return "topntest";
+    }
+
+    @Test
+    public void testTopN() {
+
+        executeDdl("CREATE TABLE foo(sk INTEGER, id INTEGER, v INTEGER, " +
+                   "PRIMARY KEY(SHARD(sk), id))");
+        Table table = tableImpl.getTable(getNamespace(), "foo");
+
+        List<int[]> rows = new ArrayList<>();
+
+        for (int sk = 0; sk < NUM_SHARD_KEYS; ++sk) {
+            for (int id = 0; id < NUM_ROWS_PER_KEY; ++id) {
+                int v = (id * 37 + sk * 11) % 101;
+                Row row = table.createRow();
+                row.put("sk", sk);
+                row.put("id", id);
+                row.put("v", v);
+                tableImpl.put(row, null, null);
+                rows.add(new int[] { sk, id, v });
+            }
+        }
+
+        Comparator<int[]> asc = Comparator.<int[]>comparingInt(r -> r[2])
+            .thenComparingInt(r -> r[0]).thenComparingInt(r -> r[1]);
+        Comparator<int[]> desc = Comparator.<int[]>comparingInt(r -> -r[2])
+            .thenComparingInt(r -> r[0]).thenComparingInt(r -> r[1]);
+
+        String plan = ((PreparedStatementImpl)store.prepare(
+            "SELECT sk, id FROM foo ORDER BY v, sk, id LIMIT 5",
+            options())).getQueryPlan().display(true);
+        assertTrue(plan, plan.contains("TOP_N"));
+
+        /* Without a limit, the driver needs all the results */
+        String plan2 = ((PreparedStatementImpl)store.prepare(
+            "SELECT sk, id FROM foo ORDER BY v, sk, id",
+            options())).getQueryPlan().display(true);
+        assertFalse(plan2, plan2.contains("TOP_N"));
+
+        /* All partitions */
+        check("SELECT sk, id FROM foo ORDER BY v, sk, id LIMIT 5",
+              expected(rows, asc, 0, 5));
+        check("SELECT sk, id FROM foo ORDER BY v DESC, sk, id " +
+              "LIMIT 10 OFFSET 3",
+              expected(rows, desc, 3, 10));
+        check("SELECT sk, id FROM foo ORDER BY v, sk, id LIMIT $lim",
+              expected(rows, asc, 0, 7));
+        check("SELECT sk, id FROM foo ORDER BY v, sk, id LIMIT 150",
+              expected(rows, asc, 0, 150));
+        check("SELECT sk, id FROM foo ORDER BY v, sk, id " +
+              "LIMIT 5 OFFSET 5000",
+              expected(rows, asc, 5000, 5));
+
+        /* Single partition */
+        List<int[]> sk2 = rows.stream().filter(r -> r[0] == 2)
+            .collect(Collectors.toList());
+        check("SELECT sk, id FROM foo WHERE sk = 2 " +
+              "ORDER BY v DESC, sk, id LIMIT 4 OFFSET 1",
+              expected(sk2, desc, 1, 4));
+    }
+
+    /**
+     * RNs that do not support TopNIter receive its input instead.
+     */
+    @Test
+    public void testSerialVersion() throws IOException {
+
+        executeDdl("CREATE TABLE bar(sk INTEGER, id INTEGER, v INTEGER, " +
+                   "PRIMARY KEY(SHARD(sk), id))");
+
+        PlanIter plan = ((PreparedStatementImpl)store.prepare(
+            "SELECT sk, id FROM bar ORDER BY v, sk, id LIMIT 5",
+            options())).getQueryPlan();
+        while (plan.getKind() != PlanIterKind.RECEIVE) {
+            plan = plan.getInputIter();
+        }
+        PlanIter rnPlan = plan.getInputIter();
+        assertEquals(PlanIterKind.TOP_N, rnPlan.getKind());
+
+        assertEquals(PlanIterKind.TOP_N,
+                     roundTrip(rnPlan, SerialVersion.CURRENT).getKind());
+        assertEquals(PlanIterKind.SELECT,
+                     roundTrip(rnPlan, SerialVersion.QUERY_VERSION_18)
+                     .getKind());
+    }
+
+    /**
+     * Joins of tables in the same hierarchy do not use TopNIter, since the
+     * RNs return the rows of all joined tables.
+     */
+    @Test
+    public void testNoTopNForHierarchyJoins() {
+
+        executeDdl("CREATE TABLE par(sk INTEGER, id INTEGER, v INTEGER, " +
+                   "PRIMARY KEY(SHARD(sk), id))");
+        executeDdl("CREATE TABLE par.ch(cid INTEGER, cv INTEGER, " +
+                   "PRIMARY KEY(cid))");
+
+        String plan = ((PreparedStatementImpl)store.prepare(
+            "SELECT p.sk, p.id FROM NESTED TABLES(par p " +
+            "DESCENDANTS(par.ch c)) ORDER BY p.v LIMIT 5",
+            options())).getQueryPlan().display(true);
+        assertFalse(plan, plan.contains("TOP_N"));
+
+        plan = ((PreparedStatementImpl)store.prepare(
+            "SELECT p.sk, p.id FROM par p, par.ch c " +
+            "WHERE p.sk = c.sk AND p.id = c.id ORDER BY c.cv LIMIT 5",
+            options())).getQueryPlan().display(true);
+        assertFalse(plan, plan.contains("TOP_N"));
+    }
+
+    private static PlanIter roundTrip(PlanIter plan, short serialVersion)
+        throws IOException {
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PlanIter.serializeIter(plan, new DataOutputStream(baos),
+                               serialVersion);
+        DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(baos.toByteArray()));
+        return PlanIter.deserializeIter(in, serialVersion);
+    }
+
+    private static List<String> expected(
+        List<int[]> rows,
+        Comparator<int[]> comparator,
+        int offset,
+        int limit) {
+
+        return rows.stream().sorted(comparator).skip(offset).limit(limit)
+            .map(r -> r[0] + "/" + r[1]).collect(Collectors.toList());
+    }
+
+    private void check(String query, List<String> expected) {
+
+        for (int batchSize : new int[] { 0, 3, 10 }) {
+            assertEquals(query + " batchSize=" + batchSize,
+                         expected, query(query, batchSize));
+        }
+    }
+
+    private ExecuteOptions options() {
+        ExecuteOptions options = new ExecuteOptions();
+        options.setNamespace(getNamespace(), false);
+        options.setConsistency(Consistency.ABSOLUTE);
+        return options;
+    }
+
+    private List<String> query(String query, int batchSize) {
+
+        ExecuteOptions options = options();
+        if (batchSize > 0) {
+            options.setResultsBatchSize(batchSize);
+        }
+
+        BoundStatement bs =
+            store.prepare("DECLARE $lim INTEGER; " + query, options)
+            .createBoundStatement();
+        bs.setVariable("$lim", 7);
+
+        List<String> results = new ArrayList<>();
+        StatementResult sr = store.executeSync(bs, options);
+        try {
+            for (RecordValue res : sr) {
+                results.add(res.get("sk").asInteger().get() + "/" +
+                            res.get("id").asInteger().get());
+            }
+        } finally {
+            sr.close();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,208 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import oracle.kv.Consistency;
+import oracle.kv.TestBase;
+import oracle.kv.Version;
+import oracle.kv.impl.api.ops.Delete;
+import oracle.kv.impl.api.ops.MultiDeleteTable;
+import oracle.kv.impl.api.ops.InternalOperation.OpCode;
+import oracle.kv.impl.api.ops.Result;
+import oracle.kv.impl.api.ops.ResultValueVersion;
+
+import org.junit.Test;
+
+/**
+ * Tests the RowNearCache class.
+ */
+public class RowNearCacheTest extends TestBase {
+
+    private static final long TABLE_ID = 42;
+    private static final UUID GROUP = UUID.randomUUID();
+    private static final byte[] KEY = { 1, 2, 3 };
+
+    @Test
+    public void testEnable() {
+        final RowNearCache cache = new RowNearCache();
+        try {
+            cache.enable(TABLE_ID, 0, 1, TimeUnit.SECONDS);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+        assertFalse(cache.isEnabled(TABLE_ID));
+
+        /* Not enabled: nothing is cached or counted */
+        put(cache, KEY, Consistency.NONE_REQUIRED, now(),
+                  makeResult(10));
+        assertNull(cache.get(TABLE_ID, KEY, Consistency.NONE_REQUIRED));
+        assertEquals(0, cache.getMissCount("test", false));
+
+        cache.enable(TABLE_ID, 10, 1, TimeUnit.MINUTES);
+        assertTrue(cache.isEnabled(TABLE_ID));
+        cache.disable(TABLE_ID);
+        assertFalse(cache.isEnabled(TABLE_ID));
+    }
+
+    @Test
+    public void testConsistency() {
+        final RowNearCache cache = new RowNearCache();
+        cache.enable(TABLE_ID, 10, 1, TimeUnit.MINUTES);
+        final Result result = makeResult(10);
+        put(cache, KEY, Consistency.ABSOLUTE, now() - 1000,
+                  result);
+
+        assertHit(result,
+                   cache.get(TABLE_ID, KEY, Consistency.NONE_REQUIRED));
+        assertNull(cache.get(TABLE_ID, KEY, Consistency.ABSOLUTE));
+
+        /* Read a second ago with no lag */
+        assertHit(result,
+                   cache.get(TABLE_ID, KEY, timeConsistency(5000)));
+        assertNull(cache.get(TABLE_ID, KEY, timeConsistency(500)));
+
+        /* Row version 10 satisfies versions up to 10 for the same shard */
+        assertHit(result,
+                   cache.get(TABLE_ID, KEY,
+                             versionConsistency(GROUP, 10)));
+        assertNull(cache.get(TABLE_ID, KEY, versionConsistency(GROUP, 11)));
+        assertNull(cache.get(TABLE_ID, KEY,
+                             versionConsistency(UUID.randomUUID(), 1)));
+
+        assertEquals(3, cache.getHitCount("test", true));
+        assertEquals(4, cache.getMissCount("test", true));
+        assertEquals(0, cache.getHitCount("test", false));
+
+        /* A row read with no time bound can't satisfy a time consistency */
+        put(cache, KEY, Consistency.NONE_REQUIRED, now(), result);
+        assertNull(cache.get(TABLE_ID, KEY, timeConsistency(60000)));
+    }
+
+    @Test
+    public void testInvalidateAndEvict() {
+        final RowNearCache cache = new RowNearCache();
+        cache.enable(TABLE_ID, 2, 1, TimeUnit.MINUTES);
+        final byte[] key2 = { 4, 5 };
+        final byte[] key3 = { 6 };
+        put(cache, KEY, Consistency.NONE_REQUIRED, now(),
+                  makeResult(1));
+        put(cache, key2, Consistency.NONE_REQUIRED, now(),
+                  makeResult(2));
+
+        cache.invalidate(new Delete(KEY.clone(), null, TABLE_ID, false,
+                                    null));
+        assertNull(cache.get(TABLE_ID, KEY, Consistency.NONE_REQUIRED));
+        assertTrue(cache.get(TABLE_ID, key2, Consistency.NONE_REQUIRED) !=
+                   null);
+
+        /* A write for another table has no effect */
+        cache.invalidate(new Delete(key2.clone(), null, TABLE_ID + 1, false,
+                                    null));
+        assertTrue(cache.get(TABLE_ID, key2, Consistency.NONE_REQUIRED) !=
+                   null);
+
+        /* Capacity is 2, so the least recently used entry is evicted */
+        put(cache, KEY, Consistency.NONE_REQUIRED, now(),
+                  makeResult(1));
+        put(cache, key3, Consistency.NONE_REQUIRED, now(),
+                  makeResult(3));
+        assertNull(cache.get(TABLE_ID, key2, Consistency.NONE_REQUIRED));
+        assertTrue(cache.get(TABLE_ID, key3, Consistency.NONE_REQUIRED) !=
+                   null);
+    }
+
+    /**
+     * A put by a get that started before a write to the same key must not
+     * cache its result.
+     */
+    @Test
+    public void testInvalidateDuringGet() {
+        final RowNearCache cache = new RowNearCache();
+        cache.enable(TABLE_ID, 10, 1, TimeUnit.MINUTES);
+        final byte[] key2 = { 4, 5 };
+
+        long generation = cache.getGeneration(TABLE_ID, KEY);
+        cache.invalidate(new Delete(KEY.clone(), null, TABLE_ID, false,
+                                    null));
+        cache.put(TABLE_ID, KEY, Consistency.NONE_REQUIRED, now(),
+                  generation, makeResult(1));
+        assertNull(cache.get(TABLE_ID, KEY, Consistency.NONE_REQUIRED));
+
+        /* A get that started after the write is cached */
+        generation = cache.getGeneration(TABLE_ID, KEY);
+        cache.put(TABLE_ID, KEY, Consistency.NONE_REQUIRED, now(),
+                  generation, makeResult(2));
+        assertTrue(cache.get(TABLE_ID, KEY, Consistency.NONE_REQUIRED) !=
+                   null);
+
+        /* Clearing the table invalidates gets of all keys */
+        generation = cache.getGeneration(TABLE_ID, key2);
+        cache.invalidate(new MultiDeleteTable(KEY.clone(), TABLE_ID,
+                                              true /* majorPathComplete */,
+                                              0 /* batchSize */,
+                                              null /* resumeKey */,
+                                              false /* doTombstone */));
+        cache.put(TABLE_ID, key2, Consistency.NONE_REQUIRED, now(),
+                  generation, makeResult(3));
+        assertNull(cache.get(TABLE_ID, key2, Consistency.NONE_REQUIRED));
+        assertNull(cache.get(TABLE_ID, KEY, Consistency.NONE_REQUIRED));
+    }
+
+    /* Caches a get result, using the current generation of the key */
+    private static void put(RowNearCache cache,
+                            byte[] key,
+                            Consistency consistency,
+                            long startTimeMs,
+                            Result result) {
+        cache.put(TABLE_ID, key, consistency, startTimeMs,
+                  cache.getGeneration(TABLE_ID, key), result);
+    }
+
+    /**
+     * Checks that a cached row is the cached result, without its read cost,
+     * since a hit is returned without a request to an RN.
+     */
+    private static void assertHit(Result expected, Result hit) {
+        assertTrue(hit != null);
+        assertEquals(expected.getPreviousVersion(), hit.getPreviousVersion());
+        assertEquals(expected.getPreviousValue(), hit.getPreviousValue());
+        assertTrue(expected.getReadKB() > 0);
+        assertEquals(0, hit.getReadKB());
+        assertEquals(0, hit.getWriteKB());
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static Result makeResult(long vlsn) {
+        return new Result.GetResult(
+            OpCode.GET, 1, 0,
+            new ResultValueVersion(new byte[] { 0 }, new Version(GROUP, vlsn),
+                                   0, 0, 0, 1));
+    }
+
+    private static Consistency timeConsistency(long lagMs) {
+        return new Consistency.Time(lagMs, TimeUnit.MILLISECONDS,
+                                    1, TimeUnit.SECONDS);
+    }
+
+    private static Consistency versionConsistency(UUID group, long vlsn) {
+        return new Consistency.Version(new Version(group, vlsn), 1,
+                                       TimeUnit.SECONDS);
+    }
+}
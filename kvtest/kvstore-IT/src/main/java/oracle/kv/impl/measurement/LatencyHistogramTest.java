@@ -0,0 +1,86 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.measurement;
+
+import static oracle.kv.util.TestUtils.checkException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import oracle.kv.TestBase;
+
+import org.junit.Test;
+
+/**
+ * Tests LatencyHistogram.
+ */
+public class LatencyHistogramTest extends TestBase {
+
+    @Test
+    public void testConstructor() {
+        checkException(() -> new LatencyHistogram(0),
+                       IllegalArgumentException.class, "precisionBits");
+        checkException(() -> new LatencyHistogram(11),
+                       IllegalArgumentException.class, "precisionBits");
+    }
+
+    @Test
+    public void testBuckets() {
+        final LatencyHistogram h = new LatencyHistogram(3);
+
+        /* Buckets are contiguous and cover all values */
+        assertEquals(0, h.getBucketIndex(0));
+        for (int i = 1; i < h.getNumBuckets(); i++) {
+            final long lower = h.getBucketUpperBound(i - 1) + 1;
+            assertEquals(i, h.getBucketIndex(lower));
+            assertEquals(i, h.getBucketIndex(h.getBucketUpperBound(i)));
+        }
+        assertEquals(h.getNumBuckets() - 1,
+                     h.getBucketIndex(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE,
+                     h.getBucketUpperBound(h.getNumBuckets() - 1));
+
+        /* Small values are exact, large ones within the relative error */
+        assertEquals(7, h.getBucketUpperBound(h.getBucketIndex(7)));
+        for (long v = 8; v < 1_000_000_000_000L; v = v * 3 + 1) {
+            final long upper = h.getBucketUpperBound(h.getBucketIndex(v));
+            assertTrue(upper >= v);
+            assertTrue((upper - v) <= v / 8);
+        }
+    }
+
+    @Test
+    public void testPercentilesAndMerge() {
+        final LatencyHistogram h1 = new LatencyHistogram();
+        final LatencyHistogram h2 = new LatencyHistogram();
+        assertEquals(0, h1.getValueAtPercentile(99));
+        for (int i = 1; i <= 100; i++) {
+            h1.record(i * 1000);
+            h2.record(i * 1000_000);
+        }
+        h1.record(-5);
+        assertEquals(101, h1.getCount());
+        assertEquals(0, h1.getValueAtPercentile(0));
+        assertWithin(50_000, h1.getValueAtPercentile(50));
+        assertWithin(100_000, h1.getValueAtPercentile(100));
+
+        h1.merge(h2);
+        assertEquals(201, h1.getCount());
+        assertEquals(5050 * 1000L + 5050 * 1000_000L, h1.getSum());
+        assertWithin(100_000, h1.getValueAtPercentile(50));
+        assertWithin(99_000_000, h1.getValueAtPercentile(99.5));
+
+        checkException(() -> h1.merge(new LatencyHistogram(4)),
+                       IllegalArgumentException.class, "precisions");
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("Expected about " + expected + ", found " + actual,
+                   (actual >= expected) &&
+                   (actual - expected <= expected / 8));
+    }
+}
@@ -0,0 +1,149 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.measurement;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+
+import oracle.kv.TestBase;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests OpenMetricsServer and OpenMetricsWriter.
+ */
+public class OpenMetricsServerTest extends TestBase {
+
+    private OpenMetricsServer server;
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+        super.tearDown();
+    }
+
+    @Test
+    public void testWriter() {
+        final OpenMetricsWriter writer =
+            new OpenMetricsWriter(new StringBuilder());
+        writer.startFamily("ops", "counter", "Ops \"done\"\n");
+        writer.counter("ops", 3, "table", "a\"b");
+        writer.startFamily("bad-name", "gauge", null);
+        writer.sample("bad-name", 1.5);
+
+        final LatencyHistogram h = new LatencyHistogram();
+        h.record(3_000_000);
+        h.record(5_000_000);
+        writer.startFamily("lat", "histogram", null);
+        writer.histogram("lat", h, "op", "GET");
+        writer.finish();
+
+        final String out = writer.getOutput().toString();
+        assertTrue(out, out.contains("# TYPE ops counter\n"));
+        assertTrue(out, out.contains("# HELP ops Ops \"done\"\\n\n"));
+        assertTrue(out, out.contains("ops_total{table=\"a\\\"b\"} 3\n"));
+        assertTrue(out, out.contains("# TYPE bad_name gauge\n"));
+        assertTrue(out, out.contains("bad_name 1.5\n"));
+        assertTrue(out,
+                   out.contains("lat_bucket{op=\"GET\",le=\"+Inf\"} 2\n"));
+        assertTrue(out, out.contains("lat_count{op=\"GET\"} 2\n"));
+        assertTrue(out, out.contains("lat_sum{op=\"GET\"} 0.008\n"));
+        assertTrue(out, out.endsWith("# EOF\n"));
+
+        /* Buckets are cumulative and include each recorded value */
+        long prev = 0;
+        boolean sawOne = false;
+        for (String line : out.split("\n")) {
+            if (line.startsWith("lat_bucket") && !line.contains("+Inf")) {
+                final long c = Long.parseLong(
+                    line.substring(line.lastIndexOf(' ') + 1));
+                assertTrue(c >= prev);
+                sawOne |= (c == 1);
+                prev = c;
+            }
+        }
+        assertTrue(out, sawOne);
+        assertEquals(2, prev);
+
+        writer.reset();
+        assertEquals(0, writer.getOutput().length());
+    }
+
+    @Test
+    public void testServer() throws Exception {
+        server = new OpenMetricsServer(null, 0, logger);
+        server.addCollector(w -> {
+                w.startFamily("test_requests", "counter", null);
+                w.counter("test_requests", 42);
+            });
+        server.addCollector(w -> {
+                w.startFamily("broken", "gauge", null);
+                throw new IllegalStateException("not ready");
+            });
+        server.addCollector(OpenMetricsServer.getJVMCollector("test"));
+        server.start();
+
+        final URL url = new URL("http://localhost:" + server.getPort() +
+                                OpenMetricsServer.PATH);
+        final HttpURLConnection conn =
+            (HttpURLConnection) url.openConnection();
+        assertEquals(200, conn.getResponseCode());
+        assertEquals(OpenMetricsWriter.CONTENT_TYPE,
+                     conn.getHeaderField("Content-Type"));
+        final String body;
+        try (InputStream in = conn.getInputStream()) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                bytes.write(buf, 0, n);
+            }
+            body = new String(bytes.toByteArray(), UTF_8);
+        }
+        assertTrue(body, body.contains("test_requests_total 42\n"));
+        assertFalse(body, body.contains("broken"));
+        assertTrue(body, body.contains("test_jvm_heap_used_bytes "));
+        assertTrue(body, body.endsWith("# EOF\n"));
+
+        final HttpURLConnection post =
+            (HttpURLConnection) url.openConnection();
+        post.setRequestMethod("POST");
+        assertEquals(405, post.getResponseCode());
+    }
+
+    @Test
+    public void testAddress() throws Exception {
+        /* With no hostname, the server only listens on loopback */
+        server = new OpenMetricsServer(null, 0, logger);
+        assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+        server.stop();
+
+        server = new OpenMetricsServer("localhost", 0, logger);
+        assertEquals(InetAddress.getByName("localhost"),
+                     server.getAddress().getAddress());
+    }
+
+    @Test
+    public void testIsAllowed() {
+        assertTrue(OpenMetricsServer.isAllowed(false, false, logger));
+        assertFalse(OpenMetricsServer.isAllowed(true, false, logger));
+        assertTrue(OpenMetricsServer.isAllowed(true, true, logger));
+    }
+}
@@ -117,6 +117,14 @@ public class ImportCommandTest extends ShellTestBase {
         args = new String[]{ImportCommand.NAME, TABLE_FLAG, "simple",
                             FILE_FLAG, "INVALID_FILE"};
         runWithInvalidArgument(shell, importObj, args);
+
+        /* Invalid parallelism. */
+        args = new String[]{ImportCommand.NAME, TABLE_FLAG, "simple",
+                            FILE_FLAG, "a.out", "-parallelism", "0"};
+        runWithInvalidArgument(shell, importObj, args);
+        args = new String[]{ImportCommand.NAME, TABLE_FLAG, "simple",
+                            FILE_FLAG, "a.out", "-shard-parallelism", "x"};
+        runWithInvalidArgument(shell, importObj, args);
     }
 
     @Test
@@ -209,6 +217,42 @@ public class ImportCommandTest extends ShellTestBase {
         verifyRecords(TABLE_SIMPLE, 1);
     }
 
+    @Test
+    public void testLoadParallel() {
+
+        final String cmdName = ImportCommand.NAME;
+        final Shell shell = getTestShell();
+        final String jsonFile = getTempFileName(TABLE_SIMPLE, ".json");
+        final String csvFile = getTempFileName(TABLE_SIMPLE, ".csv");
+
+        /* More rows than fit in the chunks buffered for the streams */
+        final int nRows = 1500;
+
+        createTable(CREATE_TABLE_SIMPLE, TABLE_SIMPLE);
+        writeRecordsToFile(TABLE_SIMPLE, jsonFile, Format.JSON, nRows);
+        writeRecordsToFile(TABLE_SIMPLE, csvFile, Format.CSV, nRows);
+
+        final ImportCommand cmdObj = new ImportCommand();
+        for (String parallelism : new String[] {"1", "4"}) {
+            String[] args = {cmdName, FILE_FLAG, jsonFile,
+                             TABLE_FLAG, TABLE_SIMPLE,
+                             "-parallelism", parallelism,
+                             "-shard-parallelism", "2"};
+            runCommand(shell, cmdObj, args, TABLE_SIMPLE,
+                       String.valueOf(nRows));
+            verifyRecords(TABLE_SIMPLE, nRows);
+            deleteTable(TABLE_SIMPLE);
+
+            args = new String[] {cmdName, FILE_FLAG, csvFile,
+                                 TABLE_FLAG, TABLE_SIMPLE, "CSV",
+                                 "-parallelism", parallelism};
+            runCommand(shell, cmdObj, args, TABLE_SIMPLE,
+                       String.valueOf(nRows));
+            verifyRecords(TABLE_SIMPLE, nRows);
+            deleteTable(TABLE_SIMPLE);
+        }
+    }
+
     private String addSpaceToElement(String line) {
         final String[] tokens = line.split(",");
         final StringBuilder sb = new StringBuilder();
@@ -0,0 +1,197 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.rep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import oracle.kv.TestBase;
+import oracle.kv.impl.util.TestUtils;
+
+import com.sleepycat.bind.tuple.IntegerBinding;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.DbInternal;
+import com.sleepycat.je.Durability;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.utilint.TestHookAdapter;
+
+import org.junit.Test;
+
+/**
+ * Tests the wait of a group commit leader for more fsync requests (see
+ * je.log.groupCommitMaxWait and je.log.groupCommitMaxSize). The fsync time
+ * is made long and predictable by a hook that sleeps in each fsync, which
+ * requires assertions to be enabled.
+ */
+public class GroupCommitWaitTest extends TestBase {
+
+    private static final StatsConfig CLEAR_STATS =
+        new StatsConfig().setClear(true);
+
+    private Environment env;
+    private Database db;
+    private final AtomicInteger nFSyncs = new AtomicInteger();
+
+    @Override
+    public void tearDown()
+        throws Exception {
+
+        if (db != null) {
+            db.close();
+        }
+        if (env != null) {
+            env.close();
+        }
+        super.tearDown();
+    }
+
+    /**
+     * A single thread doing sync commits never waits, since its requests
+     * arrive one fsync apart.
+     */
+    @Test
+    public void testSingleThreadNoWait() {
+
+        open(64 /* maxSize */, 20 /* fsyncMs */);
+
+        env.getStats(CLEAR_STATS);
+        for (int i = 0; i < 20; i++) {
+            put(i);
+        }
+
+        final EnvironmentStats stats = env.getStats(CLEAR_STATS);
+        assertTrue("fsync hook calls " + nFSyncs.get(), nFSyncs.get() >= 20);
+        assertEquals(0, stats.getNGroupCommitWaits());
+        assertEquals(0, stats.getNGroupCommitJoins());
+    }
+
+    /**
+     * Concurrent committers join the group of a waiting leader, and the
+     * leader stops waiting as soon as the group reaches the maximum size,
+     * well before the wait time computed from the fsync time. The maximum
+     * size is the number of threads, so every group can fill up: while a
+     * leader waits, the threads that are not in its group were woken by the
+     * previous fsync and are about to join.
+     */
+    @Test
+    public void testJoinAndEarlyWake()
+        throws Exception {
+
+        final int nThreads = 8;
+        final int maxSize = nThreads;
+        final int fsyncMs = 200;
+
+        open(maxSize, fsyncMs);
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < nThreads; t++) {
+            final int base = t * 1000;
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; !done.get(); i++) {
+                        put(base + i);
+                    }
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        /*
+         * Take the stats while all threads are committing, since the last
+         * groups are smaller once threads start to exit.
+         */
+        Thread.sleep(1000);
+        env.getStats(CLEAR_STATS);
+        Thread.sleep(3000);
+        final EnvironmentStats stats = env.getStats(CLEAR_STATS);
+        done.set(true);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(error.get());
+
+        final long nWaits = stats.getNGroupCommitWaits();
+        assertTrue("waits " + nWaits, nWaits > 0);
+        assertTrue("joins " + stats.getNGroupCommitJoins(),
+                   stats.getNGroupCommitJoins() > 0);
+        assertEquals(maxSize, stats.getMaxGroupCommitSize());
+
+        /*
+         * Without the early wake, each wait would last half the fsync time,
+         * since the arrival interval is far below it.
+         */
+        final long avgWaitMs = stats.getGroupCommitWaitNs() / nWaits /
+            1000000;
+        assertTrue("average wait " + avgWaitMs + " ms",
+                   avgWaitMs < fsyncMs / 4);
+
+        /* Fsyncs were shared */
+        assertTrue("fsyncs " + stats.getNFSyncs() + " requests " +
+                   stats.getNFSyncRequests(),
+                   stats.getNFSyncs() * 2 < stats.getNFSyncRequests());
+    }
+
+    private void open(int maxSize, final int fsyncMs) {
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setTransactional(true);
+        envConfig.setDurability(Durability.COMMIT_SYNC);
+        envConfig.setConfigParam(EnvironmentConfig.ENV_RUN_CHECKPOINTER,
+                                 "false");
+        envConfig.setConfigParam(EnvironmentConfig.ENV_RUN_CLEANER, "false");
+        /* Don't let group members time out while the leader fsyncs */
+        envConfig.setConfigParam(EnvironmentConfig.LOG_FSYNC_TIMEOUT, "10 s");
+        envConfig.setConfigParam("je.log.groupCommitMaxWait", "1 s");
+        envConfig.setConfigParam("je.log.groupCommitMaxSize",
+                                 String.valueOf(maxSize));
+        env = new Environment(TestUtils.getTestDir(), envConfig);
+
+        final DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        dbConfig.setTransactional(true);
+        db = env.openDatabase(null, "foo", dbConfig);
+
+        DbInternal.getNonNullEnvImpl(env).getFileManager().setLongFsyncHook(
+            new TestHookAdapter<Object>() {
+                @Override
+                public void doHook() {
+                    nFSyncs.incrementAndGet();
+                    try {
+                        Thread.sleep(fsyncMs);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+    }
+
+    private void put(int key) {
+        final DatabaseEntry entry = new DatabaseEntry();
+        IntegerBinding.intToEntry(key, entry);
+        db.put(null, entry, entry);
+    }
+}
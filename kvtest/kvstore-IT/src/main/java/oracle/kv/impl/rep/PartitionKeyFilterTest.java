@@ -0,0 +1,245 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.rep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import oracle.kv.KVStore;
+import oracle.kv.KVStoreFactory;
+import oracle.kv.Key;
+import oracle.kv.Value;
+import oracle.kv.impl.param.ParameterState;
+import oracle.kv.impl.topo.PartitionId;
+import oracle.kv.impl.topo.RepNodeId;
+import oracle.kv.impl.util.KVRepTestConfig;
+import oracle.kv.impl.util.TestUtils;
+
+import com.sleepycat.bind.tuple.IntegerBinding;
+import com.sleepycat.je.BtreeStats;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.DbInternal;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.tree.Tree;
+
+import org.junit.Test;
+
+/**
+ * Tests the bloom filter over the keys of partition databases enabled with
+ * the rnPartitionKeyFilter parameter.
+ */
+public class PartitionKeyFilterTest extends RepNodeTestBase {
+
+    private static final int N_PARTITIONS = 4;
+    private static final int N_KEYS = 1000;
+
+    private static final RepNodeId rnId = new RepNodeId(1, 1);
+
+    private KVRepTestConfig config;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        config = new KVRepTestConfig(this, 1, 1, 1, N_PARTITIONS);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        if (config != null) {
+            config.stopRepNodeServices();
+            config = null;
+        }
+        super.tearDown();
+    }
+
+    @Test
+    public void testKeyFilter() {
+        config.getRepNodeParams(rnId).getMap().setParameter(
+            ParameterState.RN_PARTITION_KEY_FILTER, "true");
+        config.startRepNodeServices();
+        final RepNode rn = config.getRN(rnId);
+        final KVStore kvs = KVStoreFactory.getStore(config.getKVSConfig());
+
+        for (int i = 0; i < N_KEYS; i += 2) {
+            assertNotNull(kvs.putIfAbsent(key(i), value(i)));
+        }
+
+        /*
+         * The filters are enabled. Build them now, rather than waiting for
+         * the daemon.
+         */
+        DbInternal.getNonNullEnvImpl(rn.getEnv(0))
+            .getKeyFilterRebuilder().rebuildKeyFilters();
+        for (int p = 1; p <= N_PARTITIONS; p++) {
+            final Tree tree = getTree(rn, p);
+            assertTrue(tree.isKeyFilterEnabled());
+            assertTrue(tree.hasKeyFilter());
+            assertFalse(tree.keyFilterNeedsRebuild());
+        }
+
+        /* Keys present before and after the build are found */
+        for (int i = 0; i < N_KEYS; i++) {
+            if ((i % 2) == 0) {
+                assertEquals(value(i), kvs.get(key(i)).getValue());
+                assertNull(kvs.putIfAbsent(key(i), value(i + 1)));
+            } else {
+                assertNull(kvs.get(key(i)));
+                assertNotNull(kvs.putIfAbsent(key(i), value(i)));
+                assertEquals(value(i), kvs.get(key(i)).getValue());
+            }
+        }
+        for (int i = 0; i < N_KEYS; i++) {
+            assertEquals(value(i), kvs.get(key(i)).getValue());
+        }
+
+        /* Most lookups for missing keys were answered by the filters */
+        long negatives = 0;
+        long falsePositives = 0;
+        for (int p = 1; p <= N_PARTITIONS; p++) {
+            final BtreeStats stats = (BtreeStats)
+                getDatabase(rn, p).getStats(StatsConfig.DEFAULT);
+            assertTrue(stats.getKeyFilterBytes() > 0);
+            negatives += stats.getKeyFilterNegatives();
+            falsePositives += stats.getKeyFilterFalsePositives();
+        }
+        assertTrue("negatives: " + negatives + " false positives: " +
+                   falsePositives,
+                   negatives > 10 * falsePositives);
+        kvs.close();
+    }
+
+    /**
+     * Keys inserted while a filter is rebuilt in batches are included in the
+     * new filter, and the filter is sized from the tree.
+     */
+    @Test
+    public void testRebuildWithConcurrentInserts()
+        throws Exception {
+
+        final Environment env = openEnv(null);
+        final Database db = openDb(env);
+        final Tree tree = DbInternal.getDbImpl(db).getTree();
+        try {
+            for (int i = 0; i < 20000; i += 2) {
+                db.put(null, entry(i), entry(i));
+            }
+
+            final Thread writer = new Thread(() -> {
+                for (int i = 1; i < 20000; i += 2) {
+                    db.put(null, entry(i), entry(i));
+                }
+            });
+
+            tree.enableKeyFilter();
+            final long capacity = tree.getKeyFilterCapacity();
+            assertTrue("capacity " + capacity,
+                       capacity >= 10000 && capacity <= 40000);
+
+            writer.start();
+            assertTrue(tree.rebuildKeyFilter(capacity, 1 /*batchSize*/,
+                                             1 /*batchDelayMs*/));
+            writer.join();
+
+            for (int i = 0; i < 20000; i++) {
+                assertTrue(tree.mayContainKey(entry(i).getData()));
+            }
+        } finally {
+            db.close();
+            env.close();
+        }
+    }
+
+    /**
+     * A filter that would exceed the memory limit is disabled.
+     */
+    @Test
+    public void testMemoryLimit() {
+
+        final Environment env = openEnv("1");
+        final Database db = openDb(env);
+        final Tree tree = DbInternal.getDbImpl(db).getTree();
+        final EnvironmentImpl envImpl = DbInternal.getNonNullEnvImpl(env);
+        try {
+            final long adminMemory =
+                envImpl.getMemoryBudget().getAdminMemoryUsage();
+            tree.enableKeyFilter();
+            envImpl.getKeyFilterRebuilder().rebuildKeyFilters();
+            assertTrue(tree.hasKeyFilter());
+            assertEquals(adminMemory + tree.getKeyFilterMemorySize(),
+                         envImpl.getMemoryBudget().getAdminMemoryUsage());
+
+            /* 1% of the cache is about 100 KB, or 80K keys */
+            for (int i = 0; i < 200000; i++) {
+                db.put(null, entry(i), entry(i));
+            }
+            assertTrue(tree.keyFilterNeedsRebuild());
+            final long filterMemory = tree.getKeyFilterMemorySize();
+            final long adminMemoryBefore =
+                envImpl.getMemoryBudget().getAdminMemoryUsage();
+            envImpl.getKeyFilterRebuilder().rebuildKeyFilters();
+            assertFalse(tree.isKeyFilterEnabled());
+            assertFalse(tree.hasKeyFilter());
+            assertEquals(adminMemoryBefore - filterMemory,
+                         envImpl.getMemoryBudget().getAdminMemoryUsage());
+        } finally {
+            db.close();
+            env.close();
+        }
+    }
+
+    private static Environment openEnv(String maxMemoryPercentage) {
+        final File dir = new File(TestUtils.getTestDir(), "keyFilterEnv");
+        dir.mkdirs();
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setCacheSize(10 << 20);
+        if (maxMemoryPercentage != null) {
+            envConfig.setConfigParam("je.tree.keyFilterMaxMemoryPercentage",
+                                     maxMemoryPercentage);
+        }
+        return new Environment(dir, envConfig);
+    }
+
+    private static Database openDb(Environment env) {
+        final DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        return env.openDatabase(null, "foo", dbConfig);
+    }
+
+    private static DatabaseEntry entry(int i) {
+        final DatabaseEntry entry = new DatabaseEntry();
+        IntegerBinding.intToEntry(i, entry);
+        return entry;
+    }
+
+    private static Database getDatabase(RepNode rn, int partition) {
+        return rn.getPartitionDB(new PartitionId(partition));
+    }
+
+    private static Tree getTree(RepNode rn, int partition) {
+        return DbInternal.getDbImpl(getDatabase(rn, partition)).getTree();
+    }
+
+    private static Key key(int i) {
+        return Key.createKey("k" + i);
+    }
+
+    private static Value value(int i) {
+        return Value.createValue(("v" + i).getBytes());
+    }
+}
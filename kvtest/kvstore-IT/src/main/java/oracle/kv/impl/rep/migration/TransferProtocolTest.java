@@ -0,0 +1,182 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.rep.migration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import oracle.kv.TestBase;
+import oracle.kv.impl.rep.admin.RepNodeAdmin.PartitionMigrationState;
+import oracle.kv.impl.rep.migration.TransferProtocol.OP;
+import oracle.kv.impl.rep.migration.TransferProtocol.OpInputStream;
+import oracle.kv.impl.rep.migration.TransferProtocol.OpOutputStream;
+import oracle.kv.impl.rep.migration.TransferProtocol.TransferRequest;
+
+import org.junit.Test;
+
+/**
+ * Tests the transfer request and the op stream of the partition migration
+ * protocol, including compatibility with version 7 peers.
+ */
+public class TransferProtocolTest extends TestBase {
+
+    private static final int NUM_OPS = 1000;
+
+    @Test
+    public void testRequestVersions() throws IOException {
+
+        /* A version 8 target may request a compressed stream */
+        TransferRequest request =
+            TransferRequest.read(request(8, TransferProtocol.FLAG_COMPRESS));
+        assertEquals(1, request.partitionId);
+        assertEquals(PartitionMigrationState.PENDING, request.state);
+        assertTrue(request.compress);
+        assertFalse(TransferRequest.read(request(8, 0)).compress);
+
+        /*
+         * A version 7 target is accepted, and always gets an uncompressed
+         * stream since it did not define flags.
+         */
+        request = TransferRequest.read(request(7, 0));
+        assertEquals(1, request.partitionId);
+        assertEquals(3, request.attempts);
+        assertFalse(request.compress);
+        assertFalse(TransferRequest.read(
+            request(7, TransferProtocol.FLAG_COMPRESS)).compress);
+
+        checkVersionMismatch(6);
+        checkVersionMismatch(TransferProtocol.VERSION + 1);
+    }
+
+    /**
+     * A compressed stream can be read up to each flush, before the source
+     * writes anything more.
+     */
+    @Test
+    public void testCompressedStream() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OpOutputStream opOut =
+            TransferProtocol.createOpOutputStream(out, true);
+        writeOps(opOut);
+        opOut.flush();
+
+        final byte[] bytes = out.toByteArray();
+        assertTrue(bytes.length < uncompressedOps().length);
+
+        final OpInputStream opIn = TransferProtocol.createOpInputStream(
+            new ByteArrayInputStream(bytes), true);
+        readOps(opIn);
+        opIn.end();
+
+        /* Writes after end fail with an IOException */
+        opOut.end();
+        opOut.write(OP.EOD.ordinal());
+        try {
+            opOut.flush();
+            fail("Expected IOException");
+        } catch (IOException expected) {
+        }
+    }
+
+    /**
+     * The uncompressed stream of a version 8 source, which is buffered, has
+     * the same bytes as the unbuffered stream of a version 7 source, and a
+     * version 8 target can read the stream of a version 7 source.
+     */
+    @Test
+    public void testUncompressedStreamVersion7() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OpOutputStream opOut =
+            TransferProtocol.createOpOutputStream(out, false);
+        writeOps(opOut);
+
+        /* Nothing is sent until the stream is flushed */
+        assertEquals(0, out.size());
+        opOut.flush();
+        opOut.end();
+
+        final byte[] version7Bytes = uncompressedOps();
+        assertArrayEquals(version7Bytes, out.toByteArray());
+
+        /* A version 7 target reads the stream unbuffered */
+        readOps(new DataInputStream(
+            new ByteArrayInputStream(out.toByteArray())));
+
+        /* A version 8 target reads the stream of a version 7 source */
+        final OpInputStream opIn = TransferProtocol.createOpInputStream(
+            new ByteArrayInputStream(version7Bytes), false);
+        readOps(opIn);
+        opIn.end();
+    }
+
+    private static ByteBuffer request(int version, int flags) {
+        final ByteBuffer buffer = ByteBuffer.allocate(36);
+        buffer.putInt(version);
+        buffer.putInt(1 /* partition ID */);
+        buffer.putInt(2 /* target group ID */);
+        buffer.putInt(1 /* target node number */);
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putInt(3 /* attempts */);
+        buffer.putInt(PartitionMigrationState.PENDING.ordinal());
+        buffer.putInt(flags);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void checkVersionMismatch(int version) {
+        try {
+            TransferRequest.read(request(version, 0));
+            fail("Expected IOException for version " + version);
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(),
+                       expected.getMessage().contains("version mismatch"));
+        }
+    }
+
+    /**
+     * Returns the ops as written by a version 7 source, which used an
+     * unbuffered and uncompressed stream.
+     */
+    private static byte[] uncompressedOps() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeOps(new DataOutputStream(out));
+        return out.toByteArray();
+    }
+
+    private static void writeOps(DataOutputStream out) throws IOException {
+        for (int i = 0; i < NUM_OPS; i++) {
+            out.write(OP.COPY.ordinal());
+            final byte[] key = ("key" + i).getBytes();
+            out.writeInt(key.length);
+            out.write(key);
+            out.writeLong(i);
+        }
+        out.write(OP.EOD.ordinal());
+    }
+
+    private static void readOps(DataInputStream in) throws IOException {
+        for (int i = 0; i < NUM_OPS; i++) {
+            assertEquals(OP.COPY, OP.get(in.readByte()));
+            final byte[] key = new byte[in.readInt()];
+            in.readFully(key);
+            assertEquals("key" + i, new String(key));
+            assertEquals(i, in.readLong());
+        }
+        assertEquals(OP.EOD, OP.get(in.readByte()));
+    }
+}
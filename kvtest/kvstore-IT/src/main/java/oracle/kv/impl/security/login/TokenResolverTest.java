@@ -33,6 +33,7 @@ import oracle.kv.impl.fault.ProcessExitCode;
 import oracle.kv.impl.fault.ProcessFaultHandler;
 import oracle.kv.impl.fault.TestProcessFaultHandler;
 import oracle.kv.impl.security.ScaffoldUserVerifier;
+import oracle.kv.impl.security.SessionAccessException;
 import oracle.kv.impl.security.UserVerifier;
 import oracle.kv.impl.security.login.ParamTopoResolver.ParamsHandleImpl;
 import oracle.kv.impl.security.login.TopoTopoResolver.TopoTopoHandle;
@@ -218,6 +219,21 @@ public class TokenResolverTest extends LoginTestBase {
         /* Test sna resolution */
         final Subject subject3 = adminResolver.resolve(sn1lr.getLoginToken());
         assertNotNull(subject3);
+
+        /*
+         * A repnode token can't be resolved without a topology, which is
+         * not the same as the token being invalid
+         */
+        final TokenResolver noTopoResolver =
+            new TokenResolverImpl("localhost", registryPort, STORE_NAME,
+                                  null /* topoResolver */,
+                                  (LoginManager) null, logger);
+        try {
+            noTopoResolver.resolve(rn1lr.getLoginToken());
+            fail("Expected SessionAccessException");
+        } catch (SessionAccessException sae) {
+            /* Expected */
+        }
     }
 
     @Test
@@ -10,14 +10,26 @@ package oracle.kv.impl.security.login;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.security.auth.Subject;
 
 import oracle.kv.TestBase;
+import oracle.kv.impl.security.SessionAccessException;
 
 import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
 
@@ -41,7 +53,7 @@ public class TokenVerifierTest extends TestBase {
     }
 
     @Test
-    public void testVerifyWithCache() {
+    public void testVerifyWithCache() throws Exception {
 
         final CacheConfig cacheConfig =
             new CacheConfig().setCapacity(100).setLifetime(3600 * 1000L);
@@ -62,8 +74,111 @@ public class TokenVerifierTest extends TestBase {
             assertNull(subj2);
         }
 
+        /* The invalid token is cached as well */
         assertEquals(1, resolver.getSuccessfulResolves());
-        assertEquals(nTimes, resolver.getFailedResolves());
+        assertEquals(1, resolver.getFailedResolves());
+
+        final TokenVerifier.VerifierStats stats = verifier.getStats();
+        assertEquals(nTimes - 1, stats.getHits());
+        assertEquals(nTimes - 1, stats.getInvalidHits());
+        assertEquals(2, stats.getMisses());
+
+        /* Invalid entries expire after a short time */
+        Thread.sleep(TokenCache.INVALID_ENTRY_LIFETIME_MAX + 100);
+        assertNull(verifier.verifyToken(badToken));
+        assertEquals(2, resolver.getFailedResolves());
+
+        verifier.stop();
+    }
+
+    /**
+     * A token whose resolution failed with an exception may be valid, so it
+     * must not be cached as invalid.
+     */
+    @Test
+    public void testResolveFailureNotCached() {
+
+        final CacheConfig cacheConfig =
+            new CacheConfig().setCapacity(100).setLifetime(3600 * 1000L);
+        final AtomicInteger resolves = new AtomicInteger();
+        final Subject subject = new Subject();
+        final TokenResolver resolver = token -> {
+            if (resolves.incrementAndGet() == 1) {
+                throw new SessionAccessException("topology not available");
+            }
+            return subject;
+        };
+        final TokenVerifier verifier = new TokenVerifier(cacheConfig, resolver);
+        final LoginToken token = makeLoginToken();
+
+        try {
+            verifier.verifyToken(token);
+            fail("Expected SessionAccessException");
+        } catch (SessionAccessException sae) {
+            /* Expected */
+        }
+        assertSame(subject, verifier.verifyToken(token));
+        assertEquals(2, resolves.get());
+
+        final TokenVerifier.VerifierStats stats = verifier.getStats();
+        assertEquals(0, stats.getInvalidHits());
+        assertEquals(2, stats.getMisses());
+        verifier.stop();
+    }
+
+    @Test
+    public void testCoalesceResolves() throws Exception {
+
+        final CacheConfig cacheConfig =
+            new CacheConfig().setCapacity(100).setLifetime(3600 * 1000L);
+        final CountDownLatch resolving = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger resolves = new AtomicInteger();
+        final Subject subject = new Subject();
+        final TokenResolver resolver = token -> {
+            resolves.incrementAndGet();
+            resolving.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return subject;
+        };
+        final TokenVerifier verifier = new TokenVerifier(cacheConfig, resolver);
+        final LoginToken token = makeLoginToken();
+
+        final int nThreads = 5;
+        final ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            final List<Future<Subject>> results = new ArrayList<>();
+            results.add(executor.submit(() -> verifier.verifyToken(token)));
+            assertTrue(resolving.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < nThreads; i++) {
+                results.add(
+                    executor.submit(() -> verifier.verifyToken(token)));
+            }
+
+            /* Wait for the other threads to wait for the resolution */
+            final long end = System.currentTimeMillis() + 10000;
+            while (verifier.getStats().getCoalesced() < nThreads - 1) {
+                assertTrue(System.currentTimeMillis() < end);
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<Subject> result : results) {
+                assertSame(subject, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, resolves.get());
+        assertEquals(nThreads, verifier.getStats().getMisses());
+        assertSame(subject, verifier.verifyToken(token));
+        assertEquals(1, verifier.getStats().getHits());
+        verifier.stop();
     }
 
     @Test
@@ -7,7 +7,9 @@
 
 package oracle.kv.impl.topo.split;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import junit.framework.TestCase;
 import oracle.kv.Consistency;
@@ -96,6 +98,71 @@ public class TestSplit extends TestCase {
         checkSplits(splits, NUM_PARTITIONS);
     }
     
+    public void testCreateSizedSplits() {
+        final int NUM_PARTITIONS = 300;
+        final Topology topo = TopoUtils.create("testStore",
+                                               1, //DCs
+                                               9, //SNs
+                                               3, //RF
+                                               NUM_PARTITIONS);
+        final SplitBuilder sb = new SplitBuilder(topo);
+        final int nShardSplits =
+            sb.createShardSplits(Consistency.NONE_REQUIRED).size();
+
+        /* Skewed sizes: a few large partitions, many small or missing */
+        final Map<Integer, Long> sizes = new HashMap<Integer, Long>();
+        long total = 0;
+        for (int p = 1; p <= NUM_PARTITIONS; p++) {
+            if (p % 5 == 0) {
+                continue;
+            }
+            final long size = (p % 50 == 1) ? 100000L : p;
+            sizes.put(p, size);
+            total += size;
+        }
+
+        final List<TopoSplit> splits =
+            sb.createSizedSplits(sizes, Consistency.NONE_REQUIRED);
+        assertEquals(nShardSplits, splits.size());
+        checkSplits(splits, NUM_PARTITIONS);
+
+        long sum = 0;
+        long max = 0;
+        long min = Long.MAX_VALUE;
+        for (TopoSplit split : splits) {
+            long splitSize = 0;
+            for (Set<Integer> partitions : split.getPartitionSets()) {
+                for (Integer p : partitions) {
+                    final Long size = sizes.get(p);
+                    splitSize += (size == null) ? 0 : size;
+                }
+            }
+            assertEquals(splitSize, split.getSize());
+            sum += splitSize;
+            max = Math.max(max, splitSize);
+            min = Math.min(min, splitSize);
+        }
+        assertEquals(total, sum);
+
+        /* No split is more than one large partition heavier than another */
+        assertTrue("min=" + min + " max=" + max, max - min <= 100000L);
+
+        /* Sizes that are all unknown spread the partitions evenly */
+        final List<TopoSplit> evenSplits =
+            sb.createSizedSplits(new HashMap<Integer, Long>(),
+                                 Consistency.ABSOLUTE);
+        checkSplits(evenSplits, NUM_PARTITIONS);
+        for (TopoSplit split : evenSplits) {
+            int count = 0;
+            for (Set<Integer> partitions : split.getPartitionSets()) {
+                count += partitions.size();
+            }
+            assertTrue(Math.abs(count - NUM_PARTITIONS / evenSplits.size())
+                       <= 1);
+            assertEquals(0, split.getSize());
+        }
+    }
+
     /*
      * Checks that the list of splits contains all of the partitions and
      * that there is only one of each partition.
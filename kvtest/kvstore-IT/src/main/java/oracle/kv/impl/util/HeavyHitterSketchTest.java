@@ -0,0 +1,105 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import oracle.kv.TestBase;
+import oracle.kv.impl.util.HeavyHitterSketch.HeavyHitter;
+
+import org.junit.Test;
+
+/**
+ * Tests the HeavyHitterSketch class.
+ */
+public class HeavyHitterSketchTest extends TestBase {
+
+    @Test
+    public void testConstructor() {
+        try {
+            new HeavyHitterSketch<Integer>(0, 16, 4);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new HeavyHitterSketch<Integer>(1, 16, 0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testExactSmallStream() {
+        final HeavyHitterSketch<String> sketch =
+            new HeavyHitterSketch<>(2, 256, 8);
+        sketch.add("a", 1, 0);
+        sketch.add("b", 5, 2);
+        sketch.add("a", 3, 4);
+        sketch.add("c", 0, 0);
+
+        final List<HeavyHitter<String>> top = sketch.getTop(10);
+        assertEquals(2, top.size());
+
+        final HeavyHitter<String> first = top.get(0);
+        assertEquals("a", first.getKey());
+        assertEquals(8, first.getWeight());
+        assertEquals(4, first.getReadWeight());
+        assertEquals(4, first.getWriteWeight());
+        assertEquals(2, first.getCount());
+
+        final HeavyHitter<String> second = top.get(1);
+        assertEquals("b", second.getKey());
+        assertEquals(7, second.getWeight());
+        assertEquals(1, second.getCount());
+
+        assertEquals(1, sketch.getTop(1).size());
+    }
+
+    /**
+     * Checks that a few heavy keys are found among a long tail of light
+     * keys, when the tail is much larger than the sketch capacity.
+     */
+    @Test
+    public void testSkewedStream() {
+        final HeavyHitterSketch<Integer> sketch =
+            new HeavyHitterSketch<>(4, 512, 8);
+        final Random random = new Random(42);
+        final int nHot = 5;
+        for (int i = 0; i < 200000; i++) {
+            if (random.nextInt(10) == 0) {
+                sketch.add(random.nextInt(nHot), 1, 1);
+            } else {
+                sketch.add(nHot + random.nextInt(100000), 1, 0);
+            }
+        }
+
+        final List<HeavyHitter<Integer>> top = sketch.getTop(nHot);
+        assertEquals(nHot, top.size());
+        final Set<Integer> found = new HashSet<>();
+        long prevWeight = Long.MAX_VALUE;
+        for (HeavyHitter<Integer> hh : top) {
+            found.add(hh.getKey());
+            assertTrue(hh.getWeight() <= prevWeight);
+            prevWeight = hh.getWeight();
+
+            /* Each hot key gets about 4000 updates with a weight of 2 */
+            assertTrue(hh.toString(), hh.getWeight() >= 7000);
+            assertTrue(hh.toString(), hh.getWeight() <= 9000);
+        }
+        for (int i = 0; i < nHot; i++) {
+            assertTrue("Missing hot key " + i, found.contains(i));
+        }
+    }
+}
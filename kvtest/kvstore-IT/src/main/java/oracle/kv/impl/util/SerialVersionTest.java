@@ -7,8 +7,10 @@
 
 package oracle.kv.impl.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import oracle.kv.KVVersion;
 import oracle.kv.TestBase;
 
 import org.junit.Test;
@@ -22,4 +24,17 @@ public class SerialVersionTest extends TestBase {
     public void testGetKVVersion() {
         assertNotNull(SerialVersion.getKVVersion(SerialVersion.CURRENT));
     }
+
+    /**
+     * Check that new serial versions are not mapped to released versions,
+     * which would make new nodes send them to older nodes.
+     */
+    @Test
+    public void testGetMaxSerialVersion() {
+        assertEquals(SerialVersion.V38,
+                     SerialVersion.getMaxSerialVersion(KVVersion.R25_3));
+        assertEquals(SerialVersion.CURRENT,
+                     SerialVersion.getMaxSerialVersion(
+                         KVVersion.CURRENT_VERSION));
+    }
 }
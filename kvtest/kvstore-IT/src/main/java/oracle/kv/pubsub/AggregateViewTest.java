@@ -0,0 +1,164 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.pubsub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import oracle.kv.impl.api.table.FieldDefImpl;
+import oracle.kv.impl.api.table.TableTestBase;
+import oracle.kv.table.FieldValue;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the incremental maintenance of an AggregateView, applying changes
+ * to it as they would be delivered by a NoSQL stream.
+ */
+public class AggregateViewTest extends TableTestBase {
+
+    @BeforeClass
+    public static void staticSetUp() throws Exception {
+        staticSetUp(1, 1, 1, true /* excludeTombstone */,
+                    false /* separateMRStore */, true /* useThread */);
+    }
+
+    @Override
+    protected String getNamespace() {
+        return "viewtest";
+    }
+
+    @Test
+    public void testApply() {
+
+        executeDdl("CREATE TABLE foo(id INTEGER, g STRING, v INTEGER, " +
+                   "PRIMARY KEY(id))");
+        Table source = tableImpl.getTable(getNamespace(), "foo");
+
+        AggregateView view = new AggregateView(
+            tableImpl, source, getNamespace() + ":foo_by_g",
+            Collections.singletonList("g"), Arrays.asList("v"));
+        executeDdl(view.getCreateTableStatement());
+
+        Row r1 = row(source, 1, "a", 10);
+        Row r2 = row(source, 2, "a", null);
+        Row r3 = row(source, 3, "b", 5);
+
+        /* Inserts at 2 shards */
+        view.apply(1, 100, null, r1);
+        view.apply(2, 50, null, r2);
+        view.apply(1, 101, null, r3);
+        check(view, "a", 2, 10L, 1);
+        check(view, "b", 1, 5L, 1);
+
+        /* Replayed changes are skipped */
+        view.apply(1, 100, null, r1);
+        view.apply(2, 50, null, r2);
+        check(view, "a", 2, 10L, 1);
+
+        /* Update within a group */
+        Row r1b = row(source, 1, "a", 13);
+        view.apply(1, 102, r1, r1b);
+        check(view, "a", 2, 13L, 1);
+
+        /* Update that moves a row to another group */
+        Row r2b = row(source, 2, "b", 7);
+        view.apply(2, 51, r2, r2b);
+        check(view, "a", 1, 13L, 1);
+        check(view, "b", 2, 12L, 2);
+
+        /* Deletes */
+        view.apply(1, 103, r1b, null);
+        assertNull(view.get(string("a")));
+        view.apply(1, 103, r1b, null);
+        view.apply(1, 104, r3, null);
+        check(view, "b", 1, 7L, 1);
+
+        /* A NULL grouping value is not counted */
+        view.apply(1, 105, null, row(source, 4, null, 1));
+        check(view, "b", 1, 7L, 1);
+    }
+
+    /**
+     * The sums of LONG columns are stored as NUMBERs, so they do not
+     * overflow.
+     */
+    @Test
+    public void testLongSumOverflow() {
+
+        executeDdl("CREATE TABLE bar(id INTEGER, g STRING, v LONG, " +
+                   "PRIMARY KEY(id))");
+        Table source = tableImpl.getTable(getNamespace(), "bar");
+
+        AggregateView view = new AggregateView(
+            tableImpl, source, getNamespace() + ":bar_by_g",
+            Collections.singletonList("g"), Arrays.asList("v"));
+        executeDdl(view.getCreateTableStatement());
+
+        Row r1 = source.createRow();
+        r1.put("id", 1);
+        r1.put("g", "a");
+        r1.put("v", Long.MAX_VALUE);
+        Row r2 = r1.clone();
+        r2.put("id", 2);
+
+        view.apply(1, 100, null, r1);
+        view.apply(1, 101, null, r2);
+        AggregateView.Result res = view.get(string("a"));
+        assertEquals(2, res.getCount());
+        assertEquals(0, BigDecimal.valueOf(Long.MAX_VALUE).
+                     multiply(BigDecimal.valueOf(2)).
+                     compareTo(res.getSum("v")));
+
+        view.apply(1, 102, r2, null);
+        res = view.get(string("a"));
+        assertEquals(1, res.getCount());
+        assertEquals(0, BigDecimal.valueOf(Long.MAX_VALUE).
+                     compareTo(res.getSum("v")));
+    }
+
+    private static Row row(Table table, int id, String g, Integer v) {
+        Row row = table.createRow();
+        row.put("id", id);
+        if (g != null) {
+            row.put("g", g);
+        } else {
+            row.putNull("g");
+        }
+        if (v != null) {
+            row.put("v", v);
+        } else {
+            row.putNull("v");
+        }
+        return row;
+    }
+
+    private static FieldValue string(String s) {
+        return FieldDefImpl.Constants.stringDef.createString(s);
+    }
+
+    private static void check(AggregateView view,
+                              String g,
+                              long count,
+                              Long sum,
+                              long sumCount) {
+
+        AggregateView.Result res = view.get(string(g));
+        assertEquals(count, res.getCount());
+        assertEquals(sumCount, res.getCount("v"));
+        assertEquals(sum == null ? null : BigDecimal.valueOf(sum),
+                     res.getSum("v"));
+    }
+}